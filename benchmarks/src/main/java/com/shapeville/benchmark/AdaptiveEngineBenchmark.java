@@ -0,0 +1,61 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.game.AdaptiveEngine;
+import com.shapeville.model.Shape2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自适应出题引擎基准测试
+ * 测量在全部题目项或单个任务的候选题目中选出下一题的耗时，以及记录一次作答结果的耗时。
+ * 引擎事先用一段随机作答历史预热，使各题目项的能力值和难度值互不相同。
+ * 选题目标为每次1微秒以内；可配合 -prof gc 确认选题和记录都不分配对象。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdaptiveEngineBenchmark {
+    private static final int HISTORY = 500;
+
+    private AdaptiveEngine engine;
+    private long shapes2D;
+    private int[] items;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new AdaptiveEngine(42);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < HISTORY; i++) {
+            engine.record(random.nextInt(AdaptiveEngine.ITEM_COUNT), random.nextInt(1, 4), random.nextInt(4) != 0);
+        }
+        for (Shape2D shape : Shape2D.values()) {
+            shapes2D |= AdaptiveEngine.mask(AdaptiveEngine.shape2DItem(shape));
+        }
+        items = new int[1024];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = random.nextInt(AdaptiveEngine.ITEM_COUNT);
+        }
+    }
+
+    @Benchmark
+    public int selectFromAllItems() {
+        return engine.select(AdaptiveEngine.ALL_ITEMS);
+    }
+
+    @Benchmark
+    public int selectShape2D() {
+        return engine.select(shapes2D);
+    }
+
+    @Benchmark
+    public void recordAnswer() {
+        int item = items[next++ & (items.length - 1)];
+        engine.record(item, (item & 1) + 1, (item & 3) != 0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.utils.AnswerEventLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 答题事件日志基准测试
+ * 在临时目录中预先写入一个班级（30名学习者、6个任务）的约100万条答题事件，
+ * 测量按学习者和任务汇总全部事件的耗时（每次调用扫描全部事件，除以事件数即为每条的扫描成本），
+ * 以及追加一条事件的耗时（只写入内存中的当前块，落盘由后台线程完成）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnswerEventLogBenchmark {
+    private static final int EVENTS = 1 << 20;
+    private static final int LEARNERS = 30;
+    private static final String[] TASKS = {
+        "形状识别", "角度识别", "面积计算", "圆形计算", "复合形状计算", "扇形计算"
+    };
+
+    private Path directory;
+    private AnswerEventLog log;
+    private String[] learners;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("shapeville-events");
+        log = AnswerEventLog.open(directory);
+        learners = new String[LEARNERS];
+        for (int i = 0; i < LEARNERS; i++) {
+            learners[i] = "student" + i;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        long time = System.currentTimeMillis() - EVENTS * 1000L;
+        for (int i = 0; i < EVENTS; i++) {
+            int attempt = random.nextInt(1, 4);
+            boolean correct = random.nextInt(4) != 0;
+            log.append(time + i * 1000L, learners[i % LEARNERS], TASKS[random.nextInt(TASKS.length)],
+                       random.nextInt(31), attempt, correct, correct || attempt == 3,
+                       random.nextInt(2000, 30000), random.nextInt(1, 21), random.nextInt(1, 21));
+        }
+        log.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        log.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<AnswerEventLog.Summary> summarizeAll() {
+        return log.summarize();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void appendEvent() {
+        int i = next++;
+        log.append(System.currentTimeMillis(), learners[i % LEARNERS], TASKS[i % TASKS.length],
+                   i % 31, 1, true, true, 5000, 12.0, 7.0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.gui.shapes.CachedShapeRenderer;
+import com.shapeville.gui.shapes.ShapeRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 复合形状渲染基准测试
+ * 对 gui.shapes.compound 中的每个 ShapeRenderer 测量面积计算、解题步骤生成，
+ * 以及在无界面模式下绘制到离屏 BufferedImage 的耗时（直接绘制与经 CachedShapeRenderer 缓存后贴图）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CompoundShapeBenchmark {
+    // 与 CompoundShapeCalculationPanel 中的绘制区域一致
+    private static final int WIDTH = 500;
+    private static final int HEIGHT = 400;
+
+    @Param({"ArrowShape", "TShape", "TrapezoidShape", "StairShape", "StepShape",
+            "DoubleStairShape", "HouseShape", "ComplexStairShape", "IrregularShape"})
+    public String shape;
+
+    private ShapeRenderer renderer;
+    private ShapeRenderer cachedRenderer;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        renderer = (ShapeRenderer) Class.forName("com.shapeville.gui.shapes.compound." + shape)
+            .getDeclaredConstructor()
+            .newInstance();
+        cachedRenderer = new CachedShapeRenderer(renderer);
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double calculateArea() {
+        return renderer.calculateArea();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String getSolutionSteps() {
+        return renderer.getSolutionSteps();
+    }
+
+    @Benchmark
+    public BufferedImage drawOffscreen() {
+        graphics.setBackground(Color.WHITE);
+        graphics.clearRect(0, 0, WIDTH, HEIGHT);
+        renderer.draw(graphics, WIDTH, HEIGHT);
+        renderer.drawDimensions(graphics, WIDTH, HEIGHT);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage drawOffscreenCached() {
+        graphics.setBackground(Color.WHITE);
+        graphics.clearRect(0, 0, WIDTH, HEIGHT);
+        cachedRenderer.draw(graphics, WIDTH, HEIGHT);
+        cachedRenderer.drawDimensions(graphics, WIDTH, HEIGHT);
+        return image;
+    }
+}
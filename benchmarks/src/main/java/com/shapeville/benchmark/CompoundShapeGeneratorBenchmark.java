@@ -0,0 +1,40 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.game.CompoundShapeCalculation.CompoundShape;
+import com.shapeville.game.CompoundShapeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 复合形状生成器基准测试
+ * 测量单个随机形状（几何模型、标注、描述和解题步骤）的生成耗时，以及批量生成练习卷的吞吐量。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompoundShapeGeneratorBenchmark {
+
+    private CompoundShapeGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        generator = new CompoundShapeGenerator(42);
+    }
+
+    @Benchmark
+    public CompoundShape next() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(1000)
+    public CompoundShape[] generateWorksheet() {
+        return CompoundShapeGenerator.generate(1000, 42);
+    }
+}
@@ -0,0 +1,67 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.gui.shapes.LabelCache;
+import com.shapeville.gui.shapes.RenderResources;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 尺寸标注文字绘制基准测试
+ * 对比 ShapeDrawer 原来每次重绘的做法（格式化"长 = 12.0"、测量宽度、drawString）
+ * 与格式化一次后通过 LabelCache 绘制预先排版的 GlyphVector；标注居中绘制。
+ * 可配合 -prof gc 查看每次绘制的分配量。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class DimensionLabelBenchmark {
+    private static final Font FONT = RenderResources.font(Font.PLAIN, 14);
+
+    @Param({"12.0", "7.5"})
+    public double value;
+
+    private String text;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        image = new BufferedImage(200, 60, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setColor(Color.BLUE);
+        graphics.setFont(FONT);
+        text = String.format("长 = %.1f", value);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage formatAndDrawString() {
+        String formatted = String.format("长 = %.1f", value);
+        FontMetrics fm = graphics.getFontMetrics();
+        graphics.drawString(formatted, 100 - fm.stringWidth(formatted) / 2, 30);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage drawCachedLabel() {
+        LabelCache.Label label = LabelCache.get(graphics, FONT, text);
+        label.draw(graphics, 100 - label.getWidth() / 2, 30);
+        return image;
+    }
+}
@@ -0,0 +1,55 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.game.AreaCalculation;
+import com.shapeville.game.AreaCalculation.ShapeType;
+import com.shapeville.game.SectorCalculation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 游戏逻辑基准测试
+ * 覆盖面积计算的参数生成、答案验证和代入过程字符串，以及扇形对象的构造。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameCalculationBenchmark {
+
+    @Param({"RECTANGLE", "PARALLELOGRAM", "TRIANGLE", "TRAPEZIUM"})
+    public ShapeType shape;
+
+    private AreaCalculation areaCalculation;
+    private double answer;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        areaCalculation = new AreaCalculation();
+        areaCalculation.generateParams(shape);
+        answer = areaCalculation.getCorrectArea();
+    }
+
+    @Benchmark
+    public double generateParams() {
+        areaCalculation.generateParams(shape);
+        return areaCalculation.getCorrectArea();
+    }
+
+    @Benchmark
+    public boolean checkAnswer() {
+        return areaCalculation.checkAnswer(answer);
+    }
+
+    @Benchmark
+    public String getSubstitutionString() {
+        return areaCalculation.getSubstitutionString(shape);
+    }
+
+    @Benchmark
+    public SectorCalculation.Sector sectorConstruction() {
+        return new SectorCalculation.Sector(12, 280, "yd");
+    }
+}
@@ -0,0 +1,52 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.server.QuizService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 答题服务基准测试
+ * 以采样模式测量出题和判题的延迟分布（含p99），多线程运行时模拟大量学生同时答题。
+ * 每次判题前先出一道新题，题目答对或错满3次后会从服务中移除。
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class QuizServiceBenchmark {
+
+    @Param({"AREA", "SECTOR", "ANGLE", "COMPOUND"})
+    public QuizService.Task task;
+
+    private QuizService service;
+
+    // 只有判题基准使用，每次调用前出一道新题
+    @State(Scope.Thread)
+    public static class Issued {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void issue(QuizServiceBenchmark benchmark) {
+            id = benchmark.service.next(benchmark.task).getId();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        service = new QuizService(100_000);
+    }
+
+    @Benchmark
+    public QuizService.IssuedQuestion next() {
+        return service.next(task);
+    }
+
+    @Benchmark
+    public QuizService.CheckResult check(Issued issued) {
+        return service.check(issued.id, "1");
+    }
+}
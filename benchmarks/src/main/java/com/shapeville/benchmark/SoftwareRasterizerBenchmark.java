@@ -0,0 +1,60 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.gui.shapes.SoftwareRasterizer;
+import com.shapeville.gui.shapes.SolidMesh;
+import com.shapeville.model.Shape3D;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 软件光栅化器基准测试
+ * 测量旋转中的3D形状每帧的耗时：按160像素图标的2倍分辨率（320×320）光栅化，
+ * 以及光栅化后双线性缩小绘制到160像素图像的完整一帧。60帧/秒时每帧的预算约为16.7毫秒。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SoftwareRasterizerBenchmark {
+    private static final int SIZE = 160;
+
+    @Param({"CUBE", "CYLINDER", "SPHERE", "CONE"})
+    private Shape3D shape;
+
+    private SolidMesh mesh;
+    private SoftwareRasterizer rasterizer;
+    private BufferedImage canvas;
+    private double yaw;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mesh = SolidMesh.of(shape);
+        rasterizer = new SoftwareRasterizer(SIZE * 2, SIZE * 2);
+        canvas = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Benchmark
+    public int rasterize() {
+        yaw += 0.02;
+        return rasterizer.render(mesh, yaw, 0.4, 0.92, 0x78AAE6);
+    }
+
+    @Benchmark
+    public BufferedImage rasterizeAndScale() {
+        rasterize();
+        Graphics2D g2d = canvas.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(rasterizer.getImage(), 0, 0, SIZE, SIZE, null);
+        } finally {
+            g2d.dispose();
+        }
+        return canvas;
+    }
+}
@@ -0,0 +1,66 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.gui.shapes.ShapeImageCache;
+import com.shapeville.gui.shapes.SpriteAtlas;
+import com.shapeville.model.Shape2D;
+import com.shapeville.model.Shape3D;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * 形状图片加载基准测试
+ * 对比从类路径逐个读取并解码全部形状图片，与读取一次图集（一次解码，各形状为子图像）的耗时。
+ * 主项目需先执行 mvn install，安装的jar中才包含构建时生成的图集。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SpriteAtlasBenchmark {
+    private List<String> paths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = new ArrayList<>();
+        for (Shape2D shape : Shape2D.values()) {
+            paths.add(ShapeImageCache.resourcePath(shape));
+        }
+        for (Shape3D shape : Shape3D.values()) {
+            paths.add(ShapeImageCache.resourcePath(shape));
+        }
+    }
+
+    @Benchmark
+    public List<BufferedImage> decodeIndividualImages() throws IOException {
+        List<BufferedImage> images = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            try (InputStream in = ShapeImageCache.class.getResourceAsStream(path)) {
+                images.add(ImageIO.read(in));
+            }
+        }
+        return images;
+    }
+
+    @Benchmark
+    public List<BufferedImage> loadAtlas() throws IOException {
+        SpriteAtlas atlas = SpriteAtlas.loadResource(UnaryOperator.identity());
+        if (atlas == null) {
+            throw new IllegalStateException("类路径中没有图集，请先在主项目执行 mvn install");
+        }
+        List<BufferedImage> images = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            images.add(atlas.get(path));
+        }
+        return images;
+    }
+}
@@ -0,0 +1,134 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.gui.CountdownLabel;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 倒计时刷新基准测试
+ * 在与 CompoundShapeCalculationPanel 相同结构的组件树中，测量每秒一次的计时器刷新在事件线程上的耗时：
+ * 更新标签文字，标签请求了重新布局时再执行 RepaintManager 在绘制前会做的布局（使祖先失效并逐层 doLayout）。
+ * 无界面模式下组件没有peer，validate() 不做任何事，因此这里手动模拟布局过程。
+ * 普通 JLabel 每次改字都会请求布局，CountdownLabel 尺寸固定，不请求布局。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TimerTickBenchmark {
+    // 每次在事件线程中连续刷新的次数，摊薄 invokeAndWait 的开销
+    private static final int TICKS = 100;
+
+    @Param({"JLabel", "CountdownLabel"})
+    public String label;
+
+    private JPanel root;
+    private JLabel timerLabel;
+    private int remaining;
+    private boolean layoutRequested;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(this::buildTree);
+    }
+
+    // 与复合形状任务面板相同的布局：顶部选择器、标题和计时器，中央形状区域，右侧描述、答题和解题步骤
+    private void buildTree() {
+        int maxSeconds = 5 * 60;
+        // revalidate() 在事件线程中会调用 invalidate()，借此记录标签是否请求了布局
+        timerLabel = "CountdownLabel".equals(label)
+            ? new CountdownLabel(maxSeconds, SwingConstants.RIGHT) {
+                @Override
+                public void invalidate() {
+                    layoutRequested = true;
+                    super.invalidate();
+                }
+            }
+            : new JLabel("剩余时间: 5:00", SwingConstants.RIGHT) {
+                @Override
+                public void invalidate() {
+                    layoutRequested = true;
+                    super.invalidate();
+                }
+            };
+        remaining = maxSeconds;
+
+        root = new JPanel(new BorderLayout(10, 10));
+        JPanel topPanel = new JPanel(new BorderLayout(10, 10));
+        topPanel.add(new JComboBox<>(new String[] {"形状1", "形状2", "形状3"}), BorderLayout.NORTH);
+        topPanel.add(new JLabel("形状1", SwingConstants.CENTER), BorderLayout.CENTER);
+        topPanel.add(timerLabel, BorderLayout.EAST);
+        root.add(topPanel, BorderLayout.NORTH);
+
+        JPanel centerPanel = new JPanel(new BorderLayout(10, 10));
+        JPanel display = new JPanel();
+        display.setPreferredSize(new Dimension(580, 480));
+        centerPanel.add(new JScrollPane(display), BorderLayout.CENTER);
+
+        JPanel infoPanel = new JPanel();
+        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+        JTextArea description = new JTextArea("由一个矩形和一个三角形组成的复合形状，请计算它的面积。", 3, 30);
+        description.setLineWrap(true);
+        infoPanel.add(new JScrollPane(description));
+        JPanel answerPanel = new JPanel();
+        answerPanel.add(new JLabel("请输入面积（保留1位小数）："));
+        answerPanel.add(new JTextField(15));
+        answerPanel.add(new JButton("提交答案"));
+        answerPanel.add(new JButton("下一题"));
+        infoPanel.add(Box.createVerticalStrut(20));
+        infoPanel.add(answerPanel);
+        JTextArea solution = new JTextArea("第一步：计算矩形面积\n第二步：计算三角形面积\n第三步：相加", 4, 30);
+        solution.setLineWrap(true);
+        infoPanel.add(Box.createVerticalStrut(20));
+        infoPanel.add(new JScrollPane(solution));
+        centerPanel.add(infoPanel, BorderLayout.EAST);
+        root.add(centerPanel, BorderLayout.CENTER);
+
+        root.setSize(root.getPreferredSize());
+        layoutTree(root);
+        layoutRequested = false;
+    }
+
+    // 与 Container.validateTree 相同：自上而下逐层布局
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layoutTree((Container) child);
+            }
+        }
+    }
+
+    private void tick() {
+        for (int i = 0; i < TICKS; i++) {
+            remaining = remaining > 0 ? remaining - 1 : 5 * 60;
+            if (timerLabel instanceof CountdownLabel) {
+                ((CountdownLabel) timerLabel).setRemaining(remaining);
+            } else {
+                timerLabel.setText(String.format("剩余时间: %d:%02d", remaining / 60, remaining % 60));
+            }
+            if (layoutRequested) {
+                for (Container c = timerLabel; c != null; c = c.getParent()) {
+                    c.invalidate();
+                }
+                layoutTree(root);
+                layoutRequested = false;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void tickOnEdt() throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(this::tick);
+    }
+}
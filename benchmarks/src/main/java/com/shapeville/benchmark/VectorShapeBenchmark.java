@@ -0,0 +1,63 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.gui.shapes.VectorShapeIcon;
+import com.shapeville.model.Shape2D;
+import com.shapeville.model.Shape3D;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.Icon;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 矢量形状图标基准测试
+ * 测量为全部19种形状各生成一个随机变体图标的耗时，以及生成后绘制到160像素图像中的耗时，
+ * 可与 SpriteAtlasBenchmark 中读取和解码图片的耗时对比。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class VectorShapeBenchmark {
+    private static final int SIZE = 160;
+
+    private Random random;
+    private BufferedImage canvas;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = new Random(42);
+        canvas = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Benchmark
+    public List<Icon> buildAll() {
+        List<Icon> icons = new ArrayList<>(Shape2D.values().length + Shape3D.values().length);
+        for (Shape2D shape : Shape2D.values()) {
+            icons.add(VectorShapeIcon.random(shape, SIZE, random));
+        }
+        for (Shape3D shape : Shape3D.values()) {
+            icons.add(VectorShapeIcon.random(shape, SIZE, random));
+        }
+        return icons;
+    }
+
+    @Benchmark
+    public BufferedImage buildAndPaintAll() {
+        Graphics2D g2d = canvas.createGraphics();
+        try {
+            for (Icon icon : buildAll()) {
+                icon.paintIcon(null, g2d, 0, 0);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        return canvas;
+    }
+}
@@ -0,0 +1,54 @@
+package com.shapeville.benchmark;
+
+import com.shapeville.export.WorksheetExporter;
+import com.shapeville.export.WorksheetQuestion;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 练习卷导出基准测试
+ * 在无界面模式下导出一份600道题的练习卷（题目页和答案页），按题目数计算吞吐量。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class WorksheetExportBenchmark {
+    private static final int QUESTIONS = 600;
+
+    @Param({"PDF", "PNG"})
+    public WorksheetExporter.Format format;
+
+    private List<WorksheetQuestion> questions;
+    private WorksheetExporter exporter;
+    private Path outputDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        questions = WorksheetQuestion.randomMix(QUESTIONS, 42);
+        exporter = new WorksheetExporter("基准测试", 6, Runtime.getRuntime().availableProcessors());
+        outputDir = Files.createTempDirectory("shapeville-worksheet");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUESTIONS)
+    public int export() throws IOException {
+        return exporter.export(questions, outputDir, format);
+    }
+}
@@ -1,10 +1,19 @@
 package com.shapeville;
 
+import com.shapeville.gui.EdtWatchdog;
+import com.shapeville.gui.MetricsOverlay;
+import com.shapeville.gui.PaintMonitor;
 import com.shapeville.gui.UIManager;
+import com.shapeville.utils.Log;
+import com.shapeville.utils.StartupTiming;
+import java.awt.GraphicsEnvironment;
 import javax.swing.SwingUtilities;
 
 public class Main {
+    private static final Log LOG = Log.get(Main.class);
+    
     public static void main(String[] args) {
+        StartupTiming.markMain();
         SwingUtilities.invokeLater(() -> {
             try {
                 // 设置系统外观
@@ -12,7 +21,19 @@ public class Main {
                     javax.swing.UIManager.getSystemLookAndFeelClassName()
                 );
             } catch (Exception e) {
-                e.printStackTrace();
+                LOG.warn("设置系统外观失败", e);
+            }
+            
+            // 统计事件线程卡顿（-Dshapeville.paint.monitor=true 时还统计每轮重绘耗时），Ctrl+Shift+M 打开运行指标浮窗
+            EdtWatchdog.install();
+            PaintMonitor.install();
+            MetricsOverlay.install();
+            
+            if (StartupTiming.EXIT_AFTER_STARTUP && GraphicsEnvironment.isHeadless()) {
+                // 无图形环境的训练运行（如构建服务器）：加载到创建主窗口之前为止的类后退出
+                UIManager.getInstance();
+                StartupTiming.finishWithoutWindow();
+                return;
             }
             
             // 初始化并显示GUI
@@ -0,0 +1,246 @@
+package com.shapeville.export;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.shapeville.utils.Log;
+
+/**
+ * 练习卷批量导出
+ * 在无界面（headless）模式下把题目渲染到离屏图像，输出分页的PNG图片和/或PDF文件，题目页之后附答案页。
+ * 页面渲染和编码在 ForkJoinPool 上并行执行；为限制内存占用，页面按窗口分批处理，
+ * 每批完成后按页码顺序追加到PDF中（压缩在工作线程中完成），PNG页面则在各工作线程中直接写出。
+ */
+public final class WorksheetExporter {
+    private static final Log LOG = Log.get(WorksheetExporter.class);
+
+    // 每个工作线程每批处理的页数
+    private static final int PAGES_PER_WORKER = 4;
+    // PNG压缩质量，越高压缩越快（JDK 的PNG编码器将其映射为 Deflate 级别，0.9 约为最快级别）
+    private static final float PNG_QUALITY = 0.9f;
+
+    /**
+     * 输出格式
+     */
+    public enum Format {
+        PDF, PNG, BOTH;
+
+        boolean pdf() { return this != PNG; }
+        boolean png() { return this != PDF; }
+    }
+
+    private final WorksheetPageRenderer renderer;
+    private final int parallelism;
+
+    /**
+     * @param title 练习卷标题
+     * @param questionsPerPage 每页题目数量（2的正整数倍）
+     * @param parallelism 渲染线程数
+     */
+    public WorksheetExporter(String title, int questionsPerPage, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("线程数必须大于0: " + parallelism);
+        }
+        this.renderer = new WorksheetPageRenderer(title, questionsPerPage);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 导出练习卷
+     * PDF写入 outputDir/worksheet.pdf，PNG页面写入 outputDir/page-0001.png 等文件。
+     * @param questions 题目列表
+     * @param outputDir 输出目录（不存在时自动创建）
+     * @param format 输出格式
+     * @return 导出的总页数（题目页与答案页之和）
+     * @throws IOException 写入文件失败
+     */
+    public int export(List<WorksheetQuestion> questions, Path outputDir, Format format) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(outputDir);
+
+        int questionPages = renderer.getQuestionPageCount(questions.size());
+        int totalPages = questionPages + renderer.getAnswerPageCount(questions.size());
+        int window = parallelism * PAGES_PER_WORKER;
+        byte[][] pdfPages = format.pdf() ? new byte[Math.min(window, totalPages)][] : null;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        PdfWriter pdf = null;
+        try {
+            if (format.pdf()) {
+                pdf = new PdfWriter(new BufferedOutputStream(Files.newOutputStream(outputDir.resolve("worksheet.pdf"))),
+                    totalPages, WorksheetPageRenderer.PAGE_WIDTH, WorksheetPageRenderer.PAGE_HEIGHT);
+            }
+            for (int first = 0; first < totalPages; first += window) {
+                int last = Math.min(totalPages, first + window);
+                pool.invoke(new PageTask(questions, questionPages, totalPages, first, last,
+                    outputDir, format, pdfPages, first));
+                if (pdf != null) {
+                    for (int page = first; page < last; page++) {
+                        pdf.addPage(pdfPages[page - first],
+                            WorksheetPageRenderer.PAGE_WIDTH, WorksheetPageRenderer.PAGE_HEIGHT);
+                        pdfPages[page - first] = null;
+                    }
+                }
+            }
+            if (pdf != null) {
+                PdfWriter finished = pdf;
+                pdf = null;
+                finished.close();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+            if (pdf != null) {
+                closeQuietly(pdf);
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        LOG.info(() -> String.format("练习卷导出完成：%d 道题，%d 页，耗时 %d ms（约 %d 题/分钟）",
+            questions.size(), totalPages, elapsedMillis, questions.size() * 60_000L / elapsedMillis));
+        return totalPages;
+    }
+
+    // 把页码区间二分，直到每个任务只剩一页
+    private final class PageTask extends RecursiveAction {
+        private final List<WorksheetQuestion> questions;
+        private final int questionPages;
+        private final int totalPages;
+        private final int from;
+        private final int to;
+        private final Path outputDir;
+        private final Format format;
+        private final byte[][] pdfPages;
+        private final int windowStart;
+
+        PageTask(List<WorksheetQuestion> questions, int questionPages, int totalPages, int from, int to,
+                 Path outputDir, Format format, byte[][] pdfPages, int windowStart) {
+            this.questions = questions;
+            this.questionPages = questionPages;
+            this.totalPages = totalPages;
+            this.from = from;
+            this.to = to;
+            this.outputDir = outputDir;
+            this.format = format;
+            this.pdfPages = pdfPages;
+            this.windowStart = windowStart;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PageTask(questions, questionPages, totalPages, from, mid, outputDir, format, pdfPages, windowStart),
+                    new PageTask(questions, questionPages, totalPages, mid, to, outputDir, format, pdfPages, windowStart));
+                return;
+            }
+            BufferedImage image = from < questionPages
+                ? renderer.renderQuestionPage(questions, from, totalPages)
+                : renderer.renderAnswerPage(questions, from - questionPages, from, totalPages);
+            try {
+                if (format.png()) {
+                    writePng(image, outputDir.resolve(String.format("page-%04d.png", from + 1)));
+                }
+                if (format.pdf()) {
+                    pdfPages[from - windowStart] = PdfWriter.encode(image);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入第 " + (from + 1) + " 页失败", e);
+            }
+        }
+    }
+
+    // ImageWriter 不是线程安全的，每页使用新的实例
+    private static void writePng(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(PNG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static void closeQuietly(PdfWriter pdf) {
+        try {
+            pdf.close();
+        } catch (IOException | IllegalStateException e) {
+            LOG.debug(() -> "关闭未完成的PDF文件时出错: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 命令行入口
+     * 用法：WorksheetExporter [--count N] [--seed S] [--per-page N] [--format pdf|png|both]
+     *                        [--threads N] [--title 标题] [--out 目录]
+     */
+    public static void main(String[] args) {
+        // 必须在首次使用AWT之前设置
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        int count = 1000;
+        long seed = System.nanoTime();
+        int perPage = 6;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Format format = Format.PDF;
+        String title = "Shapeville 练习卷";
+        Path out = Paths.get("worksheet");
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--count": count = Integer.parseInt(value); i++; break;
+                    case "--seed": seed = Long.parseLong(value); i++; break;
+                    case "--per-page": perPage = Integer.parseInt(value); i++; break;
+                    case "--threads": threads = Integer.parseInt(value); i++; break;
+                    case "--format": format = Format.valueOf(value.toUpperCase(Locale.ROOT)); i++; break;
+                    case "--title": title = value; i++; break;
+                    case "--out": out = Paths.get(value); i++; break;
+                    default: throw new IllegalArgumentException("未知参数: " + args[i]);
+                }
+            }
+            if (count <= 0) {
+                throw new IllegalArgumentException("题目数量必须大于0: " + count);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("参数错误: " + e.getMessage());
+            System.err.println("用法: WorksheetExporter [--count N] [--seed S] [--per-page N]"
+                + " [--format pdf|png|both] [--threads N] [--title 标题] [--out 目录]");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            List<WorksheetQuestion> questions = WorksheetQuestion.randomMix(count, seed);
+            int pages = new WorksheetExporter(title, perPage, threads).export(questions, out, format);
+            System.out.println("已导出 " + count + " 道题（" + pages + " 页，种子 " + seed + "）到 " + out.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            LOG.error("导出练习卷失败", e);
+            System.exit(1);
+        }
+    }
+}
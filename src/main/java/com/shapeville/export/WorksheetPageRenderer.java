@@ -0,0 +1,231 @@
+package com.shapeville.export;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import com.shapeville.gui.shapes.RenderResources;
+
+/**
+ * 练习卷页面渲染
+ * 把题目按网格排到A4页面上（96 DPI），或把答案排成多栏的答案页。
+ * 每页渲染到独立的 BufferedImage，不依赖共享的可变状态，可由多个线程同时渲染不同的页面。
+ */
+final class WorksheetPageRenderer {
+    // A4纸在96 DPI下的像素尺寸
+    static final int PAGE_WIDTH = 794;
+    static final int PAGE_HEIGHT = 1123;
+
+    private static final int MARGIN = 40;
+    private static final int HEADER_HEIGHT = 40;
+    private static final int FOOTER_HEIGHT = 24;
+    private static final int COLUMNS = 2;
+    private static final int CELL_GAP = 12;
+    private static final int CELL_PADDING = 8;
+    private static final int PROMPT_LINES = 3;
+    private static final int ANSWER_COLUMNS = 3;
+    private static final int ANSWER_LINE_HEIGHT = 22;
+
+    private static final Font TITLE_FONT = RenderResources.font(Font.BOLD, 18);
+    private static final Font TEXT_FONT = RenderResources.font(Font.PLAIN, 12);
+    private static final Font NUMBER_FONT = RenderResources.font(Font.BOLD, 12);
+    private static final Color BORDER_COLOR = RenderResources.color(200, 200, 200);
+    private static final BasicStroke BORDER_STROKE = RenderResources.stroke(1.0f);
+
+    private final String title;
+    private final int questionsPerPage;
+    private final int rows;
+
+    /**
+     * @param title 练习卷标题
+     * @param questionsPerPage 每页题目数量（按两列排列）
+     */
+    WorksheetPageRenderer(String title, int questionsPerPage) {
+        if (questionsPerPage <= 0 || questionsPerPage % COLUMNS != 0) {
+            throw new IllegalArgumentException("每页题目数量必须是" + COLUMNS + "的正整数倍: " + questionsPerPage);
+        }
+        this.title = title;
+        this.questionsPerPage = questionsPerPage;
+        this.rows = questionsPerPage / COLUMNS;
+    }
+
+    int getQuestionPageCount(int questionCount) {
+        return (questionCount + questionsPerPage - 1) / questionsPerPage;
+    }
+
+    int getAnswerPageCount(int questionCount) {
+        return (questionCount + answersPerPage() - 1) / answersPerPage();
+    }
+
+    private int answersPerPage() {
+        int lines = (PAGE_HEIGHT - 2 * MARGIN - HEADER_HEIGHT - FOOTER_HEIGHT) / ANSWER_LINE_HEIGHT;
+        return lines * ANSWER_COLUMNS;
+    }
+
+    /**
+     * 渲染题目页
+     * @param questions 全部题目
+     * @param page 题目页序号（从0开始）
+     * @param totalPages 总页数（含答案页），用于页脚
+     * @return 页面图像
+     */
+    BufferedImage renderQuestionPage(List<WorksheetQuestion> questions, int page, int totalPages) {
+        BufferedImage image = createPage();
+        Graphics2D g = image.createGraphics();
+        try {
+            prepare(g);
+            drawFrame(g, title, page, totalPages);
+
+            int cellWidth = (PAGE_WIDTH - 2 * MARGIN - (COLUMNS - 1) * CELL_GAP) / COLUMNS;
+            int cellHeight = (PAGE_HEIGHT - 2 * MARGIN - HEADER_HEIGHT - FOOTER_HEIGHT - (rows - 1) * CELL_GAP) / rows;
+            int first = page * questionsPerPage;
+            int last = Math.min(questions.size(), first + questionsPerPage);
+            for (int i = first; i < last; i++) {
+                int cell = i - first;
+                int x = MARGIN + (cell % COLUMNS) * (cellWidth + CELL_GAP);
+                int y = MARGIN + HEADER_HEIGHT + (cell / COLUMNS) * (cellHeight + CELL_GAP);
+                drawQuestion(g, questions.get(i), i + 1, x, y, cellWidth, cellHeight);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * 渲染答案页
+     * @param questions 全部题目
+     * @param page 答案页序号（从0开始）
+     * @param pageNumber 该页在整份练习卷中的页码（从0开始）
+     * @param totalPages 总页数
+     * @return 页面图像
+     */
+    BufferedImage renderAnswerPage(List<WorksheetQuestion> questions, int page, int pageNumber, int totalPages) {
+        BufferedImage image = createPage();
+        Graphics2D g = image.createGraphics();
+        try {
+            prepare(g);
+            drawFrame(g, title + " - 答案", pageNumber, totalPages);
+
+            g.setFont(TEXT_FONT);
+            g.setColor(Color.BLACK);
+            int perPage = answersPerPage();
+            int linesPerColumn = perPage / ANSWER_COLUMNS;
+            int columnWidth = (PAGE_WIDTH - 2 * MARGIN) / ANSWER_COLUMNS;
+            int ascent = RenderResources.metrics(g, TEXT_FONT).getAscent();
+            int first = page * perPage;
+            int last = Math.min(questions.size(), first + perPage);
+            for (int i = first; i < last; i++) {
+                int slot = i - first;
+                int x = MARGIN + (slot / linesPerColumn) * columnWidth;
+                int y = MARGIN + HEADER_HEIGHT + (slot % linesPerColumn) * ANSWER_LINE_HEIGHT + ascent;
+                g.drawString((i + 1) + ". " + questions.get(i).getAnswer(), x, y);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    // PDF中按RGB像素嵌入，PNG也无需透明通道，页面使用不透明的RGB图像
+    private static BufferedImage createPage() {
+        return new BufferedImage(PAGE_WIDTH, PAGE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static void prepare(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+    }
+
+    // 页眉标题和页脚页码
+    private static void drawFrame(Graphics2D g, String heading, int page, int totalPages) {
+        g.setColor(Color.BLACK);
+        g.setFont(TITLE_FONT);
+        g.drawString(heading, MARGIN, MARGIN + RenderResources.metrics(g, TITLE_FONT).getAscent());
+
+        g.setFont(TEXT_FONT);
+        String footer = "第 " + (page + 1) + " / " + totalPages + " 页";
+        FontMetrics fm = RenderResources.metrics(g, TEXT_FONT);
+        g.drawString(footer, (PAGE_WIDTH - fm.stringWidth(footer)) / 2, PAGE_HEIGHT - MARGIN);
+    }
+
+    private static void drawQuestion(Graphics2D g, WorksheetQuestion question, int number,
+                                     int x, int y, int width, int height) {
+        g.setColor(BORDER_COLOR);
+        g.setStroke(BORDER_STROKE);
+        g.drawRect(x, y, width, height);
+
+        // 题号和题干（按字符折行，最多 PROMPT_LINES 行）
+        g.setColor(Color.BLACK);
+        g.setFont(NUMBER_FONT);
+        String label = number + ". ";
+        int textX = x + CELL_PADDING;
+        FontMetrics numberMetrics = RenderResources.metrics(g, NUMBER_FONT);
+        int lineHeight = numberMetrics.getHeight();
+        int baseline = y + CELL_PADDING + numberMetrics.getAscent();
+        g.drawString(label, textX, baseline);
+        int indent = numberMetrics.stringWidth(label);
+        g.setFont(TEXT_FONT);
+        drawWrapped(g, question.getPrompt(), textX + indent, baseline, width - 2 * CELL_PADDING - indent, lineHeight);
+
+        // 答题线
+        int answerY = y + height - CELL_PADDING;
+        g.drawString("答：", textX, answerY);
+        int lineStart = textX + RenderResources.metrics(g, TEXT_FONT).stringWidth("答：");
+        g.drawLine(lineStart, answerY, x + width - CELL_PADDING, answerY);
+
+        // 示意图：按逻辑尺寸绘制，再等比缩放到题目格子中剩余的区域
+        int figureTop = y + CELL_PADDING + PROMPT_LINES * lineHeight;
+        int figureHeight = answerY - lineHeight - figureTop;
+        int figureWidth = width - 2 * CELL_PADDING;
+        if (figureHeight <= 0) {
+            return;
+        }
+        double scale = Math.min((double) figureWidth / WorksheetQuestion.FIGURE_WIDTH,
+            (double) figureHeight / WorksheetQuestion.FIGURE_HEIGHT);
+        double offsetX = x + CELL_PADDING + (figureWidth - WorksheetQuestion.FIGURE_WIDTH * scale) / 2;
+        double offsetY = figureTop + (figureHeight - WorksheetQuestion.FIGURE_HEIGHT * scale) / 2;
+
+        // 绘制代码会修改笔画、字体等状态，在副本上绘制
+        Graphics2D figureGraphics = (Graphics2D) g.create();
+        try {
+            figureGraphics.clipRect(x + 1, figureTop, width - 2, figureHeight);
+            AffineTransform transform = figureGraphics.getTransform();
+            transform.translate(offsetX, offsetY);
+            transform.scale(scale, scale);
+            figureGraphics.setTransform(transform);
+            question.getFigure().draw(figureGraphics,
+                WorksheetQuestion.FIGURE_WIDTH, WorksheetQuestion.FIGURE_HEIGHT);
+        } finally {
+            figureGraphics.dispose();
+        }
+    }
+
+    private static void drawWrapped(Graphics2D g, String text, int x, int baseline, int maxWidth, int lineHeight) {
+        FontMetrics fm = RenderResources.metrics(g, TEXT_FONT);
+        int line = 0;
+        int start = 0;
+        int lineWidth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int charWidth = fm.charWidth(text.charAt(i));
+            if (lineWidth + charWidth > maxWidth && i > start) {
+                if (line == PROMPT_LINES - 1) {
+                    // 超出行数时截断并加省略号
+                    g.drawString(text.substring(start, Math.max(start, i - 1)) + "…", x, baseline + line * lineHeight);
+                    return;
+                }
+                g.drawString(text.substring(start, i), x, baseline + line * lineHeight);
+                line++;
+                start = i;
+                lineWidth = 0;
+            }
+            lineWidth += charWidth;
+        }
+        if (start < text.length()) {
+            g.drawString(text.substring(start, text.length()), x, baseline + line * lineHeight);
+        }
+    }
+}
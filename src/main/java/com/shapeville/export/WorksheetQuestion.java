@@ -0,0 +1,174 @@
+package com.shapeville.export;
+
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.shapeville.game.AreaCalculation;
+import com.shapeville.game.CompoundShapeCalculation.CompoundShape;
+import com.shapeville.game.CompoundShapeGenerator;
+import com.shapeville.game.QuestionEngine;
+import com.shapeville.game.SectorCalculation;
+import com.shapeville.gui.shapes.CircleDrawer;
+import com.shapeville.gui.shapes.ShapeDrawer;
+import com.shapeville.gui.shapes.ShapeRenderer;
+
+/**
+ * 练习卷中的一道题
+ * 保存题干、答案和绘制示意图的方法。示意图沿用界面中的绘制代码，
+ * 按与任务面板相同的逻辑尺寸（FIGURE_WIDTH × FIGURE_HEIGHT）绘制，由页面布局负责缩放。
+ * 题目对象不可变，示意图的绘制不依赖共享的可变状态，可在多个线程中同时绘制不同的题目。
+ */
+public final class WorksheetQuestion {
+    // 示意图的逻辑尺寸，与任务面板中的绘制区域一致
+    public static final int FIGURE_WIDTH = 500;
+    public static final int FIGURE_HEIGHT = 400;
+
+    /**
+     * 示意图绘制接口
+     */
+    public interface Figure {
+        void draw(Graphics2D g, int width, int height);
+    }
+
+    private final String prompt;
+    private final String answer;
+    private final Figure figure;
+
+    public WorksheetQuestion(String prompt, String answer, Figure figure) {
+        this.prompt = prompt;
+        this.answer = answer;
+        this.figure = figure;
+    }
+
+    public String getPrompt() { return prompt; }
+    public String getAnswer() { return answer; }
+    public Figure getFigure() { return figure; }
+
+    /**
+     * 基本形状面积题（矩形、平行四边形、三角形、梯形）
+     * @param question QuestionEngine 生成的面积题
+     * @return 练习卷题目
+     */
+    public static WorksheetQuestion area(QuestionEngine.Question question) {
+        AreaCalculation.ShapeType shape = AreaCalculation.ShapeType.valueOf(question.getShape());
+        Map<String, Double> params = new HashMap<>();
+        for (int i = 0; i < question.getParamCount(); i++) {
+            params.put(question.getParamName(i), question.getParam(i));
+        }
+        String prompt = "求" + shape.getChinese() + "的面积（" + question.getParamsString() + "）";
+        String answer = String.format("%.1f", question.getAnswer());
+        // 与 AreaCalculationPanel 中的绘制参数一致
+        Figure figure = (g, width, height) -> {
+            int centerX = width / 2;
+            int centerY = height / 2;
+            switch (shape) {
+                case RECTANGLE:
+                    ShapeDrawer.drawRectangle(g, centerX - 100, centerY - 75, 200, 150, params, true);
+                    break;
+                case PARALLELOGRAM:
+                    ShapeDrawer.drawParallelogram(g, centerX - 100, centerY - 75, 200, 150, 50, params, true);
+                    break;
+                case TRIANGLE:
+                    ShapeDrawer.drawTriangle(g, centerX, centerY, 200, 150, params, true);
+                    break;
+                case TRAPEZIUM:
+                    ShapeDrawer.drawTrapezium(g, centerX, centerY, 150, 200, 150, params, true);
+                    break;
+            }
+        };
+        return new WorksheetQuestion(prompt, answer, figure);
+    }
+
+    /**
+     * 圆的面积或周长题
+     * @param question QuestionEngine 生成的圆形题
+     * @return 练习卷题目
+     */
+    public static WorksheetQuestion circle(QuestionEngine.Question question) {
+        QuestionEngine.CircleType type = QuestionEngine.CircleType.valueOf(question.getShape());
+        double value = question.getParam(0);
+        String prompt = "已知" + (type.isRadius() ? "半径 r = " : "直径 d = ") + String.format("%.1f", value)
+            + "，求圆的" + (type.isArea() ? "面积" : "周长") + "（保留2位小数）";
+        String answer = String.format("%.2f", question.getAnswer());
+        Figure figure = (g, width, height) -> {
+            // CircleDrawer 内部的 DecimalFormat 不是线程安全的，每次绘制使用新的实例
+            CircleDrawer drawer = new CircleDrawer();
+            drawer.setValues(value, type.isRadius());
+            drawer.draw(g, width, height);
+        };
+        return new WorksheetQuestion(prompt, answer, figure);
+    }
+
+    /**
+     * 扇形面积题
+     * @param sector 扇形
+     * @return 练习卷题目
+     */
+    public static WorksheetQuestion sector(SectorCalculation.Sector sector) {
+        String prompt = "已知半径 r = " + sector.getRadius() + " " + sector.getUnit() + "，圆心角 θ = "
+            + String.format("%.0f°", sector.getAngle()) + "，求扇形面积（保留2位小数）";
+        String answer = String.format("%.2f %s²", sector.getCorrectArea(), sector.getUnit());
+        return new WorksheetQuestion(prompt, answer, sector::draw);
+    }
+
+    /**
+     * 复合形状面积题
+     * @param shape 复合形状（固定题目或 CompoundShapeGenerator 生成的形状）
+     * @return 练习卷题目
+     */
+    public static WorksheetQuestion compound(CompoundShape shape) {
+        ShapeRenderer renderer = shape.getRenderer();
+        String prompt = shape.getName() + "：" + shape.getDescription().replace('\n', ' ');
+        String answer = formatArea(shape.getCorrectArea());
+        Figure figure = (g, width, height) -> {
+            renderer.draw(g, width, height);
+            renderer.drawDimensions(g, width, height);
+        };
+        return new WorksheetQuestion(prompt, answer, figure);
+    }
+
+    /**
+     * 按种子生成混合题型的题目列表
+     * 面积、圆形、扇形和复合形状四类题目依次轮换，相同的种子总是得到相同的题目。
+     * @param count 题目数量
+     * @param seed 随机种子
+     * @return 题目列表
+     */
+    public static List<WorksheetQuestion> randomMix(int count, long seed) {
+        int perKind = (count + 3) / 4;
+        QuestionEngine.Question[] areas = QuestionEngine.generate(QuestionEngine.Kind.AREA, perKind, seed);
+        QuestionEngine.Question[] circles = QuestionEngine.generate(QuestionEngine.Kind.CIRCLE, perKind, seed + 1);
+        QuestionEngine.Question[] sectors = QuestionEngine.generate(QuestionEngine.Kind.SECTOR, perKind, seed + 2);
+        CompoundShape[] compounds = CompoundShapeGenerator.generate(perKind, seed + 3);
+
+        List<WorksheetQuestion> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i / 4;
+            switch (i % 4) {
+                case 0:
+                    questions.add(area(areas[index]));
+                    break;
+                case 1:
+                    questions.add(circle(circles[index]));
+                    break;
+                case 2:
+                    QuestionEngine.Question question = sectors[index];
+                    questions.add(sector(new SectorCalculation.Sector(
+                        question.getParam(0), question.getParam(1), question.getUnit())));
+                    break;
+                default:
+                    questions.add(compound(compounds[index]));
+                    break;
+            }
+        }
+        return questions;
+    }
+
+    // 复合形状的面积是整数或0.5的倍数（固定题目中的房屋形状除外）
+    private static String formatArea(double area) {
+        return area == Math.rint(area) ? String.format("%.0f", area) : String.format("%.2f", area);
+    }
+}
@@ -0,0 +1,286 @@
+package com.shapeville.game;
+
+import com.shapeville.model.Shape2D;
+import com.shapeville.model.Shape3D;
+
+/**
+ * 自适应出题引擎
+ * 根据单个学习者的作答情况估计其在各项技能上的水平，并从候选题目中选出最适合的下一题。
+ *
+ * 模型采用 Elo 评分：每项技能有一个学习者能力值 θ，每个题目项有一个难度值 b，
+ * 预测答对概率为 1 / (1 + e^-(θ - b))。每次作答后按"实际结果 - 预测概率"同时修正 θ 和 b，
+ * 修正幅度随作答次数增多而减小，更新只涉及两个数组元素，是 O(1) 的。
+ * 实际结果按尝试次数折算（第1次答对为1，第2次为2/3，第3次为1/3，未答对为0），与各任务的计分方式一致。
+ *
+ * 选题时在候选题目中挑选预测答对概率最接近目标值（75%）的一个，作答次数少的题目略微优先，
+ * 并加入少量随机扰动避免总是按固定顺序出题。候选集合用 long 位掩码表示（每个题目项一位），
+ * 选题只是在掩码的置位上循环比较，不分配对象，全部题目项参与时也在1微秒以内。
+ *
+ * 题目项依次为：四种面积形状、按圆心角分三档的扇形、五种角度类型、各个2D形状和各个3D形状，
+ * 编号通过 areaItem()、sectorItem()、angleItem()、shape2DItem()、shape3DItem() 获取。
+ * 引擎本身不做持久化，LearnerProfile 加载时从答题事件日志重放已结束的题目恢复状态。所有方法都是线程安全的。
+ */
+public final class AdaptiveEngine {
+    // 技能
+    public enum Skill {
+        RECTANGLE_AREA("矩形面积"),
+        PARALLELOGRAM_AREA("平行四边形面积"),
+        TRIANGLE_AREA("三角形面积"),
+        TRAPEZIUM_AREA("梯形面积"),
+        SECTOR_AREA("扇形面积"),
+        ACUTE_ANGLE("锐角"),
+        RIGHT_ANGLE("直角"),
+        OBTUSE_ANGLE("钝角"),
+        STRAIGHT_ANGLE("平角"),
+        REFLEX_ANGLE("优角"),
+        SHAPE_2D("2D形状识别"),
+        SHAPE_3D("3D形状识别");
+
+        private final String chinese;
+
+        Skill(String chinese) {
+            this.chinese = chinese;
+        }
+
+        public String getChinese() {
+            return chinese;
+        }
+    }
+
+    private static final Skill[] SKILLS = Skill.values();
+    private static final AreaCalculation.ShapeType[] AREA_SHAPES = AreaCalculation.ShapeType.values();
+    private static final Shape2D[] SHAPES_2D = Shape2D.values();
+    private static final Shape3D[] SHAPES_3D = Shape3D.values();
+
+    // 扇形按圆心角分档：不超过90°、不超过180°、大于180°
+    private static final int SECTOR_CLASSES = 3;
+    // 角度类型：锐角、直角、钝角、平角、优角
+    private static final int ANGLE_CLASSES = 5;
+
+    private static final int AREA_BASE = 0;
+    private static final int SECTOR_BASE = AREA_BASE + AREA_SHAPES.length;
+    private static final int ANGLE_BASE = SECTOR_BASE + SECTOR_CLASSES;
+    private static final int SHAPE_2D_BASE = ANGLE_BASE + ANGLE_CLASSES;
+    private static final int SHAPE_3D_BASE = SHAPE_2D_BASE + SHAPES_2D.length;
+
+    /** 题目项总数 */
+    public static final int ITEM_COUNT = SHAPE_3D_BASE + SHAPES_3D.length;
+
+    /** 包含全部题目项的候选掩码 */
+    public static final long ALL_ITEMS = ITEM_COUNT == 64 ? -1L : (1L << ITEM_COUNT) - 1;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    // 目标答对概率75%对应的 logit，即 ln(0.75 / 0.25)
+    private static final double TARGET_LOGIT = Math.log(3.0);
+    // 能力值和难度值的初始修正幅度，以及随作答次数衰减的速度：K = K0 / (1 + 衰减 × 次数)
+    private static final double SKILL_K = 0.8;
+    private static final double SKILL_DECAY = 0.1;
+    private static final double ITEM_K = 0.4;
+    private static final double ITEM_DECAY = 0.05;
+    // 未作答题目的优先量（logit），随作答次数按 1/(1+n) 减小
+    private static final double EXPLORATION = 0.3;
+    // 随机扰动的范围（logit）
+    private static final double JITTER = 0.2;
+
+    // 题目项 -> 技能序号
+    private static final int[] ITEM_SKILL = new int[ITEM_COUNT];
+    // 题目项的先验难度（logit），少量作答后即被修正
+    private static final double[] PRIOR_DIFFICULTY = new double[ITEM_COUNT];
+
+    static {
+        if (ITEM_COUNT > 64) {
+            throw new IllegalStateException("题目项数量超过位掩码容量: " + ITEM_COUNT);
+        }
+        for (AreaCalculation.ShapeType shape : AREA_SHAPES) {
+            int item = areaItem(shape);
+            switch (shape) {
+                case RECTANGLE:
+                    ITEM_SKILL[item] = Skill.RECTANGLE_AREA.ordinal();
+                    PRIOR_DIFFICULTY[item] = -0.5;
+                    break;
+                case PARALLELOGRAM:
+                    ITEM_SKILL[item] = Skill.PARALLELOGRAM_AREA.ordinal();
+                    break;
+                case TRIANGLE:
+                    ITEM_SKILL[item] = Skill.TRIANGLE_AREA.ordinal();
+                    PRIOR_DIFFICULTY[item] = 0.25;
+                    break;
+                case TRAPEZIUM:
+                    ITEM_SKILL[item] = Skill.TRAPEZIUM_AREA.ordinal();
+                    PRIOR_DIFFICULTY[item] = 0.5;
+                    break;
+            }
+        }
+        for (int i = 0; i < SECTOR_CLASSES; i++) {
+            ITEM_SKILL[SECTOR_BASE + i] = Skill.SECTOR_AREA.ordinal();
+            PRIOR_DIFFICULTY[SECTOR_BASE + i] = 0.25 * i;
+        }
+        Skill[] angleSkills = {Skill.ACUTE_ANGLE, Skill.RIGHT_ANGLE, Skill.OBTUSE_ANGLE,
+                               Skill.STRAIGHT_ANGLE, Skill.REFLEX_ANGLE};
+        double[] anglePriors = {0.0, -0.5, 0.0, -0.5, 0.5};
+        for (int i = 0; i < ANGLE_CLASSES; i++) {
+            ITEM_SKILL[ANGLE_BASE + i] = angleSkills[i].ordinal();
+            PRIOR_DIFFICULTY[ANGLE_BASE + i] = anglePriors[i];
+        }
+        for (int i = 0; i < SHAPES_2D.length; i++) {
+            ITEM_SKILL[SHAPE_2D_BASE + i] = Skill.SHAPE_2D.ordinal();
+        }
+        for (int i = 0; i < SHAPES_3D.length; i++) {
+            ITEM_SKILL[SHAPE_3D_BASE + i] = Skill.SHAPE_3D.ordinal();
+        }
+    }
+
+    private final double[] skillRating = new double[SKILLS.length];
+    private final int[] skillCount = new int[SKILLS.length];
+    private final double[] itemDifficulty = PRIOR_DIFFICULTY.clone();
+    private final int[] itemCount = new int[ITEM_COUNT];
+    // xorshift 随机数状态，只用于选题时的扰动
+    private long jitterState;
+
+    public AdaptiveEngine() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * @param seed 选题扰动的随机种子（相同种子和相同作答序列得到相同的选题结果）
+     */
+    public AdaptiveEngine(long seed) {
+        // 种子经过一次 SplitMix64 混合，保证状态非零且各位充分打散
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        this.jitterState = z == 0 ? 0x9E3779B97F4A7C15L : z;
+    }
+
+    public static int areaItem(AreaCalculation.ShapeType shape) {
+        return AREA_BASE + shape.ordinal();
+    }
+
+    /**
+     * @param angle 扇形圆心角（度）
+     * @return 扇形所在分档的题目项
+     */
+    public static int sectorItem(double angle) {
+        return SECTOR_BASE + (angle <= 90 ? 0 : angle <= 180 ? 1 : 2);
+    }
+
+    /**
+     * 与 AngleCalculation.getAngleType() 的分类一致
+     * @param angle 角度（度）
+     * @return 角度类型对应的题目项，不在 (0°, 360°) 范围内时返回-1
+     */
+    public static int angleItem(int angle) {
+        if (angle <= 0 || angle >= 360) return -1;
+        if (angle < 90) return ANGLE_BASE;
+        if (angle == 90) return ANGLE_BASE + 1;
+        if (angle < 180) return ANGLE_BASE + 2;
+        if (angle == 180) return ANGLE_BASE + 3;
+        return ANGLE_BASE + 4;
+    }
+
+    public static int shape2DItem(Shape2D shape) {
+        return SHAPE_2D_BASE + shape.ordinal();
+    }
+
+    public static int shape3DItem(Shape3D shape) {
+        return SHAPE_3D_BASE + shape.ordinal();
+    }
+
+    /**
+     * @param item 题目项
+     * @return 只包含该题目项的候选掩码
+     */
+    public static long mask(int item) {
+        return 1L << item;
+    }
+
+    /**
+     * @param item 题目项
+     * @return 题目项考查的技能
+     */
+    public static Skill skillOf(int item) {
+        return SKILLS[ITEM_SKILL[item]];
+    }
+
+    /**
+     * 记录一道题的作答结果
+     * @param item 题目项
+     * @param attempts 本题的尝试次数（1-3）
+     * @param correct 最终是否答对
+     */
+    public synchronized void record(int item, int attempts, boolean correct) {
+        int skill = ITEM_SKILL[item];
+        double outcome = correct
+            ? (double) (MAX_ATTEMPTS + 1 - Math.max(1, Math.min(attempts, MAX_ATTEMPTS))) / MAX_ATTEMPTS
+            : 0.0;
+        double error = outcome - sigmoid(skillRating[skill] - itemDifficulty[item]);
+        skillRating[skill] += SKILL_K / (1 + SKILL_DECAY * skillCount[skill]) * error;
+        itemDifficulty[item] -= ITEM_K / (1 + ITEM_DECAY * itemCount[item]) * error;
+        skillCount[skill]++;
+        itemCount[item]++;
+    }
+
+    /**
+     * 从候选题目中选出下一题
+     * @param candidates 候选题目项的位掩码（见 mask()）
+     * @return 选中的题目项，没有候选时返回-1
+     */
+    public synchronized int select(long candidates) {
+        long remaining = candidates & ALL_ITEMS;
+        int best = -1;
+        double bestScore = Double.MAX_VALUE;
+        while (remaining != 0) {
+            int item = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            double logit = skillRating[ITEM_SKILL[item]] - itemDifficulty[item];
+            double score = Math.abs(logit - TARGET_LOGIT)
+                - EXPLORATION / (1 + itemCount[item])
+                + JITTER * nextJitter();
+            if (score < bestScore) {
+                bestScore = score;
+                best = item;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param item 题目项
+     * @return 学习者第一次就答对该题目项的预测概率
+     */
+    public synchronized double predict(int item) {
+        return sigmoid(skillRating[ITEM_SKILL[item]] - itemDifficulty[item]);
+    }
+
+    /**
+     * @param skill 技能
+     * @return 学习者答对该技能中等难度题目的预测概率
+     */
+    public synchronized double getMastery(Skill skill) {
+        return sigmoid(skillRating[skill.ordinal()]);
+    }
+
+    /**
+     * @param skill 技能
+     * @return 该技能已记录的作答次数
+     */
+    public synchronized int getAnswerCount(Skill skill) {
+        return skillCount[skill.ordinal()];
+    }
+
+    // [0, 1) 之间的均匀随机数
+    private double nextJitter() {
+        long x = jitterState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        jitterState = x;
+        return (x >>> 11) * 0x1.0p-53;
+    }
+
+    private static double sigmoid(double x) {
+        return 1.0 / (1.0 + Math.exp(-x));
+    }
+}
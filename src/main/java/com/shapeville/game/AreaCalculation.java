@@ -27,9 +27,10 @@ public class AreaCalculation {
         }
     }
 
-    private final Random random = new Random();
     private final List<ShapeType> shapes;
     private final Map<String, Double> currentParams;
+    // 按公式顺序排列的参数值
+    private double[] paramValues = new double[0];
     private double correctArea;
 
     public AreaCalculation() {
@@ -50,35 +51,26 @@ public class AreaCalculation {
         return currentParams;
     }
 
+    /**
+     * @return 当前题目按公式顺序排列的参数值（如长、宽）
+     */
+    public double[] getParamValues() {
+        return paramValues;
+    }
+
     public double getCorrectArea() {
         return correctArea;
     }
 
     public void generateParams(ShapeType shape) {
+        QuestionEngine.Question question = QuestionEngine.getDefault().nextArea(shape);
         currentParams.clear();
-        switch (shape) {
-            case RECTANGLE:
-                currentParams.put("长", (double)(1 + random.nextInt(20)));
-                currentParams.put("宽", (double)(1 + random.nextInt(20)));
-                correctArea = currentParams.get("长") * currentParams.get("宽");
-                break;
-            case PARALLELOGRAM:
-                currentParams.put("底", (double)(1 + random.nextInt(20)));
-                currentParams.put("高", (double)(1 + random.nextInt(20)));
-                correctArea = currentParams.get("底") * currentParams.get("高");
-                break;
-            case TRIANGLE:
-                currentParams.put("底", (double)(1 + random.nextInt(20)));
-                currentParams.put("高", (double)(1 + random.nextInt(20)));
-                correctArea = 0.5 * currentParams.get("底") * currentParams.get("高");
-                break;
-            case TRAPEZIUM:
-                currentParams.put("上底", (double)(1 + random.nextInt(20)));
-                currentParams.put("下底", (double)(1 + random.nextInt(20)));
-                currentParams.put("高", (double)(1 + random.nextInt(20)));
-                correctArea = 0.5 * (currentParams.get("上底") + currentParams.get("下底")) * currentParams.get("高");
-                break;
+        paramValues = new double[question.getParamCount()];
+        for (int i = 0; i < question.getParamCount(); i++) {
+            currentParams.put(question.getParamName(i), question.getParam(i));
+            paramValues[i] = question.getParam(i);
         }
+        correctArea = question.getAnswer();
     }
 
     public String getFormula(ShapeType shape) {
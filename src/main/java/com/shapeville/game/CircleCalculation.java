@@ -6,71 +6,51 @@ public class CircleCalculation {
 
     private static final Scanner scanner = new Scanner(System.in);
 
-    // 练习类型
-    private enum PracticeType {
-        RADIUS_AREA, RADIUS_CIRCUM, DIAMETER_AREA, DIAMETER_CIRCUM
-    }
+    // 练习类型与题目引擎共用
+    private static final QuestionEngine engine = QuestionEngine.getDefault();
 
     public List<Integer> startCircleCalculation() {
-        Set<PracticeType> practiced = new HashSet<>();
+        Set<QuestionEngine.CircleType> practiced = new HashSet<>();
         List<Integer> attemptsPerPractice = new ArrayList<>();
-        Random rand = new Random();
 
         while (practiced.size() < 4) {
             System.out.println("请选择要练习的内容：");
-            if (!practiced.contains(PracticeType.RADIUS_AREA)) System.out.println("1. 已知半径求面积");
-            if (!practiced.contains(PracticeType.RADIUS_CIRCUM)) System.out.println("2. 已知半径求周长");
-            if (!practiced.contains(PracticeType.DIAMETER_AREA)) System.out.println("3. 已知直径求面积");
-            if (!practiced.contains(PracticeType.DIAMETER_CIRCUM)) System.out.println("4. 已知直径求周长");
+            if (!practiced.contains(QuestionEngine.CircleType.RADIUS_AREA)) System.out.println("1. 已知半径求面积");
+            if (!practiced.contains(QuestionEngine.CircleType.RADIUS_CIRCUM)) System.out.println("2. 已知半径求周长");
+            if (!practiced.contains(QuestionEngine.CircleType.DIAMETER_AREA)) System.out.println("3. 已知直径求面积");
+            if (!practiced.contains(QuestionEngine.CircleType.DIAMETER_CIRCUM)) System.out.println("4. 已知直径求周长");
             System.out.println("5. 返回主菜单");
             System.out.print("请输入选项（1-5）：");
             String choice = scanner.nextLine();
             if ("5".equals(choice)) break;
 
-            int r = 1 + rand.nextInt(20);
-            int d = 1 + rand.nextInt(20);
-            double correct = 0;
-            String formula = "";
-            String params = "";
-            PracticeType type = null;
-
+            QuestionEngine.CircleType type;
             switch (choice) {
-                case "1":
-                    if (practiced.contains(PracticeType.RADIUS_AREA)) { System.out.println("已完成该练习。\n"); continue; }
-                    type = PracticeType.RADIUS_AREA;
-                    correct = Math.PI * r * r;
-                    formula = "A = π × r²";
-                    params = "r = " + r;
-                    System.out.println("已知半径 r = " + r + "，请计算圆的面积。");
-                    break;
-                case "2":
-                    if (practiced.contains(PracticeType.RADIUS_CIRCUM)) { System.out.println("已完成该练习。\n"); continue; }
-                    type = PracticeType.RADIUS_CIRCUM;
-                    correct = 2 * Math.PI * r;
-                    formula = "C = 2 × π × r";
-                    params = "r = " + r;
-                    System.out.println("已知半径 r = " + r + "，请计算圆的周长。");
-                    break;
-                case "3":
-                    if (practiced.contains(PracticeType.DIAMETER_AREA)) { System.out.println("已完成该练习。\n"); continue; }
-                    type = PracticeType.DIAMETER_AREA;
-                    correct = Math.PI * (d / 2.0) * (d / 2.0);
-                    formula = "A = π × (d/2)²";
-                    params = "d = " + d;
-                    System.out.println("已知直径 d = " + d + "，请计算圆的面积。");
-                    break;
-                case "4":
-                    if (practiced.contains(PracticeType.DIAMETER_CIRCUM)) { System.out.println("已完成该练习。\n"); continue; }
-                    type = PracticeType.DIAMETER_CIRCUM;
-                    correct = Math.PI * d;
-                    formula = "C = π × d";
-                    params = "d = " + d;
-                    System.out.println("已知直径 d = " + d + "，请计算圆的周长。");
-                    break;
+                case "1": type = QuestionEngine.CircleType.RADIUS_AREA; break;
+                case "2": type = QuestionEngine.CircleType.RADIUS_CIRCUM; break;
+                case "3": type = QuestionEngine.CircleType.DIAMETER_AREA; break;
+                case "4": type = QuestionEngine.CircleType.DIAMETER_CIRCUM; break;
                 default:
                     System.out.println("无效输入，请重新选择。\n");
                     continue;
             }
+            if (practiced.contains(type)) { System.out.println("已完成该练习。\n"); continue; }
+
+            // 由题目引擎生成参数和正确答案
+            QuestionEngine.Question question = engine.nextCircle(type);
+            int value = (int) question.getParam(0);
+            double correct = question.getAnswer();
+            String symbol = type.getSymbol();
+            String formula;
+            switch (type) {
+                case RADIUS_AREA: formula = "A = π × r²"; break;
+                case RADIUS_CIRCUM: formula = "C = 2 × π × r"; break;
+                case DIAMETER_AREA: formula = "A = π × (d/2)²"; break;
+                default: formula = "C = π × d"; break;
+            }
+            String params = symbol + " = " + value;
+            System.out.println("已知" + (type.isRadius() ? "半径 " : "直径 ") + params
+                + "，请计算圆的" + (type.isArea() ? "面积" : "周长") + "。");
 
             practiced.add(type);
 
@@ -3,8 +3,10 @@ package com.shapeville.game;
 import java.util.*;
 import com.shapeville.gui.shapes.ShapeRenderer;
 import com.shapeville.gui.shapes.compound.*;
+import com.shapeville.utils.Log;
 
 public class CompoundShapeCalculation {
+    private static final Log LOG = Log.get(CompoundShapeCalculation.class);
     // 复合形状参数类
     public static class CompoundShape {
         private final String name;
@@ -33,22 +35,48 @@ public class CompoundShapeCalculation {
     private final Set<Integer> practiced;
 
     public CompoundShapeCalculation() {
-        System.out.println("开始创建CompoundShapeCalculation...");
+        LOG.debug("开始创建CompoundShapeCalculation...");
         this.shapes = initializeShapes();
         this.practiced = new HashSet<>();
         
         if (shapes.isEmpty()) {
-            System.err.println("错误：初始化后形状列表为空");
+            LOG.warn("初始化后形状列表为空");
             throw new IllegalStateException("至少需要一个复合形状");
         }
-        System.out.println("CompoundShapeCalculation创建完成，形状数量：" + shapes.size());
+        LOG.debug(() -> "CompoundShapeCalculation创建完成，形状数量：" + shapes.size());
+    }
+
+    /**
+     * 使用给定的形状创建练习（如 CompoundShapeGenerator 生成的随机形状）
+     * @param shapes 复合形状列表
+     */
+    public CompoundShapeCalculation(List<CompoundShape> shapes) {
+        if (shapes == null || shapes.isEmpty()) {
+            throw new IllegalStateException("至少需要一个复合形状");
+        }
+        this.shapes = new ArrayList<>(shapes);
+        this.practiced = new HashSet<>();
+    }
+
+    /**
+     * 创建由随机生成的形状组成的练习，避免学习者记住固定题目的答案
+     * @param count 形状数量
+     * @return 复合形状练习
+     */
+    public static CompoundShapeCalculation randomized(int count) {
+        List<CompoundShape> generated = new ArrayList<>(count);
+        CompoundShapeGenerator generator = CompoundShapeGenerator.getDefault();
+        for (int i = 0; i < count; i++) {
+            generated.add(generator.next());
+        }
+        return new CompoundShapeCalculation(generated);
     }
 
     private List<CompoundShape> initializeShapes() {
         List<CompoundShape> shapeList = new ArrayList<>();
         
         try {
-            System.out.println("开始初始化形状...");
+            LOG.debug("开始初始化形状...");
             
             // 1. 添加箭头形状
             ArrowShape arrowShape = new ArrowShape();
@@ -140,11 +168,10 @@ public class CompoundShapeCalculation {
                 irregularShape
             ));
             
-            System.out.println("所有形状初始化完成，共" + shapeList.size() + "个形状");
+            LOG.debug(() -> "所有形状初始化完成，共" + shapeList.size() + "个形状");
             
         } catch (Exception e) {
-            System.err.println("初始化形状时出错：" + e.getMessage());
-            e.printStackTrace();
+            LOG.error("初始化形状时出错", e);
         }
         
         return shapeList;
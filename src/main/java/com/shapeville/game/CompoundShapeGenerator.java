@@ -0,0 +1,440 @@
+package com.shapeville.game;
+
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.shapeville.game.CompoundShapeCalculation.CompoundShape;
+import com.shapeville.gui.shapes.compound.GeneratedShape;
+import com.shapeville.gui.shapes.compound.GeneratedShape.DimensionLabel;
+import com.shapeville.model.CompoundGeometry;
+import com.shapeville.model.Polygon;
+
+/**
+ * 复合形状生成器
+ * 用矩形、三角形和梯形随机组合出复合形状，所有尺寸都是整数，
+ * 面积按组成部分的公式精确计算（结果只可能是整数或0.5的倍数），并给出与固定题目相同格式的解题步骤。
+ * 与 QuestionEngine 一样，每个线程持有独立的 SplittableRandom 流，生成过程无锁；
+ * 批量生成时按种子分块，相同的种子总是得到相同的形状序列。
+ */
+public final class CompoundShapeGenerator {
+    // 形状模板
+    public enum Template {
+        L_SHAPE("L形状"),
+        T_SHAPE("T形状"),
+        HOUSE("房屋形状"),
+        ARROW("箭头形状"),
+        STAIRS("三级阶梯"),
+        TRAPEZIUM_ROOF("梯形屋顶");
+
+        private final String chinese;
+
+        Template(String chinese) {
+            this.chinese = chinese;
+        }
+
+        public String getChinese() {
+            return chinese;
+        }
+    }
+
+    private static final int BATCH_CHUNK = 1024;          // 批量生成时每个并行块的形状数量
+    private static final String[] UNITS = {"cm", "m"};
+
+    // 各模板的参数名称（所有形状共享，避免重复分配）
+    private static final String[] L_PARAMS = {"leftWidth", "leftHeight", "rightWidth", "rightHeight"};
+    private static final String[] T_PARAMS = {"topWidth", "topHeight", "bottomWidth", "bottomHeight", "topOffset"};
+    private static final String[] HOUSE_PARAMS = {"baseWidth", "baseHeight", "roofHeight", "apexX"};
+    private static final String[] ARROW_PARAMS = {"width", "height", "topWidth", "trapezoidHeight"};
+    private static final String[] STAIRS_PARAMS = {"width1", "height1", "width2", "height2", "width3", "height3"};
+    private static final String[] ROOF_PARAMS = {"baseWidth", "baseHeight", "topWidth", "roofHeight", "topOffset"};
+
+    private static final Template[] TEMPLATES = Template.values();
+
+    private static final CompoundShapeGenerator DEFAULT = new CompoundShapeGenerator(new SplittableRandom());
+
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> localRandom;
+
+    public CompoundShapeGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private CompoundShapeGenerator(SplittableRandom root) {
+        this.root = root;
+        this.localRandom = ThreadLocal.withInitial(this::splitRoot);
+    }
+
+    /**
+     * 获取全局共享的生成器实例
+     * @return 默认生成器
+     */
+    public static CompoundShapeGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    // SplittableRandom.split() 本身不是线程安全的，只在线程首次使用时加锁一次
+    private SplittableRandom splitRoot() {
+        synchronized (root) {
+            return root.split();
+        }
+    }
+
+    /**
+     * 生成随机模板的复合形状
+     * @return 复合形状
+     */
+    public CompoundShape next() {
+        SplittableRandom random = localRandom.get();
+        return next(random, TEMPLATES[random.nextInt(TEMPLATES.length)]);
+    }
+
+    /**
+     * 生成指定模板的复合形状
+     * @param template 形状模板
+     * @return 复合形状
+     */
+    public CompoundShape next(Template template) {
+        return next(localRandom.get(), template);
+    }
+
+    /**
+     * 并行批量生成复合形状（如预生成练习卷）
+     * 每个数据块在开始前按顺序从种子流中分裂出独立的随机流，结果与线程数量无关。
+     * @param count 形状数量
+     * @param seed 随机种子
+     * @return 形状数组，与 stream(seed) 的前 count 个元素相同
+     */
+    public static CompoundShape[] generate(int count, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("形状数量不能为负数: " + count);
+        }
+        CompoundShape[] result = new CompoundShape[count];
+        int chunks = (count + BATCH_CHUNK - 1) / BATCH_CHUNK;
+        SplittableRandom seedStream = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            streams[i] = seedStream.split();
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = streams[chunk];
+            int end = Math.min(count, (chunk + 1) * BATCH_CHUNK);
+            for (int i = chunk * BATCH_CHUNK; i < end; i++) {
+                result[i] = next(random, TEMPLATES[random.nextInt(TEMPLATES.length)]);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 按需生成的无限形状流
+     * 形状在消费时才生成，适合边生成边输出的场景；需要固定数量时配合 limit() 使用。
+     * @param seed 随机种子
+     * @return 有序的形状流
+     */
+    public static Stream<CompoundShape> stream(long seed) {
+        SplittableRandom seedStream = new SplittableRandom(seed);
+        Spliterator<CompoundShape> spliterator = new Spliterators.AbstractSpliterator<CompoundShape>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private SplittableRandom random;
+            private int remaining;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super CompoundShape> action) {
+                // 与 generate() 使用相同的分块方式，保证两者得到相同的序列
+                if (remaining == 0) {
+                    random = seedStream.split();
+                    remaining = BATCH_CHUNK;
+                }
+                remaining--;
+                action.accept(next(random, TEMPLATES[random.nextInt(TEMPLATES.length)]));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private static CompoundShape next(SplittableRandom random, Template template) {
+        String unit = UNITS[random.nextInt(UNITS.length)];
+        switch (template) {
+            case L_SHAPE:
+                return lShape(random, unit);
+            case T_SHAPE:
+                return tShape(random, unit);
+            case HOUSE:
+                return house(random, unit);
+            case ARROW:
+                return arrow(random, unit);
+            case STAIRS:
+                return stairs(random, unit);
+            case TRAPEZIUM_ROOF:
+                return trapeziumRoof(random, unit);
+            default:
+                throw new IllegalArgumentException("未知的形状模板: " + template);
+        }
+    }
+
+    // 闭区间 [min, max] 内的随机整数
+    private static int between(SplittableRandom random, int min, int max) {
+        return random.nextInt(min, max + 1);
+    }
+
+    /**
+     * L形状：左侧高矩形和右侧矮矩形底部对齐
+     */
+    private static CompoundShape lShape(SplittableRandom random, String unit) {
+        int a = between(random, 2, 12);       // 左侧宽
+        int height = between(random, 4, 16);  // 左侧高
+        int b = between(random, 2, 12);       // 右侧宽
+        int h = between(random, 2, height - 1); // 右侧高
+        int width = a + b;
+        int stepY = height - h;
+
+        Polygon outline = new Polygon(0, 0, a, 0, a, stepY, width, stepY, width, height, 0, height);
+        DimensionLabel[] labels = {
+            new DimensionLabel(0, 0, 0, height, -20, 0, label(height, unit)),
+            new DimensionLabel(0, 0, a, 0, 0, -20, label(a, unit)),
+            new DimensionLabel(a, stepY, width, stepY, 0, -20, label(b, unit)),
+            new DimensionLabel(width, stepY, width, height, 20, 0, label(h, unit)),
+            new DimensionLabel(0, height, width, height, 0, 20, label(width, unit))
+        };
+
+        double left = (double) a * height;
+        double right = (double) b * h;
+        double area = left + right;
+        String steps = "1. 计算左侧矩形面积：\n" +
+            "   宽 × 高 = " + a + " × " + height + " = " + number(left) + " " + unit + "²\n\n" +
+            "2. 计算右侧矩形面积：\n" +
+            "   宽 × 高 = " + b + " × " + h + " = " + number(right) + " " + unit + "²\n\n" +
+            "3. 计算总面积：\n" +
+            "   左侧矩形 + 右侧矩形\n" +
+            "   = " + number(left) + " + " + number(right) + "\n" +
+            "   = " + number(area) + " " + unit + "²";
+        String description = "由左侧矩形(" + a + "×" + height + ")和右侧矩形(" + b + "×" + h + ")组成。\n计算总面积。";
+        return shape(Template.L_SHAPE, description, area, steps,
+            new CompoundGeometry(outline), L_PARAMS, new double[]{a, height, b, h}, labels);
+    }
+
+    /**
+     * T形状：底部宽矩形上方放一个较窄的矩形
+     */
+    private static CompoundShape tShape(SplittableRandom random, String unit) {
+        int bottomWidth = between(random, 6, 20);
+        int bottomHeight = between(random, 2, 12);
+        int topWidth = between(random, 2, bottomWidth - 2);
+        int topHeight = between(random, 2, 12);
+        int offset = between(random, 0, bottomWidth - topWidth);
+
+        Polygon bottom = Polygon.rectangle(0, topHeight, bottomWidth, bottomHeight);
+        Polygon top = Polygon.rectangle(offset, 0, topWidth, topHeight);
+        int totalHeight = topHeight + bottomHeight;
+        DimensionLabel[] labels = {
+            new DimensionLabel(offset, 0, offset + topWidth, 0, 0, -20, label(topWidth, unit)),
+            new DimensionLabel(offset, 0, offset, topHeight, -20, 0, label(topHeight, unit)),
+            new DimensionLabel(0, totalHeight, bottomWidth, totalHeight, 0, 20, label(bottomWidth, unit)),
+            new DimensionLabel(0, topHeight, 0, totalHeight, -20, 0, label(bottomHeight, unit))
+        };
+
+        double topArea = (double) topWidth * topHeight;
+        double bottomArea = (double) bottomWidth * bottomHeight;
+        double area = topArea + bottomArea;
+        String steps = "1. 计算顶部矩形面积：\n" +
+            "   宽 × 高 = " + topWidth + " × " + topHeight + " = " + number(topArea) + " " + unit + "²\n\n" +
+            "2. 计算底部矩形面积：\n" +
+            "   宽 × 高 = " + bottomWidth + " × " + bottomHeight + " = " + number(bottomArea) + " " + unit + "²\n\n" +
+            "3. 计算总面积：\n" +
+            "   顶部面积 + 底部面积\n" +
+            "   = " + number(topArea) + " + " + number(bottomArea) + "\n" +
+            "   = " + number(area) + " " + unit + "²";
+        String description = "由顶部矩形(" + topWidth + "×" + topHeight + ")和底部矩形("
+            + bottomWidth + "×" + bottomHeight + ")组成。\n计算总面积。";
+        return shape(Template.T_SHAPE, description, area, steps, new CompoundGeometry(bottom, top),
+            T_PARAMS, new double[]{topWidth, topHeight, bottomWidth, bottomHeight, offset}, labels);
+    }
+
+    /**
+     * 房屋形状：底部矩形上方放一个与其共底边的三角形
+     */
+    private static CompoundShape house(SplittableRandom random, String unit) {
+        int width = between(random, 4, 20);
+        int baseHeight = between(random, 2, 12);
+        int roofHeight = between(random, 2, 12);
+        int apexX = between(random, 0, width);
+        int totalHeight = roofHeight + baseHeight;
+
+        Polygon base = Polygon.rectangle(0, roofHeight, width, baseHeight);
+        Polygon roof = new Polygon(0, roofHeight, apexX, 0, width, roofHeight);
+        DimensionLabel[] labels = {
+            new DimensionLabel(0, totalHeight, width, totalHeight, 0, 20, label(width, unit)),
+            new DimensionLabel(0, roofHeight, 0, totalHeight, -20, 0, label(baseHeight, unit)),
+            new DimensionLabel(width, 0, width, roofHeight, 20, 0, label(roofHeight, unit))
+        };
+
+        double rectangleArea = (double) width * baseHeight;
+        double triangleArea = (double) width * roofHeight / 2;
+        double area = rectangleArea + triangleArea;
+        String steps = "1. 计算矩形面积：\n" +
+            "   底 × 高 = " + width + " × " + baseHeight + " = " + number(rectangleArea) + " " + unit + "²\n\n" +
+            "2. 计算三角形面积：\n" +
+            "   底 × 高 ÷ 2\n" +
+            "   = " + width + " × " + roofHeight + " ÷ 2\n" +
+            "   = " + number(triangleArea) + " " + unit + "²\n\n" +
+            "3. 计算总面积：\n" +
+            "   矩形面积 + 三角形面积\n" +
+            "   = " + number(rectangleArea) + " + " + number(triangleArea) + "\n" +
+            "   = " + number(area) + " " + unit + "²";
+        String description = "底部矩形(" + width + "×" + baseHeight + ")和三角形(底" + width + "高"
+            + roofHeight + ")组成。\n计算总面积。";
+        return shape(Template.HOUSE, description, area, steps, new CompoundGeometry(base, roof),
+            HOUSE_PARAMS, new double[]{width, baseHeight, roofHeight, apexX}, labels);
+    }
+
+    /**
+     * 箭头形状：矩形右侧接一个上下对称的梯形
+     */
+    private static CompoundShape arrow(SplittableRandom random, String unit) {
+        int width = between(random, 4, 16);
+        int height = between(random, 4, 16);
+        // 顶边与高奇偶相同，梯形顶点落在整数坐标上
+        int topWidth = height - 2 * between(random, 1, (height - 1) / 2);
+        int trapezoidHeight = between(random, 2, 10);
+        int inset = (height - topWidth) / 2;
+        int tip = width + trapezoidHeight;
+
+        Polygon rectangle = Polygon.rectangle(0, 0, width, height);
+        Polygon trapezoid = new Polygon(width, 0, tip, inset, tip, inset + topWidth, width, height);
+        DimensionLabel[] labels = {
+            new DimensionLabel(0, height, width, height, 0, 20, label(width, unit)),
+            new DimensionLabel(0, 0, 0, height, -20, 0, label(height, unit)),
+            new DimensionLabel(tip, inset, tip, inset + topWidth, 10, 0, label(topWidth, unit)),
+            new DimensionLabel(width, 0, tip, 0, 0, -20, label(trapezoidHeight, unit))
+        };
+
+        double rectangleArea = (double) width * height;
+        double trapezoidArea = (double) (height + topWidth) * trapezoidHeight / 2;
+        double area = rectangleArea + trapezoidArea;
+        String steps = "1. 计算矩形面积：\n" +
+            "   底 × 高 = " + width + " × " + height + " = " + number(rectangleArea) + " " + unit + "²\n\n" +
+            "2. 计算梯形面积：\n" +
+            "   (上底 + 下底) × 高 ÷ 2\n" +
+            "   = (" + topWidth + " + " + height + ") × " + trapezoidHeight + " ÷ 2\n" +
+            "   = " + (topWidth + height) + " × " + trapezoidHeight + " ÷ 2\n" +
+            "   = " + number(trapezoidArea) + " " + unit + "²\n\n" +
+            "3. 计算总面积：\n" +
+            "   矩形面积 + 梯形面积\n" +
+            "   = " + number(rectangleArea) + " + " + number(trapezoidArea) + "\n" +
+            "   = " + number(area) + " " + unit + "²";
+        String description = "由一个矩形(" + width + "×" + height + ")和一个梯形(底" + height + "，顶"
+            + topWidth + "，高" + trapezoidHeight + ")组成。\n计算总面积。";
+        return shape(Template.ARROW, description, area, steps, new CompoundGeometry(rectangle, trapezoid),
+            ARROW_PARAMS, new double[]{width, height, topWidth, trapezoidHeight}, labels);
+    }
+
+    /**
+     * 三级阶梯：三个底部对齐、从左到右逐级变矮的矩形
+     */
+    private static CompoundShape stairs(SplittableRandom random, String unit) {
+        int w1 = between(random, 2, 8);
+        int w2 = between(random, 2, 8);
+        int w3 = between(random, 2, 8);
+        int h3 = between(random, 2, 6);
+        int h2 = h3 + between(random, 1, 5);
+        int h1 = h2 + between(random, 1, 5);
+        int x2 = w1;
+        int x3 = w1 + w2;
+        int width = x3 + w3;
+
+        Polygon outline = new Polygon(
+            0, 0, x2, 0, x2, h1 - h2, x3, h1 - h2, x3, h1 - h3, width, h1 - h3, width, h1, 0, h1);
+        DimensionLabel[] labels = {
+            new DimensionLabel(0, 0, 0, h1, -20, 0, label(h1, unit)),
+            new DimensionLabel(0, 0, x2, 0, 0, -20, label(w1, unit)),
+            new DimensionLabel(x2, h1 - h2, x3, h1 - h2, 0, -20, label(w2, unit)),
+            new DimensionLabel(x3, h1 - h3, width, h1 - h3, 0, -20, label(w3, unit)),
+            // 中间一级的高度画在形状内部
+            new DimensionLabel(x2 + w2 / 2.0, h1 - h2, x2 + w2 / 2.0, h1, 0, 0, label(h2, unit)),
+            new DimensionLabel(width, h1 - h3, width, h1, 20, 0, label(h3, unit)),
+            new DimensionLabel(0, h1, width, h1, 0, 20, label(width, unit))
+        };
+
+        double area1 = (double) w1 * h1;
+        double area2 = (double) w2 * h2;
+        double area3 = (double) w3 * h3;
+        double area = area1 + area2 + area3;
+        String steps = "1. 计算左侧矩形面积：\n" +
+            "   宽 × 高 = " + w1 + " × " + h1 + " = " + number(area1) + " " + unit + "²\n\n" +
+            "2. 计算中间矩形面积：\n" +
+            "   宽 × 高 = " + w2 + " × " + h2 + " = " + number(area2) + " " + unit + "²\n\n" +
+            "3. 计算右侧矩形面积：\n" +
+            "   宽 × 高 = " + w3 + " × " + h3 + " = " + number(area3) + " " + unit + "²\n\n" +
+            "4. 计算总面积：\n" +
+            "   左侧矩形 + 中间矩形 + 右侧矩形\n" +
+            "   = " + number(area1) + " + " + number(area2) + " + " + number(area3) + "\n" +
+            "   = " + number(area) + " " + unit + "²";
+        String description = "三个矩形组合：" + w1 + "×" + h1 + "，" + w2 + "×" + h2 + "，"
+            + w3 + "×" + h3 + "。\n计算总面积。";
+        return shape(Template.STAIRS, description, area, steps, new CompoundGeometry(outline),
+            STAIRS_PARAMS, new double[]{w1, h1, w2, h2, w3, h3}, labels);
+    }
+
+    /**
+     * 梯形屋顶：底部矩形上方放一个与其共底边的梯形
+     */
+    private static CompoundShape trapeziumRoof(SplittableRandom random, String unit) {
+        int width = between(random, 4, 20);
+        int baseHeight = between(random, 2, 12);
+        int topWidth = between(random, 2, width - 2);
+        int roofHeight = between(random, 2, 10);
+        int offset = between(random, 0, width - topWidth);
+        int totalHeight = roofHeight + baseHeight;
+
+        Polygon base = Polygon.rectangle(0, roofHeight, width, baseHeight);
+        Polygon roof = new Polygon(0, roofHeight, offset, 0, offset + topWidth, 0, width, roofHeight);
+        DimensionLabel[] labels = {
+            new DimensionLabel(0, totalHeight, width, totalHeight, 0, 20, label(width, unit)),
+            new DimensionLabel(0, roofHeight, 0, totalHeight, -20, 0, label(baseHeight, unit)),
+            new DimensionLabel(offset, 0, offset + topWidth, 0, 0, -20, label(topWidth, unit)),
+            new DimensionLabel(width, 0, width, roofHeight, 20, 0, label(roofHeight, unit))
+        };
+
+        double rectangleArea = (double) width * baseHeight;
+        double trapezoidArea = (double) (topWidth + width) * roofHeight / 2;
+        double area = rectangleArea + trapezoidArea;
+        String steps = "1. 计算矩形面积：\n" +
+            "   底 × 高 = " + width + " × " + baseHeight + " = " + number(rectangleArea) + " " + unit + "²\n\n" +
+            "2. 计算梯形面积：\n" +
+            "   (上底 + 下底) × 高 ÷ 2\n" +
+            "   = (" + topWidth + " + " + width + ") × " + roofHeight + " ÷ 2\n" +
+            "   = " + (topWidth + width) + " × " + roofHeight + " ÷ 2\n" +
+            "   = " + number(trapezoidArea) + " " + unit + "²\n\n" +
+            "3. 计算总面积：\n" +
+            "   矩形面积 + 梯形面积\n" +
+            "   = " + number(rectangleArea) + " + " + number(trapezoidArea) + "\n" +
+            "   = " + number(area) + " " + unit + "²";
+        String description = "底部矩形(" + width + "×" + baseHeight + ")和梯形(下底" + width + "，上底"
+            + topWidth + "，高" + roofHeight + ")组成。\n计算总面积。";
+        return shape(Template.TRAPEZIUM_ROOF, description, area, steps, new CompoundGeometry(base, roof),
+            ROOF_PARAMS, new double[]{width, baseHeight, topWidth, roofHeight, offset}, labels);
+    }
+
+    private static CompoundShape shape(Template template, String description, double area, String steps,
+                                       CompoundGeometry geometry, String[] paramNames, double[] params,
+                                       DimensionLabel[] labels) {
+        GeneratedShape renderer = new GeneratedShape(geometry, paramNames, params, labels, steps);
+        return new CompoundShape(template.getChinese(), description, area, steps, renderer);
+    }
+
+    private static String label(int value, String unit) {
+        return value + " " + unit;
+    }
+
+    // 面积只可能是整数或0.5的倍数，整数时不显示小数部分
+    private static String number(double value) {
+        long whole = (long) value;
+        return whole == value ? Long.toString(whole) : whole + ".5";
+    }
+}
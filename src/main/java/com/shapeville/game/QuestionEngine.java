@@ -0,0 +1,288 @@
+package com.shapeville.game;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 题目生成引擎
+ * 线程安全、无界面依赖的参数化题目生成器，为面积、圆形和扇形计算提供随机题目。
+ * 每个线程持有独立的 SplittableRandom 流，生成过程无锁、无共享状态，
+ * 可在多核上并行批量生成题目（如预生成练习卷或同时服务多个学习者）。
+ */
+public final class QuestionEngine {
+    // 题目类型
+    public enum Kind {
+        AREA, CIRCLE, SECTOR
+    }
+
+    // 圆形练习类型
+    public enum CircleType {
+        RADIUS_AREA("r", true),
+        RADIUS_CIRCUM("r", false),
+        DIAMETER_AREA("d", true),
+        DIAMETER_CIRCUM("d", false);
+
+        private final String symbol;
+        private final boolean area;
+
+        CircleType(String symbol, boolean area) {
+            this.symbol = symbol;
+            this.area = area;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public boolean isArea() {
+            return area;
+        }
+
+        public boolean isRadius() {
+            return "r".equals(symbol);
+        }
+    }
+
+    /**
+     * 不可变的题目对象
+     * 参数名称数组在同类题目间共享，参数值按参数名称的顺序存放。
+     */
+    public static final class Question {
+        private final Kind kind;
+        private final String shape;
+        private final String[] paramNames;
+        private final double[] params;
+        private final double answer;
+        private final String unit;
+
+        Question(Kind kind, String shape, String[] paramNames, double[] params, double answer, String unit) {
+            this.kind = kind;
+            this.shape = shape;
+            this.paramNames = paramNames;
+            this.params = params;
+            this.answer = answer;
+            this.unit = unit;
+        }
+
+        public Kind getKind() { return kind; }
+        public String getShape() { return shape; }
+        public int getParamCount() { return params.length; }
+        public String getParamName(int index) { return paramNames[index]; }
+        public double getParam(int index) { return params[index]; }
+        public double getAnswer() { return answer; }
+        public String getUnit() { return unit; }
+
+        public double[] getParams() {
+            return params.clone();
+        }
+
+        public boolean checkAnswer(double value, double tolerance) {
+            return Math.abs(value - answer) < tolerance;
+        }
+
+        public String getParamsString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < params.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(paramNames[i]).append(" = ").append(String.format(Locale.ROOT, "%.1f", params[i]));
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final int MAX_VALUE = 20;              // 随机参数上限（与原有题目保持一致：1-20）
+    private static final int BATCH_CHUNK = 4096;          // 批量生成时每个并行块的题目数量
+    private static final String[] SECTOR_UNITS = {"cm", "m", "mm", "ft", "in", "yd"};
+
+    // 各形状的参数名称（所有题目共享，避免重复分配）
+    private static final String[] RECTANGLE_PARAMS = {"长", "宽"};
+    private static final String[] BASE_HEIGHT_PARAMS = {"底", "高"};
+    private static final String[] TRAPEZIUM_PARAMS = {"上底", "下底", "高"};
+    private static final String[] RADIUS_PARAMS = {"r"};
+    private static final String[] DIAMETER_PARAMS = {"d"};
+    private static final String[] SECTOR_PARAMS = {"r", "θ"};
+
+    private static final AreaCalculation.ShapeType[] AREA_SHAPES = AreaCalculation.ShapeType.values();
+    private static final CircleType[] CIRCLE_TYPES = CircleType.values();
+
+    private static final QuestionEngine DEFAULT = new QuestionEngine(new SplittableRandom());
+
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> localRandom;
+
+    public QuestionEngine(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private QuestionEngine(SplittableRandom root) {
+        this.root = root;
+        this.localRandom = ThreadLocal.withInitial(this::splitRoot);
+    }
+
+    /**
+     * 获取全局共享的引擎实例
+     * @return 默认引擎
+     */
+    public static QuestionEngine getDefault() {
+        return DEFAULT;
+    }
+
+    // SplittableRandom.split() 本身不是线程安全的，只在线程首次使用时加锁一次
+    private SplittableRandom splitRoot() {
+        synchronized (root) {
+            return root.split();
+        }
+    }
+
+    /**
+     * 生成指定形状的面积计算题
+     * @param shape 形状类型
+     * @return 题目
+     */
+    public Question nextArea(AreaCalculation.ShapeType shape) {
+        return area(localRandom.get(), shape);
+    }
+
+    /**
+     * 生成随机形状的面积计算题
+     * @return 题目
+     */
+    public Question nextArea() {
+        SplittableRandom random = localRandom.get();
+        return area(random, AREA_SHAPES[random.nextInt(AREA_SHAPES.length)]);
+    }
+
+    /**
+     * 生成指定类型的圆形计算题
+     * @param type 练习类型
+     * @return 题目
+     */
+    public Question nextCircle(CircleType type) {
+        return circle(localRandom.get(), type);
+    }
+
+    /**
+     * 生成随机类型的圆形计算题
+     * @return 题目
+     */
+    public Question nextCircle() {
+        SplittableRandom random = localRandom.get();
+        return circle(random, CIRCLE_TYPES[random.nextInt(CIRCLE_TYPES.length)]);
+    }
+
+    /**
+     * 生成随机扇形面积计算题
+     * @return 题目
+     */
+    public Question nextSector() {
+        return sector(localRandom.get());
+    }
+
+    /**
+     * 生成任意类型的题目
+     * @param kind 题目类型
+     * @return 题目
+     */
+    public Question next(Kind kind) {
+        return next(localRandom.get(), kind);
+    }
+
+    /**
+     * 并行批量生成题目
+     * 每个数据块在开始前按顺序从种子流中分裂出独立的随机流，
+     * 因此相同的种子总是得到相同的题目序列，与线程数量无关。
+     * @param kind 题目类型
+     * @param count 题目数量
+     * @param seed 随机种子
+     * @return 题目数组
+     */
+    public static Question[] generate(Kind kind, int count, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("题目数量不能为负数: " + count);
+        }
+        Question[] result = new Question[count];
+        int chunks = (count + BATCH_CHUNK - 1) / BATCH_CHUNK;
+        SplittableRandom seedStream = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            streams[i] = seedStream.split();
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = streams[chunk];
+            int end = Math.min(count, (chunk + 1) * BATCH_CHUNK);
+            for (int i = chunk * BATCH_CHUNK; i < end; i++) {
+                result[i] = next(random, kind);
+            }
+        });
+        return result;
+    }
+
+    private static Question next(SplittableRandom random, Kind kind) {
+        switch (kind) {
+            case AREA:
+                return area(random, AREA_SHAPES[random.nextInt(AREA_SHAPES.length)]);
+            case CIRCLE:
+                return circle(random, CIRCLE_TYPES[random.nextInt(CIRCLE_TYPES.length)]);
+            case SECTOR:
+                return sector(random);
+            default:
+                throw new IllegalArgumentException("未知的题目类型: " + kind);
+        }
+    }
+
+    private static double nextValue(SplittableRandom random) {
+        return 1 + random.nextInt(MAX_VALUE);
+    }
+
+    private static Question area(SplittableRandom random, AreaCalculation.ShapeType shape) {
+        switch (shape) {
+            case RECTANGLE: {
+                double length = nextValue(random);
+                double width = nextValue(random);
+                return new Question(Kind.AREA, shape.name(), RECTANGLE_PARAMS,
+                    new double[]{length, width}, length * width, null);
+            }
+            case PARALLELOGRAM: {
+                double base = nextValue(random);
+                double height = nextValue(random);
+                return new Question(Kind.AREA, shape.name(), BASE_HEIGHT_PARAMS,
+                    new double[]{base, height}, base * height, null);
+            }
+            case TRIANGLE: {
+                double base = nextValue(random);
+                double height = nextValue(random);
+                return new Question(Kind.AREA, shape.name(), BASE_HEIGHT_PARAMS,
+                    new double[]{base, height}, 0.5 * base * height, null);
+            }
+            case TRAPEZIUM: {
+                double top = nextValue(random);
+                double bottom = nextValue(random);
+                double height = nextValue(random);
+                return new Question(Kind.AREA, shape.name(), TRAPEZIUM_PARAMS,
+                    new double[]{top, bottom, height}, 0.5 * (top + bottom) * height, null);
+            }
+            default:
+                throw new IllegalArgumentException("未知的形状类型: " + shape);
+        }
+    }
+
+    private static Question circle(SplittableRandom random, CircleType type) {
+        double value = nextValue(random);
+        double radius = type.isRadius() ? value : value / 2.0;
+        double answer = type.isArea() ? Math.PI * radius * radius : 2 * Math.PI * radius;
+        return new Question(Kind.CIRCLE, type.name(), type.isRadius() ? RADIUS_PARAMS : DIAMETER_PARAMS,
+            new double[]{value}, answer, null);
+    }
+
+    private static Question sector(SplittableRandom random) {
+        // 半径取0.5的倍数（1.0-20.0），圆心角取10°的倍数（10°-350°）
+        double radius = (2 + random.nextInt(2 * MAX_VALUE - 1)) / 2.0;
+        double angle = 10.0 * (1 + random.nextInt(35));
+        String unit = SECTOR_UNITS[random.nextInt(SECTOR_UNITS.length)];
+        double answer = Math.PI * radius * radius * angle / 360.0;
+        return new Question(Kind.SECTOR, "SECTOR", SECTOR_PARAMS, new double[]{radius, angle}, answer, unit);
+    }
+}
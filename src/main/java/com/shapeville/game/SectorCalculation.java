@@ -6,20 +6,31 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.util.*;
+import com.shapeville.gui.shapes.LabelCache;
+import com.shapeville.gui.shapes.RenderResources;
 
 public class SectorCalculation {
     // 扇形参数类
     public static class Sector {
+        private static final Color FILL_COLOR = RenderResources.color(255, 200, 200); // 浅粉色填充
+        private static final BasicStroke OUTLINE_STROKE = RenderResources.stroke(2.0f);
+        private static final Font LABEL_FONT = RenderResources.font(Font.PLAIN, 14);
+
         private double radius;
         private double angle;
         private String unit;
         private double correctArea;
         private String solution;
+        // 图中的标注文字，扇形参数不变，构造时格式化一次
+        private final String radiusText;
+        private final String angleText;
 
         public Sector(double radius, double angle, String unit) {
             this.radius = radius;
             this.angle = angle;
             this.unit = unit;
+            this.radiusText = radius + " " + unit;
+            this.angleText = String.format("%.0f°", angle);
             calculateCorrectArea();
         }
 
@@ -38,12 +49,12 @@ public class SectorCalculation {
             int centerY = height / 2;
             
             // 绘制扇形
-            g2d.setColor(new Color(255, 200, 200)); // 浅粉色填充
+            g2d.setColor(FILL_COLOR);
             g2d.fillArc(centerX - size/2, centerY - size/2, size, size, 0, -(int)angle);
             
             // 绘制圆弧
             g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setStroke(OUTLINE_STROKE);
             g2d.drawArc(centerX - size/2, centerY - size/2, size, size, 0, 360);
             
             // 绘制扇形边
@@ -54,20 +65,18 @@ public class SectorCalculation {
             g2d.drawLine(centerX, centerY, endX, endY); // 斜线
             
             // 绘制标注
-            g2d.setFont(new Font("微软雅黑", Font.PLAIN, 14));
+            g2d.setFont(LABEL_FONT);
             // 绘制半径标注
-            String radiusText = radius + " " + unit;
-            g2d.drawString(radiusText, centerX + size/4, centerY - 5);
+            LabelCache.draw(g2d, LABEL_FONT, radiusText, centerX + size/4, centerY - 5);
             
             // 绘制角度标注
             int arcRadius = 30;
             g2d.drawArc(centerX - arcRadius, centerY - arcRadius, 
                        2 * arcRadius, 2 * arcRadius, 0, -(int)angle);
-            String angleText = String.format("%.0f°", angle);
             double labelAngle = Math.toRadians(angle/2);
             int labelX = centerX + (int)(arcRadius * 1.5 * Math.cos(labelAngle));
             int labelY = centerY - (int)(arcRadius * 1.5 * Math.sin(labelAngle));
-            g2d.drawString(angleText, labelX, labelY);
+            LabelCache.draw(g2d, LABEL_FONT, angleText, labelX, labelY);
         }
 
         private void calculateCorrectArea() {
@@ -107,6 +116,15 @@ public class SectorCalculation {
         sectors.add(new Sector(15, 250, "mm"));  // 8号扇形
     }
 
+    /**
+     * 由题目引擎生成一个随机扇形，用于预生成练习卷等不依赖固定题库的场景
+     * @return 随机扇形
+     */
+    public static Sector randomSector() {
+        QuestionEngine.Question question = QuestionEngine.getDefault().nextSector();
+        return new Sector(question.getParam(0), question.getParam(1), question.getUnit());
+    }
+
     public List<Sector> getSectors() {
         return sectors;
     }
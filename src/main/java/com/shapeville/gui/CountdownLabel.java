@@ -0,0 +1,80 @@
+package com.shapeville.gui;
+
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Insets;
+
+import javax.swing.JLabel;
+
+/**
+ * 倒计时标签
+ * 显示"剩余时间: m:ss"。首选尺寸按最宽的时间文本固定，每秒更新文字时不会触发布局，
+ * 只重绘标签自身所在的矩形（JLabel.setText 默认会让整个窗口重新布局）。
+ */
+public class CountdownLabel extends JLabel {
+    private static final String PREFIX = "剩余时间: ";
+
+    // 用于计算固定宽度的最宽文本（数字按等宽处理）
+    private final String widestText;
+    private int remaining = -1;
+    private boolean updatingTime;
+
+    /**
+     * @param maxSeconds 倒计时的最大秒数，决定分钟位数
+     * @param horizontalAlignment 水平对齐方式（SwingConstants）
+     */
+    public CountdownLabel(int maxSeconds, int horizontalAlignment) {
+        super(format(maxSeconds), horizontalAlignment);
+        this.remaining = maxSeconds;
+        this.widestText = PREFIX + "0".repeat(String.valueOf(maxSeconds / 60).length()) + ":00";
+    }
+
+    /**
+     * 显示剩余秒数，文字未变化时不做任何事
+     * @param seconds 剩余秒数
+     */
+    public void setRemaining(int seconds) {
+        if (seconds == remaining) {
+            return;
+        }
+        remaining = seconds;
+        updatingTime = true;
+        try {
+            setText(format(seconds));
+        } finally {
+            updatingTime = false;
+        }
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        FontMetrics metrics = getFontMetrics(getFont());
+        Insets insets = getInsets();
+        return new Dimension(metrics.stringWidth(widestText) + insets.left + insets.right,
+                             metrics.getHeight() + insets.top + insets.bottom);
+    }
+
+    @Override
+    public Dimension getMinimumSize() {
+        return isMinimumSizeSet() ? super.getMinimumSize() : getPreferredSize();
+    }
+
+    @Override
+    public void revalidate() {
+        // 更新时间不改变首选尺寸，跳过布局；字体、边框等变化仍正常布局
+        if (!updatingTime) {
+            super.revalidate();
+        }
+    }
+
+    private static String format(int seconds) {
+        return String.format("%s%d:%02d", PREFIX, seconds / 60, seconds % 60);
+    }
+}
@@ -0,0 +1,368 @@
+package com.shapeville.gui;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.InvocationEvent;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.AbstractButton;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+import com.shapeville.utils.Log;
+import com.shapeville.utils.Metrics;
+
+/**
+ * 事件线程卡顿监视器
+ * 在系统事件队列上压入一个记录每次事件分发开始时刻的队列，由守护线程定期检查：
+ * 某次分发持续超过阈值时抓取事件线程的调用栈，分发结束后把卡顿记录
+ * （时刻、持续时间、事件、来源组件、应用中正在执行的绘制方法、调用栈）放入固定容量的环形缓冲区，
+ * 同时记录到 Metrics 的 edt.stall 直方图。绘制超过预算的情况由 PaintMonitor 通过 recordSlowPaint() 上报
+ * （需要 shapeville.paint.monitor=true）。
+ *
+ * 模态对话框（如 JOptionPane）会在事件分发中嵌套处理事件，嵌套分发期间事件线程仍在响应，不算作卡顿。
+ *
+ * 系统属性：
+ * shapeville.edt.watchdog=false 关闭监视；
+ * shapeville.edt.threshold 卡顿阈值（毫秒，默认100）；
+ * shapeville.edt.paintBudget 单次绘制的预算（毫秒，默认16）；
+ * shapeville.edt.history 保留的记录数（默认64）。
+ */
+public final class EdtWatchdog {
+    private static final Log LOG = Log.get(EdtWatchdog.class);
+
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("shapeville.edt.watchdog"));
+    private static final long THRESHOLD_NANOS = Long.getLong("shapeville.edt.threshold", 100) * 1_000_000L;
+    private static final long PAINT_BUDGET_NANOS = Long.getLong("shapeville.edt.paintBudget", 16) * 1_000_000L;
+    private static final int HISTORY = Math.max(1, Integer.getInteger("shapeville.edt.history", 64));
+    // 检查间隔取阈值的1/4，卡顿时长的测量误差不超过阈值的25%
+    private static final long CHECK_MILLIS = Math.max(5, THRESHOLD_NANOS / 4_000_000L);
+    private static final int MAX_STACK_DEPTH = 40;
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final Metrics.Histogram STALL_TIME = Metrics.histogram("edt.stall");
+    private static final Metrics.Histogram SLOW_PAINT_TIME = Metrics.histogram("edt.slowPaint");
+
+    /**
+     * 一次卡顿记录
+     */
+    public static final class Stall {
+        private final long timeMillis;
+        private final long durationNanos;
+        private final boolean paint;
+        private final String event;
+        private final String component;
+        private final String paintMethod;
+        private final StackTraceElement[] stack;
+
+        Stall(long timeMillis, long durationNanos, boolean paint, String event, String component,
+              String paintMethod, StackTraceElement[] stack) {
+            this.timeMillis = timeMillis;
+            this.durationNanos = durationNanos;
+            this.paint = paint;
+            this.event = event;
+            this.component = component;
+            this.paintMethod = paintMethod;
+            this.stack = stack;
+        }
+
+        /** @return 开始时刻（毫秒时间戳） */
+        public long getTimeMillis() { return timeMillis; }
+        public long getDurationNanos() { return durationNanos; }
+        /** @return 是否是超过预算的绘制（否则是超过阈值的事件分发） */
+        public boolean isPaint() { return paint; }
+        /** @return 正在分发的事件 */
+        public String getEvent() { return event; }
+        /** @return 事件来源或被绘制的组件，未知时为null */
+        public String getComponent() { return component; }
+        /** @return 应用代码中正在执行的绘制方法（类名.方法名），不在绘制中时为null */
+        public String getPaintMethod() { return paintMethod; }
+        /** @return 检测到卡顿时事件线程的调用栈，绘制超预算时为空数组 */
+        public StackTraceElement[] getStack() { return stack.clone(); }
+    }
+
+    // 检测到卡顿时抓取的现场，分发结束后补全持续时间
+    private static final class Capture {
+        final long segment;
+        final long startNanos;
+        final AWTEvent event;
+        final StackTraceElement[] stack;
+
+        Capture(long segment, long startNanos, AWTEvent event, StackTraceElement[] stack) {
+            this.segment = segment;
+            this.startNanos = startNanos;
+            this.event = event;
+            this.stack = stack;
+        }
+    }
+
+    private static final class MonitoredQueue extends EventQueue {
+        private final EdtWatchdog watchdog;
+
+        MonitoredQueue(EdtWatchdog watchdog) {
+            this.watchdog = watchdog;
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            AWTEvent outer = watchdog.enter(event);
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                watchdog.exit(outer);
+            }
+        }
+    }
+
+    private static EdtWatchdog instance;
+
+    // 以下字段由事件线程写入，监视线程读取
+    private volatile Thread edt;
+    private volatile long busySince;      // 当前连续处理开始的时刻，0 表示空闲
+    private volatile long segment;        // 当前连续处理的序号
+    private volatile AWTEvent current;
+    private int depth;                    // 事件分发的嵌套深度（只在事件线程中访问）
+
+    private final AtomicReference<Capture> capture = new AtomicReference<>();
+    private final Deque<Stall> history = new ArrayDeque<>(HISTORY);
+
+    private EdtWatchdog() {
+    }
+
+    /**
+     * 安装监视器并启动监视线程，重复调用或已通过系统属性关闭时没有影响
+     * 必须在事件线程中调用。
+     */
+    public static void install() {
+        if (!ENABLED || instance != null) {
+            return;
+        }
+        EdtWatchdog watchdog = new EdtWatchdog();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new MonitoredQueue(watchdog));
+        Thread thread = new Thread(watchdog::watch, "edt-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+        instance = watchdog;
+    }
+
+    /**
+     * @return 已安装的监视器，未安装时为null
+     */
+    public static EdtWatchdog getInstance() {
+        return instance;
+    }
+
+    /**
+     * 上报一次超过预算的绘制（由 PaintMonitor 在事件线程中调用）
+     * 未安装监视器时什么也不做。
+     * @param durationNanos 本轮绘制耗时
+     * @param components 本轮被重绘的组件
+     */
+    static void recordSlowPaint(long durationNanos, List<? extends Component> components) {
+        EdtWatchdog watchdog = instance;
+        if (watchdog == null || durationNanos < PAINT_BUDGET_NANOS) {
+            return;
+        }
+        SLOW_PAINT_TIME.record(durationNanos);
+        StringBuilder names = new StringBuilder();
+        for (Component c : components) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(describe(c));
+        }
+        watchdog.add(new Stall(System.currentTimeMillis() - durationNanos / 1_000_000, durationNanos, true,
+            "重绘", names.length() == 0 ? null : names.toString(), null, new StackTraceElement[0]));
+    }
+
+    /**
+     * @return 保留的卡顿记录，按时间先后排列
+     */
+    public List<Stall> getStalls() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    public void clear() {
+        synchronized (history) {
+            history.clear();
+        }
+    }
+
+    /**
+     * 生成卡顿报告
+     * @param withStacks 是否包含调用栈
+     * @return 报告文本，没有记录时为空字符串
+     */
+    public String report(boolean withStacks) {
+        List<Stall> stalls = getStalls();
+        StringBuilder sb = new StringBuilder();
+        for (int i = stalls.size() - 1; i >= 0; i--) {
+            Stall s = stalls.get(i);
+            sb.append(String.format("%s %s %.1f ms  %s", TIME_FORMAT.format(Instant.ofEpochMilli(s.timeMillis)),
+                s.paint ? "绘制超预算" : "事件线程卡顿", s.durationNanos / 1e6, s.event));
+            if (s.component != null) {
+                sb.append("  组件: ").append(s.component);
+            }
+            if (s.paintMethod != null) {
+                sb.append("  绘制: ").append(s.paintMethod);
+            }
+            sb.append(System.lineSeparator());
+            if (withStacks) {
+                for (StackTraceElement frame : s.stack) {
+                    sb.append("    at ").append(frame).append(System.lineSeparator());
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private AWTEvent enter(AWTEvent event) {
+        AWTEvent outer = current;
+        if (depth++ == 0) {
+            edt = Thread.currentThread();
+        } else {
+            finishSegment();
+        }
+        current = event;
+        startSegment();
+        return outer;
+    }
+
+    private void exit(AWTEvent outer) {
+        finishSegment();
+        current = outer;
+        if (--depth > 0) {
+            // 回到外层分发（如模态对话框关闭后），从现在开始重新计时
+            startSegment();
+        } else {
+            busySince = 0;
+        }
+    }
+
+    private void startSegment() {
+        segment++;
+        busySince = System.nanoTime();
+    }
+
+    private void finishSegment() {
+        Capture c = capture.get();
+        if (c == null) {
+            return;
+        }
+        capture.set(null);
+        if (c.segment != segment) {
+            return;     // 监视线程抓取现场时这段处理已经结束
+        }
+        long duration = System.nanoTime() - c.startNanos;
+        STALL_TIME.record(duration);
+        add(new Stall(System.currentTimeMillis() - duration / 1_000_000, duration, false,
+            describe(c.event), eventComponent(c.event), paintMethod(c.stack), c.stack));
+    }
+
+    private void add(Stall stall) {
+        synchronized (history) {
+            if (history.size() >= HISTORY) {
+                history.removeFirst();
+            }
+            history.addLast(stall);
+        }
+    }
+
+    private void watch() {
+        long reported = -1;
+        while (true) {
+            try {
+                Thread.sleep(CHECK_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long since = busySince;
+            long seg = segment;
+            Thread thread = edt;
+            if (since == 0 || thread == null || seg == reported || System.nanoTime() - since < THRESHOLD_NANOS) {
+                continue;
+            }
+            AWTEvent event = current;
+            StackTraceElement[] stack = trim(thread.getStackTrace());
+            // 抓取调用栈期间这段处理可能已经结束，此时丢弃
+            if (segment != seg || busySince != since) {
+                continue;
+            }
+            reported = seg;
+            capture.set(new Capture(seg, since, event, stack));
+            if (Log.WARN) {
+                String where = paintMethod(stack);
+                LOG.warn(String.format("事件线程已阻塞超过 %d ms：%s%s", THRESHOLD_NANOS / 1_000_000, describe(event),
+                    where != null ? "，绘制: " + where : stack.length > 0 ? "，位于 " + stack[0] : ""));
+            }
+        }
+    }
+
+    private static StackTraceElement[] trim(StackTraceElement[] stack) {
+        if (stack.length <= MAX_STACK_DEPTH) {
+            return stack;
+        }
+        StackTraceElement[] trimmed = new StackTraceElement[MAX_STACK_DEPTH];
+        System.arraycopy(stack, 0, trimmed, 0, MAX_STACK_DEPTH);
+        return trimmed;
+    }
+
+    // 调用栈中离栈顶最近的、属于应用代码的 paint* 方法
+    private static String paintMethod(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (frame.getMethodName().startsWith("paint") && !className.startsWith("java.")
+                    && !className.startsWith("javax.") && !className.startsWith("sun.")) {
+                return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+            }
+        }
+        return null;
+    }
+
+    private static String eventComponent(AWTEvent event) {
+        return event != null && event.getSource() instanceof Component ? describe((Component) event.getSource()) : null;
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event == null) {
+            return "未知事件";
+        }
+        String param = event.paramString();
+        if (event instanceof InvocationEvent) {
+            // 只保留 paramString 中被执行的 Runnable（如 invokeLater 提交的 lambda）
+            int start = param.indexOf("runnable=");
+            int end = start < 0 ? -1 : param.indexOf(',', start);
+            return "InvocationEvent " + (start < 0 ? param : param.substring(start, end < 0 ? param.length() : end));
+        }
+        int comma = param.indexOf(',');
+        return event.getClass().getSimpleName() + " " + (comma < 0 ? param : param.substring(0, comma));
+    }
+
+    private static String describe(Component c) {
+        String name = c.getClass().getName();
+        name = name.substring(name.lastIndexOf('.') + 1);
+        String text = c instanceof AbstractButton ? ((AbstractButton) c).getText()
+                    : c instanceof JLabel ? ((JLabel) c).getText() : c.getName();
+        if (text != null && !text.isEmpty()) {
+            name += "(\"" + (text.length() > 20 ? text.substring(0, 20) + "…" : text) + "\")";
+        }
+        Window window = SwingUtilities.getWindowAncestor(c);
+        if (window != null && window != c) {
+            name += " @ " + window.getClass().getSimpleName();
+        }
+        return name;
+    }
+}
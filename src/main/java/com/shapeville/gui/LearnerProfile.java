@@ -0,0 +1,293 @@
+package com.shapeville.gui;
+
+import com.shapeville.game.AdaptiveEngine;
+import com.shapeville.utils.AnswerEventLog;
+import com.shapeville.utils.DataManager;
+import com.shapeville.utils.LearnerProgress;
+import com.shapeville.utils.Log;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 学习者档案
+ * 保存单个学习者的任务状态、最高分、已解锁任务、等级和当前会话分数。
+ * 所有状态都基于并发容器和原子变量，可被多个线程同时读写；
+ * 每次修改在对应键的锁内写入进度日志，保证日志顺序与内存修改顺序一致。
+ * 每次提交答案都追加到答题事件日志，加载档案时从中重放已结束的题目以恢复自适应出题引擎的状态。
+ */
+public class LearnerProfile {
+    private static final Log LOG = Log.get(LearnerProfile.class);
+
+    private final String learnerId;
+    private final String[] basicTasks;
+    private final String[] advancedTasks;
+    private final DataManager dataManager;
+    private final AnswerEventLog answerLog;
+
+    private final ConcurrentHashMap<String, UIManager.TaskStatus> taskStatusMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> taskScores = new ConcurrentHashMap<>();
+    private final Set<String> unlockedTasks = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionScore = new AtomicInteger();
+    // 按技能统计的作答水平，用于选择下一题（由答题事件日志重放恢复）
+    private final AdaptiveEngine adaptiveEngine = new AdaptiveEngine();
+    private volatile int userLevel = 1;
+    private volatile String currentTask;
+
+    LearnerProfile(String learnerId, String[] basicTasks, String[] advancedTasks, DataManager dataManager,
+                   AnswerEventLog answerLog) {
+        this.learnerId = learnerId;
+        this.basicTasks = basicTasks;
+        this.advancedTasks = advancedTasks;
+        this.dataManager = dataManager;
+        this.answerLog = answerLog;
+        initializeTaskStatus();
+        restoreProgress();
+        restoreAnswers();
+    }
+
+    private void initializeTaskStatus() {
+        // 基础任务默认解锁，高级任务默认锁定
+        for (String task : basicTasks) {
+            taskStatusMap.put(task, UIManager.TaskStatus.UNLOCKED);
+            unlockedTasks.add(task);
+            taskScores.put(task, 0);
+        }
+        for (String task : advancedTasks) {
+            taskStatusMap.put(task, UIManager.TaskStatus.LOCKED);
+            taskScores.put(task, 0);
+        }
+    }
+
+    // 从持久化数据中恢复上次的学习进度
+    private void restoreProgress() {
+        LearnerProgress progress = dataManager.getProgress(learnerId);
+        if (progress == null) {
+            return;
+        }
+        progress.getTaskScores().forEach((task, score) -> taskScores.replace(task, score));
+        progress.getTaskStatus().forEach((task, status) -> {
+            try {
+                taskStatusMap.replace(task, UIManager.TaskStatus.valueOf(status));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("忽略无法识别的任务状态: " + status);
+            }
+        });
+        unlockedTasks.addAll(progress.getUnlockedTasks());
+        userLevel = progress.getUserLevel();
+    }
+
+    // 按时间顺序重放已结束的题目，题目项编号超出当前范围（如形状种类变化）时跳过
+    private void restoreAnswers() {
+        answerLog.replay(learnerId, (item, attempts, correct) -> {
+            if (item >= 0 && item < AdaptiveEngine.ITEM_COUNT) {
+                adaptiveEngine.record(item, attempts, correct);
+            }
+        });
+    }
+
+    public String getLearnerId() {
+        return learnerId;
+    }
+
+    public UIManager.TaskStatus getTaskStatus(String task) {
+        return taskStatusMap.get(task);
+    }
+
+    public void setTaskStatus(String task, UIManager.TaskStatus status) {
+        taskStatusMap.compute(task, (key, previous) -> {
+            // 进行中只是临时状态，不需要持久化
+            if (status != UIManager.TaskStatus.IN_PROGRESS && status != previous) {
+                dataManager.recordTaskStatus(learnerId, key, status.name());
+            }
+            return status;
+        });
+    }
+
+    public int getTaskScore(String task) {
+        return taskScores.getOrDefault(task, 0);
+    }
+
+    /**
+     * 原子地更新任务最高分
+     * @param task 任务名称
+     * @param score 本次得分
+     * @return 更新后的最高分
+     */
+    public int recordBestScore(String task, int score) {
+        return taskScores.compute(task, (key, previous) -> {
+            int best = previous == null ? score : Math.max(previous, score);
+            if (previous == null || best != previous) {
+                dataManager.recordTaskScore(learnerId, key, best);
+            }
+            return best;
+        });
+    }
+
+    public boolean isUnlocked(String task) {
+        return unlockedTasks.contains(task);
+    }
+
+    public void unlockTask(String task) {
+        if (unlockedTasks.add(task)) {
+            dataManager.recordUnlock(learnerId, task);
+        }
+    }
+
+    public int getUserLevel() {
+        return userLevel;
+    }
+
+    private synchronized void setUserLevel(int level) {
+        if (userLevel != level) {
+            userLevel = level;
+            dataManager.recordUserLevel(learnerId, level);
+        }
+    }
+
+    /**
+     * @return 该学习者的自适应出题引擎
+     */
+    public AdaptiveEngine getAdaptiveEngine() {
+        return adaptiveEngine;
+    }
+
+    /**
+     * 记录一次提交答案：追加到答题事件日志，本题结束时同时更新自适应出题引擎
+     * @param task 任务名称
+     * @param item 题目项（见 AdaptiveEngine.areaItem() 等），没有时为-1
+     * @param attempt 第几次尝试
+     * @param correct 本次是否答对
+     * @param finalAttempt 本题是否就此结束（答对或次数用尽）
+     * @param latencyMillis 本次作答用时（毫秒）
+     * @param params 题目参数
+     */
+    public void recordAnswer(String task, int item, int attempt, boolean correct, boolean finalAttempt,
+                             long latencyMillis, double... params) {
+        answerLog.append(System.currentTimeMillis(), learnerId, task, item, attempt, correct, finalAttempt,
+                         latencyMillis, params);
+        if (finalAttempt && item >= 0) {
+            adaptiveEngine.record(item, attempt, correct);
+        }
+    }
+
+    public int getSessionScore() {
+        return sessionScore.get();
+    }
+
+    public String getCurrentTask() {
+        return currentTask;
+    }
+
+    /**
+     * 开始新的会话（切换任务或返回主页时调用）
+     * @param task 当前任务，返回主页时为null
+     */
+    public void startSession(String task) {
+        currentTask = task;
+        sessionScore.set(0);
+    }
+
+    public void setSessionScore(int score) {
+        sessionScore.set(score);
+    }
+
+    /**
+     * 原子地累加会话分数，并同步更新当前任务的最高分
+     * @param points 增加的分数
+     * @return 累加后的会话分数
+     */
+    public int addToSessionScore(int points) {
+        int total = sessionScore.addAndGet(points);
+        String task = currentTask;
+        if (task != null) {
+            recordBestScore(task, total);
+        }
+        return total;
+    }
+
+    /**
+     * 检查并更新高级任务的解锁状态
+     * @param fullFeaturesEnabled 是否为完整功能模式（所有任务解锁）
+     */
+    public void checkAndUnlockTasks(boolean fullFeaturesEnabled) {
+        if (fullFeaturesEnabled) {
+            for (String task : advancedTasks) {
+                setTaskStatus(task, UIManager.TaskStatus.UNLOCKED);
+                unlockTask(task);
+            }
+            return;
+        }
+
+        // 每个基础任务至少需要70分
+        boolean canUnlockAdvanced = true;
+        for (String task : basicTasks) {
+            if (getTaskScore(task) < 70) {
+                canUnlockAdvanced = false;
+                break;
+            }
+        }
+
+        for (String task : advancedTasks) {
+            if (canUnlockAdvanced) {
+                if (taskStatusMap.get(task) == UIManager.TaskStatus.LOCKED) {
+                    setTaskStatus(task, UIManager.TaskStatus.UNLOCKED);
+                    unlockTask(task);
+                }
+            } else if (!unlockedTasks.contains(task)) {
+                setTaskStatus(task, UIManager.TaskStatus.LOCKED);
+            }
+        }
+    }
+
+    /**
+     * 根据总分和完成任务数更新用户等级
+     */
+    public void updateUserLevel() {
+        int totalScore = calculateTotalScore();
+        int completedTasks = countCompletedTasks();
+
+        if (totalScore >= 540 && completedTasks >= 6) { // 90分 * 6个任务
+            setUserLevel(4); // 专家
+        } else if (totalScore >= 420 && completedTasks >= 5) { // 70分 * 6个任务
+            setUserLevel(3); // 高级
+        } else if (totalScore >= 300 && completedTasks >= 4) { // 60分 * 5个任务
+            setUserLevel(2); // 中级
+        } else {
+            setUserLevel(1); // 初学者
+        }
+    }
+
+    public int calculateTotalScore() {
+        int total = 0;
+        for (int score : taskScores.values()) {
+            total += score;
+        }
+        return total;
+    }
+
+    public int countCompletedTasks() {
+        int count = 0;
+        for (UIManager.TaskStatus status : taskStatusMap.values()) {
+            if (status == UIManager.TaskStatus.COMPLETED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getTaskCount() {
+        return basicTasks.length + advancedTasks.length;
+    }
+
+    public Map<String, Integer> getTaskScores() {
+        return new HashMap<>(taskScores);
+    }
+
+    public Map<String, UIManager.TaskStatus> getTaskStatusMap() {
+        return new HashMap<>(taskStatusMap);
+    }
+}
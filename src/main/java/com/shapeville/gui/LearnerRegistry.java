@@ -0,0 +1,82 @@
+package com.shapeville.gui;
+
+import com.shapeville.utils.AnswerEventLog;
+import com.shapeville.utils.DataManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 学习者注册表
+ * 按学习者ID保存多个学习者档案，支持共享会话（如教室服务器）中多个学习者同时答题。
+ * 查找为O(1)，首次访问某个学习者时从持久化数据中加载其进度和答题记录。
+ */
+public class LearnerRegistry {
+    private final ConcurrentHashMap<String, LearnerProfile> profiles = new ConcurrentHashMap<>();
+    private final DataManager dataManager;
+    private final AnswerEventLog answerLog;
+    private final String[] basicTasks;
+    private final String[] advancedTasks;
+
+    public LearnerRegistry(DataManager dataManager, AnswerEventLog answerLog,
+                           String[] basicTasks, String[] advancedTasks) {
+        this.dataManager = dataManager;
+        this.answerLog = answerLog;
+        this.basicTasks = basicTasks.clone();
+        this.advancedTasks = advancedTasks.clone();
+    }
+
+    /**
+     * 获取学习者档案，不存在时创建
+     * @param learnerId 学习者ID
+     * @return 学习者档案
+     */
+    public LearnerProfile getOrCreate(String learnerId) {
+        if (learnerId == null || learnerId.isEmpty()) {
+            throw new IllegalArgumentException("学习者ID不能为空");
+        }
+        LearnerProfile profile = profiles.get(learnerId);
+        if (profile != null) {
+            return profile;
+        }
+        // 在 computeIfAbsent 之外创建档案（需要读取进度和答题记录），不占用映射的桶锁；
+        // 两个线程同时加载同一学习者时只发布先完成的一个
+        LearnerProfile created = new LearnerProfile(learnerId, basicTasks, advancedTasks, dataManager, answerLog);
+        LearnerProfile existing = profiles.putIfAbsent(learnerId, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 获取已加载的学习者档案
+     * @param learnerId 学习者ID
+     * @return 学习者档案，未加载时返回null
+     */
+    public LearnerProfile get(String learnerId) {
+        return profiles.get(learnerId);
+    }
+
+    /**
+     * 获取默认学习者（单机模式下的唯一学习者）
+     * @return 默认学习者档案
+     */
+    public LearnerProfile getDefault() {
+        return getOrCreate(DataManager.DEFAULT_LEARNER);
+    }
+
+    /**
+     * 从内存中移除学习者档案（进度已持久化，之后可重新加载）
+     * @param learnerId 学习者ID
+     */
+    public void unload(String learnerId) {
+        profiles.remove(learnerId);
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    public Collection<LearnerProfile> getProfiles() {
+        return Collections.unmodifiableCollection(profiles.values());
+    }
+}
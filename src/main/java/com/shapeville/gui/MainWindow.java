@@ -5,8 +5,10 @@ import java.awt.*;
 import java.util.HashMap;
 import java.util.Map;
 import com.shapeville.gui.UIManager.TaskStatus;
+import com.shapeville.utils.Log;
 
 public class MainWindow extends JFrame {
+    private static final Log LOG = Log.get(MainWindow.class);
     private JProgressBar progressBar;
     private JPanel buttonPanel;
     private JButton homeButton;
@@ -242,9 +244,7 @@ public class MainWindow extends JFrame {
         Map<String, TaskStatus> taskStatusMap = UIManager.getInstance().getTaskStatusMap();
         Map<String, Integer> taskScores = UIManager.getInstance().getTaskScores();
         
-        System.out.println("正在更新主窗口进度...");
-        System.out.println("任务状态: " + taskStatusMap);
-        System.out.println("任务分数: " + taskScores);
+        LOG.debug(() -> "正在更新主窗口进度 - 任务状态: " + taskStatusMap + ", 任务分数: " + taskScores);
         
         // 计算总分和完成任务数
         int totalScore = 0;
@@ -291,7 +291,7 @@ public class MainWindow extends JFrame {
             // 更新等级
             updateLevel();
             
-            System.out.println("进度更新完成 - 进度: " + progress + "%, 总分: " + finalTotalScore);
+            LOG.debug(() -> "进度更新完成 - 进度: " + progress + "%, 总分: " + finalTotalScore);
         });
     }
     
@@ -313,14 +313,13 @@ public class MainWindow extends JFrame {
     }
     
     public void updateTaskStatus(Map<String, TaskStatus> taskStatusMap) {
-        System.out.println("正在更新任务状态...");
         // 更新每个任务按钮的状态
         taskStatusMap.forEach((taskName, status) -> {
             JButton button = taskButtons.get(taskName);
             if (button != null) {
                 SwingUtilities.invokeLater(() -> {
                     updateButtonStatus(button, status);
-                    System.out.println("更新任务按钮状态: " + taskName + " -> " + status);
+                    LOG.debug(() -> "更新任务按钮状态: " + taskName + " -> " + status);
                 });
             }
         });
@@ -390,7 +389,7 @@ public class MainWindow extends JFrame {
                 }
             }
         } catch (Exception ex) {
-            System.out.println("解析分数时出错: " + ex.getMessage());
+            LOG.warn("解析分数时出错: " + ex.getMessage());
         }
         
         String encouragement;
@@ -0,0 +1,158 @@
+package com.shapeville.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.KeyboardFocusManager;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+
+import com.shapeville.utils.Log;
+import com.shapeville.utils.Metrics;
+import com.shapeville.utils.TickScheduler;
+
+/**
+ * 运行指标调试浮窗
+ * 在任意窗口中按 Ctrl+Shift+M 显示或隐藏，显示期间每秒刷新一次 Metrics 的文本快照和最近的事件线程卡顿。
+ * "保存快照"把当前指标以JSON和文本两种格式写入数据目录（metrics-时间.json / .txt），
+ * 文本快照中附带卡顿记录及其调用栈。
+ *
+ * 所有方法都必须在Swing事件线程中调用。
+ */
+public final class MetricsOverlay extends JDialog {
+    private static final Log LOG = Log.get(MetricsOverlay.class);
+    private static final long REFRESH_MILLIS = 1000;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static MetricsOverlay instance;
+    private static boolean installed;
+
+    private final JTextArea textArea;
+    private TickScheduler.Handle refresh;
+
+    private MetricsOverlay() {
+        setTitle("运行指标");
+        setAlwaysOnTop(true);
+        setFocusableWindowState(false);
+        setDefaultCloseOperation(HIDE_ON_CLOSE);
+
+        textArea = new JTextArea(24, 110);
+        textArea.setEditable(false);
+        textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        textArea.setBackground(new Color(30, 30, 30));
+        textArea.setForeground(new Color(180, 255, 180));
+        textArea.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
+
+        JButton resetButton = new JButton("清空");
+        resetButton.addActionListener(e -> {
+            Metrics.resetAll();
+            EdtWatchdog watchdog = EdtWatchdog.getInstance();
+            if (watchdog != null) {
+                watchdog.clear();
+            }
+            refreshText();
+        });
+        JButton saveButton = new JButton("保存快照");
+        saveButton.addActionListener(e -> saveSnapshot());
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(resetButton);
+        buttons.add(saveButton);
+
+        add(new JScrollPane(textArea), BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+        pack();
+    }
+
+    /**
+     * 注册 Ctrl+Shift+M 快捷键，重复调用没有影响
+     */
+    public static void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(e -> {
+            if (e.getID() == KeyEvent.KEY_PRESSED && e.getKeyCode() == KeyEvent.VK_M
+                    && (e.getModifiersEx() & (InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK))
+                       == (InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK)) {
+                toggle();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * 显示或隐藏浮窗
+     */
+    public static void toggle() {
+        if (instance == null) {
+            instance = new MetricsOverlay();
+            instance.setLocationByPlatform(true);
+        }
+        instance.setVisible(!instance.isVisible());
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        if (visible) {
+            refreshText();
+            if (refresh == null) {
+                refresh = TickScheduler.getDefault().scheduleAtFixedRate(REFRESH_MILLIS, REFRESH_MILLIS,
+                                                                         this::refreshText);
+            }
+        } else if (refresh != null) {
+            refresh.cancel();
+            refresh = null;
+        }
+        super.setVisible(visible);
+    }
+
+    private void refreshText() {
+        String text = Metrics.snapshotText() + stallReport(false);
+        textArea.setText(text.isEmpty() ? "暂无指标" : text);
+        textArea.setCaretPosition(0);
+    }
+
+    private static String stallReport(boolean withStacks) {
+        EdtWatchdog watchdog = EdtWatchdog.getInstance();
+        String report = watchdog == null ? "" : watchdog.report(withStacks);
+        return report.isEmpty() ? "" : System.lineSeparator() + "事件线程卡顿（最近的在前）：" + System.lineSeparator() + report;
+    }
+
+    private void saveSnapshot() {
+        String dir = System.getProperty("shapeville.data.dir");
+        Path directory = dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".shapeville");
+        String baseName = "metrics-" + LocalDateTime.now().format(FILE_TIME);
+        try {
+            Metrics.writeSnapshot(directory.resolve(baseName + ".json"));
+            Metrics.writeSnapshot(directory.resolve(baseName + ".txt"));
+            String stalls = stallReport(true);
+            if (!stalls.isEmpty()) {
+                Files.write(directory.resolve(baseName + ".txt"), stalls.getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.APPEND);
+            }
+            setTitle("运行指标 - 已保存到 " + directory.resolve(baseName + ".json"));
+        } catch (IOException e) {
+            LOG.warn("保存指标快照失败", e);
+            setTitle("运行指标 - 保存失败");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.shapeville.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+import com.shapeville.utils.Metrics;
+
+/**
+ * 绘制监视器
+ * 1. 测量"从题目显示到屏幕上第一次画出来"的耗时：调用 expectPaint() 登记一个组件后，
+ *    该组件下一次 paint() 完成时（由组件调用 painted()）把经过的时间记录到指定的直方图。
+ *    这部分不替换 RepaintManager，始终开启，没有登记时 painted() 只多一次空列表检查。
+ * 2. 统计每轮重绘的耗时（Metrics 的 edt.paint），超过预算的重绘连同被重绘的组件上报给 EdtWatchdog。
+ *    这需要替换 Swing 的 RepaintManager，而通过公开构造方法创建的 RepaintManager 不使用
+ *    BufferStrategyPaintManager，会关闭每个窗口的双缓冲策略、增加绘制耗时，
+ *    因此只在系统属性 shapeville.paint.monitor=true 时由 install() 安装。
+ *
+ * 所有方法都必须在Swing事件线程中调用。
+ */
+public final class PaintMonitor extends RepaintManager {
+    private static final class Pending {
+        final JComponent component;
+        final Metrics.Histogram histogram;
+        final long startNanos;
+
+        Pending(JComponent component, Metrics.Histogram histogram, long startNanos) {
+            this.component = component;
+            this.histogram = histogram;
+            this.startNanos = startNanos;
+        }
+    }
+
+    public static final boolean ENABLED = Boolean.getBoolean("shapeville.paint.monitor");
+
+    // 每轮最多记录的被重绘组件数量，只用于卡顿报告
+    private static final int MAX_DIRTY_COMPONENTS = 8;
+    private static final Metrics.Histogram PAINT_TIME = Metrics.histogram("edt.paint");
+
+    private static final List<Pending> pending = new ArrayList<>();
+    private static PaintMonitor installed;
+
+    // 本轮被标记为需要重绘的组件（去重，最多 MAX_DIRTY_COMPONENTS 个）
+    private final List<JComponent> dirtyComponents = new ArrayList<>();
+
+    private PaintMonitor() {
+    }
+
+    /**
+     * 开启 shapeville.paint.monitor 时把绘制监视器设为当前的 RepaintManager，重复调用没有影响
+     */
+    public static void install() {
+        if (ENABLED && installed == null) {
+            installed = new PaintMonitor();
+            RepaintManager.setCurrentManager(installed);
+        }
+    }
+
+    /**
+     * 登记等待绘制的组件并请求重绘，同一组件之前的登记会被替换
+     * 组件必须在自己的 paint() 末尾调用 painted()。
+     * @param component 组件
+     * @param histogram 记录耗时的直方图
+     */
+    public static void expectPaint(JComponent component, Metrics.Histogram histogram) {
+        pending.removeIf(p -> p.component == component);
+        pending.add(new Pending(component, histogram, System.nanoTime()));
+        component.repaint();
+    }
+
+    /**
+     * 组件绘制完成时调用，记录该组件等待中的首次绘制耗时
+     * @param component 刚绘制完的组件
+     */
+    public static void painted(JComponent component) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        pending.removeIf(p -> {
+            if (p.component != component) {
+                return false;
+            }
+            p.histogram.record(now - p.startNanos);
+            return true;
+        });
+    }
+
+    @Override
+    public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+        super.addDirtyRegion(c, x, y, w, h);
+        if (SwingUtilities.isEventDispatchThread() && dirtyComponents.size() < MAX_DIRTY_COMPONENTS
+                && !dirtyComponents.contains(c)) {
+            dirtyComponents.add(c);
+        }
+    }
+
+    @Override
+    public void paintDirtyRegions() {
+        long start = System.nanoTime();
+        super.paintDirtyRegions();
+        long now = System.nanoTime();
+        PAINT_TIME.record(now - start);
+        EdtWatchdog.recordSlowPaint(now - start, dirtyComponents);
+        dirtyComponents.clear();
+    }
+}
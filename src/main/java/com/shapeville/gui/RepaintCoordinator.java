@@ -0,0 +1,137 @@
+package com.shapeville.gui;
+
+import java.awt.Component;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JComponent;
+
+import com.shapeville.utils.TickScheduler;
+
+/**
+ * 重绘协调器
+ * 把一帧（约16毫秒）内对同一组件的多次重绘和重新布局请求合并为一次：
+ * 只有结构变化（组件尺寸、可见性改变）才请求布局，内容变化只重绘组件本身或其中的脏矩形。
+ * 帧末由 TickScheduler 在事件线程中统一提交给 Swing 的 RepaintManager。
+ *
+ * 所有方法都必须在Swing事件线程中调用。
+ */
+public final class RepaintCoordinator {
+    public static final long FRAME_MILLIS = 16;
+
+    private static final class Holder {
+        static final RepaintCoordinator DEFAULT = new RepaintCoordinator(TickScheduler.getDefault());
+    }
+
+    private final TickScheduler scheduler;
+    // 组件 -> 脏矩形（组件坐标），null 表示整个组件
+    private final Map<JComponent, Rectangle> dirty = new IdentityHashMap<>();
+    private final Map<JComponent, Boolean> needsLayout = new IdentityHashMap<>();
+    private TickScheduler.Handle pendingFlush;
+
+    /**
+     * @param scheduler 用于在帧末提交请求的调度器
+     */
+    public RepaintCoordinator(TickScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 获取全局共享的重绘协调器
+     * @return 默认协调器
+     */
+    public static RepaintCoordinator getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * 请求重绘整个组件
+     * @param component 组件
+     */
+    public void repaint(JComponent component) {
+        dirty.put(component, null);
+        scheduleFlush();
+    }
+
+    /**
+     * 请求重绘组件中的一个区域，同一帧内的多个区域合并为它们的外接矩形
+     * @param component 组件
+     * @param region 脏矩形（组件坐标）
+     */
+    public void repaint(JComponent component, Rectangle region) {
+        if (dirty.containsKey(component)) {
+            Rectangle existing = dirty.get(component);
+            if (existing != null) {
+                existing.add(region);
+            }
+        } else {
+            dirty.put(component, new Rectangle(region));
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * 请求重新布局并重绘组件，只应在组件的尺寸或子组件结构发生变化时调用
+     * @param component 组件
+     */
+    public void revalidate(JComponent component) {
+        needsLayout.put(component, Boolean.TRUE);
+        scheduleFlush();
+    }
+
+    /**
+     * 立即提交本帧积累的请求
+     */
+    public void flush() {
+        if (pendingFlush != null) {
+            pendingFlush.cancel();
+            pendingFlush = null;
+        }
+        if (!needsLayout.isEmpty()) {
+            List<JComponent> layoutRoots = new ArrayList<>();
+            for (JComponent component : needsLayout.keySet()) {
+                // 祖先已经需要布局时，子组件会随之重新布局
+                if (!hasAncestorIn(component, needsLayout)) {
+                    layoutRoots.add(component);
+                }
+            }
+            for (JComponent component : layoutRoots) {
+                component.revalidate();
+                component.repaint();
+            }
+        }
+        for (Map.Entry<JComponent, Rectangle> entry : dirty.entrySet()) {
+            JComponent component = entry.getKey();
+            // 已随布局整体重绘的组件及其子组件不需要再单独重绘
+            if (needsLayout.containsKey(component) || hasAncestorIn(component, needsLayout)) {
+                continue;
+            }
+            Rectangle region = entry.getValue();
+            if (region == null) {
+                component.repaint();
+            } else {
+                component.repaint(region);
+            }
+        }
+        needsLayout.clear();
+        dirty.clear();
+    }
+
+    private void scheduleFlush() {
+        if (pendingFlush == null) {
+            pendingFlush = scheduler.schedule(FRAME_MILLIS, this::flush);
+        }
+    }
+
+    private static boolean hasAncestorIn(JComponent component, Map<JComponent, Boolean> components) {
+        for (Component parent = component.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof JComponent && components.containsKey(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,16 +1,16 @@
 package com.shapeville.gui;
 
+import com.shapeville.utils.TickScheduler;
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 public class ResultWindow extends JFrame {
     private final int score;
     private final int maxScore;
     private final String feedback;
     private final String taskName;
-    private Timer animationTimer;
+    private static final long ANIMATION_FRAME_MILLIS = 20;
+    private TickScheduler.Handle animation;
     private int currentScore = 0;
     private JLabel scoreLabel;
     private JPanel starsPanel;
@@ -201,40 +201,36 @@ public class ResultWindow extends JFrame {
     }
     
     private void startScoreAnimation() {
-        animationTimer = new Timer(20, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (currentScore < score) {
-                    currentScore += 1;
-                    // 显示实际分数和总分
-                    scoreLabel.setText(String.format("%d/%d", currentScore, maxScore));
-                    // 转换为百分制用于进度条和星星显示
-                    int percentageScore = maxScore > 0 ? (int)((double)currentScore / maxScore * 100) : 0;
-                    scoreProgress.setValue(percentageScore);
-                    
-                    // 更新星星
-                    int stars = percentageScore >= 90 ? 5 : 
-                               percentageScore >= 80 ? 4 : 
-                               percentageScore >= 70 ? 3 : 
-                               percentageScore >= 60 ? 2 : 1;
-                    updateStars(stars);
-                    
-                    // 更新进度条颜色
-                    if (percentageScore >= 90) {
-                            scoreProgress.setForeground(new Color(0, 153, 0));  // 深绿色
-                    } else if (percentageScore >= 80) {
-                            scoreProgress.setForeground(new Color(0, 102, 204));  // 蓝色
-                    } else if (percentageScore >= 70) {
-                            scoreProgress.setForeground(new Color(255, 153, 0));  // 橙色
-                        } else {
-                            scoreProgress.setForeground(new Color(255, 51, 51));  // 红色
-                    }
-                } else {
-                    ((Timer)e.getSource()).stop();
+        animation = TickScheduler.getDefault().scheduleAtFixedRate(ANIMATION_FRAME_MILLIS, ANIMATION_FRAME_MILLIS, () -> {
+            if (currentScore < score) {
+                currentScore += 1;
+                // 显示实际分数和总分
+                scoreLabel.setText(String.format("%d/%d", currentScore, maxScore));
+                // 转换为百分制用于进度条和星星显示
+                int percentageScore = maxScore > 0 ? (int)((double)currentScore / maxScore * 100) : 0;
+                scoreProgress.setValue(percentageScore);
+                
+                // 更新星星
+                int stars = percentageScore >= 90 ? 5 : 
+                           percentageScore >= 80 ? 4 : 
+                           percentageScore >= 70 ? 3 : 
+                           percentageScore >= 60 ? 2 : 1;
+                updateStars(stars);
+                
+                // 更新进度条颜色
+                if (percentageScore >= 90) {
+                        scoreProgress.setForeground(new Color(0, 153, 0));  // 深绿色
+                } else if (percentageScore >= 80) {
+                        scoreProgress.setForeground(new Color(0, 102, 204));  // 蓝色
+                } else if (percentageScore >= 70) {
+                        scoreProgress.setForeground(new Color(255, 153, 0));  // 橙色
+                    } else {
+                        scoreProgress.setForeground(new Color(255, 51, 51));  // 红色
                 }
+            } else {
+                animation.cancel();
             }
         });
-        animationTimer.start();
     }
     
     private void addAnalysisItem(JPanel panel, String label, String value) {
@@ -276,8 +272,8 @@ public class ResultWindow extends JFrame {
     
     @Override
     public void dispose() {
-        if (animationTimer != null && animationTimer.isRunning()) {
-            animationTimer.stop();
+        if (animation != null) {
+            animation.cancel();
         }
         super.dispose();
     }
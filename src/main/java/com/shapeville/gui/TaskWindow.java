@@ -6,8 +6,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import com.shapeville.gui.tasks.*;
 import com.shapeville.gui.tasks.TaskPanelInterface;
+import com.shapeville.utils.Log;
 
 public class TaskWindow extends JFrame {
+    private static final Log LOG = Log.get(TaskWindow.class);
     private String taskName;
     private JTextArea taskDescription;
     private JPanel inputPanel;
@@ -119,7 +121,7 @@ public class TaskWindow extends JFrame {
     }
     
     public void showResult(int score, int maxScore) {
-        System.out.println("TaskWindow显示结果 - 任务: " + taskName + ", 分数: " + score + "/" + maxScore);
+        LOG.debug(() -> "显示结果 - 任务: " + taskName + ", 分数: " + score + "/" + maxScore);
         String feedback = generateFeedback(score, maxScore);
         UIManager.getInstance().showResult(taskName, score, maxScore, feedback);
     }
@@ -151,6 +153,10 @@ public class TaskWindow extends JFrame {
     @Override
     public void dispose() {
         cleanup();
+        // 取消面板注册到全局调度器的倒计时和延迟任务，避免窗口关闭后仍被回调
+        if (currentTask instanceof BaseTaskPanel) {
+            ((BaseTaskPanel) currentTask).cleanup();
+        }
         super.dispose();
     }
 }
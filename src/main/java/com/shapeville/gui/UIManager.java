@@ -1,20 +1,25 @@
 package com.shapeville.gui;
 
+import com.shapeville.game.AdaptiveEngine;
+import com.shapeville.utils.AnswerEventLog;
+import com.shapeville.utils.DataManager;
+import com.shapeville.utils.Log;
+import com.shapeville.utils.StartupTiming;
+
 import javax.swing.*;
 import java.util.*;
 
 public class UIManager {
     private static UIManager instance;
+    private static final Log LOG = Log.get(UIManager.class);
     private MainWindow mainWindow;
     private JFrame currentWindow;
     private TaskWindow currentTaskWindow;
     
-    // 任务状态管理
-    private Map<String, TaskStatus> taskStatusMap;
-    private Map<String, Integer> taskScores;
-    private Set<String> unlockedTasks;
-    private int userLevel;
-    private boolean fullFeaturesEnabled = false;  // 添加完整功能模式标志
+    // 学习者状态管理（单机模式下使用默认学习者）
+    private final LearnerRegistry learnerRegistry;
+    private final LearnerProfile profile;
+    private volatile boolean fullFeaturesEnabled = false;  // 添加完整功能模式标志
     
     private static final String[] BASIC_TASKS = {
         "形状识别", "角度识别", "面积计算", "圆形计算"
@@ -26,45 +31,34 @@ public class UIManager {
     
     private boolean initialized = false;
     
-    private int sessionScore = 0;
-    private String currentTask = null;
-    
     private UIManager() {
-        taskStatusMap = new HashMap<>();
-        taskScores = new HashMap<>();
-        unlockedTasks = new HashSet<>();
-        userLevel = 1;
-        initializeTaskStatus();
+        learnerRegistry = new LearnerRegistry(DataManager.getInstance(), AnswerEventLog.getInstance(),
+                                              BASIC_TASKS, ADVANCED_TASKS);
+        profile = learnerRegistry.getDefault();
     }
     
-    private void initializeTaskStatus() {
-        // 初始化基础任务
-        for (String task : BASIC_TASKS) {
-            taskStatusMap.put(task, TaskStatus.UNLOCKED);
-            unlockedTasks.add(task);
-            taskScores.put(task, 0);
-        }
-        
-        // 初始化高级任务（默认锁定）
-        for (String task : ADVANCED_TASKS) {
-            taskStatusMap.put(task, TaskStatus.LOCKED);
-            taskScores.put(task, 0);
-        }
-    }
-    
-    public static UIManager getInstance() {
+    public static synchronized UIManager getInstance() {
         if (instance == null) {
             instance = new UIManager();
         }
         return instance;
     }
     
+    /**
+     * 获取学习者注册表（用于共享会话中的多个学习者）
+     * @return 学习者注册表
+     */
+    public LearnerRegistry getLearnerRegistry() {
+        return learnerRegistry;
+    }
+    
     public void initialize() {
         if (initialized) {
             return;  // 防止重复初始化
         }
         SwingUtilities.invokeLater(() -> {
             mainWindow = new MainWindow();
+            StartupTiming.watchMainWindow(mainWindow);
             currentWindow = mainWindow;
             showMainWindow();
             updateMainWindowStatus();
@@ -77,8 +71,7 @@ public class UIManager {
             currentWindow.dispose();
         }
         // 返回主窗口时重置会话分数和当前任务
-        sessionScore = 0;
-        currentTask = null;
+        profile.startSession(null);
         mainWindow.setVisible(true);
         currentWindow = mainWindow;
         updateMainWindowStatus();
@@ -86,7 +79,7 @@ public class UIManager {
     
     private void updateMainWindowStatus() {
         if (mainWindow != null) {
-            mainWindow.updateTaskStatus(taskStatusMap);
+            mainWindow.updateTaskStatus(profile.getTaskStatusMap());
             mainWindow.updateUserLevel(getUserLevelTitle());
             mainWindow.updateProgress(calculateOverallProgress());
         }
@@ -99,8 +92,7 @@ public class UIManager {
         }
         
         // 切换任务时重置会话分数
-        sessionScore = 0;
-        currentTask = taskName;
+        profile.startSession(taskName);
         
         if (currentTaskWindow != null) {
             currentTaskWindow.dispose();
@@ -113,7 +105,7 @@ public class UIManager {
         currentWindow = currentTaskWindow;
         
         // 更新任务状态为进行中
-        taskStatusMap.put(taskName, TaskStatus.IN_PROGRESS);
+        profile.setTaskStatus(taskName, TaskStatus.IN_PROGRESS);
         updateMainWindowStatus();
     }
     
@@ -122,26 +114,26 @@ public class UIManager {
             currentWindow.dispose();
         }
         
-        System.out.println("正在更新任务状态: " + taskName + ", 分数: " + score);
+        LOG.info(() -> "任务完成: " + taskName + ", 分数: " + score);
         
         // 更新任务状态和分数
-        taskStatusMap.put(taskName, TaskStatus.COMPLETED);
-        taskScores.put(taskName, Math.max(taskScores.getOrDefault(taskName, 0), score));
+        profile.setTaskStatus(taskName, TaskStatus.COMPLETED);
+        profile.recordBestScore(taskName, score);
         
         // 更新会话分数
-        sessionScore = score;
+        profile.setSessionScore(score);
         
         // 检查是否可以解锁高级任务
-        checkAndUnlockTasks();
+        profile.checkAndUnlockTasks(fullFeaturesEnabled);
         
         // 更新用户等级
-        updateUserLevel();
+        profile.updateUserLevel();
         
         // 更新主窗口状态
         if (mainWindow != null) {
             SwingUtilities.invokeLater(() -> {
                 updateMainWindowStatus();
-                System.out.println("主窗口状态已更新");
+                LOG.debug("主窗口状态已更新");
             });
         }
         
@@ -150,65 +142,11 @@ public class UIManager {
         resultWindow.setVisible(true);
         currentWindow = resultWindow;
         
-        System.out.println("结果窗口已显示，任务状态：" + taskStatusMap.get(taskName));
-    }
-    
-    private void checkAndUnlockTasks() {
-        // 在完整功能模式下，所有任务都解锁
-        if (fullFeaturesEnabled) {
-            for (String task : ADVANCED_TASKS) {
-                taskStatusMap.put(task, TaskStatus.UNLOCKED);
-                unlockedTasks.add(task);
-            }
-            return;
-        }
-        
-        // 正常模式下的解锁逻辑
-        boolean canUnlockAdvanced = true;
-        int totalBasicScore = 0;
-        
-        // 检查基础任务的完成情况和总分
-        for (String task : BASIC_TASKS) {
-            int score = taskScores.getOrDefault(task, 0);
-            totalBasicScore += score;
-            if (score < 70) {  // 每个基础任务至少需要70分
-                canUnlockAdvanced = false;
-                break;
-            }
-        }
-        
-        // 更新高级任务的状态
-        for (String task : ADVANCED_TASKS) {
-        if (canUnlockAdvanced) {
-                if (taskStatusMap.get(task) == TaskStatus.LOCKED) {
-                    taskStatusMap.put(task, TaskStatus.UNLOCKED);
-                    unlockedTasks.add(task);
-                }
-            } else {
-                if (!unlockedTasks.contains(task)) {
-                    taskStatusMap.put(task, TaskStatus.LOCKED);
-                }
-            }
-        }
-    }
-    
-    private void updateUserLevel() {
-        int totalScore = calculateTotalScore();
-        int completedTasks = countCompletedTasks();
-        
-        if (totalScore >= 540 && completedTasks >= 6) { // 90分 * 6个任务
-            userLevel = 4; // 专家
-        } else if (totalScore >= 420 && completedTasks >= 5) { // 70分 * 6个任务
-            userLevel = 3; // 高级
-        } else if (totalScore >= 300 && completedTasks >= 4) { // 60分 * 5个任务
-            userLevel = 2; // 中级
-        } else {
-            userLevel = 1; // 初学者
-        }
+        LOG.debug(() -> "结果窗口已显示，任务状态：" + profile.getTaskStatus(taskName));
     }
     
     private String getUserLevelTitle() {
-        switch (userLevel) {
+        switch (profile.getUserLevel()) {
             case 4: return "专家";
             case 3: return "高级学习者";
             case 2: return "中级学习者";
@@ -221,7 +159,7 @@ public class UIManager {
         if (fullFeaturesEnabled) {
             return true;
         }
-        return unlockedTasks.contains(taskName);
+        return profile.isUnlocked(taskName);
     }
     
     private void showTaskLockedMessage(String taskName) {
@@ -312,63 +250,50 @@ public class UIManager {
     }
     
     private int calculateOverallProgress() {
-        int totalTasks = BASIC_TASKS.length + ADVANCED_TASKS.length;
-        int completedTasks = countCompletedTasks();
+        int totalTasks = profile.getTaskCount();
+        int completedTasks = profile.countCompletedTasks();
         int totalPossibleScore = totalTasks * 100;
-        int currentTotalScore = calculateTotalScore();
+        int currentTotalScore = profile.calculateTotalScore();
         
         // 进度计算考虑完成的任务数和总分
         return (int) ((completedTasks * 50.0 / totalTasks) + (currentTotalScore * 50.0 / totalPossibleScore));
     }
     
-    private int calculateTotalScore() {
-        return taskScores.values().stream().mapToInt(Integer::intValue).sum();
-    }
-    
-    private int countCompletedTasks() {
-        return (int) taskStatusMap.values().stream()
-            .filter(status -> status == TaskStatus.COMPLETED)
-            .count();
-    }
-    
     public int getSessionScore() {
-        return sessionScore;
+        return profile.getSessionScore();
     }
     
     public String getCurrentTask() {
-        return currentTask;
+        return profile.getCurrentTask();
     }
     
     public void addToSessionScore(int points) {
-        this.sessionScore += points;
+        // 原子地累加会话分数并更新当前任务的最高分
+        profile.addToSessionScore(points);
         updateMainWindowStatus();
-        
-        // 同时更新总分记录
-        if (currentTask != null) {
-            taskScores.put(currentTask, Math.max(taskScores.getOrDefault(currentTask, 0), sessionScore));
-        }
     }
     
     public Map<String, Integer> getTaskScores() {
-        return new HashMap<>(taskScores);
+        return profile.getTaskScores();
     }
     
     public Map<String, TaskStatus> getTaskStatusMap() {
-        return new HashMap<>(taskStatusMap);
+        return profile.getTaskStatusMap();
+    }
+    
+    public AdaptiveEngine getAdaptiveEngine() {
+        return profile.getAdaptiveEngine();
+    }
+    
+    public void recordAnswer(String task, int item, int attempt, boolean correct, boolean finalAttempt,
+                             long latencyMillis, double... params) {
+        profile.recordAnswer(task, item, attempt, correct, finalAttempt, latencyMillis, params);
     }
     
     public void setFullFeaturesEnabled(boolean enabled) {
         this.fullFeaturesEnabled = enabled;
-        if (enabled) {
-            // 在完整功能模式下，解锁所有任务
-            for (String task : ADVANCED_TASKS) {
-                taskStatusMap.put(task, TaskStatus.UNLOCKED);
-                unlockedTasks.add(task);
-            }
-        } else {
-            // 切换回正常模式，重新检查任务解锁状态
-            checkAndUnlockTasks();
-        }
+        // 完整功能模式下解锁所有任务；切换回正常模式时重新检查任务解锁状态
+        profile.checkAndUnlockTasks(enabled);
         // 更新主窗口状态
         updateMainWindowStatus();
     }
@@ -0,0 +1,184 @@
+package com.shapeville.gui.shapes;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+/**
+ * 带图像缓存的形状渲染器（装饰器）
+ * 第一次绘制时把被包装渲染器的形状和尺寸标注分别渲染到离屏图像中，
+ * 之后只要绘制区域大小和设备缩放比例不变，每次重绘都只需一次 drawImage。
+ * 绘制区域或缩放比例变化时自动重新渲染；面积、尺寸和解题步骤直接转发给被包装的渲染器。
+ */
+public class CachedShapeRenderer implements ShapeRenderer {
+    // 尺寸标注可能画在绘制区域之外（包括负坐标），离屏图像四周预留的边距
+    private static final int PADDING = 40;
+
+    private final ShapeRenderer delegate;
+    private BufferedImage shapeImage;       // 形状层
+    private BufferedImage dimensionImage;   // 尺寸标注层
+    private Rectangle shapeBounds;          // 形状层中有内容的区域，贴图时只复制这部分
+    private Rectangle dimensionBounds;
+    private int cachedWidth;
+    private int cachedHeight;
+    private double cachedScaleX;
+    private double cachedScaleY;
+
+    public CachedShapeRenderer(ShapeRenderer delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("被包装的渲染器不能为空");
+        }
+        this.delegate = delegate;
+    }
+
+    public ShapeRenderer getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void draw(Graphics2D g, int width, int height) {
+        paintLayer(g, width, height, false);
+    }
+
+    @Override
+    public void drawDimensions(Graphics2D g, int width, int height) {
+        paintLayer(g, width, height, true);
+    }
+
+    @Override
+    public Map<String, Double> getDimensions() {
+        return delegate.getDimensions();
+    }
+
+    @Override
+    public double calculateArea() {
+        return delegate.calculateArea();
+    }
+
+    @Override
+    public String getSolutionSteps() {
+        return delegate.getSolutionSteps();
+    }
+
+    /**
+     * 丢弃缓存的图像，下次绘制时重新渲染
+     */
+    public synchronized void invalidate() {
+        if (shapeImage != null) {
+            shapeImage.flush();
+            dimensionImage.flush();
+            shapeImage = null;
+            dimensionImage = null;
+        }
+    }
+
+    private synchronized void paintLayer(Graphics2D g, int width, int height, boolean dimensions) {
+        AffineTransform transform = g.getTransform();
+        // 只有平移和缩放时才能逐像素对齐地贴图，其他变换直接绘制
+        int type = transform.getType() & ~AffineTransform.TYPE_TRANSLATION;
+        if ((type & ~(AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE)) != 0
+                || width <= 0 || height <= 0) {
+            if (dimensions) {
+                delegate.drawDimensions(g, width, height);
+            } else {
+                delegate.draw(g, width, height);
+            }
+            return;
+        }
+
+        double scaleX = transform.getScaleX();
+        double scaleY = transform.getScaleY();
+        if (shapeImage == null || cachedWidth != width || cachedHeight != height
+                || cachedScaleX != scaleX || cachedScaleY != scaleY) {
+            invalidate();
+            renderLayers(g, width, height, scaleX, scaleY);
+            cachedWidth = width;
+            cachedHeight = height;
+            cachedScaleX = scaleX;
+            cachedScaleY = scaleY;
+        }
+
+        // 在设备坐标系中按整数像素贴图，避免再次插值
+        Graphics2D target = (Graphics2D) g.create();
+        try {
+            double deviceX = transform.getTranslateX() - PADDING * scaleX;
+            double deviceY = transform.getTranslateY() - PADDING * scaleY;
+            target.setTransform(AffineTransform.getTranslateInstance(Math.round(deviceX), Math.round(deviceY)));
+            BufferedImage image = dimensions ? dimensionImage : shapeImage;
+            Rectangle bounds = dimensions ? dimensionBounds : shapeBounds;
+            if (!bounds.isEmpty()) {
+                target.drawImage(image,
+                    bounds.x, bounds.y, bounds.x + bounds.width, bounds.y + bounds.height,
+                    bounds.x, bounds.y, bounds.x + bounds.width, bounds.y + bounds.height, null);
+            }
+        } finally {
+            target.dispose();
+        }
+    }
+
+    /**
+     * 依次渲染形状层和尺寸标注层
+     * 直接绘制时 draw() 设置的渲染状态（笔画、颜色、渲染提示等）会沿用到 drawDimensions()，
+     * 因此标注层沿用形状层结束时的图形状态，保证结果与直接绘制一致。
+     */
+    private void renderLayers(Graphics2D g, int width, int height, double scaleX, double scaleY) {
+        int imageWidth = (int) Math.ceil((width + 2 * PADDING) * scaleX);
+        int imageHeight = (int) Math.ceil((height + 2 * PADDING) * scaleY);
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        shapeImage = createLayerImage(gc, imageWidth, imageHeight);
+        dimensionImage = createLayerImage(gc, imageWidth, imageHeight);
+
+        Graphics2D shapeGraphics = shapeImage.createGraphics();
+        Graphics2D dimensionGraphics = dimensionImage.createGraphics();
+        try {
+            copyState(g, shapeGraphics);
+            shapeGraphics.scale(scaleX, scaleY);
+            shapeGraphics.translate(PADDING, PADDING);
+            delegate.draw(shapeGraphics, width, height);
+
+            copyState(shapeGraphics, dimensionGraphics);
+            dimensionGraphics.setTransform(shapeGraphics.getTransform());
+            delegate.drawDimensions(dimensionGraphics, width, height);
+        } finally {
+            shapeGraphics.dispose();
+            dimensionGraphics.dispose();
+        }
+        shapeBounds = contentBounds(shapeImage);
+        dimensionBounds = contentBounds(dimensionImage);
+    }
+
+    // 计算图像中非透明像素的包围盒（只在渲染时计算一次）
+    private static Rectangle contentBounds(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] row = new int[width];
+        int minX = width, minY = height, maxX = -1, maxY = -1;
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                if ((row[x] >>> 24) != 0) {
+                    if (x < minX) minX = x;
+                    if (x > maxX) maxX = x;
+                    if (y < minY) minY = y;
+                    maxY = y;
+                }
+            }
+        }
+        return maxX < 0 ? new Rectangle() : new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+    }
+
+    private static BufferedImage createLayerImage(GraphicsConfiguration gc, int width, int height) {
+        return gc != null
+            ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static void copyState(Graphics2D from, Graphics2D to) {
+        to.setRenderingHints(from.getRenderingHints());
+        to.setFont(from.getFont());
+        to.setPaint(from.getPaint());
+        to.setStroke(from.getStroke());
+        to.setBackground(from.getBackground());
+    }
+}
@@ -6,16 +6,14 @@ import java.text.DecimalFormat;
 public class CircleDrawer {
     private double value;
     private boolean isRadius;
-    private final Color CIRCLE_COLOR = new Color(135, 206, 235);
-    private final Color LINE_COLOR = new Color(70, 130, 180);
-    private final Color TEXT_COLOR = new Color(25, 25, 112);
-    private final BasicStroke DASHED_STROKE = new BasicStroke(1.0f,
-            BasicStroke.CAP_BUTT,
-            BasicStroke.JOIN_MITER,
-            10.0f,
-            new float[]{5.0f},
-            0.0f);
+    private static final Color CIRCLE_COLOR = RenderResources.color(135, 206, 235);
+    private static final Color LINE_COLOR = RenderResources.color(70, 130, 180);
+    private static final Color TEXT_COLOR = RenderResources.color(25, 25, 112);
+    private static final BasicStroke DASHED_STROKE = RenderResources.dashedStroke(1.0f, 5.0f);
+    private static final BasicStroke DEFAULT_STROKE = RenderResources.stroke(1.0f);
+    private static final Font TEXT_FONT = RenderResources.font(Font.PLAIN, 14);
     private final DecimalFormat df = new DecimalFormat("0.0");
+    private String labelText; // 标注文字，数值改变时重新格式化
     private static final int FIXED_DIAMETER = 200; // 固定圆形直径为200像素
 
     public CircleDrawer() {
@@ -26,6 +24,7 @@ public class CircleDrawer {
     public void setValues(double value, boolean isRadius) {
         this.value = value;
         this.isRadius = isRadius;
+        this.labelText = null;
     }
 
     public void draw(Graphics g, int width, int height) {
@@ -50,7 +49,7 @@ public class CircleDrawer {
             // 绘制半径
             g2d.drawLine(centerX, centerY, centerX + FIXED_DIAMETER / 2, centerY);
             // 绘制半径标注
-            drawText(g2d, "r = " + df.format(value), 
+            drawText(g2d, labelText(), 
                     centerX + FIXED_DIAMETER / 4, 
                     centerY - 15);
         } else {
@@ -58,20 +57,26 @@ public class CircleDrawer {
             g2d.drawLine(centerX - FIXED_DIAMETER / 2, centerY, 
                         centerX + FIXED_DIAMETER / 2, centerY);
             // 绘制直径标注
-            drawText(g2d, "d = " + df.format(value), 
+            drawText(g2d, labelText(), 
                     centerX, 
                     centerY - 15);
         }
 
         // 恢复默认笔画
-        g2d.setStroke(new BasicStroke(1.0f));
+        g2d.setStroke(DEFAULT_STROKE);
     }
 
     private void drawText(Graphics2D g2d, String text, int x, int y) {
         g2d.setColor(TEXT_COLOR);
-        g2d.setFont(new Font("微软雅黑", Font.PLAIN, 14));
-        FontMetrics fm = g2d.getFontMetrics();
-        int textWidth = fm.stringWidth(text);
-        g2d.drawString(text, x - textWidth / 2, y);
+        g2d.setFont(TEXT_FONT);
+        LabelCache.Label label = LabelCache.get(g2d, TEXT_FONT, text);
+        label.draw(g2d, x - label.getWidth() / 2, y);
+    }
+
+    private String labelText() {
+        if (labelText == null) {
+            labelText = (isRadius ? "r = " : "d = ") + df.format(value);
+        }
+        return labelText;
     }
 } 
\ No newline at end of file
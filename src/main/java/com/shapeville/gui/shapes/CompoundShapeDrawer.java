@@ -1,26 +1,191 @@
 package com.shapeville.gui.shapes;
 
 import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.List;
+import com.shapeville.model.CompoundGeometry;
+import com.shapeville.model.Polygon;
+import com.shapeville.utils.Log;
 
 /**
  * 复合形状绘制基类
- * 提供通用的绘图工具方法
+ * 子类在构造时提供不可变的几何模型（CompoundGeometry）和尺寸标注，
+ * 基类负责把实际单位的坐标换算为像素坐标并绘制形状和标注。
+ * 像素坐标按绘制区域大小计算一次后缓存，draw() 和 drawDimensions() 共用，
+ * 重绘时不再重复计算；面积默认取几何模型的面积。
  */
 public abstract class CompoundShapeDrawer implements ShapeRenderer {
+    private static final Log LOG = Log.get(CompoundShapeDrawer.class);
+    protected static final int FIXED_SIZE = 200; // 形状较长边绘制时的像素长度
     protected static final int PADDING = 40;
     protected static final int ARROW_SIZE = 5;
     protected static final float DASH_LENGTH = 5.0f;
-    protected static final Color SHAPE_COLOR = new Color(200, 220, 240);
+    protected static final Color SHAPE_COLOR = RenderResources.color(200, 220, 240);
     protected static final Color LINE_COLOR = Color.BLACK;
-    protected static final Color TEXT_COLOR = new Color(0, 51, 153);
+    protected static final Color TEXT_COLOR = RenderResources.color(0, 51, 153);
+    protected static final BasicStroke OUTLINE_STROKE = RenderResources.stroke(2.0f);
+    protected static final BasicStroke DIMENSION_STROKE = RenderResources.dashedStroke(1.0f, DASH_LENGTH);
+    protected static final Font DIMENSION_FONT = RenderResources.font(Font.PLAIN, 12);
+
+    private final CompoundGeometry geometry;
+    private final List<DimensionLine> dimensionLines = new ArrayList<>();
+    private volatile Layout layout;
+
+    /**
+     * 尺寸标注：两个端点使用实际单位，偏移量使用像素（把标注线移到形状外侧）
+     */
+    private static final class DimensionLine {
+        final double x1, y1, x2, y2;
+        final int offsetX, offsetY;
+        final String text;
+
+        DimensionLine(double x1, double y1, double x2, double y2, int offsetX, int offsetY, String text) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.text = text;
+        }
+    }
+
+    /**
+     * 某个绘制区域大小下的像素布局（不可变，可在线程间共享）
+     */
+    private static final class Layout {
+        final int width;
+        final int height;
+        final Path2D.Double outline;
+        final int[] dimensionPoints; // 每条标注线依次为 x1, y1, x2, y2
+
+        Layout(int width, int height, Path2D.Double outline, int[] dimensionPoints) {
+            this.width = width;
+            this.height = height;
+            this.outline = outline;
+            this.dimensionPoints = dimensionPoints;
+        }
+    }
+
+    protected CompoundShapeDrawer(CompoundGeometry geometry) {
+        if (geometry == null) {
+            throw new IllegalArgumentException("几何模型不能为空");
+        }
+        this.geometry = geometry;
+    }
+
+    /**
+     * 获取形状的几何模型
+     * @return 不可变的几何模型
+     */
+    public CompoundGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * 添加一条尺寸标注（在子类构造方法中调用）
+     * @param x1 起点x坐标（实际单位）
+     * @param y1 起点y坐标（实际单位）
+     * @param x2 终点x坐标（实际单位）
+     * @param y2 终点y坐标（实际单位）
+     * @param offsetX 标注线在x方向的像素偏移
+     * @param offsetY 标注线在y方向的像素偏移
+     * @param text 尺寸文本
+     */
+    protected final void addDimension(double x1, double y1, double x2, double y2,
+                                      int offsetX, int offsetY, String text) {
+        dimensionLines.add(new DimensionLine(x1, y1, x2, y2, offsetX, offsetY, text));
+        layout = null;
+    }
+
+    @Override
+    public void draw(Graphics2D g, int width, int height) {
+        prepareGraphics(g);
+        try {
+            Layout current = getLayout(width, height);
+
+            // 填充形状
+            g.setColor(SHAPE_COLOR);
+            g.fill(current.outline);
+
+            // 绘制轮廓
+            g.setColor(LINE_COLOR);
+            g.draw(current.outline);
+        } catch (Exception e) {
+            LOG.error("绘制" + getClass().getSimpleName() + "时出错", e);
+        }
+    }
+
+    @Override
+    public void drawDimensions(Graphics2D g, int width, int height) {
+        Layout current = getLayout(width, height);
+        int[] points = current.dimensionPoints;
+        for (int i = 0; i < dimensionLines.size(); i++) {
+            int p = i * 4;
+            drawDimensionLine(g, points[p], points[p + 1], points[p + 2], points[p + 3],
+                dimensionLines.get(i).text);
+        }
+    }
+
+    @Override
+    public double calculateArea() {
+        return geometry.getArea();
+    }
+
+    // 获取当前绘制区域的布局，区域大小不变时直接复用
+    private Layout getLayout(int width, int height) {
+        Layout current = layout;
+        if (current == null || current.width != width || current.height != height) {
+            current = computeLayout(width, height);
+            layout = current;
+        }
+        return current;
+    }
+
+    /**
+     * 计算像素布局
+     * 较长边缩放到 FIXED_SIZE 像素，整体在绘制区域中居中，坐标取整到像素，使轮廓清晰。
+     */
+    private Layout computeLayout(int width, int height) {
+        double scale = FIXED_SIZE / Math.max(geometry.getWidth(), geometry.getHeight());
+        double minX = geometry.getMinX();
+        double minY = geometry.getMinY();
+        int originX = width / 2 - (int) Math.round(geometry.getWidth() * scale / 2);
+        int originY = height / 2 - (int) Math.round(geometry.getHeight() * scale / 2);
+
+        Path2D.Double outline = new Path2D.Double();
+        for (int i = 0; i < geometry.getPartCount(); i++) {
+            Polygon part = geometry.getPart(i);
+            for (int v = 0; v < part.getVertexCount(); v++) {
+                int x = originX + (int) Math.round((part.getX(v) - minX) * scale);
+                int y = originY + (int) Math.round((part.getY(v) - minY) * scale);
+                if (v == 0) {
+                    outline.moveTo(x, y);
+                } else {
+                    outline.lineTo(x, y);
+                }
+            }
+            outline.closePath();
+        }
+
+        int[] points = new int[dimensionLines.size() * 4];
+        for (int i = 0; i < dimensionLines.size(); i++) {
+            DimensionLine line = dimensionLines.get(i);
+            int p = i * 4;
+            points[p] = originX + (int) Math.round((line.x1 - minX) * scale) + line.offsetX;
+            points[p + 1] = originY + (int) Math.round((line.y1 - minY) * scale) + line.offsetY;
+            points[p + 2] = originX + (int) Math.round((line.x2 - minX) * scale) + line.offsetX;
+            points[p + 3] = originY + (int) Math.round((line.y2 - minY) * scale) + line.offsetY;
+        }
+        return new Layout(width, height, outline, points);
+    }
     
     /**
      * 准备绘图上下文
      * @param g2d 图形上下文
      */
     protected void prepareGraphics(Graphics2D g2d) {
-        System.out.println("准备绘图上下文");
-        
         // 设置抗锯齿
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
@@ -28,10 +193,8 @@ public abstract class CompoundShapeDrawer implements ShapeRenderer {
         g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
         
         // 设置基本绘图属性
-        g2d.setStroke(new BasicStroke(2.0f));
+        g2d.setStroke(OUTLINE_STROKE);
         g2d.setBackground(Color.WHITE);
-        
-        System.out.println("绘图上下文准备完成");
     }
     
     /**
@@ -66,8 +229,7 @@ public abstract class CompoundShapeDrawer implements ShapeRenderer {
         
         try {
             // 设置虚线样式
-            g2d.setStroke(new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
-                                        10.0f, new float[]{DASH_LENGTH}, 0.0f));
+            g2d.setStroke(DIMENSION_STROKE);
             g2d.setColor(LINE_COLOR);
             
             // 绘制主线
@@ -82,12 +244,11 @@ public abstract class CompoundShapeDrawer implements ShapeRenderer {
             // 绘制终点箭头
             drawArrow(g2d, x2, y2, angle);
             
-            // 绘制尺寸文本
-            g2d.setFont(new Font("微软雅黑", Font.PLAIN, 12));
+            // 绘制尺寸文本（排版结果由 LabelCache 缓存）
             g2d.setColor(TEXT_COLOR);
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(text);
-            int textHeight = fm.getHeight();
+            LabelCache.Label label = LabelCache.get(g2d, DIMENSION_FONT, text);
+            int textWidth = label.getWidth();
+            int textHeight = label.getHeight();
             
             // 计算文本位置
             int textX, textY;
@@ -101,7 +262,7 @@ public abstract class CompoundShapeDrawer implements ShapeRenderer {
                 textY = (y1 + y2 + textHeight) / 2;
             }
             
-            g2d.drawString(text, textX, textY);
+            label.draw(g2d, textX, textY);
             
         } finally {
             // 恢复原始设置
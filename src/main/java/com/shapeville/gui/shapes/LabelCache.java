@@ -0,0 +1,115 @@
+package com.shapeville.gui.shapes;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 标注文字的排版缓存
+ * 尺寸标注（如"21 cm"、"长 = 12.0"）在同一道题中不会变化，按（渲染上下文，字体，文字）缓存
+ * 排好版的 GlyphVector 和测量结果，重绘时直接 drawGlyphVector，不再重复测量和排版。
+ * 查找不分配对象；缓存条目超过上限时整体清空重新建立。线程安全。
+ */
+public final class LabelCache {
+    // 每种渲染上下文、每种字体最多缓存的文字数量
+    private static final int MAX_LABELS_PER_FONT = 2048;
+    // 最多同时保留的渲染上下文数量（界面和不同缩放比例的离屏导出各占一个）
+    private static final int MAX_CONTEXTS = 8;
+
+    private static final ConcurrentMap<FontRenderContext, ConcurrentMap<Font, ConcurrentMap<String, Label>>> CACHE =
+        new ConcurrentHashMap<>();
+
+    /**
+     * 排好版的一段文字
+     */
+    public static final class Label {
+        private final GlyphVector glyphs;
+        private final int width;
+        private final int height;
+        private final int ascent;
+
+        Label(GlyphVector glyphs, FontMetrics metrics, String text) {
+            this.glyphs = glyphs;
+            this.width = metrics.stringWidth(text);
+            this.height = metrics.getHeight();
+            this.ascent = metrics.getAscent();
+        }
+
+        /**
+         * @return 文字宽度（与 FontMetrics.stringWidth 一致）
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * @return 行高（与 FontMetrics.getHeight 一致）
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        public int getAscent() {
+            return ascent;
+        }
+
+        /**
+         * 以 (x, y) 为基线起点绘制文字，颜色取图形上下文的当前颜色
+         */
+        public void draw(Graphics2D g2d, int x, int y) {
+            g2d.drawGlyphVector(glyphs, x, y);
+        }
+    }
+
+    private LabelCache() {
+    }
+
+    /**
+     * 获取文字在当前图形上下文中排好版的结果
+     * @param g2d 图形上下文
+     * @param font 字体
+     * @param text 文字
+     * @return 排版结果
+     */
+    public static Label get(Graphics2D g2d, Font font, String text) {
+        FontRenderContext context = g2d.getFontRenderContext();
+        ConcurrentMap<Font, ConcurrentMap<String, Label>> fonts = CACHE.get(context);
+        if (fonts == null) {
+            if (CACHE.size() >= MAX_CONTEXTS) {
+                CACHE.clear();
+            }
+            fonts = CACHE.computeIfAbsent(context, key -> new ConcurrentHashMap<>());
+        }
+        ConcurrentMap<String, Label> labels = fonts.get(font);
+        if (labels == null) {
+            labels = fonts.computeIfAbsent(font, key -> new ConcurrentHashMap<>());
+        }
+        Label label = labels.get(text);
+        if (label == null) {
+            if (labels.size() >= MAX_LABELS_PER_FONT) {
+                labels.clear();
+            }
+            label = labels.computeIfAbsent(text, key -> create(g2d, context, font, key));
+        }
+        return label;
+    }
+
+    /**
+     * 绘制文字，等价于设置字体后调用 drawString
+     */
+    public static void draw(Graphics2D g2d, Font font, String text, int x, int y) {
+        get(g2d, font, text).draw(g2d, x, y);
+    }
+
+    private static Label create(Graphics2D g2d, FontRenderContext context, Font font, String text) {
+        GlyphVector glyphs = font.createGlyphVector(context, text);
+        // 预先计算字形位置和像素边界，之后多个线程只读地共享同一个 GlyphVector
+        glyphs.getGlyphPositions(0, glyphs.getNumGlyphs(), null);
+        glyphs.getPixelBounds(context, 0, 0);
+        return new Label(glyphs, RenderResources.metrics(g2d, font), text);
+    }
+}
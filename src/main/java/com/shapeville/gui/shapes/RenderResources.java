@@ -0,0 +1,107 @@
+package com.shapeville.gui.shapes;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 共享的绘图资源
+ * 笔画、字体和颜色都是不可变对象，按值驻留（相同参数返回同一个实例），供所有绘制代码共用。
+ * 绘制类应在类初始化时把需要的资源保存到 static final 常量中，绘制时直接使用常量，
+ * 不在每次重绘时创建新的 BasicStroke、Font 或 Color。
+ *
+ * FontMetrics 按字体缓存，绘制时通过 metrics() 获取；只有字体渲染上下文（缩放、抗锯齿设置）
+ * 改变时才重新计算，命中时不分配对象。所有方法都是线程安全的，可在离屏导出的工作线程中使用。
+ */
+public final class RenderResources {
+    /** 界面和图形标注统一使用的字体 */
+    public static final String FONT_FAMILY = "微软雅黑";
+
+    private static final ConcurrentMap<Object, Object> INTERNED = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Font, CachedMetrics> METRICS = new ConcurrentHashMap<>();
+
+    // 某个字体在某个渲染上下文下的度量
+    private static final class CachedMetrics {
+        final FontRenderContext context;
+        final FontMetrics metrics;
+
+        CachedMetrics(FontRenderContext context, FontMetrics metrics) {
+            this.context = context;
+            this.metrics = metrics;
+        }
+    }
+
+    private RenderResources() {
+    }
+
+    /**
+     * @param width 线宽
+     * @return 实线笔画
+     */
+    public static BasicStroke stroke(float width) {
+        return intern(new BasicStroke(width));
+    }
+
+    /**
+     * @param width 线宽
+     * @param dash 虚线段和间隔的长度
+     * @return 虚线笔画
+     */
+    public static BasicStroke dashedStroke(float width, float dash) {
+        return intern(new BasicStroke(width, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+                                      10.0f, new float[]{dash}, 0.0f));
+    }
+
+    /**
+     * @param style 字体样式（Font.PLAIN、Font.BOLD 等）
+     * @param size 字号
+     * @return 界面字体
+     */
+    public static Font font(int style, int size) {
+        return intern(new Font(FONT_FAMILY, style, size));
+    }
+
+    /**
+     * @param base 基础字体
+     * @param style 字体样式
+     * @param size 字号
+     * @return 由基础字体派生的字体
+     */
+    public static Font derive(Font base, int style, float size) {
+        return intern(base.deriveFont(style, size));
+    }
+
+    /**
+     * @return 不透明颜色
+     */
+    public static Color color(int red, int green, int blue) {
+        return intern(new Color(red, green, blue));
+    }
+
+    /**
+     * 获取字体在当前图形上下文中的度量
+     * @param g2d 图形上下文
+     * @param font 字体
+     * @return 字体度量
+     */
+    public static FontMetrics metrics(Graphics2D g2d, Font font) {
+        FontRenderContext context = g2d.getFontRenderContext();
+        CachedMetrics cached = METRICS.get(font);
+        if (cached == null || !cached.context.equals(context)) {
+            cached = new CachedMetrics(context, g2d.getFontMetrics(font));
+            METRICS.put(font, cached);
+        }
+        return cached.metrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T intern(T value) {
+        Object existing = INTERNED.putIfAbsent(value, value);
+        return existing == null ? value : (T) existing;
+    }
+}
@@ -3,16 +3,30 @@ package com.shapeville.gui.shapes;
 import javax.swing.*;
 import java.awt.*;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ShapeDrawer {
-    private static final Color SHAPE_FILL_COLOR = new Color(230, 240, 255);
-    private static final Color SHAPE_BORDER_COLOR = new Color(70, 130, 180);
-    private static final Color DIMENSION_LINE_COLOR = new Color(200, 0, 0);
-    private static final Color DIMENSION_TEXT_COLOR = new Color(0, 0, 150);
-    private static final float MAIN_STROKE_WIDTH = 2.0f;
-    private static final float DIMENSION_STROKE_WIDTH = 1.0f;
+    private static final Color SHAPE_FILL_COLOR = RenderResources.color(230, 240, 255);
+    private static final Color SHAPE_BORDER_COLOR = RenderResources.color(70, 130, 180);
+    private static final Color DIMENSION_LINE_COLOR = RenderResources.color(200, 0, 0);
+    private static final Color DIMENSION_TEXT_COLOR = RenderResources.color(0, 0, 150);
+    private static final BasicStroke MAIN_STROKE = RenderResources.stroke(2.0f);
+    private static final BasicStroke DIMENSION_STROKE = RenderResources.dashedStroke(1.0f, 5.0f);
     private static final int DIMENSION_LINE_OFFSET = 20;
-    private static final Font DIMENSION_FONT = new Font("微软雅黑", Font.PLAIN, 14);
+    private static final Font DIMENSION_FONT = RenderResources.font(Font.PLAIN, 14);
+
+    // 每个标注名称最近一次的格式化结果，同一道题重绘时不再重复格式化
+    private static final Map<String, DimensionText> DIMENSION_TEXTS = new ConcurrentHashMap<>();
+
+    private static final class DimensionText {
+        final double value;
+        final String text;
+
+        DimensionText(double value, String text) {
+            this.value = value;
+            this.text = text;
+        }
+    }
 
     public static void drawRectangle(Graphics2D g2d, int x, int y, int width, int height, Map<String, Double> params, boolean showDimensions) {
         // 设置渲染提示
@@ -24,7 +38,7 @@ public class ShapeDrawer {
         
         // 绘制边框
         g2d.setColor(SHAPE_BORDER_COLOR);
-        g2d.setStroke(new BasicStroke(MAIN_STROKE_WIDTH));
+        g2d.setStroke(MAIN_STROKE);
         g2d.drawRect(x, y, width, height);
         
         if (showDimensions && params != null) {
@@ -32,18 +46,16 @@ public class ShapeDrawer {
             g2d.setColor(DIMENSION_TEXT_COLOR);
             
             // 标注长度
-            String lengthText = String.format("长 = %.1f", params.get("长"));
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(lengthText);
-            g2d.drawString(lengthText, x + (width - textWidth) / 2, y + height + DIMENSION_LINE_OFFSET);
+            LabelCache.Label lengthLabel = dimensionLabel(g2d, "长", params);
+            lengthLabel.draw(g2d, x + (width - lengthLabel.getWidth()) / 2, y + height + DIMENSION_LINE_OFFSET);
             
             // 标注宽度
-            String widthText = String.format("宽 = %.1f", params.get("宽"));
-            g2d.drawString(widthText, x - DIMENSION_LINE_OFFSET - fm.stringWidth(widthText), y + height / 2);
+            LabelCache.Label widthLabel = dimensionLabel(g2d, "宽", params);
+            widthLabel.draw(g2d, x - DIMENSION_LINE_OFFSET - widthLabel.getWidth(), y + height / 2);
             
             // 绘制标注辅助线
             g2d.setColor(DIMENSION_LINE_COLOR);
-            g2d.setStroke(new BasicStroke(DIMENSION_STROKE_WIDTH, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f, new float[]{5}, 0.0f));
+            g2d.setStroke(DIMENSION_STROKE);
             g2d.drawLine(x, y + height + 5, x + width, y + height + 5); // 长度辅助线
             g2d.drawLine(x - 5, y, x - 5, y + height); // 宽度辅助线
         }
@@ -59,7 +71,7 @@ public class ShapeDrawer {
         
         // 绘制边框
         g2d.setColor(SHAPE_BORDER_COLOR);
-        g2d.setStroke(new BasicStroke(MAIN_STROKE_WIDTH));
+        g2d.setStroke(MAIN_STROKE);
         g2d.drawPolygon(xPoints, yPoints, 4);
         
         if (showDimensions && params != null) {
@@ -67,18 +79,16 @@ public class ShapeDrawer {
             g2d.setColor(DIMENSION_TEXT_COLOR);
             
             // 标注底边
-            String baseText = String.format("底 = %.1f", params.get("底"));
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(baseText);
-            g2d.drawString(baseText, x + offset + (width - textWidth) / 2, y + height + DIMENSION_LINE_OFFSET);
+            LabelCache.Label baseLabel = dimensionLabel(g2d, "底", params);
+            baseLabel.draw(g2d, x + offset + (width - baseLabel.getWidth()) / 2, y + height + DIMENSION_LINE_OFFSET);
             
             // 标注高
-            String heightText = String.format("高 = %.1f", params.get("高"));
-            g2d.drawString(heightText, x - DIMENSION_LINE_OFFSET - fm.stringWidth(heightText), y + height / 2);
+            LabelCache.Label heightLabel = dimensionLabel(g2d, "高", params);
+            heightLabel.draw(g2d, x - DIMENSION_LINE_OFFSET - heightLabel.getWidth(), y + height / 2);
             
             // 绘制高度辅助线
             g2d.setColor(DIMENSION_LINE_COLOR);
-            g2d.setStroke(new BasicStroke(DIMENSION_STROKE_WIDTH, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f, new float[]{5}, 0.0f));
+            g2d.setStroke(DIMENSION_STROKE);
             g2d.drawLine(x, y, x, y + height);
         }
     }
@@ -93,7 +103,7 @@ public class ShapeDrawer {
         
         // 绘制边框
         g2d.setColor(SHAPE_BORDER_COLOR);
-        g2d.setStroke(new BasicStroke(MAIN_STROKE_WIDTH));
+        g2d.setStroke(MAIN_STROKE);
         g2d.drawPolygon(xPoints, yPoints, 3);
         
         if (showDimensions && params != null) {
@@ -101,18 +111,15 @@ public class ShapeDrawer {
             g2d.setColor(DIMENSION_TEXT_COLOR);
             
             // 标注底边
-            String baseText = String.format("底 = %.1f", params.get("底"));
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(baseText);
-            g2d.drawString(baseText, centerX - textWidth / 2, centerY + height/2 + DIMENSION_LINE_OFFSET);
+            LabelCache.Label baseLabel = dimensionLabel(g2d, "底", params);
+            baseLabel.draw(g2d, centerX - baseLabel.getWidth() / 2, centerY + height/2 + DIMENSION_LINE_OFFSET);
             
             // 标注高
-            String heightText = String.format("高 = %.1f", params.get("高"));
-            g2d.drawString(heightText, centerX + 10, centerY);
+            dimensionLabel(g2d, "高", params).draw(g2d, centerX + 10, centerY);
             
             // 绘制高度辅助线
             g2d.setColor(DIMENSION_LINE_COLOR);
-            g2d.setStroke(new BasicStroke(DIMENSION_STROKE_WIDTH, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f, new float[]{5}, 0.0f));
+            g2d.setStroke(DIMENSION_STROKE);
             g2d.drawLine(centerX, centerY - height/2, centerX, centerY + height/2);
         }
     }
@@ -129,7 +136,7 @@ public class ShapeDrawer {
         
         // 绘制边框
         g2d.setColor(SHAPE_BORDER_COLOR);
-        g2d.setStroke(new BasicStroke(MAIN_STROKE_WIDTH));
+        g2d.setStroke(MAIN_STROKE);
         g2d.drawPolygon(xPoints, yPoints, 4);
         
         if (showDimensions && params != null) {
@@ -137,25 +144,38 @@ public class ShapeDrawer {
             g2d.setColor(DIMENSION_TEXT_COLOR);
             
             // 标注上底
-            String topText = String.format("上底 = %.1f", params.get("上底"));
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(topText);
-            g2d.drawString(topText, centerX - textWidth / 2, centerY - height/2 - 5);
+            LabelCache.Label topLabel = dimensionLabel(g2d, "上底", params);
+            topLabel.draw(g2d, centerX - topLabel.getWidth() / 2, centerY - height/2 - 5);
             
             // 标注下底
-            String bottomText = String.format("下底 = %.1f", params.get("下底"));
-            textWidth = fm.stringWidth(bottomText);
-            g2d.drawString(bottomText, centerX - textWidth / 2, centerY + height/2 + DIMENSION_LINE_OFFSET);
+            LabelCache.Label bottomLabel = dimensionLabel(g2d, "下底", params);
+            bottomLabel.draw(g2d, centerX - bottomLabel.getWidth() / 2, centerY + height/2 + DIMENSION_LINE_OFFSET);
             
             // 标注高
-            String heightText = String.format("高 = %.1f", params.get("高"));
-            g2d.drawString(heightText, centerX + bottomWidth/2 + DIMENSION_LINE_OFFSET, centerY);
+            dimensionLabel(g2d, "高", params).draw(g2d, centerX + bottomWidth/2 + DIMENSION_LINE_OFFSET, centerY);
             
             // 绘制高度辅助线
             g2d.setColor(DIMENSION_LINE_COLOR);
-            g2d.setStroke(new BasicStroke(DIMENSION_STROKE_WIDTH, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f, new float[]{5}, 0.0f));
+            g2d.setStroke(DIMENSION_STROKE);
             g2d.drawLine(centerX + bottomWidth/2 + 5, centerY - height/2,
                        centerX + bottomWidth/2 + 5, centerY + height/2);
         }
     }
-} 
\ No newline at end of file
+
+    // 标注文字"名称 = 数值"，排版结果由 LabelCache 缓存
+    private static LabelCache.Label dimensionLabel(Graphics2D g2d, String name, Map<String, Double> params) {
+        Double value = params.get(name);
+        String text;
+        if (value == null) {
+            text = String.format("%s = %.1f", name, value);
+        } else {
+            DimensionText cached = DIMENSION_TEXTS.get(name);
+            if (cached == null || Double.compare(cached.value, value) != 0) {
+                cached = new DimensionText(value, String.format("%s = %.1f", name, value));
+                DIMENSION_TEXTS.put(name, cached);
+            }
+            text = cached.text;
+        }
+        return LabelCache.get(g2d, DIMENSION_FONT, text);
+    }
+}
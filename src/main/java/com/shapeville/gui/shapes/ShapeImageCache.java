@@ -0,0 +1,366 @@
+package com.shapeville.gui.shapes;
+
+import com.shapeville.model.Shape2D;
+import com.shapeville.model.Shape3D;
+import com.shapeville.utils.Log;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 形状图片缓存
+ * 优先从构建时生成的图集（SpriteAtlas.RESOURCE）获取形状图片：第一次需要图片时读取并解码整张图集
+ * （通常由 prefetch() 在后台加载线程中触发），之后每张原图都是图集的子图像，不再读取单独的图片文件。
+ * exists() 只读取图集开头的索引，不解码图集，可以在事件线程中调用。图集不存在（例如只执行了 mvn compile）时，
+ * 退回到从类路径逐个加载 images/2d 与 images/3d 下的图片，每张图片只解码一次。
+ * 按目标尺寸缓存预缩放、与显示设备兼容的图像。
+ * 所有缓存条目（逐个加载的原图与缩放图）共享一个按字节计算的内存预算，超出时按LRU淘汰；图集常驻内存，不计入预算。
+ * 图片也可以在后台线程中异步解码和缩放，以便在显示前预先加载。
+ */
+public final class ShapeImageCache {
+    private static final Log LOG = Log.get(ShapeImageCache.class);
+    private static final long DEFAULT_BUDGET_BYTES = 16L * 1024 * 1024; // 默认内存预算16MB
+    private static final int ORIGINAL = 0;                              // 原图条目的尺寸键
+
+    private static final ShapeImageCache INSTANCE = new ShapeImageCache(DEFAULT_BUDGET_BYTES);
+
+    // 后台加载线程（所有缓存实例共享，单线程保证按提交顺序加载）
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "shape-image-loader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private final long budgetBytes;
+    private final LinkedHashMap<Key, BufferedImage> entries;
+    private final Map<Key, CompletableFuture<BufferedImage>> pending = new ConcurrentHashMap<>();
+    private long usedBytes;
+    // 图集和索引各用独立的锁：解码图集约需数十毫秒，期间不阻塞缓存的读写和 exists()
+    private final Object atlasLock = new Object();
+    private final Object indexLock = new Object();
+    private SpriteAtlas atlas;
+    private boolean atlasLoaded;
+    private Set<String> atlasIndex;
+    private boolean indexLoaded;
+
+    // 缓存键：资源路径 + 目标尺寸（0表示原图）
+    private static final class Key {
+        private final String path;
+        private final int size;
+
+        Key(String path, int size) {
+            this.path = path;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return size == other.size && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * path.hashCode() + size;
+        }
+    }
+
+    public ShapeImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        this.entries = new LinkedHashMap<>(32, 0.75f, true);
+    }
+
+    public static ShapeImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 获取2D形状图片的类路径
+     * @param shape 2D形状
+     * @return 资源路径
+     */
+    public static String resourcePath(Shape2D shape) {
+        return "/images/2d/" + shape.getEnglish().toLowerCase() + ".png";
+    }
+
+    /**
+     * 获取3D形状图片的类路径
+     * @param shape 3D形状
+     * @return 资源路径
+     */
+    public static String resourcePath(Shape3D shape) {
+        return "/images/3d/" + shape.getEnglish().toLowerCase() + ".png";
+    }
+
+    /**
+     * 获取等比缩放到 maxSize × maxSize 范围内的图片
+     * @param path 类路径下的资源路径
+     * @param maxSize 目标最大边长（像素）
+     * @return 缩放后的图片
+     * @throws IOException 资源不存在或无法解码时抛出
+     */
+    public BufferedImage getScaled(String path, int maxSize) throws IOException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("目标尺寸必须为正数: " + maxSize);
+        }
+        Key key = new Key(path, maxSize);
+        BufferedImage cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        BufferedImage scaled = scale(getOriginal(path), maxSize);
+        store(key, scaled);
+        return scaled;
+    }
+
+    /**
+     * 异步获取缩放后的图片
+     * 已缓存的图片立即返回已完成的Future；同一图片的并发请求共享同一个加载任务。
+     * @param path 类路径下的资源路径
+     * @param maxSize 目标最大边长（像素）
+     * @return 加载完成时得到图片的Future，加载失败时以IOException异常完成
+     */
+    public CompletableFuture<BufferedImage> getAsync(String path, int maxSize) {
+        Key key = new Key(path, maxSize);
+        BufferedImage cached = lookup(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> existing = pending.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        // 先登记再提交，保证加载任务结束时一定能移除自己的登记
+        LOADER.execute(() -> {
+            try {
+                future.complete(getScaled(path, maxSize));
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                pending.remove(key, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 在后台按顺序预加载一组图片，已缓存或正在加载的图片会被跳过
+     * @param paths 类路径下的资源路径列表
+     * @param maxSize 目标最大边长（像素）
+     */
+    public void prefetch(List<String> paths, int maxSize) {
+        for (String path : paths) {
+            if (!contains(path, maxSize)) {
+                getAsync(path, maxSize);
+            }
+        }
+    }
+
+    /**
+     * 获取原始尺寸的图片（转换为显示兼容格式）
+     * @param path 类路径下的资源路径
+     * @return 原图
+     * @throws IOException 资源不存在或无法解码时抛出
+     */
+    public BufferedImage getOriginal(String path) throws IOException {
+        SpriteAtlas loadedAtlas = atlas();
+        BufferedImage sprite = loadedAtlas == null ? null : loadedAtlas.get(path);
+        if (sprite != null) {
+            return sprite;
+        }
+        Key key = new Key(path, ORIGINAL);
+        BufferedImage cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        BufferedImage original = toCompatible(decode(path));
+        store(key, original);
+        return original;
+    }
+
+    /**
+     * 判断图片是否存在（在图集中或在类路径中）
+     * 只查询图集的索引，不解码图集。
+     * @param path 类路径下的资源路径
+     * @return 是否存在
+     */
+    public boolean exists(String path) {
+        Set<String> index = atlasIndex();
+        return index != null && index.contains(path) || ShapeImageCache.class.getResource(path) != null;
+    }
+
+    /**
+     * 获取图集，第一次调用时从类路径加载并解码（耗时较长，应在后台线程中调用）
+     * @return 图集，不存在或无法加载时返回null
+     */
+    public SpriteAtlas atlas() {
+        synchronized (atlasLock) {
+            if (!atlasLoaded) {
+                atlasLoaded = true;
+                try {
+                    atlas = SpriteAtlas.loadResource(ShapeImageCache::toCompatible);
+                } catch (IOException e) {
+                    LOG.warn("加载形状图集失败，改为逐个加载图片", e);
+                }
+            }
+            return atlas;
+        }
+    }
+
+    // 图集中的图片路径，第一次调用时只读取图集开头的索引
+    private Set<String> atlasIndex() {
+        synchronized (indexLock) {
+            if (!indexLoaded) {
+                indexLoaded = true;
+                try {
+                    atlasIndex = SpriteAtlas.loadResourceIndex();
+                } catch (IOException e) {
+                    LOG.warn("读取形状图集索引失败", e);
+                }
+            }
+            return atlasIndex;
+        }
+    }
+
+    /**
+     * 判断缩放后的图片是否已在缓存中
+     */
+    public synchronized boolean contains(String path, int maxSize) {
+        return entries.containsKey(new Key(path, maxSize));
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    private synchronized BufferedImage lookup(Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(Key key, BufferedImage image) {
+        BufferedImage previous = entries.put(key, image);
+        if (previous != null) {
+            usedBytes -= sizeOf(previous);
+        }
+        usedBytes += sizeOf(image);
+        // 按访问顺序淘汰最久未使用的条目，保留刚放入的条目
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            usedBytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        // 兼容图像均为32位像素
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    private static BufferedImage decode(String path) throws IOException {
+        try (InputStream in = ShapeImageCache.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("图片资源不存在: " + path);
+            }
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                throw new IOException("无法解码图片: " + path);
+            }
+            return image;
+        }
+    }
+
+    /**
+     * 创建与当前显示设备兼容的图像，便于Java2D将其作为加速图像直接绘制
+     */
+    static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+            transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static BufferedImage toCompatible(BufferedImage source) {
+        BufferedImage target = createCompatibleImage(source.getWidth(), source.getHeight(),
+            source.getColorModel().getTransparency());
+        Graphics2D g2d = target.createGraphics();
+        try {
+            g2d.drawImage(source, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 等比缩放图片
+     * 缩小超过一半时逐级减半进行双线性插值，效果接近SCALE_SMOOTH但速度快得多
+     */
+    private static BufferedImage scale(BufferedImage source, int maxSize) {
+        Objects.requireNonNull(source);
+        double ratio = Math.min((double) maxSize / source.getWidth(), (double) maxSize / source.getHeight());
+        int targetWidth = Math.max(1, (int) (source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) (source.getHeight() * ratio));
+        int transparency = source.getColorModel().getTransparency();
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            if (width > targetWidth) {
+                width = Math.max(targetWidth, width / 2);
+            } else {
+                width = targetWidth;
+            }
+            if (height > targetHeight) {
+                height = Math.max(targetHeight, height / 2);
+            } else {
+                height = targetHeight;
+            }
+            BufferedImage next = createCompatibleImage(width, height, transparency);
+            Graphics2D g2d = next.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g2d.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g2d.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+}
@@ -0,0 +1,106 @@
+package com.shapeville.gui.shapes;
+
+import com.shapeville.model.Shape2D;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 2D形状的矢量轮廓
+ * 每种 Shape2D 对应一个以原点为中心、落在 [-1, 1] 范围内的轮廓（y轴向下，与屏幕坐标一致），
+ * 正多边形的一个顶点或一条边朝上，其余形状按常见的教材画法取长宽比。
+ * 轮廓在类初始化时生成一次，outline() 返回经过变换的新对象，调用方可以随意修改。
+ */
+public final class ShapeOutlines {
+    // 矩形、椭圆的高宽比，与正方形、圆形明显不同
+    private static final double RECTANGLE_ASPECT = 0.6;
+    private static final double OVAL_ASPECT = 0.62;
+    // 菱形的宽高比（竖直的对角线较长）
+    private static final double RHOMBUS_ASPECT = 0.62;
+    // 风筝形两侧顶点的位置：上边短、下边长
+    private static final double KITE_HALF_WIDTH = 0.68;
+    private static final double KITE_SHOULDER = -0.38;
+
+    private static final Map<Shape2D, Shape> OUTLINES = new EnumMap<>(Shape2D.class);
+
+    static {
+        for (Shape2D shape : Shape2D.values()) {
+            OUTLINES.put(shape, create(shape));
+        }
+    }
+
+    private ShapeOutlines() {
+    }
+
+    /**
+     * @param shape 2D形状
+     * @param transform 从单位轮廓到目标坐标的变换
+     * @return 变换后的轮廓
+     */
+    public static Shape outline(Shape2D shape, AffineTransform transform) {
+        return transform.createTransformedShape(OUTLINES.get(shape));
+    }
+
+    private static Shape create(Shape2D shape) {
+        switch (shape) {
+            case CIRCLE:
+                return new Ellipse2D.Double(-1, -1, 2, 2);
+            case OVAL:
+                return new Ellipse2D.Double(-1, -OVAL_ASPECT, 2, 2 * OVAL_ASPECT);
+            case RECTANGLE:
+                return polygon(-1, -RECTANGLE_ASPECT, 1, -RECTANGLE_ASPECT,
+                               1, RECTANGLE_ASPECT, -1, RECTANGLE_ASPECT);
+            case SQUARE:
+                return polygon(-1, -1, 1, -1, 1, 1, -1, 1);
+            case RHOMBUS:
+                return polygon(0, -1, RHOMBUS_ASPECT, 0, 0, 1, -RHOMBUS_ASPECT, 0);
+            case KITE:
+                return polygon(0, -1, KITE_HALF_WIDTH, KITE_SHOULDER, 0, 1, -KITE_HALF_WIDTH, KITE_SHOULDER);
+            case TRIANGLE:
+                return regularPolygon(3);
+            case PENTAGON:
+                return regularPolygon(5);
+            case HEXAGON:
+                return regularPolygon(6);
+            case HEPTAGON:
+                return regularPolygon(7);
+            case OCTAGON:
+                return regularPolygon(8);
+            default:
+                throw new IllegalArgumentException("未知的2D形状: " + shape);
+        }
+    }
+
+    // 外接圆半径为1的正多边形：奇数边时顶点朝上，偶数边时上下两边水平；底边落在同一高度后整体竖直居中
+    private static Shape regularPolygon(int sides) {
+        double start = -Math.PI / 2 + (sides % 2 == 0 ? Math.PI / sides : 0);
+        double[] points = new double[sides * 2];
+        double top = Double.MAX_VALUE, bottom = -Double.MAX_VALUE;
+        for (int i = 0; i < sides; i++) {
+            double angle = start + 2 * Math.PI * i / sides;
+            points[2 * i] = Math.cos(angle);
+            points[2 * i + 1] = Math.sin(angle);
+            top = Math.min(top, points[2 * i + 1]);
+            bottom = Math.max(bottom, points[2 * i + 1]);
+        }
+        double offset = (top + bottom) / 2;
+        for (int i = 0; i < sides; i++) {
+            points[2 * i + 1] -= offset;
+        }
+        return polygon(points);
+    }
+
+    private static Shape polygon(double... points) {
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(points[0], points[1]);
+        for (int i = 2; i < points.length; i += 2) {
+            path.lineTo(points[i], points[i + 1]);
+        }
+        path.closePath();
+        return path;
+    }
+}
@@ -0,0 +1,188 @@
+package com.shapeville.gui.shapes;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * 3D形状的软件光栅化器
+ * 把 SolidMesh 旋转、正交投影后直接写入 BufferedImage 底层的 int[] 像素数组（DataBufferInt），
+ * 不经过 Java2D 的路径填充，也不依赖 OpenGL。
+ *
+ * 每帧的步骤：只清除上一帧画过的矩形区域；按面法向量剔除背面并计算平面着色的颜色；
+ * 对朝前的面的预拆分三角形用边函数逐像素填充。网格都是凸多面体，朝前的面互不遮挡，因此不需要深度缓冲。
+ * 顶点坐标取整到 1/16 像素，边函数用整数计算并遵循左上填充规则，相邻三角形的公共边既不重复填充也不留缝。
+ *
+ * 图像大小固定，形状按包围球半径缩放，旋转时大小不变。
+ * 所有临时数组都在对象中复用，render() 不分配内存。实例不是线程安全的。
+ */
+public final class SoftwareRasterizer {
+    private static final int SUBPIXEL_BITS = 4;
+    private static final int SUBPIXEL = 1 << SUBPIXEL_BITS;
+    private static final int HALF_PIXEL = SUBPIXEL / 2;
+
+    private final int width;
+    private final int height;
+    private final BufferedImage image;
+    private final int[] pixels;
+
+    private int[] screenX = new int[0];   // 顶点的屏幕坐标（1/16像素）
+    private int[] screenY = new int[0];
+    // 上一帧画过的像素范围（含），用于下一帧只清除这一块
+    private int dirtyMinX, dirtyMinY, dirtyMaxX = -1, dirtyMaxY = -1;
+
+    /**
+     * @param width 图像宽度（像素）
+     * @param height 图像高度（像素）
+     */
+    public SoftwareRasterizer(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("图像尺寸必须大于0: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * @return 渲染结果（同一个实例，每次 render() 后内容更新）
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * 渲染一帧，背景透明
+     * @param mesh 网格
+     * @param yaw 绕竖直轴的旋转角度（弧度）
+     * @param pitch 向观察者倾斜的角度（弧度），为正时能看到顶面
+     * @param scale 包围球直径占图像短边的比例（0~1]
+     * @param rgb 基础颜色（0xRRGGBB），按光照明暗变化
+     * @return 填充的三角形数量
+     */
+    public int render(SolidMesh mesh, double yaw, double pitch, double scale, int rgb) {
+        clearDirty();
+        int vertexCount = mesh.getVertexCount();
+        if (screenX.length < vertexCount) {
+            screenX = new int[vertexCount];
+            screenY = new int[vertexCount];
+        }
+        double cosYaw = Math.cos(yaw), sinYaw = Math.sin(yaw);
+        double cosPitch = Math.cos(pitch), sinPitch = Math.sin(pitch);
+        double factor = Math.min(width, height) / 2.0 * scale / mesh.boundingRadius * SUBPIXEL;
+        double centerX = width / 2.0 * SUBPIXEL, centerY = height / 2.0 * SUBPIXEL;
+
+        // 与 VectorShapeIcon 相同的变换：先绕y轴旋转yaw，再绕x轴旋转pitch，正交投影
+        float[] v = mesh.vertices;
+        for (int i = 0; i < vertexCount; i++) {
+            double x = v[i * 3], y = v[i * 3 + 1], z = v[i * 3 + 2];
+            double x1 = x * cosYaw + z * sinYaw;
+            double z1 = -x * sinYaw + z * cosYaw;
+            screenX[i] = (int) Math.round(centerX + x1 * factor);
+            screenY[i] = (int) Math.round(centerY - (y * cosPitch - z1 * sinPitch) * factor);
+        }
+
+        int red = (rgb >> 16) & 0xFF, green = (rgb >> 8) & 0xFF, blue = rgb & 0xFF;
+        float[] n = mesh.faceNormals;
+        int drawn = 0;
+        for (int f = 0; f < mesh.getFaceCount(); f++) {
+            double nx1 = n[f * 3] * cosYaw + n[f * 3 + 2] * sinYaw;
+            double nz1 = -n[f * 3] * sinYaw + n[f * 3 + 2] * cosYaw;
+            double viewY = n[f * 3 + 1] * cosPitch - nz1 * sinPitch;
+            double viewZ = n[f * 3 + 1] * sinPitch + nz1 * cosPitch;
+            if (viewZ <= 1e-6) {
+                continue;
+            }
+            double intensity = SolidMesh.lightIntensity(nx1, viewY, viewZ);
+            int color = 0xFF000000
+                        | Math.min(255, (int) (red * intensity)) << 16
+                        | Math.min(255, (int) (green * intensity)) << 8
+                        | Math.min(255, (int) (blue * intensity));
+            for (int t = mesh.triangleStart[f]; t < mesh.triangleStart[f + 1]; t++) {
+                if (fillTriangle(mesh.triangles[t * 3], mesh.triangles[t * 3 + 1], mesh.triangles[t * 3 + 2], color)) {
+                    drawn++;
+                }
+            }
+        }
+        return drawn;
+    }
+
+    // 把上一帧画过的区域恢复为透明
+    private void clearDirty() {
+        for (int y = dirtyMinY; y <= dirtyMaxY; y++) {
+            Arrays.fill(pixels, y * width + dirtyMinX, y * width + dirtyMaxX + 1, 0);
+        }
+        dirtyMinX = width;
+        dirtyMinY = height;
+        dirtyMaxX = -1;
+        dirtyMaxY = -1;
+    }
+
+    private boolean fillTriangle(int a, int b, int c, int color) {
+        int x0 = screenX[a], y0 = screenY[a];
+        int x1 = screenX[b], y1 = screenY[b];
+        int x2 = screenX[c], y2 = screenY[c];
+        long area = (long) (x1 - x0) * (y2 - y0) - (long) (y1 - y0) * (x2 - x0);
+        if (area == 0) {
+            return false;
+        }
+        if (area < 0) {
+            // 统一为屏幕上顺时针（y轴向下）的顺序，使内部点的三个边函数都为正
+            int tx = x1, ty = y1;
+            x1 = x2;
+            y1 = y2;
+            x2 = tx;
+            y2 = ty;
+        }
+
+        // 包围盒内的像素中心：像素 p 的中心为 p * SUBPIXEL + HALF_PIXEL
+        int minX = Math.max(0, (Math.min(x0, Math.min(x1, x2)) - HALF_PIXEL + SUBPIXEL - 1) >> SUBPIXEL_BITS);
+        int maxX = Math.min(width - 1, (Math.max(x0, Math.max(x1, x2)) - HALF_PIXEL) >> SUBPIXEL_BITS);
+        int minY = Math.max(0, (Math.min(y0, Math.min(y1, y2)) - HALF_PIXEL + SUBPIXEL - 1) >> SUBPIXEL_BITS);
+        int maxY = Math.min(height - 1, (Math.max(y0, Math.max(y1, y2)) - HALF_PIXEL) >> SUBPIXEL_BITS);
+        if (minX > maxX || minY > maxY) {
+            return false;
+        }
+
+        int px = (minX << SUBPIXEL_BITS) + HALF_PIXEL;
+        int py = (minY << SUBPIXEL_BITS) + HALF_PIXEL;
+        int w0Row = edge(x1, y1, x2, y2, px, py);
+        int w1Row = edge(x2, y2, x0, y0, px, py);
+        int w2Row = edge(x0, y0, x1, y1, px, py);
+        // 每向右一个像素、向下一个像素时边函数的增量
+        int w0StepX = -(y2 - y1) << SUBPIXEL_BITS, w0StepY = (x2 - x1) << SUBPIXEL_BITS;
+        int w1StepX = -(y0 - y2) << SUBPIXEL_BITS, w1StepY = (x0 - x2) << SUBPIXEL_BITS;
+        int w2StepX = -(y1 - y0) << SUBPIXEL_BITS, w2StepY = (x1 - x0) << SUBPIXEL_BITS;
+
+        for (int y = minY; y <= maxY; y++) {
+            int w0 = w0Row, w1 = w1Row, w2 = w2Row;
+            int index = y * width + minX;
+            for (int x = minX; x <= maxX; x++) {
+                if ((w0 | w1 | w2) >= 0) {
+                    pixels[index] = color;
+                }
+                w0 += w0StepX;
+                w1 += w1StepX;
+                w2 += w2StepX;
+                index++;
+            }
+            w0Row += w0StepY;
+            w1Row += w1StepY;
+            w2Row += w2StepY;
+        }
+
+        dirtyMinX = Math.min(dirtyMinX, minX);
+        dirtyMinY = Math.min(dirtyMinY, minY);
+        dirtyMaxX = Math.max(dirtyMaxX, maxX);
+        dirtyMaxY = Math.max(dirtyMaxY, maxY);
+        return true;
+    }
+
+    // 边 a->b 的边函数在点 (px, py) 处的值；不在左上边上的点减1，使落在边上的像素只属于一侧的三角形
+    private static int edge(int ax, int ay, int bx, int by, int px, int py) {
+        int value = (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+        boolean topLeft = (by == ay && bx > ax) || by < ay;
+        return topLeft ? value : value - 1;
+    }
+}
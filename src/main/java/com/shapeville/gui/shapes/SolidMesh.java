@@ -0,0 +1,381 @@
+package com.shapeville.gui.shapes;
+
+import com.shapeville.model.Shape3D;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 3D形状的多边形网格
+ * 每种 Shape3D 对应一个以原点为中心、大小约为单位立方体的凸多面体（右手坐标系，y轴向上），
+ * 曲面（圆柱、圆锥的侧面和球面）用多个小平面近似。数据全部保存在基本类型数组中，类初始化时生成一次，之后不可变。
+ *
+ * 面的顶点按从外侧看逆时针的顺序排列，faceNormals 是指向外侧的单位法向量。
+ * 标记为 smooth 的面属于曲面，相邻两个曲面小平面之间的边不画出来，只在轮廓处画线；
+ * 其余的边（棱）属于 feature 边，总是画出（线框模式下被遮挡的棱画成虚线）。
+ * 球体的赤道也标记为 feature 边，便于看出立体感。
+ * 每个面还预先按扇形拆分成三角形，供 SoftwareRasterizer 直接光栅化。
+ */
+public final class SolidMesh {
+    private static final int ROUND_SEGMENTS = 32;    // 圆柱、圆锥底面的分段数
+    private static final int SPHERE_SLICES = 24;     // 球体经线数
+    private static final int SPHERE_STACKS = 12;     // 球体纬线数（偶数，保证有赤道）
+
+    // 光源方向（观察坐标系，已归一化）：左上前方
+    private static final double LIGHT_X = -0.45, LIGHT_Y = 0.65, LIGHT_Z = 0.61;
+    private static final double AMBIENT = 0.55;
+
+    private static final Map<Shape3D, SolidMesh> MESHES = new EnumMap<>(Shape3D.class);
+
+    static {
+        for (Shape3D shape : Shape3D.values()) {
+            MESHES.put(shape, create(shape));
+        }
+    }
+
+    /** 顶点坐标，每个顶点依次为 x, y, z */
+    final float[] vertices;
+    /** 第 i 个面的顶点序号为 faceIndices[faceStart[i] .. faceStart[i + 1]) */
+    final int[] faceStart;
+    final int[] faceIndices;
+    /** 每个面指向外侧的单位法向量，依次为 x, y, z */
+    final float[] faceNormals;
+    /** 面是否属于曲面 */
+    final boolean[] smooth;
+    /** 每条边为 4 个整数：两个顶点序号和两侧的面序号 */
+    final int[] edges;
+    /** 边是否是总要画出的棱 */
+    final boolean[] featureEdges;
+    /** 三角形顶点序号，每个三角形3个，与所在面的顶点顺序一致 */
+    final int[] triangles;
+    /** 第 i 个面的三角形为 triangleStart[i] .. triangleStart[i + 1]（以三角形计） */
+    final int[] triangleStart;
+    /** 所有顶点到原点的最大距离，旋转到任何角度时投影都不超出这个半径 */
+    final float boundingRadius;
+
+    private SolidMesh(Builder builder) {
+        int vertexCount = builder.coordinates.size() / 3;
+        vertices = new float[vertexCount * 3];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = builder.coordinates.get(i);
+        }
+
+        int faceCount = builder.faces.size();
+        faceStart = new int[faceCount + 1];
+        smooth = new boolean[faceCount];
+        int indexCount = 0;
+        for (int i = 0; i < faceCount; i++) {
+            faceStart[i] = indexCount;
+            indexCount += builder.faces.get(i).length;
+            smooth[i] = builder.smoothFaces.get(i);
+        }
+        faceStart[faceCount] = indexCount;
+        faceIndices = new int[indexCount];
+        faceNormals = new float[faceCount * 3];
+        for (int i = 0; i < faceCount; i++) {
+            int[] face = builder.faces.get(i);
+            orientOutward(face);
+            System.arraycopy(face, 0, faceIndices, faceStart[i], face.length);
+            computeNormal(i);
+        }
+
+        // 凸多边形按扇形拆分：以第一个顶点为公共顶点，n 边形得到 n - 2 个三角形
+        triangleStart = new int[faceCount + 1];
+        triangles = new int[(indexCount - 2 * faceCount) * 3];
+        int t = 0;
+        for (int i = 0; i < faceCount; i++) {
+            triangleStart[i] = t / 3;
+            for (int k = faceStart[i] + 1; k < faceStart[i + 1] - 1; k++) {
+                triangles[t++] = faceIndices[faceStart[i]];
+                triangles[t++] = faceIndices[k];
+                triangles[t++] = faceIndices[k + 1];
+            }
+        }
+        triangleStart[faceCount] = t / 3;
+
+        float radius = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            float x = vertices[i * 3], y = vertices[i * 3 + 1], z = vertices[i * 3 + 2];
+            radius = Math.max(radius, (float) Math.sqrt(x * x + y * y + z * z));
+        }
+        boundingRadius = radius;
+
+        // 收集每条边两侧的面；网格是封闭的，每条边恰好属于两个面
+        Map<Long, int[]> edgeMap = new HashMap<>();
+        List<int[]> edgeList = new ArrayList<>();
+        for (int face = 0; face < faceCount; face++) {
+            for (int k = faceStart[face]; k < faceStart[face + 1]; k++) {
+                int a = faceIndices[k];
+                int b = faceIndices[k + 1 < faceStart[face + 1] ? k + 1 : faceStart[face]];
+                long key = edgeKey(a, b);
+                int[] edge = edgeMap.get(key);
+                if (edge == null) {
+                    edge = new int[]{a, b, face, -1};
+                    edgeMap.put(key, edge);
+                    edgeList.add(edge);
+                } else {
+                    edge[3] = face;
+                }
+            }
+        }
+        edges = new int[edgeList.size() * 4];
+        featureEdges = new boolean[edgeList.size()];
+        for (int i = 0; i < edgeList.size(); i++) {
+            int[] edge = edgeList.get(i);
+            System.arraycopy(edge, 0, edges, i * 4, 4);
+            featureEdges[i] = !smooth[edge[2]] || edge[3] < 0 || !smooth[edge[3]]
+                              || builder.featureEdges.contains(edgeKey(edge[0], edge[1]));
+        }
+    }
+
+    /**
+     * @param shape 3D形状
+     * @return 该形状的网格（共享实例，不可修改）
+     */
+    public static SolidMesh of(Shape3D shape) {
+        return MESHES.get(shape);
+    }
+
+    public int getVertexCount() {
+        return vertices.length / 3;
+    }
+
+    public int getFaceCount() {
+        return smooth.length;
+    }
+
+    public int getEdgeCount() {
+        return featureEdges.length;
+    }
+
+    public int getTriangleCount() {
+        return triangles.length / 3;
+    }
+
+    public float getBoundingRadius() {
+        return boundingRadius;
+    }
+
+    /**
+     * 平面着色的亮度，VectorShapeIcon 和 SoftwareRasterizer 使用同一个光源，画出的颜色一致
+     * @param nx 观察坐标系中面法向量的 x 分量
+     * @param ny 观察坐标系中面法向量的 y 分量（向上为正）
+     * @param nz 观察坐标系中面法向量的 z 分量（朝向观察者为正）
+     * @return 亮度系数，介于 AMBIENT 与 1 之间
+     */
+    static double lightIntensity(double nx, double ny, double nz) {
+        double diffuse = Math.max(0, nx * LIGHT_X + ny * LIGHT_Y + nz * LIGHT_Z);
+        return AMBIENT + (1 - AMBIENT) * diffuse;
+    }
+
+    // 凸多面体的面法向量应背离体心（原点附近），否则翻转顶点顺序
+    private void orientOutward(int[] face) {
+        double[] normal = newellNormal(face);
+        double cx = 0, cy = 0, cz = 0;
+        for (int index : face) {
+            cx += vertices[index * 3];
+            cy += vertices[index * 3 + 1];
+            cz += vertices[index * 3 + 2];
+        }
+        if (normal[0] * cx + normal[1] * cy + normal[2] * cz < 0) {
+            for (int i = 0, j = face.length - 1; i < j; i++, j--) {
+                int t = face[i];
+                face[i] = face[j];
+                face[j] = t;
+            }
+        }
+    }
+
+    private void computeNormal(int face) {
+        int[] indices = new int[faceStart[face + 1] - faceStart[face]];
+        System.arraycopy(faceIndices, faceStart[face], indices, 0, indices.length);
+        double[] normal = newellNormal(indices);
+        double length = Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+        for (int i = 0; i < 3; i++) {
+            faceNormals[face * 3 + i] = (float) (normal[i] / length);
+        }
+    }
+
+    // Newell 方法计算多边形法向量（对不严格共面的多边形也稳定）
+    private double[] newellNormal(int[] face) {
+        double nx = 0, ny = 0, nz = 0;
+        for (int i = 0; i < face.length; i++) {
+            int a = face[i] * 3;
+            int b = face[(i + 1) % face.length] * 3;
+            nx += (vertices[a + 1] - vertices[b + 1]) * (vertices[a + 2] + vertices[b + 2]);
+            ny += (vertices[a + 2] - vertices[b + 2]) * (vertices[a] + vertices[b]);
+            nz += (vertices[a] - vertices[b]) * (vertices[a + 1] + vertices[b + 1]);
+        }
+        return new double[]{nx, ny, nz};
+    }
+
+    private static long edgeKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    private static SolidMesh create(Shape3D shape) {
+        Builder b = new Builder();
+        switch (shape) {
+            case CUBE:
+                box(b, 0.5, 0.5, 0.5);
+                break;
+            case CUBOID:
+                box(b, 0.8, 0.4, 0.45);
+                break;
+            case CYLINDER: {
+                int bottom = b.ring(0.5, -0.55, ROUND_SEGMENTS);
+                int top = b.ring(0.5, 0.55, ROUND_SEGMENTS);
+                b.face(false, b.range(bottom, ROUND_SEGMENTS));
+                b.face(false, b.range(top, ROUND_SEGMENTS));
+                for (int i = 0; i < ROUND_SEGMENTS; i++) {
+                    int j = (i + 1) % ROUND_SEGMENTS;
+                    b.face(true, bottom + i, bottom + j, top + j, top + i);
+                }
+                break;
+            }
+            case CONE: {
+                int base = b.ring(0.55, -0.5, ROUND_SEGMENTS);
+                int apex = b.vertex(0, 0.6, 0);
+                b.face(false, b.range(base, ROUND_SEGMENTS));
+                for (int i = 0; i < ROUND_SEGMENTS; i++) {
+                    b.face(true, base + i, base + (i + 1) % ROUND_SEGMENTS, apex);
+                }
+                break;
+            }
+            case SPHERE:
+                sphere(b, 0.6);
+                break;
+            case TRIANGULAR_PRISM: {
+                double[] xs = {-0.55, 0.55, 0};
+                double[] ys = {-0.45, -0.45, 0.5};
+                int front = b.vertex(xs[0], ys[0], 0.65);
+                b.vertex(xs[1], ys[1], 0.65);
+                b.vertex(xs[2], ys[2], 0.65);
+                int back = b.vertex(xs[0], ys[0], -0.65);
+                b.vertex(xs[1], ys[1], -0.65);
+                b.vertex(xs[2], ys[2], -0.65);
+                b.face(false, front, front + 1, front + 2);
+                b.face(false, back, back + 1, back + 2);
+                for (int i = 0; i < 3; i++) {
+                    int j = (i + 1) % 3;
+                    b.face(false, front + i, front + j, back + j, back + i);
+                }
+                break;
+            }
+            case SQUARE_BASED_PYRAMID: {
+                int base = b.vertex(-0.55, -0.45, -0.55);
+                b.vertex(0.55, -0.45, -0.55);
+                b.vertex(0.55, -0.45, 0.55);
+                b.vertex(-0.55, -0.45, 0.55);
+                int apex = b.vertex(0, 0.55, 0);
+                b.face(false, base, base + 1, base + 2, base + 3);
+                for (int i = 0; i < 4; i++) {
+                    b.face(false, base + i, base + (i + 1) % 4, apex);
+                }
+                break;
+            }
+            case TETRAHEDRON: {
+                // 正四面体：底面外接圆半径0.6，高为棱长的 sqrt(2/3) 倍，整体竖直居中
+                double radius = 0.6;
+                double height = radius * Math.sqrt(3) * Math.sqrt(2.0 / 3);
+                int base = b.ring(radius, -height / 2, 3);
+                int apex = b.vertex(0, height / 2, 0);
+                b.face(false, base, base + 1, base + 2);
+                for (int i = 0; i < 3; i++) {
+                    b.face(false, base + i, base + (i + 1) % 3, apex);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("未知的3D形状: " + shape);
+        }
+        return new SolidMesh(b);
+    }
+
+    private static void box(Builder b, double hx, double hy, double hz) {
+        int v = b.vertex(-hx, -hy, -hz);
+        b.vertex(hx, -hy, -hz);
+        b.vertex(hx, hy, -hz);
+        b.vertex(-hx, hy, -hz);
+        b.vertex(-hx, -hy, hz);
+        b.vertex(hx, -hy, hz);
+        b.vertex(hx, hy, hz);
+        b.vertex(-hx, hy, hz);
+        b.face(false, v, v + 1, v + 2, v + 3);
+        b.face(false, v + 4, v + 5, v + 6, v + 7);
+        b.face(false, v, v + 1, v + 5, v + 4);
+        b.face(false, v + 3, v + 2, v + 6, v + 7);
+        b.face(false, v, v + 3, v + 7, v + 4);
+        b.face(false, v + 1, v + 2, v + 6, v + 5);
+    }
+
+    // 经纬球：两极各一个顶点，中间 SPHERE_STACKS - 1 圈纬线
+    private static void sphere(Builder b, double radius) {
+        int south = b.vertex(0, -radius, 0);
+        int[] rings = new int[SPHERE_STACKS - 1];
+        for (int s = 1; s < SPHERE_STACKS; s++) {
+            double angle = -Math.PI / 2 + Math.PI * s / SPHERE_STACKS;
+            rings[s - 1] = b.ring(radius * Math.cos(angle), radius * Math.sin(angle), SPHERE_SLICES);
+        }
+        int north = b.vertex(0, radius, 0);
+        for (int i = 0; i < SPHERE_SLICES; i++) {
+            int j = (i + 1) % SPHERE_SLICES;
+            b.face(true, south, rings[0] + j, rings[0] + i);
+            for (int s = 0; s < rings.length - 1; s++) {
+                b.face(true, rings[s] + i, rings[s] + j, rings[s + 1] + j, rings[s + 1] + i);
+            }
+            b.face(true, rings[rings.length - 1] + i, rings[rings.length - 1] + j, north);
+        }
+        int equator = rings[SPHERE_STACKS / 2 - 1];
+        for (int i = 0; i < SPHERE_SLICES; i++) {
+            b.feature(equator + i, equator + (i + 1) % SPHERE_SLICES);
+        }
+    }
+
+    // 生成网格时使用的临时数据
+    private static final class Builder {
+        final List<Float> coordinates = new ArrayList<>();
+        final List<int[]> faces = new ArrayList<>();
+        final List<Boolean> smoothFaces = new ArrayList<>();
+        final Set<Long> featureEdges = new HashSet<>();
+
+        int vertex(double x, double y, double z) {
+            coordinates.add((float) x);
+            coordinates.add((float) y);
+            coordinates.add((float) z);
+            return coordinates.size() / 3 - 1;
+        }
+
+        // 高度为 y 的水平圆上均匀分布的 count 个顶点，返回第一个顶点的序号
+        int ring(double radius, double y, int count) {
+            int first = coordinates.size() / 3;
+            for (int i = 0; i < count; i++) {
+                double angle = 2 * Math.PI * i / count;
+                vertex(radius * Math.cos(angle), y, -radius * Math.sin(angle));
+            }
+            return first;
+        }
+
+        int[] range(int first, int count) {
+            int[] indices = new int[count];
+            for (int i = 0; i < count; i++) {
+                indices[i] = first + i;
+            }
+            return indices;
+        }
+
+        void face(boolean smooth, int... indices) {
+            faces.add(indices.clone());
+            smoothFaces.add(smooth);
+        }
+
+        void feature(int a, int b) {
+            featureEdges.add(edgeKey(a, b));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.shapeville.gui.shapes;
+
+import com.shapeville.model.Shape3D;
+import com.shapeville.utils.Metrics;
+import com.shapeville.utils.TickScheduler;
+
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.Random;
+
+/**
+ * 绕竖直轴持续旋转的3D形状图标
+ * 每帧由 SoftwareRasterizer 按边长两倍的分辨率渲染，绘制时双线性缩小到图标尺寸，相当于2×2超采样抗锯齿。
+ * start() 后由全局 TickScheduler 驱动，在Swing事件线程中渲染下一帧并重绘宿主组件；
+ * 旋转角度按实际经过的时间计算，帧间隔不均匀时转速也保持不变。
+ * 宿主组件不可见时跳过渲染，从窗口中移除（或窗口被释放）后自动停止。
+ *
+ * 除构造外，所有方法都必须在Swing事件线程中调用。
+ */
+public final class SpinningSolidIcon implements Icon {
+    private static final int SUPERSAMPLE = 2;
+    // 帧间隔；调度器按纳秒累计周期任务的到期时间，在10毫秒节拍上平均间隔仍为16毫秒（约60帧/秒）
+    private static final long FRAME_MILLIS = 16;
+    private static final double SCALE = 0.92;
+    private static final double MIN_PITCH = Math.toRadians(15), MAX_PITCH = Math.toRadians(35);
+    private static final double MIN_SPEED = Math.toRadians(40), MAX_SPEED = Math.toRadians(80);
+    private static final Metrics.Histogram FRAME_TIME = Metrics.histogram("render.SoftwareRasterizer");
+
+    private final int size;
+    private final SolidMesh mesh;
+    private final double initialYaw;
+    private final double pitch;
+    private final double radiansPerSecond;
+    private final int rgb;
+    private final SoftwareRasterizer rasterizer;
+
+    private TickScheduler.Handle animation;
+    private JComponent host;
+    private final HierarchyListener detachListener = e -> {
+        if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !e.getComponent().isDisplayable()) {
+            stop();
+        }
+    };
+    private long startNanos;
+    private double yaw;
+
+    /**
+     * @param shape 3D形状
+     * @param size 图标边长（像素）
+     * @param yaw 初始的绕竖直轴旋转角度（弧度）
+     * @param pitch 向观察者倾斜的角度（弧度）
+     * @param radiansPerSecond 转速（弧度/秒），为负时反向旋转
+     * @param color 基础颜色
+     */
+    public SpinningSolidIcon(Shape3D shape, int size, double yaw, double pitch, double radiansPerSecond,
+                             Color color) {
+        this.size = size;
+        this.mesh = SolidMesh.of(shape);
+        this.initialYaw = yaw;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.radiansPerSecond = radiansPerSecond;
+        this.rgb = color.getRGB() & 0xFFFFFF;
+        this.rasterizer = new SoftwareRasterizer(size * SUPERSAMPLE, size * SUPERSAMPLE);
+        renderFrame();
+    }
+
+    /**
+     * 创建随机初始角度、倾斜角度、转速、方向和颜色的旋转图标
+     * @param shape 3D形状
+     * @param size 图标边长（像素）
+     * @param random 随机数来源
+     * @return 图标（尚未开始旋转）
+     */
+    public static SpinningSolidIcon random(Shape3D shape, int size, Random random) {
+        double yaw = random.nextDouble() * 2 * Math.PI;
+        double pitch = MIN_PITCH + random.nextDouble() * (MAX_PITCH - MIN_PITCH);
+        double speed = MIN_SPEED + random.nextDouble() * (MAX_SPEED - MIN_SPEED);
+        return new SpinningSolidIcon(shape, size, yaw, pitch, random.nextBoolean() ? speed : -speed,
+                                     VectorShapeIcon.PALETTE[random.nextInt(VectorShapeIcon.PALETTE.length)]);
+    }
+
+    /**
+     * 开始旋转，已在旋转时先停止再以新的宿主组件重新开始
+     * @param host 显示这个图标的组件，每帧后重绘
+     */
+    public void start(JComponent host) {
+        stop();
+        this.host = host;
+        host.addHierarchyListener(detachListener);
+        startNanos = System.nanoTime();
+        animation = TickScheduler.getDefault().scheduleAtFixedRate(FRAME_MILLIS, FRAME_MILLIS, this::tick);
+    }
+
+    /**
+     * 停止旋转，保留当前画面，可重复调用
+     */
+    public void stop() {
+        if (animation != null) {
+            animation.cancel();
+            animation = null;
+        }
+        if (host != null) {
+            host.removeHierarchyListener(detachListener);
+            host = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return animation != null;
+    }
+
+    private void tick() {
+        if (!host.isShowing()) {
+            return;
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        yaw = initialYaw + radiansPerSecond * seconds;
+        renderFrame();
+        host.repaint();
+    }
+
+    private void renderFrame() {
+        long start = System.nanoTime();
+        rasterizer.render(mesh, yaw, pitch, SCALE, rgb);
+        FRAME_TIME.recordSince(start);
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(rasterizer.getImage(), x, y, size, size, null);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    @Override
+    public int getIconWidth() {
+        return size;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return size;
+    }
+}
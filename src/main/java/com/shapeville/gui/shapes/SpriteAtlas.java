@@ -0,0 +1,164 @@
+package com.shapeville.gui.shapes;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * 形状图片图集
+ * 构建时由 SpriteAtlasPacker 把 images/2d 与 images/3d 下的所有图片拼成一张大图，
+ * 连同每张图片在大图中的位置写入类路径资源 /images/shapes.atlas。
+ * 运行时只需读取这一个资源、解码一次PNG，各形状的图片都是大图的子图像（共享像素数据，不再复制）。
+ *
+ * 文件格式：[魔数 "SVA1"][图片数 int]，之后每张图片为 [资源路径 UTF][x short][y short][宽 short][高 short]，
+ * 最后是整张大图的PNG数据。
+ * 加载后的图集是不可变的，可被多个线程共享。
+ */
+public final class SpriteAtlas {
+    /** 图集在类路径中的位置 */
+    public static final String RESOURCE = "/images/shapes.atlas";
+
+    static final int MAGIC = 0x53564131;    // "SVA1"
+
+    private final BufferedImage image;
+    private final Map<String, BufferedImage> sprites;
+    private final Map<String, Rectangle> bounds;
+
+    private SpriteAtlas(BufferedImage image, Map<String, Rectangle> bounds) {
+        this.image = image;
+        this.bounds = Collections.unmodifiableMap(bounds);
+        Map<String, BufferedImage> views = new LinkedHashMap<>();
+        for (Map.Entry<String, Rectangle> entry : bounds.entrySet()) {
+            Rectangle r = entry.getValue();
+            views.put(entry.getKey(), image.getSubimage(r.x, r.y, r.width, r.height));
+        }
+        this.sprites = Collections.unmodifiableMap(views);
+    }
+
+    /**
+     * 从类路径加载默认图集
+     * @param convert 解码后对整张大图做的转换（如转换为显示兼容格式），只执行一次
+     * @return 图集，资源不存在时返回null
+     * @throws IOException 资源损坏或无法解码
+     */
+    public static SpriteAtlas loadResource(UnaryOperator<BufferedImage> convert) throws IOException {
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(RESOURCE)) {
+            return in == null ? null : read(in, convert);
+        }
+    }
+
+    /**
+     * 只读取默认图集的索引（文件开头的图片路径列表），不解码大图
+     * @return 图集中所有图片的资源路径，资源不存在时返回null
+     * @throws IOException 资源损坏
+     */
+    public static Set<String> loadResourceIndex() throws IOException {
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(RESOURCE)) {
+            return in == null ? null
+                : Collections.unmodifiableSet(readIndex(new DataInputStream(new BufferedInputStream(in))).keySet());
+        }
+    }
+
+    /**
+     * 从输入流读取图集（不关闭输入流）
+     * @param in 输入流
+     * @param convert 解码后对整张大图做的转换，只执行一次
+     * @return 图集
+     * @throws IOException 格式错误或无法解码
+     */
+    public static SpriteAtlas read(InputStream in, UnaryOperator<BufferedImage> convert) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        Map<String, Rectangle> bounds = readIndex(data);
+        BufferedImage image = convert.apply(decodePng(data));
+        for (Map.Entry<String, Rectangle> entry : bounds.entrySet()) {
+            if (!new Rectangle(image.getWidth(), image.getHeight()).contains(entry.getValue())) {
+                throw new IOException("图集中的图片超出范围: " + entry.getKey());
+            }
+        }
+        return new SpriteAtlas(image, bounds);
+    }
+
+    // ImageIO.read(InputStream) 默认使用文件缓存，会先把整张大图写入临时文件再解码；
+    // 这里改用内存缓存的输入流直接交给PNG解码器，启动时只读取一次图集资源
+    private static BufferedImage decodePng(InputStream in) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("png");
+        if (!readers.hasNext()) {
+            throw new IOException("没有可用的PNG解码器");
+        }
+        ImageReader reader = readers.next();
+        try (ImageInputStream stream = new MemoryCacheImageInputStream(in)) {
+            reader.setInput(stream, true, true);
+            return reader.read(0);
+        } catch (RuntimeException e) {
+            throw new IOException("无法解码图集图片", e);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    // 读取魔数和每张图片的位置，停在PNG数据之前
+    private static Map<String, Rectangle> readIndex(DataInputStream data) throws IOException {
+        if (data.readInt() != MAGIC) {
+            throw new IOException("不是形状图集文件");
+        }
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("图集图片数量无效: " + count);
+        }
+        Map<String, Rectangle> bounds = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String path = data.readUTF();
+            bounds.put(path, new Rectangle(data.readUnsignedShort(), data.readUnsignedShort(),
+                                           data.readUnsignedShort(), data.readUnsignedShort()));
+        }
+        return bounds;
+    }
+
+    /**
+     * @param path 图片的资源路径（如 /images/2d/circle.png）
+     * @return 该图片在图集中的子图像，不在图集中时返回null
+     */
+    public BufferedImage get(String path) {
+        return sprites.get(path);
+    }
+
+    public boolean contains(String path) {
+        return sprites.containsKey(path);
+    }
+
+    /**
+     * @return 图集中所有图片的资源路径
+     */
+    public Set<String> getPaths() {
+        return sprites.keySet();
+    }
+
+    /**
+     * @param path 图片的资源路径
+     * @return 图片在大图中的位置，不在图集中时返回null
+     */
+    public Rectangle getBounds(String path) {
+        Rectangle r = bounds.get(path);
+        return r == null ? null : new Rectangle(r);
+    }
+
+    /**
+     * @return 整张大图
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+}
@@ -0,0 +1,170 @@
+package com.shapeville.gui.shapes;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 形状图片图集打包工具（构建时运行）
+ * 把图片目录下 2d/ 和 3d/ 中的所有PNG按货架算法拼成一张大图，写成 SpriteAtlas 格式的文件。
+ * Maven 在 process-classes 阶段调用：
+ *   SpriteAtlasPacker <图片目录> <输出文件>
+ * 例如 SpriteAtlasPacker src/main/resources/images target/classes/images/shapes.atlas
+ * 图片按高度从高到低、同高度按路径排序后依次放置，相同输入总是得到相同的输出。
+ */
+public final class SpriteAtlasPacker {
+    private static final String[] DIRECTORIES = {"2d", "3d"};
+    // 图片之间的间隔，避免缩放子图像时采样到相邻图片
+    private static final int PADDING = 2;
+    // 每张图片的坐标和尺寸以 unsigned short 保存
+    private static final int MAX_SIZE = 0xFFFF;
+
+    private SpriteAtlasPacker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // 由 Maven 在构建进程内调用，参数错误时抛出异常而不是退出虚拟机
+        if (args.length != 2) {
+            throw new IllegalArgumentException("用法: SpriteAtlasPacker <图片目录> <输出文件>");
+        }
+        Path imageRoot = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        Map<String, BufferedImage> images = readImages(imageRoot);
+        Map<String, Rectangle> layout = layout(images);
+        write(images, layout, output);
+        Rectangle extent = extent(layout);
+        System.out.printf("已打包 %d 张图片到 %s（%d×%d）%n", images.size(), output, extent.width, extent.height);
+    }
+
+    /**
+     * 读取图片目录下 2d/ 和 3d/ 中的所有PNG
+     * @param imageRoot 图片目录（对应类路径 /images）
+     * @return 资源路径（如 /images/2d/circle.png）-> 图片，按路径排序
+     * @throws IOException 读取或解码失败
+     */
+    static Map<String, BufferedImage> readImages(Path imageRoot) throws IOException {
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        for (String directory : DIRECTORIES) {
+            Path dir = imageRoot.resolve(directory);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(dir)) {
+                files = stream.filter(p -> p.getFileName().toString().endsWith(".png")).sorted()
+                              .collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                BufferedImage image = ImageIO.read(file.toFile());
+                if (image == null) {
+                    throw new IOException("无法解码图片: " + file);
+                }
+                images.put("/images/" + directory + "/" + file.getFileName(), image);
+            }
+        }
+        return images;
+    }
+
+    /**
+     * 货架算法排布：大图宽度取总面积的平方根（至少能放下最宽的图片），
+     * 图片从左到右放满一行后换到下一行，行高取该行第一张（最高的）图片的高度
+     * @param images 图片
+     * @return 资源路径 -> 在大图中的位置，顺序与输入相同
+     */
+    static Map<String, Rectangle> layout(Map<String, BufferedImage> images) {
+        List<Map.Entry<String, BufferedImage>> sorted = new ArrayList<>(images.entrySet());
+        sorted.sort(Comparator.<Map.Entry<String, BufferedImage>>comparingInt(e -> -e.getValue().getHeight())
+                              .thenComparing(Map.Entry::getKey));
+        long area = 0;
+        int widest = 0;
+        for (BufferedImage image : images.values()) {
+            area += (long) (image.getWidth() + PADDING) * (image.getHeight() + PADDING);
+            widest = Math.max(widest, image.getWidth() + PADDING);
+        }
+        int atlasWidth = Math.max(widest, (int) Math.ceil(Math.sqrt(area)));
+
+        Map<String, Rectangle> placed = new LinkedHashMap<>();
+        int x = 0, y = 0, rowHeight = 0;
+        for (Map.Entry<String, BufferedImage> entry : sorted) {
+            BufferedImage image = entry.getValue();
+            if (x > 0 && x + image.getWidth() > atlasWidth) {
+                x = 0;
+                y += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            placed.put(entry.getKey(), new Rectangle(x, y, image.getWidth(), image.getHeight()));
+            x += image.getWidth() + PADDING;
+            rowHeight = Math.max(rowHeight, image.getHeight());
+        }
+        Map<String, Rectangle> result = new LinkedHashMap<>();
+        for (String path : images.keySet()) {
+            Rectangle r = placed.get(path);
+            if (r.x + r.width > MAX_SIZE || r.y + r.height > MAX_SIZE) {
+                throw new IllegalArgumentException("图集尺寸超出上限: " + path);
+            }
+            result.put(path, r);
+        }
+        return result;
+    }
+
+    static void write(Map<String, BufferedImage> images, Map<String, Rectangle> layout, Path output)
+            throws IOException {
+        Rectangle extent = extent(layout);
+        BufferedImage atlas = new BufferedImage(Math.max(1, extent.width), Math.max(1, extent.height),
+                                                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = atlas.createGraphics();
+        try {
+            for (Map.Entry<String, Rectangle> entry : layout.entrySet()) {
+                g2d.drawImage(images.get(entry.getKey()), entry.getValue().x, entry.getValue().y, null);
+            }
+        } finally {
+            g2d.dispose();
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream file = Files.newOutputStream(output);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(SpriteAtlas.MAGIC);
+            out.writeInt(layout.size());
+            for (Map.Entry<String, Rectangle> entry : layout.entrySet()) {
+                Rectangle r = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeShort(r.x);
+                out.writeShort(r.y);
+                out.writeShort(r.width);
+                out.writeShort(r.height);
+            }
+            if (!ImageIO.write(atlas, "png", out)) {
+                throw new IOException("没有可用的PNG编码器");
+            }
+        }
+    }
+
+    // 能容纳所有图片的、以原点为左上角的矩形
+    private static Rectangle extent(Map<String, Rectangle> layout) {
+        int width = 0, height = 0;
+        for (Rectangle r : layout.values()) {
+            width = Math.max(width, r.x + r.width);
+            height = Math.max(height, r.y + r.height);
+        }
+        return new Rectangle(0, 0, width, height);
+    }
+}
@@ -0,0 +1,284 @@
+package com.shapeville.gui.shapes;
+
+import com.shapeville.model.Shape2D;
+import com.shapeville.model.Shape3D;
+
+import javax.swing.Icon;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 用矢量图形绘制的形状图标
+ * 2D形状取自 ShapeOutlines，3D形状由 SolidMesh 经旋转后正交投影得到：
+ * 背向观察者的面被剔除（网格都是凸多面体，剩下的面互不遮挡，不需要排序），
+ * 着色模式按面法向量与光源方向的夹角给每个面上色，线框模式只画棱和轮廓，被遮挡的棱画成虚线。
+ *
+ * 所有几何计算在构造时完成一次，paintIcon() 只填充和描边预先生成的路径，
+ * 因此在任何尺寸和缩放比例下都清晰，也不需要读取和解码图片文件。
+ * random() 为每道题生成不同的旋转角度、大小和颜色，同一形状每次看起来都略有不同。
+ * 图标不可变，可在任意线程中创建。
+ */
+public final class VectorShapeIcon implements Icon {
+    /** 3D形状的绘制方式 */
+    public enum Style {
+        SHADED,
+        WIREFRAME
+    }
+
+    // 形状的填充颜色，SpinningSolidIcon 也从中选取
+    static final Color[] PALETTE = {
+        RenderResources.color(120, 170, 230),
+        RenderResources.color(240, 160, 110),
+        RenderResources.color(130, 200, 140),
+        RenderResources.color(230, 200, 90),
+        RenderResources.color(190, 150, 220),
+        RenderResources.color(240, 140, 160)
+    };
+    private static final Color OUTLINE_COLOR = RenderResources.color(40, 40, 40);
+    private static final Color HIDDEN_EDGE_COLOR = RenderResources.color(120, 120, 120);
+    private static final BasicStroke SEAM_STROKE = RenderResources.stroke(1.0f);
+
+    private static final double MAX_ROTATION_2D = Math.toRadians(30);
+    private static final double MIN_YAW = Math.toRadians(20), MAX_YAW = Math.toRadians(70);
+    private static final double MIN_PITCH = Math.toRadians(15), MAX_PITCH = Math.toRadians(35);
+    private static final double MIN_SCALE = 0.75;
+    private static final double WIREFRAME_CHANCE = 0.3;
+
+    private final int size;
+    private final Shape[] fills;
+    private final Color[] fillColors;
+    private final boolean[] sealSeams;
+    private final Shape visibleEdges;
+    private final Shape hiddenEdges;
+    private final BasicStroke outlineStroke;
+    private final BasicStroke hiddenStroke;
+
+    private VectorShapeIcon(int size, List<Shape> fills, List<Color> fillColors, List<Boolean> sealSeams,
+                            Shape visibleEdges, Shape hiddenEdges) {
+        this.size = size;
+        this.fills = fills.toArray(new Shape[0]);
+        this.fillColors = fillColors.toArray(new Color[0]);
+        this.sealSeams = new boolean[sealSeams.size()];
+        for (int i = 0; i < this.sealSeams.length; i++) {
+            this.sealSeams[i] = sealSeams.get(i);
+        }
+        this.visibleEdges = visibleEdges;
+        this.hiddenEdges = hiddenEdges;
+        float width = Math.max(1.5f, Math.round(size / 64f * 2) / 2f);
+        this.outlineStroke = RenderResources.stroke(width);
+        this.hiddenStroke = RenderResources.dashedStroke(Math.max(1.0f, width * 0.6f), width * 3);
+    }
+
+    /**
+     * 创建2D形状图标
+     * @param shape 2D形状
+     * @param size 图标边长（像素）
+     * @param rotation 顺时针旋转角度（弧度）
+     * @param scale 形状占图标可用区域的比例（0~1]
+     * @param color 填充颜色
+     * @return 图标
+     */
+    public static VectorShapeIcon of(Shape2D shape, int size, double rotation, double scale, Color color) {
+        Shape rotated = ShapeOutlines.outline(shape, AffineTransform.getRotateInstance(rotation));
+        Rectangle2D bounds = rotated.getBounds2D();
+        double margin = Math.max(2, size / 20.0);
+        double factor = (size - 2 * margin) * scale / Math.max(bounds.getWidth(), bounds.getHeight());
+        AffineTransform fit = new AffineTransform();
+        fit.translate(size / 2.0, size / 2.0);
+        fit.scale(factor, factor);
+        fit.translate(-bounds.getCenterX(), -bounds.getCenterY());
+        Shape outline = fit.createTransformedShape(rotated);
+
+        List<Shape> fills = new ArrayList<>(1);
+        List<Color> colors = new ArrayList<>(1);
+        List<Boolean> seams = new ArrayList<>(1);
+        fills.add(outline);
+        colors.add(color);
+        seams.add(false);
+        return new VectorShapeIcon(size, fills, colors, seams, outline, null);
+    }
+
+    /**
+     * 创建3D形状图标
+     * @param shape 3D形状
+     * @param size 图标边长（像素）
+     * @param yaw 绕竖直轴的旋转角度（弧度）
+     * @param pitch 向观察者倾斜的角度（弧度），为正时能看到顶面
+     * @param scale 形状占图标可用区域的比例（0~1]
+     * @param style 着色或线框
+     * @param color 基础颜色（着色模式下按光照明暗变化）
+     * @return 图标
+     */
+    public static VectorShapeIcon of(Shape3D shape, int size, double yaw, double pitch, double scale,
+                                     Style style, Color color) {
+        SolidMesh mesh = SolidMesh.of(shape);
+        int vertexCount = mesh.getVertexCount();
+        double cosYaw = Math.cos(yaw), sinYaw = Math.sin(yaw);
+        double cosPitch = Math.cos(pitch), sinPitch = Math.sin(pitch);
+
+        // 先绕y轴旋转yaw，再绕x轴旋转pitch，正交投影到xy平面
+        double[] xs = new double[vertexCount];
+        double[] ys = new double[vertexCount];
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < vertexCount; i++) {
+            double x = mesh.vertices[i * 3], y = mesh.vertices[i * 3 + 1], z = mesh.vertices[i * 3 + 2];
+            double x1 = x * cosYaw + z * sinYaw;
+            double z1 = -x * sinYaw + z * cosYaw;
+            xs[i] = x1;
+            ys[i] = y * cosPitch - z1 * sinPitch;
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        double margin = Math.max(2, size / 20.0);
+        double factor = (size - 2 * margin) * scale / Math.max(maxX - minX, maxY - minY);
+        double centerX = (minX + maxX) / 2, centerY = (minY + maxY) / 2;
+        for (int i = 0; i < vertexCount; i++) {
+            xs[i] = size / 2.0 + (xs[i] - centerX) * factor;
+            ys[i] = size / 2.0 - (ys[i] - centerY) * factor;
+        }
+
+        int faceCount = mesh.getFaceCount();
+        boolean[] facing = new boolean[faceCount];
+        List<Shape> fills = new ArrayList<>();
+        List<Color> colors = new ArrayList<>();
+        List<Boolean> seams = new ArrayList<>();
+        for (int f = 0; f < faceCount; f++) {
+            double nx = mesh.faceNormals[f * 3], ny = mesh.faceNormals[f * 3 + 1], nz = mesh.faceNormals[f * 3 + 2];
+            double nx1 = nx * cosYaw + nz * sinYaw;
+            double nz1 = -nx * sinYaw + nz * cosYaw;
+            double viewY = ny * cosPitch - nz1 * sinPitch;
+            double viewZ = ny * sinPitch + nz1 * cosPitch;
+            facing[f] = viewZ > 1e-6;
+            if (!facing[f] || style != Style.SHADED) {
+                continue;
+            }
+            Path2D.Double polygon = new Path2D.Double();
+            for (int k = mesh.faceStart[f]; k < mesh.faceStart[f + 1]; k++) {
+                int v = mesh.faceIndices[k];
+                if (k == mesh.faceStart[f]) {
+                    polygon.moveTo(xs[v], ys[v]);
+                } else {
+                    polygon.lineTo(xs[v], ys[v]);
+                }
+            }
+            polygon.closePath();
+            fills.add(polygon);
+            colors.add(shade(color, SolidMesh.lightIntensity(nx1, viewY, viewZ)));
+            seams.add(mesh.smooth[f]);
+        }
+
+        // 轮廓边（一侧朝前一侧朝后）和朝前的棱画实线；两侧都朝后的棱只在线框模式下画虚线
+        Path2D.Double visible = new Path2D.Double();
+        Path2D.Double hidden = new Path2D.Double();
+        for (int e = 0; e < mesh.getEdgeCount(); e++) {
+            int a = mesh.edges[e * 4], b = mesh.edges[e * 4 + 1];
+            boolean front0 = facing[mesh.edges[e * 4 + 2]];
+            int other = mesh.edges[e * 4 + 3];
+            boolean front1 = other >= 0 && facing[other];
+            Path2D.Double target;
+            if (front0 != front1 || (mesh.featureEdges[e] && front0)) {
+                target = visible;
+            } else if (mesh.featureEdges[e] && style == Style.WIREFRAME) {
+                target = hidden;
+            } else {
+                continue;
+            }
+            target.moveTo(xs[a], ys[a]);
+            target.lineTo(xs[b], ys[b]);
+        }
+        return new VectorShapeIcon(size, fills, colors, seams, visible,
+                                   style == Style.WIREFRAME ? hidden : null);
+    }
+
+    /**
+     * 创建随机旋转、大小和颜色的2D形状图标
+     * @param shape 2D形状
+     * @param size 图标边长（像素）
+     * @param random 随机数来源
+     * @return 图标
+     */
+    public static VectorShapeIcon random(Shape2D shape, int size, Random random) {
+        double rotation = (random.nextDouble() * 2 - 1) * MAX_ROTATION_2D;
+        return of(shape, size, rotation, randomScale(random), PALETTE[random.nextInt(PALETTE.length)]);
+    }
+
+    /**
+     * 创建随机视角、大小、颜色和绘制方式的3D形状图标
+     * @param shape 3D形状
+     * @param size 图标边长（像素）
+     * @param random 随机数来源
+     * @return 图标
+     */
+    public static VectorShapeIcon random(Shape3D shape, int size, Random random) {
+        double yaw = MIN_YAW + random.nextDouble() * (MAX_YAW - MIN_YAW);
+        if (random.nextBoolean()) {
+            yaw = -yaw;
+        }
+        double pitch = MIN_PITCH + random.nextDouble() * (MAX_PITCH - MIN_PITCH);
+        Style style = random.nextDouble() < WIREFRAME_CHANCE ? Style.WIREFRAME : Style.SHADED;
+        return of(shape, size, yaw, pitch, randomScale(random), style, PALETTE[random.nextInt(PALETTE.length)]);
+    }
+
+    private static double randomScale(Random random) {
+        return MIN_SCALE + random.nextDouble() * (1 - MIN_SCALE);
+    }
+
+    private static Color shade(Color color, double intensity) {
+        return RenderResources.color((int) Math.min(255, color.getRed() * intensity),
+                                     (int) Math.min(255, color.getGreen() * intensity),
+                                     (int) Math.min(255, color.getBlue() * intensity));
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g2d.translate(x, y);
+            g2d.setStroke(SEAM_STROKE);
+            for (int i = 0; i < fills.length; i++) {
+                g2d.setColor(fillColors[i]);
+                g2d.fill(fills[i]);
+                if (sealSeams[i]) {
+                    // 曲面的相邻小平面之间用同色细线盖住抗锯齿留下的缝隙
+                    g2d.draw(fills[i]);
+                }
+            }
+            if (hiddenEdges != null) {
+                g2d.setColor(HIDDEN_EDGE_COLOR);
+                g2d.setStroke(hiddenStroke);
+                g2d.draw(hiddenEdges);
+            }
+            g2d.setColor(OUTLINE_COLOR);
+            g2d.setStroke(outlineStroke);
+            g2d.draw(visibleEdges);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    @Override
+    public int getIconWidth() {
+        return size;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return size;
+    }
+}
@@ -0,0 +1,70 @@
+package com.shapeville.gui.shapes.compound;
+
+import java.util.*;
+import com.shapeville.gui.shapes.CompoundShapeDrawer;
+import com.shapeville.model.CompoundGeometry;
+
+/**
+ * 程序生成的复合形状
+ * 几何模型、尺寸标注、参数和解题步骤都由 game.CompoundShapeGenerator 提供，
+ * 绘制和面积计算与其他复合形状一样由 CompoundShapeDrawer 完成。
+ */
+public class GeneratedShape extends CompoundShapeDrawer {
+    /**
+     * 尺寸标注：端点使用实际单位，偏移量使用像素
+     */
+    public static final class DimensionLabel {
+        private final double x1, y1, x2, y2;
+        private final int offsetX, offsetY;
+        private final String text;
+
+        public DimensionLabel(double x1, double y1, double x2, double y2, int offsetX, int offsetY, String text) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.text = text;
+        }
+    }
+
+    private final String[] paramNames;
+    private final double[] params;
+    private final String solutionSteps;
+
+    /**
+     * @param geometry 几何模型
+     * @param paramNames 参数名称（与其他生成的同类形状共享）
+     * @param params 参数值，按参数名称的顺序存放
+     * @param labels 尺寸标注
+     * @param solutionSteps 解题步骤
+     */
+    public GeneratedShape(CompoundGeometry geometry, String[] paramNames, double[] params,
+                          DimensionLabel[] labels, String solutionSteps) {
+        super(geometry);
+        if (paramNames.length != params.length) {
+            throw new IllegalArgumentException("参数名称和参数值的数量不一致");
+        }
+        this.paramNames = paramNames;
+        this.params = params.clone();
+        this.solutionSteps = solutionSteps;
+        for (DimensionLabel label : labels) {
+            addDimension(label.x1, label.y1, label.x2, label.y2, label.offsetX, label.offsetY, label.text);
+        }
+    }
+
+    @Override
+    public Map<String, Double> getDimensions() {
+        Map<String, Double> dimensions = new LinkedHashMap<>();
+        for (int i = 0; i < params.length; i++) {
+            dimensions.put(paramNames[i], params[i]);
+        }
+        return dimensions;
+    }
+
+    @Override
+    public String getSolutionSteps() {
+        return solutionSteps;
+    }
+}
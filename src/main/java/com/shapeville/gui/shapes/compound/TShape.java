@@ -1,9 +1,9 @@
 package com.shapeville.gui.shapes.compound;
 
-import java.awt.*;
-import java.awt.geom.*;
 import java.util.*;
 import com.shapeville.gui.shapes.CompoundShapeDrawer;
+import com.shapeville.model.CompoundGeometry;
+import com.shapeville.model.Polygon;
 
 /**
  * T形状（形状8）的实现
@@ -12,127 +12,41 @@ import com.shapeville.gui.shapes.CompoundShapeDrawer;
  * - 底部矩形：60m × 36m
  */
 public class TShape extends CompoundShapeDrawer {
-    private final Map<String, Double> dimensions;
-    private static final int FIXED_SIZE = 200;
-    private final double TOP_RECT_OFFSET = 5.0; // 上部矩形向左偏移的距离（米）
-    
+    private static final double TOP_WIDTH = 36.0;      // 顶部矩形宽度
+    private static final double TOP_HEIGHT = 36.0;     // 顶部矩形高度
+    private static final double BOTTOM_WIDTH = 60.0;   // 底部矩形宽度
+    private static final double BOTTOM_HEIGHT = 36.0;  // 底部矩形高度
+    private static final double TOP_RECT_OFFSET = 5.0; // 上部矩形右侧距底部矩形右边的距离（米）
+    private static final double TOP_X = BOTTOM_WIDTH - TOP_WIDTH - TOP_RECT_OFFSET;
+
     public TShape() {
-        dimensions = new HashMap<>();
-        dimensions.put("topWidth", 36.0);   // 顶部矩形宽度
-        dimensions.put("topHeight", 36.0);  // 顶部矩形高度
-        dimensions.put("bottomWidth", 60.0); // 底部矩形宽度
-        dimensions.put("bottomHeight", 36.0); // 底部矩形高度
-    }
-    
-    @Override
-    public void draw(Graphics2D g, int width, int height) {
-        System.out.println("TShape.draw() - 开始绘制");
-        
-        prepareGraphics(g);
-        
-        // 计算缩放比例
-        double scale = FIXED_SIZE / Math.max(dimensions.get("bottomWidth"), 
-            dimensions.get("topHeight") + dimensions.get("bottomHeight"));
-        
-        // 计算绘制位置（居中）
-        int centerX = width / 2;
-        int centerY = height / 2;
-        
-        // 计算实际尺寸
-        int topWidth = (int)(dimensions.get("topWidth") * scale);
-        int topHeight = (int)(dimensions.get("topHeight") * scale);
-        int bottomWidth = (int)(dimensions.get("bottomWidth") * scale);
-        int bottomHeight = (int)(dimensions.get("bottomHeight") * scale);
-        int topOffset = (int)(TOP_RECT_OFFSET * scale); // 上部矩形的偏移量
-        
-        // 计算起始位置 - 修正为倒T形状，上部矩形偏右但不完全对齐
-        int bottomX = centerX - bottomWidth / 2;
-        int bottomY = centerY - bottomHeight / 2;
-        int topX = bottomX + bottomWidth - topWidth - topOffset; // 上部矩形右侧有一定偏移
-        int topY = bottomY - topHeight; // 上部矩形在下部矩形上方
-        
-        try {
-            // 创建形状路径
-            Path2D.Double path = new Path2D.Double();
-            
-            // 绘制形状
-            path.moveTo(bottomX, bottomY);
-            path.lineTo(bottomX + bottomWidth, bottomY);
-            path.lineTo(bottomX + bottomWidth, bottomY + bottomHeight);
-            path.lineTo(bottomX, bottomY + bottomHeight);
-            path.lineTo(bottomX, bottomY);
-            
-            // 添加上部矩形
-            path.moveTo(topX, topY);
-            path.lineTo(topX + topWidth, topY);
-            path.lineTo(topX + topWidth, topY + topHeight);
-            path.lineTo(topX, topY + topHeight);
-            path.closePath();
-            
-            // 填充形状
-            g.setColor(SHAPE_COLOR);
-            g.fill(path);
-            
-            // 绘制轮廓
-            g.setColor(LINE_COLOR);
-            g.setStroke(new BasicStroke(2.0f));
-            g.draw(path);
-            
-        } catch (Exception e) {
-            System.err.println("绘制T形状时出错: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
-    @Override
-    public void drawDimensions(Graphics2D g, int width, int height) {
-        // 使用与draw方法相同的计算
-        double scale = FIXED_SIZE / Math.max(dimensions.get("bottomWidth"), 
-            dimensions.get("topHeight") + dimensions.get("bottomHeight"));
-        
-        int centerX = width / 2;
-        int centerY = height / 2;
-        
-        int topWidth = (int)(dimensions.get("topWidth") * scale);
-        int topHeight = (int)(dimensions.get("topHeight") * scale);
-        int bottomWidth = (int)(dimensions.get("bottomWidth") * scale);
-        int bottomHeight = (int)(dimensions.get("bottomHeight") * scale);
-        int topOffset = (int)(TOP_RECT_OFFSET * scale); // 上部矩形的偏移量
-        
-        int bottomX = centerX - bottomWidth / 2;
-        int bottomY = centerY - bottomHeight / 2;
-        int topX = bottomX + bottomWidth - topWidth - topOffset; // 上部矩形右侧有一定偏移
-        int topY = bottomY - topHeight; // 上部矩形在下部矩形上方
-        
-        // 绘制顶部矩形尺寸
-        drawDimensionLine(g, topX, topY - 20,
-                         topX + topWidth, topY - 20,
-                         "36 m");
-        drawDimensionLine(g, topX - 20, topY,
-                         topX - 20, topY + topHeight,
-                         "36 m");
-        
-        // 绘制底部矩形尺寸
-        drawDimensionLine(g, bottomX, bottomY + bottomHeight + 20,
-                         bottomX + bottomWidth, bottomY + bottomHeight + 20,
-                         "60 m");
-        drawDimensionLine(g, bottomX - 20, bottomY,
-                         bottomX - 20, bottomY + bottomHeight,
-                         "36 m");
+        super(new CompoundGeometry(
+            // 底部矩形
+            Polygon.rectangle(0, TOP_HEIGHT, BOTTOM_WIDTH, BOTTOM_HEIGHT),
+            // 上部矩形，偏右但不完全对齐
+            Polygon.rectangle(TOP_X, 0, TOP_WIDTH, TOP_HEIGHT)
+        ));
+
+        // 顶部矩形尺寸
+        addDimension(TOP_X, 0, TOP_X + TOP_WIDTH, 0, 0, -20, "36 m");
+        addDimension(TOP_X, 0, TOP_X, TOP_HEIGHT, -20, 0, "36 m");
+
+        // 底部矩形尺寸
+        double bottom = TOP_HEIGHT + BOTTOM_HEIGHT;
+        addDimension(0, bottom, BOTTOM_WIDTH, bottom, 0, 20, "60 m");
+        addDimension(0, TOP_HEIGHT, 0, bottom, -20, 0, "36 m");
     }
-    
+
     @Override
     public Map<String, Double> getDimensions() {
-        return new HashMap<>(dimensions);
+        Map<String, Double> dimensions = new HashMap<>();
+        dimensions.put("topWidth", TOP_WIDTH);
+        dimensions.put("topHeight", TOP_HEIGHT);
+        dimensions.put("bottomWidth", BOTTOM_WIDTH);
+        dimensions.put("bottomHeight", BOTTOM_HEIGHT);
+        return dimensions;
     }
-    
-    @Override
-    public double calculateArea() {
-        double topArea = dimensions.get("topWidth") * dimensions.get("topHeight");
-        double bottomArea = dimensions.get("bottomWidth") * dimensions.get("bottomHeight");
-        return topArea + bottomArea;
-    }
-    
+
     @Override
     public String getSolutionSteps() {
         return String.format(
@@ -146,4 +60,4 @@ public class TShape extends CompoundShapeDrawer {
             "   = 3456 m²"
         );
     }
-} 
\ No newline at end of file
+}
@@ -2,10 +2,14 @@ package com.shapeville.gui.tasks;
 
 import javax.swing.*;
 import java.awt.*;
+import com.shapeville.game.AdaptiveEngine;
 import com.shapeville.game.AngleCalculation;
+import com.shapeville.gui.shapes.RenderResources;
 import javax.swing.SpinnerNumberModel;
 
 public class AngleCalculationPanel extends BaseTaskPanel implements TaskPanelInterface {
+    private static final BasicStroke LINE_STROKE = RenderResources.stroke(2.0f);
+    private static final BasicStroke ARC_STROKE = RenderResources.stroke(1.0f);
     private final AngleCalculation angleCalculation;
     private int currentAngle;
     private JLabel angleLabel;
@@ -69,7 +73,7 @@ public class AngleCalculationPanel extends BaseTaskPanel implements TaskPanelInt
         
         // 创建提交按钮
         submitButton = new JButton("选定角度");
-        submitButton.addActionListener(e -> handleSubmit());
+        submitButton.addActionListener(e -> submit());
         
         // 添加Spinner的值变化监听器
         angleSpinner.addChangeListener(e -> {
@@ -102,7 +106,7 @@ public class AngleCalculationPanel extends BaseTaskPanel implements TaskPanelInt
         
         // 设置线条样式
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(LINE_STROKE);
         
         // 绘制水平参考线（0度）
         g2d.drawLine(centerX - radius, centerY, centerX + radius, centerY);
@@ -115,7 +119,7 @@ public class AngleCalculationPanel extends BaseTaskPanel implements TaskPanelInt
         
         // 绘制角度弧线
         int arcRadius = radius / 3; // 弧线半径设置为主线条的1/3
-        g2d.setStroke(new BasicStroke(1)); // 弧线使用较细的线条
+        g2d.setStroke(ARC_STROKE); // 弧线使用较细的线条
         g2d.drawArc(centerX - arcRadius, centerY - arcRadius, 
                     arcRadius * 2, arcRadius * 2, 
                     0, currentAngle);
@@ -153,6 +157,7 @@ public class AngleCalculationPanel extends BaseTaskPanel implements TaskPanelInt
             
             // 锁定角度输入，允许选择类型
             showInputControls(false);
+            markQuestionShown();
             setFeedback("请选择这个角度的类型");
             
         } else {
@@ -162,8 +167,10 @@ public class AngleCalculationPanel extends BaseTaskPanel implements TaskPanelInt
             
             incrementAttempts();
             angleCalculation.incrementTotalQuestions(); // 增加总题目数
+            boolean correct = angleCalculation.checkAnswer(currentAngle, selectedType);
+            recordAnswer(AdaptiveEngine.angleItem(currentAngle), attempts, correct, currentAngle);
             
-            if (angleCalculation.checkAnswer(currentAngle, selectedType)) {
+            if (correct) {
                 // 答对了
                 angleCalculation.addIdentifiedType(correctType);
                 addAttemptToList();
@@ -3,9 +3,13 @@ package com.shapeville.gui.tasks;
 import javax.swing.*;
 import java.awt.*;
 import java.util.*;
+import com.shapeville.game.AdaptiveEngine;
 import com.shapeville.game.AreaCalculation;
 import com.shapeville.game.AreaCalculation.ShapeType;
+import com.shapeville.gui.CountdownLabel;
+import com.shapeville.gui.RepaintCoordinator;
 import com.shapeville.gui.shapes.ShapeDrawer;
+import com.shapeville.utils.Countdown;
 
 public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInterface {
     private AreaCalculation areaCalculation;
@@ -16,9 +20,9 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
     private JTextField answerField;
     private JButton submitButton;
     private JButton homeButton;
-    private javax.swing.Timer timer;
-    private JLabel timerLabel;
-    private int remainingSeconds = 180; // 3分钟 = 180秒
+    private static final int TIME_LIMIT = 180; // 3分钟 = 180秒
+    private Countdown countdown;
+    private CountdownLabel timerLabel;
     private boolean isEnding = false;
     private JPanel shapeDisplayPanel;
     private JLabel substitutionLabel;
@@ -38,21 +42,13 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
     }
 
     private void initializeTimer() {
-        timerLabel = new JLabel("剩余时间: 3:00");
+        timerLabel = new CountdownLabel(TIME_LIMIT, SwingConstants.LEADING);
         timerLabel.setFont(new Font("微软雅黑", Font.PLAIN, 16));
-        timer = new javax.swing.Timer(1000, e -> updateTimer());
+        countdown = createCountdown(TIME_LIMIT, this::updateTimer, this::endTask);
     }
 
-    private void updateTimer() {
-        remainingSeconds--;
-        if (remainingSeconds >= 0) {
-            int minutes = remainingSeconds / 60;
-            int seconds = remainingSeconds % 60;
-            timerLabel.setText(String.format("剩余时间: %d:%02d", minutes, seconds));
-        } else {
-            timer.stop();
-            endTask();
-        }
+    private void updateTimer(int remainingSeconds) {
+        timerLabel.setRemaining(remainingSeconds);
     }
 
     @Override
@@ -134,7 +130,7 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
         answerField = new JTextField(10);
         submitButton = new JButton("提交答案");
         
-        submitButton.addActionListener(e -> handleSubmit());
+        submitButton.addActionListener(e -> submit());
         
         answerPanel.add(new JLabel("请输入面积（保留1位小数）："));
         answerPanel.add(answerField);
@@ -165,17 +161,46 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
 
         add(scrollPane, BorderLayout.CENTER);
 
-        // 显示第一个形状
-        showSelectedShape();
+        // 显示自适应引擎推荐的第一个形状
+        selectRecommendedShape();
         
         // 启动计时器
-        timer.start();
+        countdown.start();
     }
 
     private void lockCurrentShape() {
         answerField.setEnabled(false);
         submitButton.setEnabled(false);
-        setFeedback("请选择其他形状继续练习");
+        int recommended = recommendedShapeIndex();
+        if (recommended < 0) {
+            setFeedback("请选择其他形状继续练习");
+        } else {
+            setFeedback("请选择其他形状继续练习（推荐：" + areaCalculation.getShapes().get(recommended).getChinese() + "）");
+        }
+    }
+
+    // 由自适应引擎在未完成的形状中推荐下一个，返回其在下拉框中的序号，全部完成时返回-1
+    private int recommendedShapeIndex() {
+        java.util.List<ShapeType> shapes = areaCalculation.getShapes();
+        long candidates = 0;
+        for (ShapeType shape : shapes) {
+            if (!completedShapes.contains(shape)) {
+                candidates |= AdaptiveEngine.mask(AdaptiveEngine.areaItem(shape));
+            }
+        }
+        int item = getAdaptiveEngine().select(candidates);
+        for (int i = 0; i < shapes.size(); i++) {
+            if (AdaptiveEngine.areaItem(shapes.get(i)) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 在下拉框中选中推荐的形状，由下拉框的监听器显示该形状
+    private void selectRecommendedShape() {
+        int recommended = recommendedShapeIndex();
+        shapeSelector.setSelectedIndex(recommended < 0 ? 0 : recommended);
     }
 
     private void showSelectedShape() {
@@ -206,6 +231,7 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
 
         // 重置尝试次数
         attemptCount = 0;
+        markQuestionShown();
 
         // 清空答案输入框并启用
         answerField.setText("");
@@ -214,7 +240,7 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
         answerField.requestFocus();
 
         // 重绘形状
-        shapeDisplayPanel.repaint();
+        RepaintCoordinator.getDefault().repaint(shapeDisplayPanel);
     }
 
     private void drawCurrentShape(Graphics2D g2d) {
@@ -247,19 +273,22 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
         try {
             double answer = Double.parseDouble(answerField.getText());
             attemptCount++;
+            boolean correct = areaCalculation.checkAnswer(answer);
+            recordAnswer(AdaptiveEngine.areaItem(areaCalculation.getShapes().get(currentShapeIndex)), attemptCount,
+                         correct, areaCalculation.getParamValues());
             
-            if (areaCalculation.checkAnswer(answer)) {
+            if (correct) {
                 // 答案正确
                 completedShapes.add(areaCalculation.getShapes().get(currentShapeIndex));
                 substitutionLabel.setText(areaCalculation.getSubstitutionString(areaCalculation.getShapes().get(currentShapeIndex)));
                 substitutionLabel.setVisible(true);
                 setFeedback("回答正确！请选择其他形状继续练习，需要完成所有四个形状的练习。");
-                shapeDisplayPanel.repaint();
+                RepaintCoordinator.getDefault().repaint(shapeDisplayPanel);
                 lockCurrentShape();
                 
                 // 检查是否完成所有形状
                 if (completedShapes.size() >= areaCalculation.getShapes().size()) {
-                    timer.stop();
+                    countdown.pause();
                     endTask();
                 }
             } else {
@@ -269,13 +298,13 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
                     substitutionLabel.setText(areaCalculation.getSubstitutionString(areaCalculation.getShapes().get(currentShapeIndex)));
                     substitutionLabel.setVisible(true);
                     setFeedback("已用完3次机会。正确答案是：" + String.format("%.1f", areaCalculation.getCorrectArea()) + "\n请选择其他形状继续练习。");
-                    shapeDisplayPanel.repaint();
+                    RepaintCoordinator.getDefault().repaint(shapeDisplayPanel);
                     completedShapes.add(areaCalculation.getShapes().get(currentShapeIndex));
                     lockCurrentShape();
                     
                     // 检查是否完成所有形状
                     if (completedShapes.size() >= areaCalculation.getShapes().size()) {
-                        timer.stop();
+                        countdown.pause();
                         endTask();
                     }
                 } else {
@@ -298,7 +327,7 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
     public void endTask() {
         if (!isEnding) {
             isEnding = true;
-            timer.stop();
+            countdown.pause();
             int score = calculateScore();
             String feedback = getFeedback();
             if (parentWindow != null) {
@@ -343,13 +372,12 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
     @Override
     public void startTask() {
         reset();
-        timer.start();
     }
 
     @Override
     public void pauseTask() {
-        if (timer != null) {
-            timer.stop();
+        if (countdown != null) {
+            countdown.pause();
         }
         if (submitButton != null) {
             submitButton.setEnabled(false);
@@ -367,8 +395,8 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
 
     @Override
     public void resumeTask() {
-        if (timer != null) {
-            timer.start();
+        if (countdown != null) {
+            countdown.resume();
         }
         if (submitButton != null) {
             submitButton.setEnabled(true);
@@ -386,13 +414,11 @@ public class AreaCalculationPanel extends BaseTaskPanel implements TaskPanelInte
 
     @Override
     public void reset() {
-        currentShapeIndex = 0;
         attemptCount = 0;
-        remainingSeconds = 180;
         isEnding = false;
         completedShapes.clear();
         currentParams.clear();
-        showSelectedShape();
-        timer.restart();
+        selectRecommendedShape();
+        countdown.start();
     }
 } 
\ No newline at end of file
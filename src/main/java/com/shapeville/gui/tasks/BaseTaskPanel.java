@@ -1,15 +1,28 @@
 package com.shapeville.gui.tasks;
 
+import com.shapeville.game.AdaptiveEngine;
+import com.shapeville.gui.PaintMonitor;
 import com.shapeville.gui.TaskWindow;
+import com.shapeville.gui.UIManager;
+import com.shapeville.utils.Countdown;
+import com.shapeville.utils.Log;
+import com.shapeville.utils.Metrics;
+import com.shapeville.utils.TickScheduler;
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.IntConsumer;
 
 public abstract class BaseTaskPanel extends JPanel {
-    protected Timer timer;
+    private static final Log LOG = Log.get(BaseTaskPanel.class);
     protected int attempts;
     protected String taskName;
     protected java.util.List<Integer> attemptsPerTask;
     protected TaskWindow parentWindow;
+    // 本面板注册到全局调度器的倒计时和延迟任务，cleanup() 时全部取消
+    private final java.util.List<Countdown> countdowns = new java.util.ArrayList<>();
+    private final java.util.List<TickScheduler.Handle> delayedTasks = new java.util.ArrayList<>();
+    // 当前题目显示（或上一次提交）的时刻，用于计算作答用时
+    private long answerStartNanos = System.nanoTime();
     
     public BaseTaskPanel(String taskName) {
         this.taskName = taskName;
@@ -34,7 +47,7 @@ public abstract class BaseTaskPanel extends JPanel {
         if (parentWindow != null) {
             parentWindow.setFeedback(message);
         } else {
-            System.out.println("警告: 无法设置反馈，parentWindow为null");
+            LOG.warn("无法设置反馈，parentWindow为null");
         }
     }
     
@@ -42,7 +55,7 @@ public abstract class BaseTaskPanel extends JPanel {
         if (parentWindow != null) {
             parentWindow.appendFeedback(message);
         } else {
-            System.out.println("警告: 无法添加反馈，parentWindow为null");
+            LOG.warn("无法添加反馈，parentWindow为null");
         }
     }
     
@@ -70,9 +83,90 @@ public abstract class BaseTaskPanel extends JPanel {
         return attemptsPerTask;
     }
     
+    /**
+     * @return 当前学习者的自适应出题引擎，用于选择下一题
+     */
+    protected AdaptiveEngine getAdaptiveEngine() {
+        return UIManager.getInstance().getAdaptiveEngine();
+    }
+    
+    /**
+     * 新题目显示时调用，作答用时从此刻开始计算，
+     * 同时开始测量题目首次绘制的耗时（记录到 task.<任务名>.firstPaint）
+     */
+    protected void markQuestionShown() {
+        answerStartNanos = System.nanoTime();
+        PaintMonitor.expectPaint(this, Metrics.histogram("task." + taskName + ".firstPaint"));
+    }
+    
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        PaintMonitor.painted(this);
+    }
+    
+    /**
+     * 提交按钮的处理入口：调用 handleSubmit() 并把事件线程上的处理耗时记录到 task.<任务名>.submit
+     */
+    protected void submit() {
+        long start = System.nanoTime();
+        try {
+            handleSubmit();
+        } finally {
+            Metrics.histogram("task." + taskName + ".submit").recordSince(start);
+        }
+    }
+    
+    /**
+     * 记录一次提交答案（每次提交都调用）
+     * 事件追加到答题事件日志；答对或次数用尽时本题结束，结果同时反馈给自适应出题引擎。
+     * @param item 题目项（见 AdaptiveEngine.areaItem() 等），没有时为-1
+     * @param attempt 第几次尝试
+     * @param correct 本次是否答对
+     * @param params 题目参数（如长、宽），最多记录3个
+     */
+    protected void recordAnswer(int item, int attempt, boolean correct, double... params) {
+        long now = System.nanoTime();
+        long latencyMillis = (now - answerStartNanos) / 1_000_000;
+        answerStartNanos = now;
+        UIManager.getInstance().recordAnswer(taskName, item, attempt, correct, correct || attempt >= 3,
+                                             latencyMillis, params);
+        Metrics.counter("task." + taskName + (correct ? ".correct" : ".incorrect")).increment();
+    }
+    
+    /**
+     * 创建由全局调度器驱动的倒计时，面板清理时自动取消
+     * @param seconds 倒计时总秒数
+     * @param onTick 剩余秒数变化时的回调
+     * @param onExpire 倒计时归零时的回调
+     * @return 倒计时（尚未开始）
+     */
+    protected Countdown createCountdown(int seconds, IntConsumer onTick, Runnable onExpire) {
+        Countdown countdown = new Countdown(TickScheduler.getDefault(), seconds, onTick, onExpire);
+        countdowns.add(countdown);
+        return countdown;
+    }
+
+    /**
+     * 延迟执行一次任务（在事件线程中），面板清理时自动取消
+     * @param delayMillis 延迟（毫秒）
+     * @param task 任务
+     * @return 任务句柄
+     */
+    protected TickScheduler.Handle runLater(long delayMillis, Runnable task) {
+        delayedTasks.removeIf(handle -> !handle.isActive());
+        TickScheduler.Handle handle = TickScheduler.getDefault().schedule(delayMillis, task);
+        delayedTasks.add(handle);
+        return handle;
+    }
+
     public void cleanup() {
-        if (timer != null) {
-            timer.stop();
+        for (Countdown countdown : countdowns) {
+            countdown.pause();
+        }
+        for (TickScheduler.Handle handle : delayedTasks) {
+            handle.cancel();
         }
+        delayedTasks.clear();
     }
 } 
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.shapeville.gui.tasks;
 
+import com.shapeville.gui.CountdownLabel;
+import com.shapeville.gui.RepaintCoordinator;
 import com.shapeville.gui.shapes.CircleDrawer;
+import com.shapeville.utils.Countdown;
 
 import javax.swing.*;
 import java.awt.*;
@@ -9,22 +12,19 @@ import java.util.Random;
 import javax.swing.border.EmptyBorder;
 import java.util.HashSet;
 import java.util.Set;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelInterface {
     private JComboBox<String> calculationType;
     private JLabel valueLabel;
     private JTextField answerField;
     private JButton submitButton;
-    private JLabel timerLabel;
+    private CountdownLabel timerLabel;
     private JLabel formulaLabel;
     private JPanel drawingPanel;
     private CircleDrawer circleDrawer;
     
-    private Timer questionTimer; // 每道题的计时器
+    private Countdown questionCountdown; // 每道题的倒计时
     private static final int TIME_PER_QUESTION = 3 * 60; // 每道题3分钟时间限制（秒）
-    private int remainingTime; // 当前题目的剩余时间
     private int attempts = 0;
     private double currentValue;
     private boolean isRadius;
@@ -73,10 +73,10 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         valueLabel = new JLabel();
         answerField = new JTextField(10);
         submitButton = new JButton("提交答案");
-        submitButton.addActionListener(e -> handleSubmit());
+        submitButton.addActionListener(e -> submit());
         
         // 计时器
-        timerLabel = new JLabel("剩余时间: 3:00");
+        timerLabel = new CountdownLabel(TIME_PER_QUESTION, SwingConstants.LEADING);
         timerLabel.setFont(new Font("微软雅黑", Font.BOLD, 16));
         timerLabel.setForeground(Color.BLUE);
         
@@ -152,10 +152,11 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         
         // 更新绘图
         circleDrawer.setValues(currentValue, isRadius);
-        drawingPanel.repaint();
+        RepaintCoordinator.getDefault().repaint(drawingPanel);
         
         // 计算正确答案
         calculateCorrectAnswer();
+        markQuestionShown();
         
         // 重置输入框
         answerField.setText("");
@@ -168,36 +169,14 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
     
     // 启动每道题的计时器
     private void startQuestionTimer() {
-        // 停止正在运行的计时器（如果有）
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown == null) {
+            questionCountdown = createCountdown(TIME_PER_QUESTION, this::updateTimerLabel, this::handleTimeUp);
         }
-        
-        // 重置剩余时间
-        remainingTime = TIME_PER_QUESTION;
-        updateTimerLabel();
-        
-        // 创建并启动新的计时器
-        questionTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                remainingTime--;
-                updateTimerLabel();
-                
-                if (remainingTime <= 0) {
-                    questionTimer.stop();
-                    handleTimeUp();
-                }
-            }
-        });
-        questionTimer.start();
+        questionCountdown.start();
     }
     
     // 更新计时器标签
-    private void updateTimerLabel() {
-        int minutes = remainingTime / 60;
-        int seconds = remainingTime % 60;
-        
+    private void updateTimerLabel(int remainingTime) {
         // 当剩余时间少于1分钟时文字变红
         if (remainingTime < 60) {
             timerLabel.setForeground(Color.RED);
@@ -205,7 +184,7 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
             timerLabel.setForeground(Color.BLUE);
         }
         
-        timerLabel.setText(String.format("剩余时间: %d:%02d", minutes, seconds));
+        timerLabel.setRemaining(remainingTime);
     }
     
     // 处理时间用完的情况
@@ -232,9 +211,7 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
             endTask();
         } else {
             // 延迟几秒后进入下一题
-            Timer delayTimer = new Timer(2000, e -> startNewCalculation());
-            delayTimer.setRepeats(false);
-            delayTimer.start();
+            runLater(2000, this::startNewCalculation);
         }
     }
     
@@ -287,9 +264,7 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
             endTask();
         } else {
             // 延迟几秒后进入下一题
-            Timer delayTimer = new Timer(2000, e -> startNewCalculation());
-            delayTimer.setRepeats(false);
-            delayTimer.start();
+            runLater(2000, this::startNewCalculation);
         }
     }
     
@@ -298,11 +273,13 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         try {
             double userAnswer = Double.parseDouble(answerField.getText());
             attempts++;
+            boolean correct = Math.abs(userAnswer - correctAnswer) < 0.1;
+            recordAnswer(-1, attempts, correct, currentValue);
             
-            if (Math.abs(userAnswer - correctAnswer) < 0.1) {
+            if (correct) {
                 // 停止当前题目计时器
-                if (questionTimer != null && questionTimer.isRunning()) {
-                    questionTimer.stop();
+                if (questionCountdown != null) {
+                    questionCountdown.pause();
                 }
                 
                 String currentType = getCalculationType();
@@ -316,8 +293,8 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
             } else {
                 if (attempts >= 3) {
                     // 停止当前题目计时器
-                    if (questionTimer != null && questionTimer.isRunning()) {
-                        questionTimer.stop();
+                    if (questionCountdown != null) {
+                        questionCountdown.pause();
                     }
                     
                     String formattedAnswer = df.format(correctAnswer);
@@ -337,20 +314,13 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         }
     }
     
-    @Override
-    public void cleanup() {
-        if (questionTimer != null) {
-            questionTimer.stop();
-        }
-    }
-    
     @Override
     public void reset() {
         score = 0;
         completedCalculations = 0;
         completedTypes.clear();
-        if (questionTimer != null) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
         startNewCalculation();
     }
@@ -367,8 +337,8 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
 
     @Override
     public void pauseTask() {
-        if (questionTimer != null) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
         answerField.setEnabled(false);
         submitButton.setEnabled(false);
@@ -376,8 +346,8 @@ public class CircleCalculationPanel extends BaseTaskPanel implements TaskPanelIn
 
     @Override
     public void resumeTask() {
-        if (questionTimer != null && remainingTime > 0) {
-            questionTimer.start();
+        if (questionCountdown != null) {
+            questionCountdown.resume();
         }
         answerField.setEnabled(true);
         submitButton.setEnabled(true);
@@ -4,14 +4,22 @@ import javax.swing.*;
 import java.awt.*;
 import com.shapeville.game.CompoundShapeCalculation;
 import com.shapeville.game.CompoundShapeCalculation.CompoundShape;
+import com.shapeville.gui.shapes.CachedShapeRenderer;
+import com.shapeville.gui.shapes.RenderResources;
 import com.shapeville.gui.shapes.ShapeRenderer;
+import com.shapeville.gui.CountdownLabel;
+import com.shapeville.gui.RepaintCoordinator;
 import com.shapeville.gui.UIManager;
+import com.shapeville.utils.Countdown;
+import com.shapeville.utils.Log;
+import com.shapeville.utils.Metrics;
 import java.util.List;
 import java.util.ArrayList;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 public class CompoundShapeCalculationPanel extends BaseTaskPanel implements TaskPanelInterface {
+    private static final Log LOG = Log.get(CompoundShapeCalculationPanel.class);
     private static final int MAX_ATTEMPTS = 3;  // 每题最多3次尝试机会
     private static final int TIME_PER_QUESTION = 5 * 60; // 每道题5分钟时间限制（秒）
     private final CompoundShapeCalculation compoundCalculation;
@@ -24,9 +32,8 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
     private JTextArea solutionArea;
     private JComboBox<String> shapeSelector;
     private ShapeDisplayPanel shapeDisplayPanel;
-    private Timer questionTimer; // 每道题的计时器
-    private int remainingTime;   // 当前题目的剩余时间
-    private JLabel timerLabel;   // 计时器显示标签
+    private Countdown questionCountdown; // 每道题的倒计时
+    private CountdownLabel timerLabel;   // 计时器显示标签
     private JButton nextButton; // 添加"下一题"按钮
     
     public CompoundShapeCalculationPanel() {
@@ -79,7 +86,7 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
         JPanel topPanel = new JPanel(new BorderLayout(10, 10));
         
         // 添加计时器标签
-        timerLabel = new JLabel("剩余时间: 5:00", SwingConstants.RIGHT);
+        timerLabel = new CountdownLabel(TIME_PER_QUESTION, SwingConstants.RIGHT);
         timerLabel.setFont(new Font("微软雅黑", Font.BOLD, 16));
         timerLabel.setForeground(Color.BLUE);
         topPanel.add(timerLabel, BorderLayout.EAST);
@@ -149,7 +156,7 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
         
         // 创建答案输入区域
         JPanel answerPanel = new JPanel();
-        submitButton.addActionListener(e -> handleSubmit());
+        submitButton.addActionListener(e -> submit());
         
         answerPanel.add(new JLabel("请输入面积（保留1位小数）："));
         answerPanel.add(answerField);
@@ -201,23 +208,15 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
             nextButton.setVisible(false); // 隐藏下一题按钮
             shapeSelector.setSelectedIndex(currentShapeIndex);
             
-            // 设置形状并强制重绘
+            // 设置形状（显示面板自行请求重绘，尺寸不变时不重新布局）
             if (shapeDisplayPanel != null) {
                 shapeDisplayPanel.setCurrentShape(shape.getRenderer());
                 shapeDisplayPanel.setVisible(true);
-                shapeDisplayPanel.revalidate();
-                shapeDisplayPanel.repaint();
-                
-                // 确保父容器也被重绘
-                Container parent = shapeDisplayPanel.getParent();
-                if (parent != null) {
-                    parent.revalidate();
-                    parent.repaint();
-                }
             }
             
             // 开始当前题目的计时
             startQuestionTimer();
+            markQuestionShown();
         } else {
             endTask();
         }
@@ -225,36 +224,14 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
     
     // 启动每道题的计时器
     private void startQuestionTimer() {
-        // 停止正在运行的计时器（如果有）
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown == null) {
+            questionCountdown = createCountdown(TIME_PER_QUESTION, this::updateTimerLabel, this::handleTimeUp);
         }
-        
-        // 重置剩余时间
-        remainingTime = TIME_PER_QUESTION;
-        updateTimerLabel();
-        
-        // 创建并启动新的计时器
-        questionTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                remainingTime--;
-                updateTimerLabel();
-                
-                if (remainingTime <= 0) {
-                    questionTimer.stop();
-                    handleTimeUp();
-                }
-            }
-        });
-        questionTimer.start();
+        questionCountdown.start();
     }
     
     // 更新计时器标签
-    private void updateTimerLabel() {
-        int minutes = remainingTime / 60;
-        int seconds = remainingTime % 60;
-        
+    private void updateTimerLabel(int remainingTime) {
         // 当剩余时间少于1分钟时文字变红
         if (remainingTime < 60) {
             timerLabel.setForeground(Color.RED);
@@ -262,7 +239,7 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
             timerLabel.setForeground(Color.BLUE);
         }
         
-        timerLabel.setText(String.format("剩余时间: %d:%02d", minutes, seconds));
+        timerLabel.setRemaining(remainingTime);
     }
     
     // 处理时间用完的情况
@@ -279,8 +256,6 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
             solution = "此题暂无详细解题步骤";
         }
         solutionArea.setText(solution);
-        solutionArea.revalidate();
-        solutionArea.repaint();
         
         // 当前题目视为3次回答错误
         completedCurrentQuestion(false);
@@ -289,8 +264,8 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
     // 标记当前题目完成并进入下一题
     private void completedCurrentQuestion(boolean correct) {
         // 停止当前题目计时器
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
         
         // 记录答题结果
@@ -318,10 +293,6 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
         }
         solutionArea.setText(solution);
         
-        // 强制更新UI以确保解题步骤显示
-        solutionArea.revalidate();
-        solutionArea.repaint();
-        
         // 标记当前形状已练习
         compoundCalculation.addPracticed(currentShapeIndex);
         addAttemptToList();
@@ -365,8 +336,13 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
     
     // 形状显示面板内部类
     private static class ShapeDisplayPanel extends JPanel {
-        private ShapeRenderer currentShape;
+        private CachedShapeRenderer currentShape;
+        // 当前形状的绘制耗时直方图（render.<渲染器类名>），包括首次绘制时填充离屏缓存
+        private Metrics.Histogram renderTime;
+        // 每个形状对应一个带图像缓存的渲染器，重绘时只需贴图
+        private final Map<ShapeRenderer, CachedShapeRenderer> cachedRenderers = new IdentityHashMap<>();
         private static final int MARGIN = 40;
+        private static final Font MESSAGE_FONT = RenderResources.font(Font.PLAIN, 16);
         
         public ShapeDisplayPanel() {
             setBackground(Color.WHITE);
@@ -377,18 +353,22 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
         }
         
         public void setCurrentShape(ShapeRenderer shape) {
-            this.currentShape = shape;
-            
-            // 如果形状改变，可能需要调整面板大小
-            if (shape != null) {
-                // 为形状预留足够的空间
-                int width = Math.max(500, getPreferredSize().width);
-                int height = Math.max(400, getPreferredSize().height);
-                setPreferredSize(new Dimension(width, height));
+            // 释放上一个形状的离屏图像，只保留当前形状的缓存
+            if (currentShape != null && currentShape.getDelegate() != shape) {
+                currentShape.invalidate();
             }
+            boolean hadShape = currentShape != null;
+            this.currentShape = shape == null ? null :
+                cachedRenderers.computeIfAbsent(shape, CachedShapeRenderer::new);
+            this.renderTime = shape == null ? null :
+                Metrics.histogram("render." + shape.getClass().getSimpleName());
             
-            revalidate();
-            repaint();
+            // 首选尺寸只取决于是否有形状，有无切换时才需要重新布局
+            if (hadShape != (currentShape != null)) {
+                RepaintCoordinator.getDefault().revalidate(this);
+            } else {
+                RepaintCoordinator.getDefault().repaint(this);
+            }
         }
         
         @Override
@@ -422,18 +402,20 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
                     
                     // 创建绘制区域
                     g2d.translate(MARGIN, MARGIN);
+                    long start = System.nanoTime();
                     currentShape.draw(g2d, drawingWidth, drawingHeight);
                     currentShape.drawDimensions(g2d, drawingWidth, drawingHeight);
+                    renderTime.recordSince(start);
                 } catch (Exception e) {
-                    e.printStackTrace();
+                    LOG.error("绘制复合形状时出错", e);
                 } finally {
                     g2d.dispose();
                 }
             } else {
                 g.setColor(Color.GRAY);
-                g.setFont(new Font("微软雅黑", Font.PLAIN, 16));
+                g.setFont(MESSAGE_FONT);
                 String message = "暂无形状显示";
-                FontMetrics fm = g.getFontMetrics();
+                FontMetrics fm = g.getFontMetrics(MESSAGE_FONT);
                 int x = (getWidth() - fm.stringWidth(message)) / 2;
                 int y = (getHeight() + fm.getHeight()) / 2;
                 g.drawString(message, x, y);
@@ -448,8 +430,10 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
         try {
             double answer = Double.parseDouble(answerStr);
             incrementAttempts();
+            boolean correct = compoundCalculation.checkAnswer(currentShapeIndex, answer);
+            recordAnswer(-1, getAttempts(), correct, currentShapeIndex);
             
-            if (compoundCalculation.checkAnswer(currentShapeIndex, answer)) {
+            if (correct) {
                 // 答对了，记录正确答案
                 // 根据尝试次数显示不同的得分反馈
                 int currentAttempts = getAttempts();
@@ -466,8 +450,6 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
                     solution = "此题暂无详细解题步骤";
                 }
                 solutionArea.setText(solution);
-                solutionArea.revalidate();
-                solutionArea.repaint();
                 
                 // 禁用提交按钮和输入框
                 submitButton.setEnabled(false);
@@ -489,8 +471,6 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
                     solution = "此题暂无详细解题步骤";
                 }
                 solutionArea.setText(solution);
-                solutionArea.revalidate();
-                solutionArea.repaint();
                 
                 // 禁用提交按钮和输入框
                 submitButton.setEnabled(false);
@@ -564,8 +544,8 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
         }
         
         // 暂停计时器
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
     }
     
@@ -582,16 +562,16 @@ public class CompoundShapeCalculationPanel extends BaseTaskPanel implements Task
         }
         
         // 恢复计时器
-        if (questionTimer != null && !questionTimer.isRunning() && remainingTime > 0) {
-            questionTimer.start();
+        if (questionCountdown != null) {
+            questionCountdown.resume();
         }
     }
     
     @Override
     public void endTask() {
         // 停止计时器
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
         
         if (parentWindow != null) {
@@ -2,17 +2,22 @@ package com.shapeville.gui.tasks;
 
 import javax.swing.*;
 import java.awt.*;
+import com.shapeville.game.AdaptiveEngine;
 import com.shapeville.game.SectorCalculation;
 import com.shapeville.game.SectorCalculation.Sector;
+import com.shapeville.gui.CountdownLabel;
+import com.shapeville.gui.RepaintCoordinator;
 import com.shapeville.gui.TaskWindow;
+import com.shapeville.gui.shapes.RenderResources;
+import com.shapeville.utils.Countdown;
 import java.util.List;
 import java.util.ArrayList;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelInterface {
     private static final int MAX_ATTEMPTS = 3;  // 每题最多3次尝试机会
     private static final int TIME_PER_QUESTION = 5 * 60; // 每道题5分钟时间限制（秒）
+    private static final Color SECTOR_FILL_COLOR = RenderResources.color(200, 200, 255);
+    private static final BasicStroke OUTLINE_STROKE = RenderResources.stroke(2.0f);
     private final SectorCalculation sectorCalculation;
     private int currentSectorIndex = 0;
     private JComboBox<String> sectorSelector;
@@ -30,9 +35,8 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
     private List<Boolean> correctAnswers;
     private int score = 0;
     private JButton nextButton;
-    private Timer questionTimer; // 每道题的计时器
-    private int remainingTime;   // 当前题目的剩余时间
-    private JLabel timerLabel;   // 计时器显示标签
+    private Countdown questionCountdown; // 每道题的倒计时
+    private CountdownLabel timerLabel;   // 计时器显示标签
     
     public SectorCalculationPanel() {
         super("扇形面积计算");
@@ -50,7 +54,7 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         JPanel topPanel = new JPanel(new BorderLayout(10, 10));
         
         // 添加计时器标签
-        timerLabel = new JLabel("剩余时间: 5:00", SwingConstants.RIGHT);
+        timerLabel = new CountdownLabel(TIME_PER_QUESTION, SwingConstants.RIGHT);
         timerLabel.setFont(new Font("微软雅黑", Font.BOLD, 16));
         timerLabel.setForeground(Color.BLUE);
         topPanel.add(timerLabel, BorderLayout.EAST);
@@ -106,7 +110,7 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         
         // 添加提交按钮
         submitButton = new JButton("提交答案");
-        submitButton.addActionListener(e -> handleSubmit());
+        submitButton.addActionListener(e -> submit());
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         buttonPanel.add(submitButton);
         
@@ -151,14 +155,14 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         int pixelRadius = Math.min(centerX, centerY) - 50;
         
         // 绘制扇形
-        g2d.setColor(new Color(200, 200, 255));
+        g2d.setColor(SECTOR_FILL_COLOR);
         g2d.fillArc(centerX - pixelRadius, centerY - pixelRadius, 
                     pixelRadius * 2, pixelRadius * 2, 
                     0, -(int)sector.getAngle());
         
         // 绘制扇形边界
         g2d.setColor(Color.BLUE);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(OUTLINE_STROKE);
         g2d.drawArc(centerX - pixelRadius, centerY - pixelRadius, 
                     pixelRadius * 2, pixelRadius * 2, 
                     0, -(int)sector.getAngle());
@@ -191,10 +195,11 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
             areaSolutionArea.setText("请计算扇形的面积");
             
             // 重绘扇形
-            sectorDisplayPanel.repaint();
+            RepaintCoordinator.getDefault().repaint(sectorDisplayPanel);
             
             // 开始计时
             startQuestionTimer();
+            markQuestionShown();
         } else {
             endTask();
         }
@@ -202,8 +207,8 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
     
     private void completedCurrentQuestion(boolean correct) {
         // 停止计时器
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
         
         // 记录答题结果
@@ -234,7 +239,10 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
             double correctArea = sector.getCorrectArea();
             
             // 检查答案是否正确（允许0.1的误差）
-            if (Math.abs(answer - correctArea) <= 0.1) {
+            boolean correct = Math.abs(answer - correctArea) <= 0.1;
+            recordAnswer(AdaptiveEngine.sectorItem(sector.getAngle()), getAttempts(), correct,
+                         sector.getRadius(), sector.getAngle());
+            if (correct) {
                 int currentAttempts = getAttempts();
                 int points = currentAttempts == 1 ? 6 : 
                             currentAttempts == 2 ? 4 : 
@@ -336,8 +344,8 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         if (sectorSelector != null) {
             sectorSelector.setEnabled(false);
         }
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
     }
     
@@ -352,16 +360,16 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         if (sectorSelector != null) {
             sectorSelector.setEnabled(true);
         }
-        if (questionTimer != null && !questionTimer.isRunning() && remainingTime > 0) {
-            questionTimer.start();
+        if (questionCountdown != null) {
+            questionCountdown.resume();
         }
     }
     
     @Override
     public void endTask() {
         // 停止计时器
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown != null) {
+            questionCountdown.pause();
         }
         
         // 计算总分
@@ -420,16 +428,6 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         return MAX_ATTEMPTS - getRemainingAttempts();
     }
 
-    // 添加一个debug方法来打印计算步骤区域的状态
-    private void printSolutionAreaStatus(String label) {
-        System.out.println("==== " + label + " ====");
-        System.out.println("areaSolutionArea visibility: " + areaSolutionArea.isVisible());
-        System.out.println("areaSolutionArea text: [" + areaSolutionArea.getText() + "]");
-        System.out.println("arcLengthSolutionArea visibility: " + arcLengthSolutionArea.isVisible());
-        System.out.println("arcLengthSolutionArea text: [" + arcLengthSolutionArea.getText() + "]");
-        System.out.println("=====================");
-    }
-
     private void updateFeedbackAndScore(boolean isCorrect, boolean isAreaCalculation) {
         String calculationType = isAreaCalculation ? "面积" : "弧长";
         
@@ -483,7 +481,7 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
         
         // 初始化按钮
         submitButton = new JButton("提交答案");
-        submitButton.addActionListener(e -> handleSubmit());
+        submitButton.addActionListener(e -> submit());
         
         nextButton = new JButton("下一题");
         nextButton.addActionListener(e -> goToNextQuestion());
@@ -607,20 +605,38 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
     }
     
     private void goToNextQuestion() {
-        // 找到下一个未完成的扇形
-        do {
-            currentSectorIndex++;
-            if (currentSectorIndex >= sectorCalculation.getSectors().size()) {
-                endTask();
-                return;
-            }
-        } while (sectorCalculation.getPracticed().contains(currentSectorIndex));
+        // 由自适应引擎在未完成的扇形中选出下一题
+        int next = recommendedSectorIndex();
+        if (next < 0) {
+            endTask();
+            return;
+        }
+        currentSectorIndex = next;
         
         // 重置状态
         resetAttempts();
         showCurrentSector();
     }
     
+    // 按圆心角分档选出最适合当前水平的一档，返回该档中第一个未完成的扇形，全部完成时返回-1
+    private int recommendedSectorIndex() {
+        List<Sector> sectors = sectorCalculation.getSectors();
+        long candidates = 0;
+        for (int i = 0; i < sectors.size(); i++) {
+            if (!sectorCalculation.getPracticed().contains(i)) {
+                candidates |= AdaptiveEngine.mask(AdaptiveEngine.sectorItem(sectors.get(i).getAngle()));
+            }
+        }
+        int item = getAdaptiveEngine().select(candidates);
+        for (int i = 0; i < sectors.size(); i++) {
+            if (!sectorCalculation.getPracticed().contains(i)
+                    && AdaptiveEngine.sectorItem(sectors.get(i).getAngle()) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
     private void showSolutions() {
         Sector sector = sectorCalculation.getSectors().get(currentSectorIndex);
         
@@ -645,36 +661,14 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
 
     // 启动每道题的计时器
     private void startQuestionTimer() {
-        // 停止正在运行的计时器（如果有）
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop();
+        if (questionCountdown == null) {
+            questionCountdown = createCountdown(TIME_PER_QUESTION, this::updateTimerLabel, this::handleTimeUp);
         }
-        
-        // 重置剩余时间
-        remainingTime = TIME_PER_QUESTION;
-        updateTimerLabel();
-        
-        // 创建并启动新的计时器
-        questionTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                remainingTime--;
-                updateTimerLabel();
-                
-                if (remainingTime <= 0) {
-                    questionTimer.stop();
-                    handleTimeUp();
-                }
-            }
-        });
-        questionTimer.start();
+        questionCountdown.start();
     }
     
     // 更新计时器标签
-    private void updateTimerLabel() {
-        int minutes = remainingTime / 60;
-        int seconds = remainingTime % 60;
-        
+    private void updateTimerLabel(int remainingTime) {
         // 当剩余时间少于1分钟时文字变红
         if (remainingTime < 60) {
             timerLabel.setForeground(Color.RED);
@@ -682,7 +676,7 @@ public class SectorCalculationPanel extends BaseTaskPanel implements TaskPanelIn
             timerLabel.setForeground(Color.BLUE);
         }
         
-        timerLabel.setText(String.format("剩余时间: %d:%02d", minutes, seconds));
+        timerLabel.setRemaining(remainingTime);
     }
     
     // 处理时间用完的情况
@@ -5,13 +5,18 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import com.shapeville.model.Shape2D;
 import com.shapeville.model.Shape3D;
+import com.shapeville.game.AdaptiveEngine;
 import com.shapeville.game.ShapeRecognition;
 import java.io.IOException;
-import javax.imageio.ImageIO;
-import java.io.File;
+import com.shapeville.gui.shapes.ShapeImageCache;
+import com.shapeville.gui.shapes.SpinningSolidIcon;
+import com.shapeville.gui.shapes.VectorShapeIcon;
+import com.shapeville.utils.Metrics;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
     private final ShapeRecognition shapeRecognition;
@@ -28,6 +33,18 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
     private ArrayList<Boolean> correctAnswers;
     
     private static final int SHAPES_PER_TEST = 4;  // 统一2D和3D的测试数量
+    private static final int IMAGE_MAX_SIZE = 160;   // 形状图片最大显示边长
+    // 从请求图片到显示出来的耗时（已预加载时几乎为0，否则包括后台解码和缩放）
+    private static final Metrics.Histogram IMAGE_LOAD_TIME = Metrics.histogram("shapes.imageLoad");
+    private static final int PREFETCH_COUNT = 3;     // 提前在后台加载的图片数量
+    // 默认用矢量图形绘制形状（每题随机旋转、大小和颜色）；设为true时改用 images 下的图片
+    private static final boolean USE_BITMAPS = Boolean.getBoolean("shapeville.shapes.bitmaps");
+    // 3D形状默认由软件光栅化器渲染并持续旋转；设为false时显示静止的矢量图
+    private static final boolean SPIN_SOLIDS = !"false".equalsIgnoreCase(System.getProperty("shapeville.shapes.spin"));
+    private static final Metrics.Histogram VECTOR_BUILD_TIME = Metrics.histogram("shapes.vectorBuild");
+    private final Random variantRandom = new Random();
+    private SpinningSolidIcon spinningIcon;          // 正在旋转的3D形状，换题或结束时停止
+    private int imageRequest = 0;                    // 当前图片请求序号，用于丢弃过期的异步结果
     private boolean isEnding = false;
     
     public ShapePanel() {
@@ -61,6 +78,20 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
         Collections.shuffle(shapes3D);
     }
     
+    // chooseNextShape() 已把接下来最可能出现的形状排在当前题之后，在后台提前解码并缩放它们的图片
+    private void prefetchImages(int fromIndex) {
+        if (!USE_BITMAPS) {
+            return;
+        }
+        int size = is2DMode ? shapes2D.size() : shapes3D.size();
+        List<String> paths = new ArrayList<>(PREFETCH_COUNT);
+        for (int i = fromIndex; i < Math.min(size, fromIndex + PREFETCH_COUNT); i++) {
+            paths.add(is2DMode ? ShapeImageCache.resourcePath(shapes2D.get(i)) :
+                                 ShapeImageCache.resourcePath(shapes3D.get(i)));
+        }
+        ShapeImageCache.getInstance().prefetch(paths, IMAGE_MAX_SIZE);
+    }
+    
     // 创建自定义的UI初始化方法，确保不会覆盖反馈区域
     private void setupShapeUI() {
         // 创建一个新的面板来包含形状相关元素
@@ -161,7 +192,7 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
         
         submitButton = new JButton("提交答案");
         submitButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        submitButton.addActionListener(e -> handleSubmit());
+        submitButton.addActionListener(e -> submit());
         
         panel.add(Box.createVerticalStrut(10));
         panel.add(inputLabel);
@@ -177,6 +208,7 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
     private void showCurrentShape() {
         if (currentShapeIndex < shapes2D.size() && is2DMode || 
             currentShapeIndex < shapes3D.size() && !is2DMode) {
+            chooseNextShape();
             Object shape = is2DMode ? shapes2D.get(currentShapeIndex) : shapes3D.get(currentShapeIndex);
             
             // 检查是否已经识别过这种类型
@@ -191,11 +223,15 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
                 return;
             }
             
-            String chinese = is2DMode ? ((Shape2D)shape).getChinese() : ((Shape3D)shape).getChinese();
-            String english = is2DMode ? ((Shape2D)shape).getEnglish() : ((Shape3D)shape).getEnglish();
-            
+            markQuestionShown();
             shapeLabel.setText("请识别这个" + (is2DMode ? "2D" : "3D") + "形状：");
-            displayShapeImage(english.toLowerCase() + ".png", is2DMode);
+            if (USE_BITMAPS) {
+                displayShapeImage(is2DMode ? ShapeImageCache.resourcePath((Shape2D)shape) :
+                                             ShapeImageCache.resourcePath((Shape3D)shape));
+                prefetchImages(currentShapeIndex + 1);
+            } else {
+                displayVectorShape(shape);
+            }
             answerField.setText("");
             answerField.requestFocus();
             
@@ -204,31 +240,119 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
         }
     }
     
-    private void displayShapeImage(String imageName, boolean is2D) {
-        String basePath = System.getProperty("user.dir") + "/shapeville/src/main/resources/images/" + 
-                         (is2D ? "2d/" : "3d/");
-        try {
-            File imageFile = new File(basePath + imageName);
-            if (imageFile.exists()) {
-                BufferedImage img = ImageIO.read(imageFile);
-                int maxSize = 160;
-                
-                // 计算缩放比例和新尺寸
-                double scale = Math.min((double)maxSize / img.getWidth(), (double)maxSize / img.getHeight());
-                int newWidth = (int)(img.getWidth() * scale);
-                int newHeight = (int)(img.getHeight() * scale);
-                
-                Image scaledImg = img.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-                shapeImageLabel.setIcon(new ImageIcon(scaledImg));
-                shapeImageLabel.setPreferredSize(new Dimension(maxSize + 20, maxSize + 20));
-            } else {
-                shapeImageLabel.setIcon(null);
-                shapeImageLabel.setText("图片未找到");
+    // 在剩余未识别的形状中由自适应引擎选出最适合当前水平的一个，换到当前位置；
+    // 再按引擎的排序把接下来的 PREFETCH_COUNT 个候选换到其后，供预加载图片。
+    // 下一题仍在作答后重新选择，但通常就在这几个排名靠前的候选之中
+    private void chooseNextShape() {
+        int size = is2DMode ? shapes2D.size() : shapes3D.size();
+        long candidates = 0;
+        for (int i = currentShapeIndex; i < size; i++) {
+            if (!isIdentified(i)) {
+                candidates |= AdaptiveEngine.mask(shapeItem(i));
             }
-        } catch (IOException e) {
-            shapeImageLabel.setIcon(null);
-            shapeImageLabel.setText("加载图片失败");
         }
+        AdaptiveEngine engine = getAdaptiveEngine();
+        int limit = Math.min(size, currentShapeIndex + 1 + PREFETCH_COUNT);
+        for (int position = currentShapeIndex; position < limit && candidates != 0; position++) {
+            int chosen = engine.select(candidates);
+            candidates &= ~AdaptiveEngine.mask(chosen);
+            for (int i = position; i < size; i++) {
+                if (shapeItem(i) == chosen) {
+                    if (is2DMode) {
+                        Collections.swap(shapes2D, i, position);
+                    } else {
+                        Collections.swap(shapes3D, i, position);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+    
+    private int shapeItem(int index) {
+        return is2DMode ? AdaptiveEngine.shape2DItem(shapes2D.get(index)) :
+                          AdaptiveEngine.shape3DItem(shapes3D.get(index));
+    }
+    
+    private boolean isIdentified(int index) {
+        return is2DMode ? shapeRecognition.isTypeIdentified2D(shapes2D.get(index)) :
+                          shapeRecognition.isTypeIdentified3D(shapes3D.get(index));
+    }
+    
+    // 矢量图形在EDT上直接生成（几何计算不到1毫秒），不需要预加载
+    private void displayVectorShape(Object shape) {
+        if (!is2DMode && SPIN_SOLIDS) {
+            SpinningSolidIcon icon = SpinningSolidIcon.random((Shape3D)shape, IMAGE_MAX_SIZE, variantRandom);
+            showIcon(icon);
+            spinningIcon = icon;
+            icon.start(shapeImageLabel);
+            return;
+        }
+        long start = System.nanoTime();
+        Icon icon = is2DMode ? VectorShapeIcon.random((Shape2D)shape, IMAGE_MAX_SIZE, variantRandom) :
+                               VectorShapeIcon.random((Shape3D)shape, IMAGE_MAX_SIZE, variantRandom);
+        VECTOR_BUILD_TIME.recordSince(start);
+        showIcon(icon);
+    }
+    
+    private void stopSpinning() {
+        if (spinningIcon != null) {
+            spinningIcon.stop();
+            spinningIcon = null;
+        }
+    }
+    
+    private void displayShapeImage(String path) {
+        int request = ++imageRequest;
+        if (!ShapeImageCache.getInstance().exists(path)) {
+            showImageMessage("图片未找到");
+            return;
+        }
+        ShapeImageCache cache = ShapeImageCache.getInstance();
+        long start = System.nanoTime();
+        if (cache.contains(path, IMAGE_MAX_SIZE)) {
+            // 已预加载，直接显示
+            Metrics.counter("shapes.image.cacheHit").increment();
+            try {
+                showImage(cache.getScaled(path, IMAGE_MAX_SIZE));
+            } catch (IOException e) {
+                showImageMessage("加载图片失败");
+            }
+            IMAGE_LOAD_TIME.recordSince(start);
+            return;
+        }
+        Metrics.counter("shapes.image.cacheMiss").increment();
+        // 尚未加载完成时在后台加载，完成后回到EDT显示（期间切换了题目则丢弃结果）
+        showImageMessage("加载中...");
+        cache.getAsync(path, IMAGE_MAX_SIZE).whenComplete((img, error) ->
+            SwingUtilities.invokeLater(() -> {
+                if (request != imageRequest) {
+                    return;
+                }
+                IMAGE_LOAD_TIME.recordSince(start);
+                if (error != null) {
+                    showImageMessage("加载图片失败");
+                } else {
+                    showImage(img);
+                }
+            }));
+    }
+    
+    private void showImage(BufferedImage img) {
+        showIcon(new ImageIcon(img));
+    }
+    
+    private void showIcon(Icon icon) {
+        stopSpinning();
+        shapeImageLabel.setText(null);
+        shapeImageLabel.setIcon(icon);
+        shapeImageLabel.setPreferredSize(new Dimension(IMAGE_MAX_SIZE + 20, IMAGE_MAX_SIZE + 20));
+    }
+    
+    private void showImageMessage(String message) {
+        stopSpinning();
+        shapeImageLabel.setIcon(null);
+        shapeImageLabel.setText(message);
     }
     
     // 简化反馈更新方法，现在只需要调用父类方法
@@ -247,6 +371,7 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
                                    shapeRecognition.check3DAnswer((Shape3D)shape, answer);
         
         incrementAttempts();
+        recordAnswer(shapeItem(currentShapeIndex), attempts, correct);
         
         if (correct) {
             updateFeedback("回答正确！\n" + shapeRecognition.getRemainingTypesMessage(is2DMode));
@@ -333,6 +458,12 @@ public class ShapePanel extends BaseTaskPanel implements TaskPanelInterface {
         }
     }
     
+    @Override
+    public void cleanup() {
+        stopSpinning();
+        super.cleanup();
+    }
+    
     @Override
     public void reset() {
         currentShapeIndex = 0;
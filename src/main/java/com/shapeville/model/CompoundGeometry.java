@@ -0,0 +1,82 @@
+package com.shapeville.model;
+
+/**
+ * 复合形状的不可变几何模型
+ * 由若干互不重叠的多边形组成，整体包围盒和总面积在构造时计算一次。
+ * 绘制（gui.shapes）和面积计算（game.CompoundShapeCalculation）共用同一份几何数据。
+ */
+public final class CompoundGeometry {
+    private final Polygon[] parts;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double area;
+
+    /**
+     * 创建复合几何
+     * @param parts 组成部分，各部分之间只能共边，不能重叠
+     */
+    public CompoundGeometry(Polygon... parts) {
+        if (parts.length == 0) {
+            throw new IllegalArgumentException("复合形状至少需要一个组成部分");
+        }
+        this.parts = parts.clone();
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        double area = 0;
+        for (Polygon part : this.parts) {
+            minX = Math.min(minX, part.getMinX());
+            minY = Math.min(minY, part.getMinY());
+            maxX = Math.max(maxX, part.getMaxX());
+            maxY = Math.max(maxY, part.getMaxY());
+            area += part.getArea();
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.area = area;
+    }
+
+    public int getPartCount() {
+        return parts.length;
+    }
+
+    public Polygon getPart(int index) {
+        return parts[index];
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public double getWidth() {
+        return maxX - minX;
+    }
+
+    public double getHeight() {
+        return maxY - minY;
+    }
+
+    /**
+     * 获取总面积（各组成部分面积之和）
+     * @return 面积
+     */
+    public double getArea() {
+        return area;
+    }
+}
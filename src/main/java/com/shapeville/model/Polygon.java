@@ -0,0 +1,144 @@
+package com.shapeville.model;
+
+import java.util.Arrays;
+
+/**
+ * 不可变多边形
+ * 顶点坐标以 x0, y0, x1, y1, ... 的形式保存在一个 double 数组中，使用实际单位（厘米、米等），
+ * y 轴向下，与屏幕坐标方向一致。
+ * 包围盒和面积（鞋带公式）在构造时计算一次，之后的查询不再有任何计算和装箱开销。
+ */
+public final class Polygon {
+    private final double[] coordinates;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double area;
+
+    /**
+     * 创建多边形
+     * @param coordinates 按顺序排列的顶点坐标 x0, y0, x1, y1, ...（至少三个顶点）
+     */
+    public Polygon(double... coordinates) {
+        if (coordinates.length < 6 || coordinates.length % 2 != 0) {
+            throw new IllegalArgumentException("多边形至少需要三个顶点，且坐标必须成对出现");
+        }
+        this.coordinates = coordinates.clone();
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        double twiceArea = 0;
+        int n = this.coordinates.length;
+        for (int i = 0; i < n; i += 2) {
+            double x = this.coordinates[i];
+            double y = this.coordinates[i + 1];
+            double nextX = this.coordinates[(i + 2) % n];
+            double nextY = this.coordinates[(i + 3) % n];
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            twiceArea += x * nextY - nextX * y;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.area = Math.abs(twiceArea) / 2;
+    }
+
+    /**
+     * 创建轴对齐的矩形
+     * @param x 左上角x坐标
+     * @param y 左上角y坐标
+     * @param width 宽度
+     * @param height 高度
+     * @return 矩形多边形（顺时针排列的四个顶点）
+     */
+    public static Polygon rectangle(double x, double y, double width, double height) {
+        return new Polygon(x, y, x + width, y, x + width, y + height, x, y + height);
+    }
+
+    public int getVertexCount() {
+        return coordinates.length / 2;
+    }
+
+    public double getX(int index) {
+        return coordinates[index * 2];
+    }
+
+    public double getY(int index) {
+        return coordinates[index * 2 + 1];
+    }
+
+    /**
+     * 获取顶点坐标数组的副本
+     * @return x0, y0, x1, y1, ...
+     */
+    public double[] getCoordinates() {
+        return coordinates.clone();
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public double getWidth() {
+        return maxX - minX;
+    }
+
+    public double getHeight() {
+        return maxY - minY;
+    }
+
+    /**
+     * 获取多边形面积（鞋带公式，与顶点的环绕方向无关）
+     * @return 面积
+     */
+    public double getArea() {
+        return area;
+    }
+
+    /**
+     * 平移多边形
+     * @param dx x方向平移量
+     * @param dy y方向平移量
+     * @return 平移后的新多边形
+     */
+    public Polygon translate(double dx, double dy) {
+        double[] moved = coordinates.clone();
+        for (int i = 0; i < moved.length; i += 2) {
+            moved[i] += dx;
+            moved[i + 1] += dy;
+        }
+        return new Polygon(moved);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Polygon && Arrays.equals(coordinates, ((Polygon) other).coordinates);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(coordinates);
+    }
+
+    @Override
+    public String toString() {
+        return "Polygon" + Arrays.toString(coordinates);
+    }
+}
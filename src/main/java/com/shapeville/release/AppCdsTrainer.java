@@ -0,0 +1,146 @@
+package com.shapeville.release;
+
+import com.shapeville.utils.StartupTiming;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 应用类数据共享（AppCDS）归档训练工具（构建时运行）
+ * 在运行时镜像中以 -XX:ArchiveClassesAtExit 启动一次应用，主窗口显示后立即退出（shapeville.startup.exit），
+ * 把启动过程中加载的应用类和 Swing、外观等JDK类写入动态归档 lib/shapeville.jsa：
+ *   AppCdsTrainer <镜像目录>
+ * RuntimeImageBuilder 生成镜像后自动调用；启动脚本在归档存在时通过 -XX:SharedArchiveFile 使用它。
+ *
+ * JDK 17 的动态归档记录应用类路径并校验JAR的修改时间和大小，因此训练和启动脚本都在镜像目录中
+ * 以相对路径 app/shapeville.jar 运行应用：整个镜像目录可以移动，但复制时需要保留文件修改时间
+ * （tar/zip 解压或 cp -a）。归档不可用时JVM只打印一行警告并回退到默认CDS归档。
+ * 没有图形环境时训练只覆盖到创建主窗口之前（mainToVisibleMillis=-1），归档仍然可用但效果较差，
+ * 发布用的镜像应在有显示器的机器上构建。
+ */
+public final class AppCdsTrainer {
+    /** 镜像中AppCDS归档的相对路径 */
+    public static final String ARCHIVE = "lib/shapeville.jsa";
+
+    private static final long TIMEOUT_SECONDS = 120;
+
+    private AppCdsTrainer() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // 由构建进程内调用，参数错误时抛出异常而不是退出虚拟机
+        if (args.length != 1) {
+            throw new IllegalArgumentException("用法: AppCdsTrainer <镜像目录>");
+        }
+        train(Paths.get(args[0]));
+    }
+
+    /**
+     * 训练并写入镜像的AppCDS归档，已有的归档会被替换
+     * @param image 运行时镜像目录（RuntimeImageBuilder 的输出）
+     * @return 训练运行中 main() 到主窗口显示的耗时（毫秒），没有显示主窗口时为 -1
+     * @throws IOException 训练运行失败、超时或没有生成归档
+     */
+    public static long train(Path image) throws IOException, InterruptedException {
+        Path archive = image.resolve(ARCHIVE);
+        Files.deleteIfExists(archive);
+        long mainToVisible = runApp(image,
+                                    List.of("-XX:ArchiveClassesAtExit=" + relative(ARCHIVE)),
+                                    TIMEOUT_SECONDS).mainToVisibleMillis;
+        if (!Files.isRegularFile(archive)) {
+            throw new IOException("训练运行结束但没有生成AppCDS归档: " + archive);
+        }
+        if (mainToVisible < 0) {
+            System.out.println("警告：没有图形环境，AppCDS归档只包含创建主窗口之前加载的类");
+        }
+        System.out.printf("已生成AppCDS归档 %s（%.1f MB）%n", archive, Files.size(archive) / 1048576.0);
+        return mainToVisible;
+    }
+
+    /** 一次启动运行的结果 */
+    static final class Run {
+        final long spawnEpochMillis;
+        final long mainEpochMillis;
+        final long mainToVisibleMillis;
+        final long exitNanos;
+
+        Run(long spawnEpochMillis, long mainEpochMillis, long mainToVisibleMillis, long exitNanos) {
+            this.spawnEpochMillis = spawnEpochMillis;
+            this.mainEpochMillis = mainEpochMillis;
+            this.mainToVisibleMillis = mainToVisibleMillis;
+            this.exitNanos = exitNanos;
+        }
+    }
+
+    /**
+     * 在镜像目录中以启动即退出模式运行一次应用，使用临时数据目录，不影响真实的学习进度
+     * @param image 运行时镜像目录
+     * @param jvmOptions 额外的JVM参数
+     * @param timeoutSeconds 超时时间
+     * @return 应用输出的启动统计和进程总耗时
+     * @throws IOException 运行失败、超时或没有输出启动统计
+     */
+    static Run runApp(Path image, List<String> jvmOptions, long timeoutSeconds)
+        throws IOException, InterruptedException {
+        Path java = image.toAbsolutePath().resolve("bin").resolve(
+            System.getProperty("os.name", "").startsWith("Windows") ? "java.exe" : "java");
+        Path temp = Files.createTempDirectory("shapeville-startup");
+        try {
+            Path output = temp.resolve("output.txt");
+            List<String> command = new ArrayList<>();
+            command.add(java.toString());
+            command.addAll(jvmOptions);
+            command.add("-Dshapeville.startup.exit=true");
+            command.add("-Dshapeville.data.dir=" + temp.resolve("data"));
+            command.add("-jar");
+            command.add(relative(RuntimeImageBuilder.APP_JAR));
+            ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(image.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile());
+
+            long spawnEpochMillis = System.currentTimeMillis();
+            long spawnNanos = System.nanoTime();
+            Process process = builder.start();
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("应用启动超过 " + timeoutSeconds + " 秒没有退出: " + command);
+            }
+            long exitNanos = System.nanoTime() - spawnNanos;
+            String text = new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+            if (process.exitValue() != 0) {
+                throw new IOException("应用启动失败（退出码 " + process.exitValue() + "）: " + text);
+            }
+            for (String line : text.split("\\R")) {
+                if (line.startsWith(StartupTiming.REPORT_PREFIX + " ")) {
+                    return new Run(spawnEpochMillis, field(line, "mainEpochMillis"),
+                                   field(line, "mainToVisibleMillis"), exitNanos);
+                }
+            }
+            throw new IOException("应用没有输出启动统计: " + text);
+        } finally {
+            RuntimeImageBuilder.deleteRecursively(temp);
+        }
+    }
+
+    // 镜像内的相对路径使用平台的分隔符，与启动脚本中的写法保持一致
+    static String relative(String path) {
+        return path.replace('/', File.separatorChar);
+    }
+
+    private static long field(String line, String name) throws IOException {
+        for (String token : line.split(" ")) {
+            if (token.startsWith(name + "=")) {
+                return Long.parseLong(token.substring(name.length() + 1));
+            }
+        }
+        throw new IOException("启动统计中缺少 " + name + ": " + line);
+    }
+}
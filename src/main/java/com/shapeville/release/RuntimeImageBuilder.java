@@ -0,0 +1,145 @@
+package com.shapeville.release;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.spi.ToolProvider;
+import java.util.stream.Stream;
+
+/**
+ * 精简运行时镜像构建工具（构建时运行）
+ * 用 jlink 生成只包含应用实际用到的JDK模块的运行时，再放入应用JAR和启动脚本：
+ *   RuntimeImageBuilder <应用JAR> <输出目录> <模块列表>
+ * 例如 RuntimeImageBuilder target/shapeville-1.0-SNAPSHOT-jar-with-dependencies.jar target/image
+ *      java.desktop,jdk.httpserver,jdk.unsupported
+ * Maven 的 jlink 配置（mvn -Pjlink verify）在 verify 阶段调用。
+ *
+ * 镜像目录结构：bin/（java 和 shapeville、shapeville.bat 启动脚本）、lib/（JDK模块和CDS归档）、app/shapeville.jar。
+ * jlink 生成的运行时不带JDK默认的类数据共享（CDS）归档，最后用镜像自己的 java -Xshare:dump 重新生成，
+ * 否则启动时所有JDK类都要从模块文件中解析加载，比完整JDK还慢。
+ * 之后由 AppCdsTrainer 训练应用自己的AppCDS归档 lib/shapeville.jsa，进一步减少 Swing 和外观类的加载时间。
+ * 镜像只能在与构建机相同的操作系统和CPU架构上运行，Windows 机房用的镜像需要在 Windows 上构建。
+ */
+public final class RuntimeImageBuilder {
+    /** 镜像中应用JAR的相对路径 */
+    public static final String APP_JAR = "app/shapeville.jar";
+
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private RuntimeImageBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // 由 Maven 在构建进程内调用，参数错误时抛出异常而不是退出虚拟机
+        if (args.length != 3) {
+            throw new IllegalArgumentException("用法: RuntimeImageBuilder <应用JAR> <输出目录> <模块列表>");
+        }
+        Path jar = Paths.get(args[0]);
+        Path image = Paths.get(args[1]);
+        String modules = args[2];
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("应用JAR不存在: " + jar);
+        }
+
+        deleteRecursively(image);
+        runJlink(modules, image);
+        Path appJar = image.resolve(APP_JAR);
+        Files.createDirectories(appJar.getParent());
+        Files.copy(jar, appJar, StandardCopyOption.REPLACE_EXISTING);
+        writeLaunchers(image.resolve("bin"));
+        dumpDefaultCdsArchive(image);
+        AppCdsTrainer.train(image);
+        System.out.printf("已生成运行时镜像 %s（模块 %s，%.1f MB）%n", image, modules, size(image) / 1048576.0);
+    }
+
+    private static void runJlink(String modules, Path image) {
+        ToolProvider jlink = ToolProvider.findFirst("jlink")
+            .orElseThrow(() -> new IllegalStateException("当前Java运行时没有 jlink，请使用完整的JDK运行构建"));
+        List<String> options = new ArrayList<>();
+        options.add("--add-modules");
+        options.add(modules);
+        options.add("--output");
+        options.add(image.toString());
+        // 去掉调试信息、头文件和手册；不压缩模块文件，启动时加载类不需要解压
+        options.add("--strip-debug");
+        options.add("--no-header-files");
+        options.add("--no-man-pages");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintWriter writer = new PrintWriter(output, true, StandardCharsets.UTF_8);
+        int exit = jlink.run(writer, writer, options.toArray(new String[0]));
+        writer.flush();
+        if (exit != 0) {
+            throw new IllegalStateException("jlink 失败（退出码 " + exit + "）: "
+                                            + output.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    // 启动脚本把额外的JVM参数放在 SHAPEVILLE_OPTS 环境变量中；
+    // 切换到镜像目录后以相对路径启动，与训练AppCDS归档时的类路径一致，镜像目录移动后归档仍然有效
+    private static void writeLaunchers(Path bin) throws IOException {
+        Path unix = bin.resolve("shapeville");
+        Files.write(unix, String.join("\n",
+            "#!/bin/sh",
+            "cd \"$(dirname \"$0\")/..\" || exit 1",
+            "CDS=",
+            "if [ -f " + AppCdsTrainer.ARCHIVE + " ]; then",
+            "    CDS=-XX:SharedArchiveFile=" + AppCdsTrainer.ARCHIVE,
+            "fi",
+            "exec bin/java $CDS $SHAPEVILLE_OPTS -jar " + APP_JAR + " \"$@\"",
+            "").getBytes(StandardCharsets.UTF_8));
+        if (!WINDOWS) {
+            Files.setPosixFilePermissions(unix, PosixFilePermissions.fromString("rwxr-xr-x"));
+        }
+        String archive = AppCdsTrainer.ARCHIVE.replace('/', '\\');
+        Files.write(bin.resolve("shapeville.bat"), String.join("\r\n",
+            "@echo off",
+            "setlocal",
+            "cd /d \"%~dp0..\"",
+            "set CDS=",
+            "if exist " + archive + " set CDS=-XX:SharedArchiveFile=" + archive,
+            "bin\\java.exe %CDS% %SHAPEVILLE_OPTS% -jar " + APP_JAR.replace('/', '\\') + " %*",
+            "").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void dumpDefaultCdsArchive(Path image) throws IOException, InterruptedException {
+        Path java = image.resolve("bin").resolve(WINDOWS ? "java.exe" : "java");
+        Process process = new ProcessBuilder(java.toString(), "-Xshare:dump")
+            .redirectErrorStream(true)
+            .start();
+        byte[] output = process.getInputStream().readAllBytes();
+        int exit = process.waitFor();
+        if (exit != 0) {
+            throw new IOException("生成CDS归档失败（退出码 " + exit + "）: " + new String(output, StandardCharsets.UTF_8));
+        }
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            List<Path> all = new ArrayList<>();
+            paths.sorted(Comparator.reverseOrder()).forEach(all::add);
+            for (Path path : all) {
+                // JVM生成的CDS归档是只读文件，Windows 上需要先去掉只读属性才能删除
+                path.toFile().setWritable(true);
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static long size(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+}
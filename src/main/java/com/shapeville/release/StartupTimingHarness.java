@@ -0,0 +1,124 @@
+package com.shapeville.release;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动耗时测试工具
+ * 在运行时镜像中以不同的类数据共享配置反复冷启动应用，统计三段耗时的中位数、最小值和最大值：
+ *   进程→main    启动进程到 main() 开始，主要是JVM初始化和加载 JDK 核心类
+ *   main→窗口    main() 开始到主窗口显示（StartupTiming），主要是 Swing、外观和界面类的加载与初始化
+ *   总耗时       启动进程到进程退出
+ * 用法：StartupTimingHarness [--image 镜像目录] [--runs 次数] [-- 额外的JVM参数...]
+ * 镜像目录默认为 target/image（mvn -Pjlink verify 的输出），次数默认为10。
+ *
+ * 比较的配置：不使用CDS（-Xshare:off）、只用JDK默认归档、加上AppCDS归档、
+ * AppCDS再加只用C1编译器（-XX:TieredStopAtLevel=1，可放入 SHAPEVILLE_OPTS 的启动配置）。
+ * 各配置轮流运行以抵消机器负载的变化，正式统计前每种配置先运行一次预热文件缓存。
+ */
+public final class StartupTimingHarness {
+    private static final long TIMEOUT_SECONDS = 120;
+
+    private StartupTimingHarness() {
+    }
+
+    // 一种待比较的JVM配置
+    private static final class Config {
+        final String name;
+        final List<String> options;
+        final List<Long> processToMain = new ArrayList<>();
+        final List<Long> mainToVisible = new ArrayList<>();
+        final List<Long> total = new ArrayList<>();
+
+        Config(String name, String... options) {
+            this.name = name;
+            this.options = Arrays.asList(options);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path image = Paths.get("target", "image");
+        int runs = 10;
+        List<String> extraOptions = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--".equals(args[i])) {
+                extraOptions.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                break;
+            }
+            if (i + 1 >= args.length) {
+                usage();
+                return;
+            }
+            switch (args[i]) {
+                case "--image": image = Paths.get(args[++i]); break;
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                default:
+                    usage();
+                    return;
+            }
+        }
+        if (!Files.isRegularFile(image.resolve(RuntimeImageBuilder.APP_JAR))) {
+            System.err.println("找不到运行时镜像: " + image + "（先运行 mvn -Pjlink verify）");
+            System.exit(1);
+        }
+
+        List<Config> configs = new ArrayList<>();
+        configs.add(new Config("无CDS", "-Xshare:off"));
+        configs.add(new Config("默认CDS"));
+        if (Files.isRegularFile(image.resolve(AppCdsTrainer.ARCHIVE))) {
+            String archive = "-XX:SharedArchiveFile=" + AppCdsTrainer.relative(AppCdsTrainer.ARCHIVE);
+            configs.add(new Config("AppCDS", archive));
+            configs.add(new Config("AppCDS+C1", archive, "-XX:TieredStopAtLevel=1"));
+        } else {
+            System.out.println("镜像中没有AppCDS归档 " + AppCdsTrainer.ARCHIVE + "，只比较默认配置");
+        }
+
+        System.out.printf("镜像 %s，每种配置 %d 次%s%n", image.toAbsolutePath(), runs,
+                          extraOptions.isEmpty() ? "" : "，额外参数 " + extraOptions);
+        for (int run = -1; run < runs; run++) {
+            for (Config config : configs) {
+                List<String> options = new ArrayList<>(config.options);
+                options.addAll(extraOptions);
+                AppCdsTrainer.Run result = AppCdsTrainer.runApp(image, options, TIMEOUT_SECONDS);
+                if (run < 0) {
+                    continue;
+                }
+                config.processToMain.add(result.mainEpochMillis - result.spawnEpochMillis);
+                if (result.mainToVisibleMillis >= 0) {
+                    config.mainToVisible.add(result.mainToVisibleMillis);
+                }
+                config.total.add(TimeUnit.NANOSECONDS.toMillis(result.exitNanos));
+            }
+        }
+
+        System.out.printf("%-12s %-20s %-20s %-20s%n", "配置", "进程→main(ms)", "main→窗口(ms)", "总耗时(ms)");
+        for (Config config : configs) {
+            System.out.printf("%-12s %-20s %-20s %-20s%n", config.name, summary(config.processToMain),
+                              summary(config.mainToVisible), summary(config.total));
+        }
+        if (configs.get(0).mainToVisible.isEmpty()) {
+            System.out.println("没有图形环境，主窗口未显示：main→窗口 无数据，总耗时只包含创建主窗口之前的部分");
+        }
+    }
+
+    // "中位数 (最小值-最大值)"
+    private static String summary(List<Long> values) {
+        if (values.isEmpty()) {
+            return "-";
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2) + " (" + sorted.get(0) + "-" + sorted.get(sorted.size() - 1) + ")";
+    }
+
+    private static void usage() {
+        System.err.println("用法: StartupTimingHarness [--image 镜像目录] [--runs 次数] [-- 额外的JVM参数...]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,283 @@
+package com.shapeville.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.shapeville.utils.Log;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 内嵌的HTTP/JSON答题服务器
+ * 基于JDK自带的 com.sun.net.httpserver，把 QuizService 的出题和判题暴露给浏览器或其他客户端，
+ * 不需要额外的Web框架。运行在Java 21及以上版本时每个请求使用一个虚拟线程，
+ * 否则使用固定大小的平台线程池（判题不阻塞，少量线程即可服务大量并发连接）。
+ *
+ * 接口：
+ * GET  /api/question?task=area      出题（task 取值见 QuizService.Task）
+ * POST /api/answer                  提交答案，请求体 {"id": "...", "answer": "..."}
+ * GET  /api/health                  健康检查
+ * GET  /images/2d/circle.png 等     形状识别题的图片
+ */
+public final class QuizServer {
+    private static final Log LOG = Log.get(QuizServer.class);
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_CAPACITY = 100_000;
+
+    // 等待连接的队列长度，允许大量学生同时连接
+    private static final int BACKLOG = 1024;
+    // 请求体大小上限，答案只是一个短字符串
+    private static final int MAX_BODY = 4096;
+
+    private final QuizService service;
+    private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param port 监听端口（0 表示由系统分配）
+     * @param service 答题服务
+     * @throws IOException 端口无法绑定
+     */
+    public QuizServer(int port, QuizService service) throws IOException {
+        // 关闭Nagle算法，避免小响应被延迟发送（必须在创建服务器前设置）
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/question", exchange -> handle(exchange, "GET", this::question));
+        server.createContext("/api/answer", exchange -> handle(exchange, "POST", this::answer));
+        server.createContext("/api/health", exchange -> handle(exchange, "GET", this::health));
+        server.createContext("/images/", this::image);
+    }
+
+    public void start() {
+        server.start();
+        LOG.info(() -> "答题服务器已启动，端口 " + getPort());
+    }
+
+    /**
+     * 停止服务器
+     * @param delaySeconds 等待进行中的请求完成的最长秒数
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.info("答题服务器已停止");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // 优先使用虚拟线程（Java 21+），通过反射调用以保持与Java 17的兼容
+    private static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            LOG.debug("答题服务器使用虚拟线程");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            LOG.debug(() -> "当前JDK不支持虚拟线程，答题服务器使用 " + threads + " 个平台线程");
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "quiz-http-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newFixedThreadPool(threads, threadFactory);
+        }
+    }
+
+    // 接口处理函数：返回要序列化为JSON的对象，抛出 HttpError 表示客户端错误
+    private interface Endpoint {
+        Object handle(HttpExchange exchange) throws IOException;
+    }
+
+    private static final class HttpError extends RuntimeException {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+
+    private void handle(HttpExchange exchange, String method, Endpoint endpoint) throws IOException {
+        try {
+            Object body;
+            int status = 200;
+            try {
+                if (!method.equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    throw new HttpError(405, "只支持 " + method + " 请求");
+                }
+                body = endpoint.handle(exchange);
+            } catch (HttpError e) {
+                status = e.status;
+                body = error(e.getMessage());
+            } catch (JsonParseException e) {
+                status = 400;
+                body = error("请求体不是有效的JSON");
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                LOG.error("处理请求失败: " + exchange.getRequestURI(), e);
+                status = 500;
+                body = error("服务器内部错误");
+            }
+            byte[] json = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Object question(HttpExchange exchange) {
+        String task = queryParameter(exchange.getRequestURI(), "task");
+        return service.next(QuizService.Task.parse(task));
+    }
+
+    // 请求体
+    private static final class AnswerRequest {
+        String id;
+        String answer;
+    }
+
+    private Object answer(HttpExchange exchange) throws IOException {
+        AnswerRequest request;
+        try (Reader reader = new InputStreamReader(limited(exchange.getRequestBody()), StandardCharsets.UTF_8)) {
+            request = gson.fromJson(reader, AnswerRequest.class);
+        }
+        if (request == null || request.id == null) {
+            throw new IllegalArgumentException("缺少题目ID");
+        }
+        QuizService.CheckResult result = service.check(request.id, request.answer);
+        if (result == null) {
+            throw new HttpError(404, "题目不存在或已完成: " + request.id);
+        }
+        return result;
+    }
+
+    private Object health(HttpExchange exchange) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("status", "ok");
+        status.put("pending", service.getPendingCount());
+        return status;
+    }
+
+    // 只提供类路径 /images/ 下的PNG图片
+    private void image(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            InputStream resource = path.contains("..") || !path.endsWith(".png")
+                ? null : QuizServer.class.getResourceAsStream(path);
+            if (resource == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            try (InputStream in = resource) {
+                byte[] data = in.readAllBytes();
+                exchange.getResponseHeaders().set("Content-Type", "image/png");
+                exchange.getResponseHeaders().set("Cache-Control", "max-age=86400");
+                exchange.sendResponseHeaders(200, data.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(data);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> error(String message) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("error", message);
+        return body;
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static InputStream limited(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY + 1);
+        if (body.length > MAX_BODY) {
+            throw new HttpError(413, "请求体过大");
+        }
+        return new ByteArrayInputStream(body);
+    }
+
+    /**
+     * 命令行入口
+     * 用法：QuizServer [--port 8080] [--capacity 100000]
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int port = DEFAULT_PORT;
+        int capacity = DEFAULT_CAPACITY;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--port": port = Integer.parseInt(value); i++; break;
+                    case "--capacity": capacity = Integer.parseInt(value); i++; break;
+                    default: throw new IllegalArgumentException("未知参数: " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("参数错误: " + e.getMessage());
+            System.err.println("用法: QuizServer [--port 8080] [--capacity 100000]");
+            System.exit(2);
+            return;
+        }
+
+        QuizServer quizServer = new QuizServer(port, new QuizService(capacity));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> quizServer.stop(1), "quiz-shutdown"));
+        quizServer.start();
+    }
+}
@@ -0,0 +1,311 @@
+package com.shapeville.server;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.shapeville.game.AngleCalculation;
+import com.shapeville.game.AreaCalculation;
+import com.shapeville.game.CompoundShapeCalculation.CompoundShape;
+import com.shapeville.game.CompoundShapeGenerator;
+import com.shapeville.game.QuestionEngine;
+import com.shapeville.game.SectorCalculation;
+import com.shapeville.gui.shapes.ShapeImageCache;
+import com.shapeville.model.Shape2D;
+import com.shapeville.model.Shape3D;
+
+/**
+ * 答题服务
+ * 与传输协议无关的出题和判题逻辑，供 QuizServer 等远程入口使用。
+ * 出题时正确答案只保存在服务端，客户端凭题目ID提交答案；每道题最多尝试3次，
+ * 答对或次数用尽后题目即被移除。未完成的题目数量有上限，超出时淘汰最早发出的题目。
+ * 所有方法都是线程安全的，判题只是一次哈希查找和比较，不加全局锁。
+ */
+public final class QuizService {
+    // 与各任务面板一致的最大尝试次数
+    public static final int MAX_ATTEMPTS = 3;
+
+    // 与各任务面板一致的数值答案容差
+    private static final double TOLERANCE = 0.1;
+
+    // 只调用无状态的 getAngleType，可在多个线程间共享
+    private static final AngleCalculation ANGLES = new AngleCalculation();
+    private static final Shape2D[] SHAPES_2D = Shape2D.values();
+    private static final Shape3D[] SHAPES_3D = Shape3D.values();
+
+    /**
+     * 题目类型
+     */
+    public enum Task {
+        AREA, CIRCLE, SECTOR, ANGLE, SHAPE_2D, SHAPE_3D, COMPOUND;
+
+        /**
+         * 按名称查找题目类型，忽略大小写，"shape-2d" 与 "SHAPE_2D" 等价
+         * @param name 名称
+         * @return 题目类型
+         */
+        public static Task parse(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("缺少题目类型");
+            }
+            try {
+                return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("未知的题目类型: " + name);
+            }
+        }
+    }
+
+    /**
+     * 发给客户端的题目（不含答案）
+     */
+    public static final class IssuedQuestion {
+        private final String id;
+        private final String task;
+        private final String prompt;
+        private final Map<String, Double> params;
+        private final String unit;
+        private final String image;
+        private final int maxAttempts = MAX_ATTEMPTS;
+
+        IssuedQuestion(String id, Task task, String prompt, Map<String, Double> params, String unit, String image) {
+            this.id = id;
+            this.task = task.name();
+            this.prompt = prompt;
+            this.params = params;
+            this.unit = unit;
+            this.image = image;
+        }
+
+        public String getId() { return id; }
+        public String getTask() { return task; }
+        public String getPrompt() { return prompt; }
+        public Map<String, Double> getParams() { return params; }
+        public String getUnit() { return unit; }
+        public String getImage() { return image; }
+        public int getMaxAttempts() { return maxAttempts; }
+    }
+
+    /**
+     * 判题结果
+     * 答错且次数用尽时附带正确答案和解题步骤（如有）。
+     */
+    public static final class CheckResult {
+        private final boolean correct;
+        private final int attemptsLeft;
+        private final String correctAnswer;
+        private final String solution;
+
+        CheckResult(boolean correct, int attemptsLeft, String correctAnswer, String solution) {
+            this.correct = correct;
+            this.attemptsLeft = attemptsLeft;
+            this.correctAnswer = correctAnswer;
+            this.solution = solution;
+        }
+
+        public boolean isCorrect() { return correct; }
+        public int getAttemptsLeft() { return attemptsLeft; }
+        public String getCorrectAnswer() { return correctAnswer; }
+        public String getSolution() { return solution; }
+    }
+
+    // 服务端保存的答案：数值题比较容差，文字题忽略大小写比较
+    private static final class Pending {
+        final double numericAnswer;
+        final String textAnswer;
+        final String displayAnswer;
+        final String solution;
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Pending(double numericAnswer, String textAnswer, String displayAnswer, String solution) {
+            this.numericAnswer = numericAnswer;
+            this.textAnswer = textAnswer;
+            this.displayAnswer = displayAnswer;
+            this.solution = solution;
+        }
+
+        boolean isNumeric() {
+            return textAnswer == null;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> issueOrder = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() 需要遍历整个队列，队列长度单独计数
+    private final AtomicInteger issueOrderLength = new AtomicInteger();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private final int capacity;
+
+    /**
+     * @param capacity 同时未完成的题目数量上限
+     */
+    public QuizService(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("容量必须大于0: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 出一道题
+     * @param task 题目类型
+     * @return 题目
+     */
+    public IssuedQuestion next(Task task) {
+        switch (task) {
+            case AREA: {
+                QuestionEngine.Question question = QuestionEngine.getDefault().next(QuestionEngine.Kind.AREA);
+                AreaCalculation.ShapeType shape = AreaCalculation.ShapeType.valueOf(question.getShape());
+                return issue(task, "计算" + shape.getChinese() + "的面积（保留1位小数）", params(question), null, null,
+                    new Pending(question.getAnswer(), null, String.format(Locale.ROOT, "%.1f", question.getAnswer()), null));
+            }
+            case CIRCLE: {
+                QuestionEngine.Question question = QuestionEngine.getDefault().next(QuestionEngine.Kind.CIRCLE);
+                QuestionEngine.CircleType type = QuestionEngine.CircleType.valueOf(question.getShape());
+                String prompt = "已知" + (type.isRadius() ? "半径" : "直径") + "，计算圆的"
+                    + (type.isArea() ? "面积" : "周长") + "（保留2位小数）";
+                return issue(task, prompt, params(question), null, null,
+                    new Pending(question.getAnswer(), null, String.format(Locale.ROOT, "%.2f", question.getAnswer()), null));
+            }
+            case SECTOR: {
+                QuestionEngine.Question question = QuestionEngine.getDefault().nextSector();
+                SectorCalculation.Sector sector = new SectorCalculation.Sector(
+                    question.getParam(0), question.getParam(1), question.getUnit());
+                return issue(task, "计算扇形的面积（保留2位小数）", params(question), sector.getUnit(), null,
+                    new Pending(sector.getCorrectArea(), null,
+                        String.format(Locale.ROOT, "%.2f %s²", sector.getCorrectArea(), sector.getUnit()), sector.getSolution()));
+            }
+            case ANGLE: {
+                // 与角度面板的输入范围一致：10°-350°，步长10°
+                int angle = 10 * ThreadLocalRandom.current().nextInt(1, 36);
+                Map<String, Double> params = new LinkedHashMap<>();
+                params.put("角度", (double) angle);
+                String type = ANGLES.getAngleType(angle);
+                return issue(task, "判断角的类型（" + String.join(" / ", ANGLES.getAngleTypes()) + "）", params, "°", null,
+                    new Pending(Double.NaN, type, type, null));
+            }
+            case SHAPE_2D: {
+                Shape2D shape = SHAPES_2D[ThreadLocalRandom.current().nextInt(SHAPES_2D.length)];
+                return issue(task, "说出图中二维形状的英文名称", null, null, ShapeImageCache.resourcePath(shape),
+                    new Pending(Double.NaN, shape.getEnglish(), shape.getEnglish(), null));
+            }
+            case SHAPE_3D: {
+                Shape3D shape = SHAPES_3D[ThreadLocalRandom.current().nextInt(SHAPES_3D.length)];
+                return issue(task, "说出图中三维形状的英文名称", null, null, ShapeImageCache.resourcePath(shape),
+                    new Pending(Double.NaN, shape.getEnglish(), shape.getEnglish(), null));
+            }
+            case COMPOUND: {
+                CompoundShape shape = CompoundShapeGenerator.getDefault().next();
+                return issue(task, shape.getName() + "：" + shape.getDescription(), null, null, null,
+                    new Pending(shape.getCorrectArea(), null, String.format(Locale.ROOT, "%.1f", shape.getCorrectArea()),
+                        shape.getSolution()));
+            }
+            default:
+                throw new IllegalArgumentException("未知的题目类型: " + task);
+        }
+    }
+
+    /**
+     * 检查答案
+     * @param id 题目ID
+     * @param answer 学生的答案（数值题为数字字符串）
+     * @return 判题结果；题目不存在（已完成、已淘汰或ID错误）时返回null
+     * @throws IllegalArgumentException 数值题的答案不是数字（不计入尝试次数）
+     */
+    public CheckResult check(String id, String answer) {
+        Pending question = id == null ? null : pending.get(id);
+        if (question == null) {
+            return null;
+        }
+        if (answer == null) {
+            throw new IllegalArgumentException("缺少答案");
+        }
+
+        boolean correct;
+        if (question.isNumeric()) {
+            double value;
+            try {
+                value = Double.parseDouble(answer.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("答案必须是数字: " + answer);
+            }
+            correct = Math.abs(value - question.numericAnswer) < TOLERANCE;
+        } else {
+            correct = question.textAnswer.equalsIgnoreCase(answer.trim());
+        }
+
+        int attempts = question.attempts.incrementAndGet();
+        if (attempts > MAX_ATTEMPTS) {
+            // 并发提交时次数已被其他请求用尽
+            return null;
+        }
+        int left = correct ? 0 : MAX_ATTEMPTS - attempts;
+        if (correct || left == 0) {
+            pending.remove(id, question);
+        }
+        if (!correct && left == 0) {
+            return new CheckResult(false, 0, question.displayAnswer, question.solution);
+        }
+        return new CheckResult(correct, left, null, null);
+    }
+
+    /**
+     * @return 当前未完成的题目数量
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private IssuedQuestion issue(Task task, String prompt, Map<String, Double> params, String unit, String image,
+                                 Pending answer) {
+        String id;
+        do {
+            id = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+        } while (pending.putIfAbsent(id, answer) != null);
+        issueOrder.add(id);
+        issueOrderLength.incrementAndGet();
+        evictOverflow();
+        return new IssuedQuestion(id, task, prompt, params, unit, image);
+    }
+
+    // 超出容量时按发出顺序淘汰；已完成的题目在队列中留下的ID直接跳过
+    private void evictOverflow() {
+        while (pending.size() > capacity) {
+            String oldest = issueOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            issueOrderLength.decrementAndGet();
+            pending.remove(oldest);
+        }
+        // 队列中已完成题目的ID过多时由一个线程顺带清理，保持队列长度与未完成题目数量同阶
+        if (issueOrderLength.get() > 2 * capacity && purging.compareAndSet(false, true)) {
+            try {
+                AtomicInteger removed = new AtomicInteger();
+                issueOrder.removeIf(id -> {
+                    boolean done = !pending.containsKey(id);
+                    if (done) {
+                        removed.incrementAndGet();
+                    }
+                    return done;
+                });
+                issueOrderLength.addAndGet(-removed.get());
+            } finally {
+                purging.set(false);
+            }
+        }
+    }
+
+    private static Map<String, Double> params(QuestionEngine.Question question) {
+        Map<String, Double> params = new LinkedHashMap<>();
+        for (int i = 0; i < question.getParamCount(); i++) {
+            params.put(question.getParamName(i), question.getParam(i));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,804 @@
+package com.shapeville.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * 答题事件日志
+ * 记录每一次提交答案（学习者、任务、题目项、题目参数、第几次尝试、用时、是否正确），
+ * 以列式二进制块追加到磁盘，供班级报告等统计使用：
+ * 1. 事件先写入内存中的当前块（每列一个基本类型数组），调用方不做任何磁盘IO；
+ * 2. 块写满或其中最早的事件已等待1秒时封块，由后台写线程批量追加到事件文件，每批只做一次fsync；
+ * 3. 学习者ID和任务名称只在字典文件中出现一次，事件中保存其编号；
+ * 4. 统计时以内存映射方式只读地扫描已落盘的块，只读取需要的列，不复制数据、不逐条创建对象；
+ * 5. 每个学习者已结束题目的最终结果另外按学习者保存在内存索引中（启动校验时建立，追加时更新），
+ *    加载学习者档案时直接读取，不需要扫描整个事件文件。
+ *
+ * 事件文件格式：[魔数] 之后是若干块，每块为 [事件数][列数据长度][列数据][CRC32]，
+ * 列数据依次为 时间(long) 学习者(int) 用时(int) 参数0-2(float) 任务(short) 题目项(short) 尝试次数(byte) 标志(byte)，
+ * 每列连续存放该块所有事件的值（小端序）。启动时校验所有块，末尾不完整或校验失败的块会被丢弃。
+ * 所有方法都是线程安全的。
+ */
+public class AnswerEventLog {
+    private static final Log LOG = Log.get(AnswerEventLog.class);
+
+    /** 每个事件最多保存的题目参数个数，不足的参数保存为NaN */
+    public static final int MAX_PARAMS = 3;
+
+    private static final String EVENTS_FILE = "answers.events";
+    private static final String DICTIONARY_FILE = "answers.dict";
+    private static final int EVENTS_MAGIC = 0x53564531;                 // "SVE1"
+    private static final int HEADER_SIZE = 4;
+    private static final int BLOCK_HEADER_SIZE = 8;
+    private static final int BLOCK_EVENTS = 4096;                       // 每块最多事件数
+    private static final int EVENT_BYTES = 8 + 4 + 4 + 4 * MAX_PARAMS + 2 + 2 + 1 + 1;
+    private static final long SEAL_DELAY_MS = 1000;                     // 未满的块最多在内存中停留多久
+    private static final long MAX_MAPPING = 1L << 30;                   // 单个内存映射区域的上限
+
+    // 字典记录类型
+    private static final byte DICT_LEARNER = 1;
+    private static final byte DICT_TASK = 2;
+
+    // 标志位
+    private static final int FLAG_CORRECT = 1;
+    private static final int FLAG_FINAL = 2;
+
+    private static AnswerEventLog instance;
+
+    /**
+     * 一个学习者在一个任务上的统计结果
+     */
+    public static final class Summary {
+        private final String learnerId;
+        private final String task;
+        private final long answers;
+        private final long questions;
+        private final long correct;
+        private final long firstTry;
+        private final long latencyMillis;
+
+        Summary(String learnerId, String task, long answers, long questions, long correct, long firstTry,
+                long latencyMillis) {
+            this.learnerId = learnerId;
+            this.task = task;
+            this.answers = answers;
+            this.questions = questions;
+            this.correct = correct;
+            this.firstTry = firstTry;
+            this.latencyMillis = latencyMillis;
+        }
+
+        public String getLearnerId() { return learnerId; }
+        public String getTask() { return task; }
+        /** @return 提交答案的次数 */
+        public long getAnswers() { return answers; }
+        /** @return 已结束（答对或次数用尽）的题目数 */
+        public long getQuestions() { return questions; }
+        /** @return 最终答对的题目数 */
+        public long getCorrect() { return correct; }
+        /** @return 第一次就答对的题目数 */
+        public long getFirstTry() { return firstTry; }
+        /** @return 所有提交的用时总和（毫秒） */
+        public long getLatencyMillis() { return latencyMillis; }
+
+        public double getAccuracy() {
+            return questions == 0 ? 0 : (double) correct / questions;
+        }
+
+        public double getMeanLatencyMillis() {
+            return answers == 0 ? 0 : (double) latencyMillis / answers;
+        }
+    }
+
+    /**
+     * 逐条接收某个学习者已结束题目的最终结果
+     */
+    @FunctionalInterface
+    public interface OutcomeConsumer {
+        void accept(int item, int attempts, boolean correct);
+    }
+
+    // 写队列中的元素：字典记录、事件块，或等待之前所有数据落盘的屏障
+    private static final class PendingWrite {
+        final ByteBuffer dictionary;
+        final ByteBuffer block;
+        final int events;
+        final CompletableFuture<Void> barrier;
+
+        PendingWrite(ByteBuffer dictionary, ByteBuffer block, int events, CompletableFuture<Void> barrier) {
+            this.dictionary = dictionary;
+            this.block = block;
+            this.events = events;
+            this.barrier = barrier;
+        }
+    }
+
+    private static final PendingWrite STOP = new PendingWrite(null, null, 0, null);
+
+    // 一个学习者已结束题目的最终结果，每个结果压缩为一个int：题目项(16位) 尝试次数(8位) 是否答对(1位)
+    private static final class Outcomes {
+        int[] values = new int[16];
+        int size;
+
+        void add(int item, int attempt, boolean correct) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = (item & 0xFFFF) << 16 | (attempt & 0xFF) << 8 | (correct ? 1 : 0);
+        }
+    }
+
+    // 正在填充的块，每列一个数组，封块后复用
+    private final long[] times = new long[BLOCK_EVENTS];
+    private final int[] learnerColumn = new int[BLOCK_EVENTS];
+    private final int[] latencies = new int[BLOCK_EVENTS];
+    private final float[][] paramColumns = new float[MAX_PARAMS][BLOCK_EVENTS];
+    private final short[] taskColumn = new short[BLOCK_EVENTS];
+    private final short[] items = new short[BLOCK_EVENTS];
+    private final byte[] attemptColumn = new byte[BLOCK_EVENTS];
+    private final byte[] flags = new byte[BLOCK_EVENTS];
+    private int pending;
+    private long firstPendingAt;
+
+    private final Path directory;
+    private final Map<String, Integer> learnerIds = new HashMap<>();
+    private final Map<String, Integer> taskIds = new HashMap<>();
+    private final List<String> learners = new ArrayList<>();
+    private final List<String> tasks = new ArrayList<>();
+    // 按学习者编号索引的最终结果，由实例锁保护
+    private final List<Outcomes> outcomes = new ArrayList<>();
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private FileChannel events;
+    private FileChannel dictionary;
+    private Thread writer;
+    private volatile boolean closed;
+    // 写入失败且无法恢复文件时停止记录
+    private volatile boolean failed;
+    // 已落盘的事件文件长度和事件数，只由写线程修改
+    private volatile long committedSize;
+    private volatile long committedEvents;
+    // 已落盘的字典文件长度，以及已分配编号但尚未落盘的字典记录，只由写线程使用
+    private long dictionarySize;
+    private final List<ByteBuffer> unwrittenEntries = new ArrayList<>();
+
+    // 已映射的区域，每个区域都由完整的块组成
+    private final List<MappedByteBuffer> mappings = new ArrayList<>();
+    private long mappedEnd = HEADER_SIZE;
+
+    private AnswerEventLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 获取全局答题事件日志
+     * 与 DataManager 使用同一个数据目录（系统属性 shapeville.data.dir，默认为用户目录下的 .shapeville）。
+     * 目录无法使用时不记录事件，不影响程序运行。
+     * @return 答题事件日志
+     */
+    public static synchronized AnswerEventLog getInstance() {
+        if (instance == null) {
+            String dir = System.getProperty("shapeville.data.dir");
+            Path path = dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".shapeville");
+            instance = open(path);
+            AnswerEventLog log = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(log::close, "answer-log-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * 打开指定目录下的答题事件日志
+     * @param directory 数据目录
+     * @return 答题事件日志
+     */
+    public static AnswerEventLog open(Path directory) {
+        AnswerEventLog log = new AnswerEventLog(directory);
+        try {
+            log.recover();
+        } catch (IOException e) {
+            LOG.warn("无法打开答题事件日志，答题记录将不会被保存", e);
+            log.closeQuietly();
+        }
+        log.startWriter();
+        return log;
+    }
+
+    /**
+     * 追加一次提交答案的事件
+     * @param timeMillis 提交时间（毫秒时间戳）
+     * @param learnerId 学习者ID
+     * @param task 任务名称
+     * @param item 题目项（如 AdaptiveEngine 的题目项编号），没有时为-1
+     * @param attempt 第几次尝试
+     * @param correct 本次是否答对
+     * @param finalAttempt 本题是否就此结束（答对或次数用尽）
+     * @param latencyMillis 本次作答用时（毫秒）
+     * @param params 题目参数（如长、宽），最多保存前 MAX_PARAMS 个
+     */
+    public synchronized void append(long timeMillis, String learnerId, String task, int item, int attempt,
+                                    boolean correct, boolean finalAttempt, long latencyMillis, double... params) {
+        if (events == null || closed || failed) {
+            return;
+        }
+        int i = pending;
+        times[i] = timeMillis;
+        learnerColumn[i] = intern(DICT_LEARNER, learnerId, learnerIds, learners);
+        taskColumn[i] = (short) intern(DICT_TASK, task, taskIds, tasks);
+        items[i] = (short) item;
+        attemptColumn[i] = (byte) attempt;
+        flags[i] = (byte) ((correct ? FLAG_CORRECT : 0) | (finalAttempt ? FLAG_FINAL : 0));
+        latencies[i] = (int) Math.min(Math.max(latencyMillis, 0), Integer.MAX_VALUE);
+        for (int p = 0; p < MAX_PARAMS; p++) {
+            paramColumns[p][i] = params != null && p < params.length ? (float) params[p] : Float.NaN;
+        }
+        if (finalAttempt) {
+            outcomesOf(learnerColumn[i]).add(item, attempt, correct);
+        }
+        if (i == 0) {
+            firstPendingAt = System.nanoTime();
+        }
+        pending = i + 1;
+        if (pending == BLOCK_EVENTS) {
+            seal();
+        }
+    }
+
+    /**
+     * 等待此前追加的所有事件写入磁盘
+     */
+    public void flush() {
+        if (closed || events == null) {
+            return;
+        }
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        synchronized (this) {
+            seal();
+            queue.add(new PendingWrite(null, null, 0, barrier));
+        }
+        barrier.join();
+    }
+
+    /**
+     * 写入剩余事件并关闭文件
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        synchronized (this) {
+            if (events != null) {
+                seal();
+            }
+            closed = true;
+        }
+        if (writer != null) {
+            queue.add(STOP);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (mappings) {
+            mappings.clear();
+        }
+        closeQuietly();
+    }
+
+    /**
+     * @return 已写入磁盘的事件数量
+     */
+    public long getEventCount() {
+        return committedEvents;
+    }
+
+    /**
+     * 统计全部事件，按学习者和任务分组
+     * @return 每个（学习者，任务）组合的统计结果，按首次出现的顺序排列
+     */
+    public List<Summary> summarize() {
+        return summarize(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 统计提交时间在 [fromMillis, toMillis) 内的事件，按学习者和任务分组
+     * @param fromMillis 起始时间（包含）
+     * @param toMillis 结束时间（不包含）
+     * @return 每个（学习者，任务）组合的统计结果，按首次出现的顺序排列
+     */
+    public List<Summary> summarize(long fromMillis, long toMillis) {
+        flush();
+        List<ByteBuffer> regions = map();
+        // 块中的编号都在封块之前分配，映射之后再取字典，已映射的块引用的编号一定都在其中
+        String[] learnerNames;
+        String[] taskNames;
+        synchronized (this) {
+            learnerNames = learners.toArray(new String[0]);
+            taskNames = tasks.toArray(new String[0]);
+        }
+        int taskCount = taskNames.length;
+        int groups = learnerNames.length * taskCount;
+        long[] answers = new long[groups];
+        long[] questions = new long[groups];
+        long[] correct = new long[groups];
+        long[] firstTry = new long[groups];
+        long[] latency = new long[groups];
+        boolean allTime = fromMillis == Long.MIN_VALUE && toMillis == Long.MAX_VALUE;
+
+        for (ByteBuffer region : regions) {
+            int position = 0;
+            int limit = region.limit();
+            while (position < limit) {
+                int count = region.getInt(position);
+                int length = region.getInt(position + 4);
+                int body = position + BLOCK_HEADER_SIZE;
+                int timeColumn = body;
+                int learnerColumnAt = timeColumn + 8 * count;
+                int latencyColumn = learnerColumnAt + 4 * count;
+                int taskColumnAt = latencyColumn + 4 * count + 4 * MAX_PARAMS * count;
+                int attemptColumnAt = taskColumnAt + 4 * count;
+                int flagColumn = attemptColumnAt + count;
+                for (int i = 0; i < count; i++) {
+                    if (!allTime) {
+                        long time = region.getLong(timeColumn + 8 * i);
+                        if (time < fromMillis || time >= toMillis) {
+                            continue;
+                        }
+                    }
+                    int group = region.getInt(learnerColumnAt + 4 * i) * taskCount
+                        + region.getShort(taskColumnAt + 2 * i);
+                    int flag = region.get(flagColumn + i);
+                    answers[group]++;
+                    latency[group] += region.getInt(latencyColumn + 4 * i);
+                    if ((flag & FLAG_FINAL) != 0) {
+                        questions[group]++;
+                        if ((flag & FLAG_CORRECT) != 0) {
+                            correct[group]++;
+                            if (region.get(attemptColumnAt + i) == 1) {
+                                firstTry[group]++;
+                            }
+                        }
+                    }
+                }
+                position = body + length + 4;
+            }
+        }
+
+        List<Summary> result = new ArrayList<>();
+        for (int group = 0; group < groups; group++) {
+            if (answers[group] > 0) {
+                result.add(new Summary(learnerNames[group / taskCount], taskNames[group % taskCount],
+                    answers[group], questions[group], correct[group], firstTry[group], latency[group]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按时间顺序重放某个学习者所有已结束题目的最终结果（如用于恢复自适应出题引擎的状态）
+     * 从按学习者的内存索引中读取，耗时只与该学习者的题目数有关；包括尚未写入磁盘的事件。
+     * @param learnerId 学习者ID
+     * @param consumer 接收（题目项，尝试次数，是否答对）的回调
+     */
+    public void replay(String learnerId, OutcomeConsumer consumer) {
+        int[] values;
+        int size;
+        synchronized (this) {
+            Integer id = learnerIds.get(learnerId);
+            if (id == null || id >= outcomes.size()) {
+                return;
+            }
+            // 索引只追加，扩容时换成新数组，锁外读取已有的前 size 个结果是安全的
+            values = outcomes.get(id).values;
+            size = outcomes.get(id).size;
+        }
+        for (int i = 0; i < size; i++) {
+            int value = values[i];
+            consumer.accept((short) (value >>> 16), (byte) (value >>> 8), (value & 1) != 0);
+        }
+    }
+
+    // 调用方需持有实例锁（恢复时除外）
+    private Outcomes outcomesOf(int learner) {
+        while (outcomes.size() <= learner) {
+            outcomes.add(new Outcomes());
+        }
+        return outcomes.get(learner);
+    }
+
+    // 查找或分配字典编号，新条目排队写入字典文件
+    private int intern(byte kind, String value, Map<String, Integer> ids, List<String> names) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        int next = names.size();
+        ids.put(value, next);
+        names.add(value);
+        queue.add(new PendingWrite(encodeEntry(kind, value), null, 0, null));
+        return next;
+    }
+
+    // 把当前块编码后交给写线程，调用方需持有实例锁
+    private void seal() {
+        if (pending == 0) {
+            return;
+        }
+        int count = pending;
+        int length = EVENT_BYTES * count;
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_SIZE + length + 4).order(ByteOrder.LITTLE_ENDIAN);
+        block.putInt(count).putInt(length);
+        for (int i = 0; i < count; i++) block.putLong(times[i]);
+        for (int i = 0; i < count; i++) block.putInt(learnerColumn[i]);
+        for (int i = 0; i < count; i++) block.putInt(latencies[i]);
+        for (float[] column : paramColumns) {
+            for (int i = 0; i < count; i++) block.putFloat(column[i]);
+        }
+        for (int i = 0; i < count; i++) block.putShort(taskColumn[i]);
+        for (int i = 0; i < count; i++) block.putShort(items[i]);
+        block.put(attemptColumn, 0, count);
+        block.put(flags, 0, count);
+        CRC32 crc = new CRC32();
+        crc.update(block.array(), BLOCK_HEADER_SIZE, length);
+        block.putInt((int) crc.getValue());
+        block.flip();
+        queue.add(new PendingWrite(null, block, count, null));
+        pending = 0;
+    }
+
+    // 映射新落盘的块，返回覆盖全部已落盘事件的只读区域
+    private List<ByteBuffer> map() {
+        synchronized (mappings) {
+            long end = committedSize;
+            try {
+                while (mappedEnd < end && events != null) {
+                    long start = mappedEnd;
+                    if (!mappings.isEmpty()) {
+                        MappedByteBuffer last = mappings.get(mappings.size() - 1);
+                        long lastStart = mappedEnd - last.capacity();
+                        if (end - lastStart <= MAX_MAPPING) {
+                            // 最后一个区域还有余量时重新映射并扩大，避免产生大量小区域
+                            mappings.remove(mappings.size() - 1);
+                            start = lastStart;
+                        }
+                    }
+                    // 已落盘的长度总在块边界上，只有超过单个区域的上限时才需要查找块边界
+                    long regionEnd = end - start <= MAX_MAPPING ? end : blockBoundary(start, start + MAX_MAPPING);
+                    mappings.add(events.map(FileChannel.MapMode.READ_ONLY, start, regionEnd - start));
+                    mappedEnd = regionEnd;
+                }
+            } catch (IOException e) {
+                LOG.error("映射答题事件文件失败", e);
+            }
+            List<ByteBuffer> regions = new ArrayList<>(mappings.size());
+            for (MappedByteBuffer mapping : mappings) {
+                regions.add(mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+            }
+            return regions;
+        }
+    }
+
+    // 从块边界 start 开始，不超过 limit 的最后一个块边界
+    private long blockBoundary(long start, long limit) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long position = start;
+        while (position < limit) {
+            header.clear();
+            events.read(header, position);
+            long next = position + BLOCK_HEADER_SIZE + header.getInt(4) + 4;
+            if (next > limit) {
+                break;
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        dictionary = FileChannel.open(directory.resolve(DICTIONARY_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long dictionaryValid = readDictionary();
+        if (dictionaryValid < dictionary.size()) {
+            dictionary.truncate(dictionaryValid);
+        }
+        dictionary.position(dictionaryValid);
+        dictionarySize = dictionaryValid;
+
+        events = FileChannel.open(directory.resolve(EVENTS_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = events.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (size < HEADER_SIZE || events.read(header, 0) < HEADER_SIZE || header.getInt(0) != EVENTS_MAGIC) {
+            if (size > 0) {
+                LOG.warn("答题事件文件格式无法识别，将重新创建");
+            }
+            events.truncate(0);
+            header.clear();
+            header.putInt(0, EVENTS_MAGIC);
+            events.write(header, 0);
+            events.force(true);
+            size = HEADER_SIZE;
+        }
+        long valid = validateBlocks(size);
+        if (valid < size) {
+            // 丢弃崩溃时写了一半的块
+            events.truncate(valid);
+            events.force(true);
+        }
+        events.position(valid);
+        committedSize = valid;
+    }
+
+    // 逐块校验事件文件，返回最后一个完整块之后的位置
+    private long validateBlocks(long size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer body = ByteBuffer.allocate(0);
+        CRC32 crc = new CRC32();
+        long position = HEADER_SIZE;
+        long total = 0;
+        while (position + BLOCK_HEADER_SIZE <= size) {
+            header.clear();
+            events.read(header, position);
+            int count = header.getInt(0);
+            int length = header.getInt(4);
+            if (count <= 0 || count > BLOCK_EVENTS || length != EVENT_BYTES * count
+                    || position + BLOCK_HEADER_SIZE + length + 4 > size) {
+                break;
+            }
+            if (body.capacity() < length + 4) {
+                body = ByteBuffer.allocate(EVENT_BYTES * BLOCK_EVENTS + 4).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            body.clear().limit(length + 4);
+            while (body.hasRemaining() && events.read(body, position + BLOCK_HEADER_SIZE + body.position()) > 0) {
+                // 读取整个块
+            }
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != body.getInt(length) || !validIds(body, count)) {
+                break;
+            }
+            indexOutcomes(body, count);
+            position += BLOCK_HEADER_SIZE + length + 4;
+            total += count;
+        }
+        committedEvents = total;
+        return position;
+    }
+
+    // 把一个已校验的块中已结束题目的结果加入按学习者的索引
+    private void indexOutcomes(ByteBuffer body, int count) {
+        int learnerColumnAt = 8 * count;
+        int itemColumn = learnerColumnAt + 4 * count + 4 * count + 4 * MAX_PARAMS * count + 2 * count;
+        int attemptColumnAt = itemColumn + 2 * count;
+        int flagColumn = attemptColumnAt + count;
+        for (int i = 0; i < count; i++) {
+            int flag = body.get(flagColumn + i);
+            if ((flag & FLAG_FINAL) != 0) {
+                outcomesOf(body.getInt(learnerColumnAt + 4 * i)).add(body.getShort(itemColumn + 2 * i),
+                    body.get(attemptColumnAt + i), (flag & FLAG_CORRECT) != 0);
+            }
+        }
+    }
+
+    // 块中引用的字典编号都必须已写入字典文件
+    private boolean validIds(ByteBuffer body, int count) {
+        int learnerColumnAt = 8 * count;
+        int taskColumnAt = learnerColumnAt + 8 * count + 4 * MAX_PARAMS * count;
+        for (int i = 0; i < count; i++) {
+            int learner = body.getInt(learnerColumnAt + 4 * i);
+            int task = body.getShort(taskColumnAt + 2 * i);
+            if (learner < 0 || learner >= learners.size() || task < 0 || task >= tasks.size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 字典记录格式：[长度][类型][名称][CRC32]，返回最后一条完整记录之后的位置
+    private long readDictionary() throws IOException {
+        long size = dictionary.size();
+        ByteBuffer data = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        while (data.hasRemaining() && dictionary.read(data, data.position()) > 0) {
+            // 读取整个字典文件
+        }
+        data.flip();
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 4) {
+            int start = data.position();
+            int length = data.getInt();
+            if (length <= 0 || data.remaining() < length + 4) {
+                return start;
+            }
+            byte[] body = new byte[length];
+            data.get(body);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != data.getInt()) {
+                return start;
+            }
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+                byte kind = in.readByte();
+                String value = in.readUTF();
+                if (kind == DICT_LEARNER) {
+                    learnerIds.put(value, learners.size());
+                    learners.add(value);
+                } else if (kind == DICT_TASK) {
+                    taskIds.put(value, tasks.size());
+                    tasks.add(value);
+                } else {
+                    return start;
+                }
+            } catch (IOException e) {
+                return start;
+            }
+        }
+        return data.position();
+    }
+
+    private static ByteBuffer encodeEntry(byte kind, String value) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(32);
+            DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(kind);
+            out.writeUTF(value);
+            byte[] body = payload.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            ByteBuffer frame = ByteBuffer.allocate(body.length + 8);
+            frame.putInt(body.length).put(body).putInt((int) crc.getValue());
+            frame.flip();
+            return frame;
+        } catch (IOException e) {
+            // 写入内存流不会发生IO异常
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void startWriter() {
+        if (events == null) {
+            return;
+        }
+        writer = new Thread(this::writeLoop, "answer-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 写线程：批量写入字典和事件块，每批fsync一次；未满的块等待过久时封块写入
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                sealIfDue();
+                PendingWrite first = queue.poll(SEAL_DELAY_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch);
+            stopping = batch.contains(STOP);
+            if (!failed) {
+                writeBatch(batch);
+            }
+            for (PendingWrite write : batch) {
+                if (write.barrier != null) {
+                    write.barrier.complete(null);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private synchronized void sealIfDue() {
+        if (pending > 0 && System.nanoTime() - firstPendingAt >= TimeUnit.MILLISECONDS.toNanos(SEAL_DELAY_MS)) {
+            seal();
+        }
+    }
+
+    // 先写字典并落盘，再写事件块，保证事件引用的字典条目总是先于事件持久化。
+    // 写入失败时把文件截回上次落盘的长度，之后的批次仍从正确的位置追加；
+    // 字典记录保留到下一批重试（编号已经分配），本批的事件块丢弃
+    private void writeBatch(List<PendingWrite> batch) {
+        long count = 0;
+        for (PendingWrite write : batch) {
+            if (write.dictionary != null) {
+                unwrittenEntries.add(write.dictionary);
+            }
+            count += write.events;
+        }
+        try {
+            writeDictionary();
+        } catch (IOException e) {
+            LOG.error("写入答题事件字典失败，丢弃 " + count + " 个事件", e);
+            rollback(dictionary, dictionarySize);
+            return;
+        }
+        if (count == 0) {
+            return;
+        }
+        long size = committedSize;
+        try {
+            for (PendingWrite write : batch) {
+                if (write.block != null) {
+                    while (write.block.hasRemaining()) {
+                        size += events.write(write.block);
+                    }
+                }
+            }
+            events.force(false);
+        } catch (IOException e) {
+            LOG.error("写入答题事件失败，丢弃 " + count + " 个事件", e);
+            rollback(events, committedSize);
+            return;
+        }
+        committedEvents += count;
+        committedSize = size;
+    }
+
+    private void writeDictionary() throws IOException {
+        if (unwrittenEntries.isEmpty()) {
+            return;
+        }
+        long size = dictionarySize;
+        for (ByteBuffer entry : unwrittenEntries) {
+            entry.rewind();
+            while (entry.hasRemaining()) {
+                size += dictionary.write(entry);
+            }
+        }
+        dictionary.force(false);
+        dictionarySize = size;
+        unwrittenEntries.clear();
+    }
+
+    // 截掉写了一半的数据；无法恢复时停止记录，避免之后的数据追加在损坏的内容之后
+    private void rollback(FileChannel channel, long size) {
+        try {
+            channel.truncate(size);
+            channel.position(size);
+        } catch (IOException e) {
+            LOG.error("无法恢复答题事件文件，停止记录答题事件", e);
+            failed = true;
+        }
+    }
+
+    private void closeQuietly() {
+        for (FileChannel channel : Arrays.asList(events, dictionary)) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOG.warn("关闭答题事件文件失败", e);
+                }
+            }
+        }
+        events = null;
+        dictionary = null;
+    }
+}
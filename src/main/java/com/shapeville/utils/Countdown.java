@@ -0,0 +1,83 @@
+package com.shapeville.utils;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 秒级倒计时
+ * 基于 TickScheduler 的周期任务，每秒回调一次剩余秒数，归零时回调 onExpire。
+ * 暂停时取消调度器中的任务，恢复时重新注册，不占用任何定时资源。
+ * 回调在调度器的分发线程中执行；使用默认调度器时所有方法都应在Swing事件线程中调用。
+ */
+public final class Countdown {
+    private static final long SECOND_MILLIS = 1000;
+
+    private final TickScheduler scheduler;
+    private final int seconds;
+    private final IntConsumer onTick;
+    private final Runnable onExpire;
+    private TickScheduler.Handle handle;
+    private int remaining;
+
+    /**
+     * @param scheduler 调度器
+     * @param seconds 倒计时总秒数
+     * @param onTick 剩余秒数变化时的回调（开始时也会回调一次）
+     * @param onExpire 倒计时归零时的回调
+     */
+    public Countdown(TickScheduler scheduler, int seconds, IntConsumer onTick, Runnable onExpire) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("倒计时秒数必须大于0: " + seconds);
+        }
+        this.scheduler = scheduler;
+        this.seconds = seconds;
+        this.onTick = onTick;
+        this.onExpire = onExpire;
+        this.remaining = seconds;
+    }
+
+    /**
+     * 从总秒数重新开始倒计时
+     */
+    public void start() {
+        pause();
+        remaining = seconds;
+        onTick.accept(remaining);
+        resume();
+    }
+
+    /**
+     * 暂停倒计时，保留剩余秒数
+     */
+    public void pause() {
+        if (handle != null) {
+            handle.cancel();
+            handle = null;
+        }
+    }
+
+    /**
+     * 从暂停处继续倒计时（已归零或正在运行时不做任何事）
+     */
+    public void resume() {
+        if (handle == null && remaining > 0) {
+            handle = scheduler.scheduleAtFixedRate(SECOND_MILLIS, SECOND_MILLIS, this::tick);
+        }
+    }
+
+    public boolean isRunning() {
+        return handle != null;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    private void tick() {
+        remaining--;
+        onTick.accept(remaining);
+        if (remaining <= 0) {
+            pause();
+            onExpire.run();
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.shapeville.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * 学习进度数据管理器
+ * 以“追加日志 + 定期压缩快照”的方式持久化所有学习者的进度：
+ * 1. 每次修改先更新内存状态，再把一条二进制日志记录放入队列，调用方（通常是EDT）不做任何磁盘IO；
+ * 2. 后台写线程批量写入日志文件，每批只做一次fsync（组提交）；
+ * 3. 日志超过阈值时，写线程把完整状态写成JSON快照（临时文件 + 原子替换），然后清空日志；
+ * 4. 启动时先读取快照，再重放日志，日志末尾不完整或校验失败的记录会被丢弃。
+ * 所有日志记录都是“设置为某值”的幂等操作，因此快照与日志之间的重叠重放不会影响结果。
+ */
+public class DataManager {
+    private static final Log LOG = Log.get(DataManager.class);
+    public static final String DEFAULT_LEARNER = "default";
+
+    private static final String SNAPSHOT_FILE = "progress.json";
+    private static final String JOURNAL_FILE = "progress.journal";
+    private static final int JOURNAL_MAGIC = 0x53564A31;                // "SVJ1"
+    private static final int HEADER_SIZE = 4;
+    private static final long COMPACT_THRESHOLD = 1024 * 1024;          // 日志超过1MB时压缩
+    private static final long BATCH_WINDOW_MS = 20;                     // 组提交的等待窗口
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+    // 日志记录类型
+    private static final byte RECORD_STATUS = 1;
+    private static final byte RECORD_SCORE = 2;
+    private static final byte RECORD_UNLOCK = 3;
+    private static final byte RECORD_LEVEL = 4;
+
+    private static DataManager instance;
+
+    private final Path directory;
+    private final Gson gson = new GsonBuilder().create();
+    private final Map<String, LearnerProgress> learners = new HashMap<>();
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private FileChannel journal;
+    private long journalSize;
+    private Thread writer;
+    private volatile boolean closed;
+    // 写入失败且无法恢复日志文件时停止记录
+    private volatile boolean failed;
+    // 写入失败、等待下一批重试的记录，只由写线程使用
+    private final List<byte[]> unwritten = new ArrayList<>();
+
+    // 写队列中的元素：日志记录，或等待之前所有记录落盘的屏障
+    private static final class PendingWrite {
+        final byte[] record;
+        final CompletableFuture<Void> barrier;
+
+        PendingWrite(byte[] record, CompletableFuture<Void> barrier) {
+            this.record = record;
+            this.barrier = barrier;
+        }
+    }
+
+    // 通知写线程退出的标记（不使用中断，避免中断导致FileChannel被关闭）
+    private static final PendingWrite STOP = new PendingWrite(null, null);
+
+    private static final class Snapshot {
+        int version = 1;
+        Map<String, LearnerProgress> learners;
+    }
+
+    private DataManager(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 获取全局数据管理器
+     * 数据目录可通过系统属性 shapeville.data.dir 指定，默认为用户目录下的 .shapeville。
+     * 目录无法使用时退化为仅内存模式，不影响程序运行。
+     * @return 数据管理器
+     */
+    public static synchronized DataManager getInstance() {
+        if (instance == null) {
+            String dir = System.getProperty("shapeville.data.dir");
+            Path path = dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".shapeville");
+            instance = open(path);
+            DataManager manager = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(manager::close, "progress-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * 打开指定目录下的进度数据
+     * @param directory 数据目录
+     * @return 数据管理器
+     */
+    public static DataManager open(Path directory) {
+        return open(directory, UnaryOperator.identity());
+    }
+
+    // 测试用：包装日志文件的通道以模拟写入失败
+    static DataManager open(Path directory, UnaryOperator<FileChannel> journalChannel) {
+        DataManager manager = new DataManager(directory);
+        try {
+            manager.recover(journalChannel);
+        } catch (IOException e) {
+            LOG.warn("无法打开进度数据，进度将不会被保存", e);
+            manager.journal = null;
+        }
+        manager.startWriter();
+        return manager;
+    }
+
+    /**
+     * 获取学习者进度的副本
+     * @param learnerId 学习者ID
+     * @return 进度副本，不存在时返回null
+     */
+    public synchronized LearnerProgress getProgress(String learnerId) {
+        LearnerProgress progress = learners.get(learnerId);
+        return progress == null ? null : progress.copy();
+    }
+
+    public synchronized int getLearnerCount() {
+        return learners.size();
+    }
+
+    public void recordTaskStatus(String learnerId, String task, String status) {
+        record(RECORD_STATUS, learnerId, task, status, 0);
+    }
+
+    public void recordTaskScore(String learnerId, String task, int score) {
+        record(RECORD_SCORE, learnerId, task, null, score);
+    }
+
+    public void recordUnlock(String learnerId, String task) {
+        record(RECORD_UNLOCK, learnerId, task, null, 0);
+    }
+
+    public void recordUserLevel(String learnerId, int level) {
+        record(RECORD_LEVEL, learnerId, "", null, level);
+    }
+
+    /**
+     * 等待此前的所有修改写入磁盘
+     * 写入失败的记录保留在内存中，由之后的批次重试，关闭时也会写入快照。
+     * @return 此前的修改是否都已写入磁盘
+     */
+    public boolean flush() {
+        if (closed || journal == null || failed) {
+            return false;
+        }
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        queue.add(new PendingWrite(null, barrier));
+        try {
+            barrier.join();
+            return true;
+        } catch (CompletionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 写入剩余记录、压缩日志并关闭文件
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writer != null) {
+            queue.add(STOP);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (journal != null) {
+            try {
+                if (failed) {
+                    // 日志末尾可能有损坏的数据，新快照与旧日志一起重放会覆盖较新的进度，因此不再压缩
+                    LOG.warn("进度日志不可用，最近的修改未能保存");
+                } else {
+                    compact();
+                }
+                journal.close();
+            } catch (IOException e) {
+                LOG.error("保存进度数据失败", e);
+            }
+        }
+    }
+
+    // 更新内存状态并排队写入；加锁保证日志顺序与内存修改顺序一致
+    private synchronized void record(byte type, String learnerId, String task, String status, int value) {
+        apply(type, learnerId, task, status, value);
+        if (journal != null && !closed && !failed) {
+            queue.add(new PendingWrite(encode(type, learnerId, task, status, value), null));
+        }
+    }
+
+    private void apply(byte type, String learnerId, String task, String status, int value) {
+        LearnerProgress progress = learners.computeIfAbsent(learnerId, id -> new LearnerProgress());
+        switch (type) {
+            case RECORD_STATUS:
+                progress.getTaskStatus().put(task, status);
+                break;
+            case RECORD_SCORE:
+                progress.getTaskScores().put(task, value);
+                break;
+            case RECORD_UNLOCK:
+                progress.getUnlockedTasks().add(task);
+                break;
+            case RECORD_LEVEL:
+                progress.setUserLevel(value);
+                break;
+            default:
+                throw new IllegalArgumentException("未知的记录类型: " + type);
+        }
+    }
+
+    // 记录格式：[长度][类型][学习者ID][任务][状态或数值][CRC32]
+    private static byte[] encode(byte type, String learnerId, String task, String status, int value) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(type);
+            out.writeUTF(learnerId);
+            out.writeUTF(task);
+            if (type == RECORD_STATUS) {
+                out.writeUTF(status);
+            } else {
+                out.writeInt(value);
+            }
+            byte[] body = payload.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(body);
+
+            ByteArrayOutputStream frame = new ByteArrayOutputStream(body.length + 8);
+            DataOutputStream frameOut = new DataOutputStream(frame);
+            frameOut.writeInt(body.length);
+            frameOut.write(body);
+            frameOut.writeInt((int) crc.getValue());
+            return frame.toByteArray();
+        } catch (IOException e) {
+            // 写入内存流不会发生IO异常
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void recover(UnaryOperator<FileChannel> journalChannel) throws IOException {
+        Files.createDirectories(directory);
+        Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotPath)) {
+            try (Reader reader = Files.newBufferedReader(snapshotPath, StandardCharsets.UTF_8)) {
+                Snapshot snapshot = gson.fromJson(reader, Snapshot.class);
+                if (snapshot != null && snapshot.learners != null) {
+                    snapshot.learners.forEach((id, progress) -> {
+                        if (progress != null) {
+                            progress.normalize();
+                            learners.put(id, progress);
+                        }
+                    });
+                }
+            } catch (JsonParseException e) {
+                LOG.warn("进度快照已损坏，将忽略", e);
+            }
+        }
+
+        journal = journalChannel.apply(FileChannel.open(directory.resolve(JOURNAL_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        long size = journal.size();
+        if (size < HEADER_SIZE) {
+            resetJournal();
+            return;
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        while (data.hasRemaining() && journal.read(data, data.position()) > 0) {
+            // 读取整个日志文件
+        }
+        data.flip();
+        if (data.getInt() != JOURNAL_MAGIC) {
+            LOG.warn("进度日志格式无法识别，将重新创建");
+            resetJournal();
+            return;
+        }
+        long valid = replay(data);
+        if (valid < size) {
+            // 丢弃崩溃时写了一半的记录
+            journal.truncate(valid);
+            journal.force(true);
+        }
+        journalSize = valid;
+        journal.position(valid);
+        if (journalSize > COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+
+    // 重放日志，返回最后一条完整记录之后的位置
+    private long replay(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 4) {
+            int start = data.position();
+            int length = data.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || data.remaining() < length + 4) {
+                return start;
+            }
+            byte[] body = new byte[length];
+            data.get(body);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != data.getInt()) {
+                return start;
+            }
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+                byte type = in.readByte();
+                String learnerId = in.readUTF();
+                String task = in.readUTF();
+                if (type == RECORD_STATUS) {
+                    apply(type, learnerId, task, in.readUTF(), 0);
+                } else {
+                    apply(type, learnerId, task, null, in.readInt());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                return start;
+            }
+        }
+        return data.position();
+    }
+
+    private void resetJournal() throws IOException {
+        journal.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(JOURNAL_MAGIC);
+        header.flip();
+        journal.write(header, 0);
+        journal.force(true);
+        journal.position(HEADER_SIZE);
+        journalSize = HEADER_SIZE;
+    }
+
+    /**
+     * 写出完整快照并清空日志
+     * 先写临时文件再原子替换，任何时刻崩溃都至少保留旧快照 + 完整日志。
+     */
+    private void compact() throws IOException {
+        String json;
+        synchronized (this) {
+            Snapshot snapshot = new Snapshot();
+            snapshot.learners = learners;
+            json = gson.toJson(snapshot);
+        }
+        Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8)) {
+            out.write(json);
+            out.flush();
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        resetJournal();
+    }
+
+    private void startWriter() {
+        if (journal == null) {
+            return;
+        }
+        writer = new Thread(this::writeLoop, "progress-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 写线程：批量写入日志，每批fsync一次，必要时压缩
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                PendingWrite first = queue.take();
+                batch.add(first);
+                if (first.record != null && !closed) {
+                    // 稍等片刻，让连续的修改合并到同一次fsync中
+                    Thread.sleep(BATCH_WINDOW_MS);
+                }
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch);
+            stopping = batch.contains(STOP);
+            boolean written = !failed && writeBatch(batch);
+            if (written && journalSize > COMPACT_THRESHOLD) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    LOG.error("压缩进度日志失败", e);
+                }
+            }
+            for (PendingWrite write : batch) {
+                if (write.barrier == null) {
+                    continue;
+                }
+                if (written) {
+                    write.barrier.complete(null);
+                } else {
+                    write.barrier.completeExceptionally(new IOException("写入进度日志失败"));
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    // 写入失败时把文件截回上次落盘的长度，之后的批次仍从正确的位置追加；
+    // 本批记录保留到下一批重试，记录都是“设置为某值”的操作，按原顺序重写不影响结果
+    private boolean writeBatch(List<PendingWrite> batch) {
+        for (PendingWrite write : batch) {
+            if (write.record != null) {
+                unwritten.add(write.record);
+            }
+        }
+        if (unwritten.isEmpty()) {
+            return true;
+        }
+        int total = 0;
+        for (byte[] record : unwritten) {
+            total += record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (byte[] record : unwritten) {
+            buffer.put(record);
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            journal.force(false);
+        } catch (IOException e) {
+            LOG.error("写入进度日志失败，" + unwritten.size() + " 条记录将在下一批重试", e);
+            rollback();
+            return false;
+        }
+        journalSize += total;
+        unwritten.clear();
+        return true;
+    }
+
+    // 截掉写了一半的数据；无法恢复时停止记录，避免之后的记录追加在损坏的内容之后
+    private void rollback() {
+        try {
+            journal.truncate(journalSize);
+            journal.position(journalSize);
+        } catch (IOException e) {
+            LOG.error("无法恢复进度日志，停止记录进度", e);
+            failed = true;
+        }
+    }
+}
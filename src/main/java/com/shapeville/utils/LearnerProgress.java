@@ -0,0 +1,59 @@
+package com.shapeville.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单个学习者的持久化进度数据
+ * 保存任务状态、任务最高分、已解锁任务和用户等级。
+ * 任务状态以枚举名称保存，使持久化层不依赖界面层的类型。
+ */
+public class LearnerProgress {
+    private Map<String, String> taskStatus = new HashMap<>();
+    private Map<String, Integer> taskScores = new HashMap<>();
+    private Set<String> unlockedTasks = new HashSet<>();
+    private int userLevel = 1;
+
+    public Map<String, String> getTaskStatus() {
+        return taskStatus;
+    }
+
+    public Map<String, Integer> getTaskScores() {
+        return taskScores;
+    }
+
+    public Set<String> getUnlockedTasks() {
+        return unlockedTasks;
+    }
+
+    public int getUserLevel() {
+        return userLevel;
+    }
+
+    void setUserLevel(int userLevel) {
+        this.userLevel = userLevel;
+    }
+
+    /**
+     * 创建深拷贝
+     * @return 与当前对象互不影响的副本
+     */
+    public LearnerProgress copy() {
+        LearnerProgress copy = new LearnerProgress();
+        copy.taskStatus.putAll(taskStatus);
+        copy.taskScores.putAll(taskScores);
+        copy.unlockedTasks.addAll(unlockedTasks);
+        copy.userLevel = userLevel;
+        return copy;
+    }
+
+    // Gson反序列化时缺失的字段会是null，这里补齐默认值
+    void normalize() {
+        if (taskStatus == null) taskStatus = new HashMap<>();
+        if (taskScores == null) taskScores = new HashMap<>();
+        if (unlockedTasks == null) unlockedTasks = new HashSet<>();
+        if (userLevel < 1) userLevel = 1;
+    }
+}
@@ -0,0 +1,259 @@
+package com.shapeville.utils;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 日志门面
+ * 日志级别在类加载时从系统属性 shapeville.log 读取（TRACE/DEBUG/INFO/WARN/ERROR/OFF，默认INFO），
+ * 并保存在 static final 常量中，JIT会把被关闭的日志语句当作死代码消除，
+ * 因此绘制等热点路径上的调试日志在关闭时没有开销。
+ * 需要拼接字符串的日志请使用 Supplier 形式，只有在级别开启时才会构造消息。
+ * 日志由调用线程写入固定大小的环形缓冲区，再由后台线程输出，调用方（通常是EDT）不会阻塞在IO上；
+ * 缓冲区满时丢弃新日志并计数。设置 -Dshapeville.log.async=false 可改为同步输出。
+ */
+public final class Log {
+    public enum Level {
+        TRACE, DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static final Level THRESHOLD = parseLevel(System.getProperty("shapeville.log"));
+
+    // 编译期常量形式的级别开关，热点路径可直接用 if (Log.DEBUG) {...} 包裹
+    public static final boolean TRACE = THRESHOLD.compareTo(Level.TRACE) <= 0;
+    public static final boolean DEBUG = THRESHOLD.compareTo(Level.DEBUG) <= 0;
+    public static final boolean INFO = THRESHOLD.compareTo(Level.INFO) <= 0;
+    public static final boolean WARN = THRESHOLD.compareTo(Level.WARN) <= 0;
+    public static final boolean ERROR = THRESHOLD.compareTo(Level.ERROR) <= 0;
+
+    private static final boolean ASYNC = !"false".equalsIgnoreCase(System.getProperty("shapeville.log.async"));
+    private static final int RING_SIZE = 4096;   // 必须是2的幂
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final String name;
+
+    private Log(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 获取类对应的日志对象
+     * @param type 使用日志的类
+     * @return 日志对象
+     */
+    public static Log get(Class<?> type) {
+        return new Log(type.getSimpleName());
+    }
+
+    public static Level getLevel() {
+        return THRESHOLD;
+    }
+
+    public void trace(Supplier<String> message) {
+        if (TRACE) {
+            append(Level.TRACE, message.get(), null);
+        }
+    }
+
+    public void debug(String message) {
+        if (DEBUG) {
+            append(Level.DEBUG, message, null);
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        if (DEBUG) {
+            append(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    public void info(String message) {
+        if (INFO) {
+            append(Level.INFO, message, null);
+        }
+    }
+
+    public void info(Supplier<String> message) {
+        if (INFO) {
+            append(Level.INFO, message.get(), null);
+        }
+    }
+
+    public void warn(String message) {
+        if (WARN) {
+            append(Level.WARN, message, null);
+        }
+    }
+
+    public void warn(String message, Throwable error) {
+        if (WARN) {
+            append(Level.WARN, message, error);
+        }
+    }
+
+    public void error(String message, Throwable error) {
+        if (ERROR) {
+            append(Level.ERROR, message, error);
+        }
+    }
+
+    /**
+     * 等待缓冲区中的日志全部输出
+     */
+    public static void flush() {
+        if (ASYNC) {
+            Appender.INSTANCE.flush();
+        }
+    }
+
+    /**
+     * 获取因缓冲区已满而丢弃的日志条数
+     */
+    public static long getDroppedCount() {
+        return ASYNC ? Appender.INSTANCE.dropped.get() : 0;
+    }
+
+    private void append(Level level, String message, Throwable error) {
+        long time = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        if (ASYNC) {
+            Appender.INSTANCE.publish(time, level, thread, name, message, error);
+        } else {
+            write(time, level, thread, name, message, error);
+        }
+    }
+
+    private static void write(long time, Level level, String thread, String logger, String message, Throwable error) {
+        PrintStream out = level.compareTo(Level.WARN) >= 0 ? System.err : System.out;
+        out.println(TIME_FORMAT.format(Instant.ofEpochMilli(time)) + " " + level + " [" + thread + "] "
+            + logger + " - " + message);
+        if (error != null) {
+            error.printStackTrace(out);
+        }
+    }
+
+    private static Level parseLevel(String value) {
+        if (value == null) {
+            return Level.INFO;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
+    /**
+     * 异步输出器：多生产者、单消费者的环形缓冲区
+     * 生产者通过CAS占用序号后写入槽位，再以 volatile 写发布；后台线程按序号顺序输出。
+     * 首次使用时才会创建后台线程。
+     */
+    private static final class Appender implements Runnable {
+        static final Appender INSTANCE = new Appender();
+
+        private static final class Slot {
+            long time;
+            Level level;
+            String thread;
+            String logger;
+            String message;
+            Throwable error;
+            volatile long published = -1;
+        }
+
+        private final Slot[] ring = new Slot[RING_SIZE];
+        private final AtomicLong claimed = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile long consumed;
+        private volatile boolean sleeping;
+        private final Thread consumer;
+
+        private Appender() {
+            for (int i = 0; i < RING_SIZE; i++) {
+                ring[i] = new Slot();
+            }
+            consumer = new Thread(this, "log-appender");
+            consumer.setDaemon(true);
+            consumer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "log-shutdown"));
+        }
+
+        void publish(long time, Level level, String thread, String logger, String message, Throwable error) {
+            long sequence;
+            do {
+                sequence = claimed.get();
+                if (sequence - consumed >= RING_SIZE) {
+                    // 缓冲区已满，丢弃而不是阻塞调用线程
+                    dropped.incrementAndGet();
+                    return;
+                }
+            } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+            Slot slot = ring[(int) sequence & (RING_SIZE - 1)];
+            slot.time = time;
+            slot.level = level;
+            slot.thread = thread;
+            slot.logger = logger;
+            slot.message = message;
+            slot.error = error;
+            slot.published = sequence;
+            if (sleeping) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                if (!drain()) {
+                    sleeping = true;
+                    // 再检查一次，避免错过睡眠前刚发布的日志
+                    if (!hasPending()) {
+                        LockSupport.parkNanos(this, 100_000_000L);
+                    }
+                    sleeping = false;
+                }
+            }
+        }
+
+        private boolean hasPending() {
+            long next = consumed;
+            return ring[(int) next & (RING_SIZE - 1)].published == next;
+        }
+
+        // 输出所有已发布的日志，返回是否输出了日志
+        private synchronized boolean drain() {
+            boolean any = false;
+            long next = consumed;
+            while (true) {
+                Slot slot = ring[(int) next & (RING_SIZE - 1)];
+                if (slot.published != next) {
+                    break;
+                }
+                write(slot.time, slot.level, slot.thread, slot.logger, slot.message, slot.error);
+                slot.message = null;
+                slot.error = null;
+                next++;
+                consumed = next;
+                any = true;
+            }
+            return any;
+        }
+
+        void flush() {
+            long target = claimed.get();
+            while (consumed < target) {
+                if (!drain()) {
+                    // 已占用但尚未发布的槽位，稍等片刻
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
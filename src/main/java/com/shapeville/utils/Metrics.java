@@ -0,0 +1,338 @@
+package com.shapeville.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 运行指标
+ * 按名称登记直方图和计数器，用于统计题目首次绘制、提交处理、图片加载、形状绘制等耗时。
+ * 直方图采用与 HdrHistogram 相同的对数-线性分桶：数值的最高6位有效二进制位决定桶，
+ * 相对误差不超过1/32，覆盖1纳秒到 Long.MAX_VALUE 只需约2000个桶。
+ * 记录只是几次原子自增，不加锁、不分配对象，可以在事件线程的热点路径上调用。
+ * snapshotText() / snapshotJson() 导出当前所有指标的快照，名称按字典序排列。
+ * 所有方法都是线程安全的。
+ */
+public final class Metrics {
+    // 每个数量级内的线性子桶数为 2^(SUB_BITS-1)
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT >> 1;
+    private static final int BUCKET_COUNT = (64 - SUB_BITS + 1) * HALF_COUNT + HALF_COUNT;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 耗时直方图（单位：纳秒）
+     */
+    public static final class Histogram {
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Histogram(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 记录一个数值，负数按0记录
+         * @param nanos 耗时（纳秒）
+         */
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets.incrementAndGet(bucketIndex(value));
+            sum.add(value);
+            long current = max.get();
+            while (value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+
+        /**
+         * 记录从 startNanos（System.nanoTime()）到现在的耗时
+         * @param startNanos 开始时刻
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * @return 当前统计的快照
+         */
+        public Snapshot snapshot() {
+            long[] copy = new long[BUCKET_COUNT];
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                copy[i] = buckets.get(i);
+                total += copy[i];
+            }
+            return new Snapshot(name, copy, total, sum.sum(), max.get());
+        }
+
+        /**
+         * 清空统计
+         */
+        public void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, 0);
+            }
+            sum.reset();
+            max.set(0);
+        }
+    }
+
+    /**
+     * 直方图快照
+     * 快照期间仍在记录时，各分量之间可能有少量不一致，不影响统计用途。
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(String name, long[] buckets, long count, long sum, long max) {
+            this.name = name;
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getMaxNanos() { return max; }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile 百分位（0-100）
+         * @return 该百分位所在桶的上界（纳秒），不超过记录到的最大值
+         */
+        public long getPercentileNanos(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * 计数器
+     */
+    public static final class Counter {
+        private final String name;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long delta) {
+            value.add(delta);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        public void reset() {
+            value.reset();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * 获取（不存在时创建）指定名称的直方图
+     * 热点路径上应把返回值保存在字段中，避免每次按名称查找。
+     * @param name 名称，如 "task.形状识别.submit"
+     * @return 直方图
+     */
+    public static Histogram histogram(String name) {
+        Histogram histogram = HISTOGRAMS.get(name);
+        return histogram != null ? histogram : HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * 获取（不存在时创建）指定名称的计数器
+     * @param name 名称
+     * @return 计数器
+     */
+    public static Counter counter(String name) {
+        Counter counter = COUNTERS.get(name);
+        return counter != null ? counter : COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * 清空所有指标的统计值（已登记的名称保留）
+     */
+    public static void resetAll() {
+        HISTOGRAMS.values().forEach(Histogram::reset);
+        COUNTERS.values().forEach(Counter::reset);
+    }
+
+    /**
+     * 以文本表格导出所有指标，耗时单位为毫秒
+     * @return 快照文本
+     */
+    public static String snapshotText() {
+        StringBuilder sb = new StringBuilder();
+        Map<String, Snapshot> histograms = histogramSnapshots();
+        if (!histograms.isEmpty()) {
+            int width = Math.max(4, histograms.keySet().stream().mapToInt(String::length).max().orElse(0));
+            sb.append(String.format("%-" + width + "s %8s %9s %9s %9s %9s %9s %9s%n",
+                "耗时", "次数", "平均", "p50", "p90", "p99", "p99.9", "最大"));
+            for (Snapshot s : histograms.values()) {
+                sb.append(String.format("%-" + width + "s %8d %9.3f", s.getName(), s.getCount(),
+                    s.getMeanNanos() / 1e6));
+                for (double p : PERCENTILES) {
+                    sb.append(String.format(" %9.3f", s.getPercentileNanos(p) / 1e6));
+                }
+                sb.append(String.format(" %9.3f%n", s.getMaxNanos() / 1e6));
+            }
+        }
+        Map<String, Long> counters = counterValues();
+        if (!counters.isEmpty()) {
+            if (sb.length() > 0) {
+                sb.append(System.lineSeparator());
+            }
+            for (Map.Entry<String, Long> entry : counters.entrySet()) {
+                sb.append(String.format("%s = %d%n", entry.getKey(), entry.getValue()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 以JSON导出所有指标，耗时单位为纳秒
+     * 格式：{"histograms": {名称: {"count", "meanNanos", "p50", "p90", "p99", "p99.9", "maxNanos"}}, "counters": {名称: 值}}
+     * @return 快照JSON
+     */
+    public static String snapshotJson() {
+        StringBuilder sb = new StringBuilder("{\n  \"histograms\": {");
+        boolean first = true;
+        for (Snapshot s : histogramSnapshots().values()) {
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append("    ").append(quote(s.getName())).append(": {\"count\": ").append(s.getCount())
+              .append(", \"meanNanos\": ").append(Math.round(s.getMeanNanos()));
+            for (double p : PERCENTILES) {
+                sb.append(", \"p").append(p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p))
+                  .append("\": ").append(s.getPercentileNanos(p));
+            }
+            sb.append(", \"maxNanos\": ").append(s.getMaxNanos()).append('}');
+        }
+        sb.append(first ? "}" : "\n  }").append(",\n  \"counters\": {");
+        first = true;
+        for (Map.Entry<String, Long> entry : counterValues().entrySet()) {
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append("    ").append(quote(entry.getKey())).append(": ").append(entry.getValue());
+        }
+        sb.append(first ? "}" : "\n  }").append("\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * 把快照写入文件，扩展名为 .json 时写JSON，否则写文本
+     * @param file 目标文件
+     * @throws IOException 写入失败
+     */
+    public static void writeSnapshot(Path file) throws IOException {
+        String content = file.getFileName().toString().endsWith(".json") ? snapshotJson() : snapshotText();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+    }
+
+    private static Map<String, Snapshot> histogramSnapshots() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        for (Histogram histogram : HISTOGRAMS.values()) {
+            result.put(histogram.getName(), histogram.snapshot());
+        }
+        return result;
+    }
+
+    private static Map<String, Long> counterValues() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Counter counter : COUNTERS.values()) {
+            result.put(counter.getName(), counter.get());
+        }
+        return result;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        // 右移后保留 SUB_BITS 位有效位，取值在 [HALF_COUNT, SUB_COUNT) 之间
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        return shift * HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / HALF_COUNT - 1;
+        long mantissa = index - (long) shift * HALF_COUNT;
+        long upper = ((mantissa + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
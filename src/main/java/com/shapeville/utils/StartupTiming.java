@@ -0,0 +1,93 @@
+package com.shapeville.utils;
+
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * 启动耗时统计
+ * 记录 main() 开始到主窗口显示（windowOpened）的耗时，同时记入 Metrics 的 startup.mainToVisible 直方图。
+ * 进程启动到 main() 的耗时无法在进程内准确得到（Linux 上的进程启动时间只精确到开机时间的秒级），
+ * 因此同时输出 main() 开始时的系统时间，由启动进程的一方（如 StartupTimingHarness）计算。
+ *
+ * 系统属性：
+ *   shapeville.startup.report=true  主窗口显示后向标准输出打印一行统计结果
+ *   shapeville.startup.exit=true    打印后处理完当前事件队列即退出（隐含 report），
+ *                                   供构建时训练AppCDS归档和启动耗时测试使用
+ * 输出格式固定为 "shapeville.startup mainEpochMillis=N mainToVisibleMillis=N"，没有显示主窗口时后者为 -1。
+ */
+public final class StartupTiming {
+    /** 启动完成后是否立即退出 */
+    public static final boolean EXIT_AFTER_STARTUP = Boolean.getBoolean("shapeville.startup.exit");
+    /** 统计结果行的前缀 */
+    public static final String REPORT_PREFIX = "shapeville.startup";
+
+    private static final boolean REPORT = EXIT_AFTER_STARTUP || Boolean.getBoolean("shapeville.startup.report");
+    private static final Metrics.Histogram MAIN_TO_VISIBLE = Metrics.histogram("startup.mainToVisible");
+
+    private static volatile long mainNanos;
+    private static volatile long mainEpochMillis;
+    private static boolean finished;
+
+    private StartupTiming() {
+    }
+
+    /**
+     * 在 main() 的第一行调用
+     */
+    public static void markMain() {
+        mainEpochMillis = System.currentTimeMillis();
+        mainNanos = System.nanoTime();
+    }
+
+    /**
+     * 在主窗口第一次显示之前注册，窗口打开时记录耗时，只统计第一次
+     * 必须在Swing事件线程中调用。
+     * @param window 主窗口
+     */
+    public static void watchMainWindow(Window window) {
+        if (finished) {
+            return;
+        }
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                window.removeWindowListener(this);
+                long millis = -1;
+                if (mainNanos != 0) {
+                    long nanos = System.nanoTime() - mainNanos;
+                    MAIN_TO_VISIBLE.record(nanos);
+                    millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+                }
+                finish(millis);
+            }
+        });
+    }
+
+    /**
+     * 没有显示主窗口就结束启动过程（如无图形环境的训练运行）
+     * 必须在Swing事件线程中调用。
+     */
+    public static void finishWithoutWindow() {
+        finish(-1);
+    }
+
+    private static void finish(long mainToVisibleMillis) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (REPORT) {
+            System.out.println(REPORT_PREFIX + " mainEpochMillis=" + mainEpochMillis
+                               + " mainToVisibleMillis=" + mainToVisibleMillis);
+            System.out.flush();
+        }
+        if (EXIT_AFTER_STARTUP) {
+            // 让窗口打开后已排队的首次绘制等事件先执行，训练时这些类也会被加载
+            SwingUtilities.invokeLater(() -> System.exit(0));
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.shapeville.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * 全局节拍调度器（时间轮）
+ * 所有倒计时、延迟操作和动画都注册到同一个调度器，由一个守护线程推进时间轮，
+ * 到期的任务交给分发器执行（默认实例分发到Swing事件线程）。线程只在最早的到期节拍唤醒，
+ * 跳过中间没有到期任务的节拍；没有待执行的任务时完全休眠。
+ *
+ * 时间轮有 wheelSize 个槽，任务按到期节拍放入对应的槽中，注册和取消都是O(1)。
+ * 周期任务的到期时间以纳秒累计，周期不是节拍的整数倍时（如10毫秒节拍上的16毫秒周期）
+ * 每次按节拍向上取整执行，平均间隔仍等于请求的周期。
+ * 取消的任务在分发前会再次检查状态，因此在事件线程中调用 cancel() 后回调一定不会再执行。
+ *
+ * manual() 创建的调度器没有后台线程，时间只由 advance() 推进，到期任务在调用线程中同步执行，
+ * 用于需要确定时间的测试。
+ */
+public final class TickScheduler {
+    private static final Log LOG = Log.get(TickScheduler.class);
+
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * 已注册任务的句柄
+     */
+    public interface Handle {
+        /**
+         * 取消任务，可重复调用
+         */
+        void cancel();
+
+        /**
+         * @return 任务是否仍会执行（未取消，且一次性任务尚未执行）
+         */
+        boolean isActive();
+    }
+
+    private static final class Holder {
+        static final TickScheduler DEFAULT = new TickScheduler(
+            DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, SwingUtilities::invokeLater);
+    }
+
+    private static final int ACTIVE = 0;
+    private static final int CANCELLED = 1;
+    private static final int DONE = 2;
+
+    private final class Timeout implements Handle, Runnable {
+        final Runnable task;
+        final long periodNanos;            // 0 表示一次性任务
+        final long scheduledNanos;         // 注册时的调度器时间
+        final long delayNanos;
+        final AtomicInteger state = new AtomicInteger(ACTIVE);
+        // 周期任务的上一次回调尚未执行时不再重复分发（与 javax.swing.Timer 的合并行为一致）
+        final AtomicBoolean dispatched = new AtomicBoolean();
+
+        // 以下字段只由推进时间轮的线程访问
+        long deadlineNanos;                // 相对于调度器起始时间的到期时间
+        long deadlineTick;
+        Timeout prev;
+        Timeout next;
+
+        Timeout(Runnable task, long delayNanos, long periodNanos) {
+            this.task = task;
+            this.delayNanos = delayNanos;
+            this.periodNanos = periodNanos;
+            this.scheduledNanos = nanoTime();
+        }
+
+        @Override
+        public void cancel() {
+            if (state.compareAndSet(ACTIVE, CANCELLED)) {
+                activeCount.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean isActive() {
+            return state.get() == ACTIVE;
+        }
+
+        // 在分发器线程中执行
+        @Override
+        public void run() {
+            dispatched.set(false);
+            if (periodNanos == 0) {
+                if (!state.compareAndSet(ACTIVE, DONE)) {
+                    return;
+                }
+                activeCount.decrementAndGet();
+            } else if (state.get() != ACTIVE) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("定时任务执行失败", e);
+            }
+        }
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final Timeout[] wheel;
+    private final Executor dispatcher;
+    private final ConcurrentLinkedQueue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // 手动模式的当前时间；推进中标志防止在回调中递归调用 advance()
+    private final boolean manual;
+    private volatile long manualNanos;
+    private boolean advancing;
+
+    // 已处理到的节拍，只由推进时间轮的线程访问
+    private long tick;
+
+    /**
+     * 创建由后台守护线程驱动的调度器
+     * @param tickMillis 节拍长度（毫秒），决定定时精度
+     * @param wheelSize 时间轮槽数（向上取整为2的幂）
+     * @param dispatcher 到期任务的执行器
+     */
+    public TickScheduler(long tickMillis, int wheelSize, Executor dispatcher) {
+        this(tickMillis, wheelSize, dispatcher, false);
+    }
+
+    private TickScheduler(long tickMillis, int wheelSize, Executor dispatcher, boolean manual) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("节拍长度和槽数必须大于0");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.wheel = new Timeout[Math.max(1, size)];
+        this.mask = wheel.length - 1;
+        this.dispatcher = dispatcher;
+        this.manual = manual;
+        this.startNanos = manual ? 0 : System.nanoTime();
+        if (manual) {
+            this.worker = null;
+        } else {
+            this.worker = new Thread(this::workerLoop, "shapeville-ticker");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * 获取全局共享的调度器，到期任务在Swing事件线程中执行
+     * @return 默认调度器
+     */
+    public static TickScheduler getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * 创建手动推进时间的调度器，时间从0开始，只在调用 advance() 时前进
+     * @param tickMillis 节拍长度（毫秒）
+     * @param dispatcher 到期任务的执行器（测试中通常为 Runnable::run）
+     * @return 手动调度器
+     */
+    public static TickScheduler manual(long tickMillis, Executor dispatcher) {
+        return new TickScheduler(tickMillis, DEFAULT_WHEEL_SIZE, dispatcher, true);
+    }
+
+    /**
+     * 注册一次性任务
+     * @param delayMillis 延迟（毫秒）
+     * @param task 任务
+     * @return 任务句柄
+     */
+    public Handle schedule(long delayMillis, Runnable task) {
+        return register(new Timeout(task, TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis)), 0));
+    }
+
+    /**
+     * 注册固定频率的周期任务
+     * 回调执行过慢时跳过积压的周期，不会连续补发。
+     * @param initialDelayMillis 首次执行前的延迟（毫秒）
+     * @param periodMillis 周期（毫秒）
+     * @param task 任务
+     * @return 任务句柄
+     */
+    public Handle scheduleAtFixedRate(long initialDelayMillis, long periodMillis, Runnable task) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("周期必须大于0: " + periodMillis);
+        }
+        return register(new Timeout(task, TimeUnit.MILLISECONDS.toNanos(Math.max(0, initialDelayMillis)),
+                                    TimeUnit.MILLISECONDS.toNanos(periodMillis)));
+    }
+
+    /**
+     * 推进手动调度器的时间，并同步执行期间到期的任务
+     * @param millis 推进的毫秒数
+     */
+    public synchronized void advance(long millis) {
+        if (!manual) {
+            throw new IllegalStateException("只有 manual() 创建的调度器可以手动推进时间");
+        }
+        if (advancing) {
+            throw new IllegalStateException("不能在定时任务中推进时间");
+        }
+        advancing = true;
+        try {
+            long target = manualNanos + TimeUnit.MILLISECONDS.toNanos(millis);
+            // 逐个节拍推进，使回调中读取到的时间与其到期节拍一致
+            while (true) {
+                long nextTickNanos = (tick + 1) * tickNanos;
+                if (nextTickNanos > target) {
+                    break;
+                }
+                manualNanos = nextTickNanos;
+                transferIncoming();
+                processTick(++tick);
+            }
+            manualNanos = target;
+            transferIncoming();
+        } finally {
+            advancing = false;
+        }
+    }
+
+    /**
+     * @return 调度器时间（毫秒），手动调度器从0开始
+     */
+    public long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanoTime() - startNanos);
+    }
+
+    /**
+     * @return 未取消且未执行完的任务数量
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * 停止后台线程，已注册的任务不再执行
+     */
+    public void shutdown() {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private Handle register(Timeout timeout) {
+        if (!running) {
+            throw new IllegalStateException("调度器已停止");
+        }
+        activeCount.incrementAndGet();
+        incoming.add(timeout);
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    private long nanoTime() {
+        return manual ? manualNanos : System.nanoTime();
+    }
+
+    private long currentTick() {
+        return (nanoTime() - startNanos) / tickNanos;
+    }
+
+    private void workerLoop() {
+        while (running) {
+            transferIncoming();
+            long next = activeCount.get() == 0 ? Long.MAX_VALUE : nextDeadlineTick();
+            if (next == Long.MAX_VALUE) {
+                // 时间轮中没有待执行的任务时完全休眠，直到注册新任务；休眠期间没有需要处理的节拍
+                LockSupport.park(this);
+                tick = Math.max(tick, currentTick());
+                continue;
+            }
+            long waitNanos = startNanos + next * tickNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                // 注册新任务时会被提前唤醒并重新计算
+                LockSupport.parkNanos(this, waitNanos);
+                continue;
+            }
+            // next 是最早的到期节拍，中间的槽中没有到期任务，直接跳过
+            tick = next;
+            processTick(next);
+        }
+    }
+
+    // 时间轮中最早的到期节拍，没有未取消的任务时返回 Long.MAX_VALUE；顺带移除已取消的任务
+    private long nextDeadlineTick() {
+        long earliest = Long.MAX_VALUE;
+        for (long t = tick + 1; t <= tick + wheel.length; t++) {
+            int index = (int) (t & mask);
+            Timeout timeout = wheel[index];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state.get() != ACTIVE) {
+                    unlink(index, timeout);
+                } else if (timeout.deadlineTick == t) {
+                    // 按节拍顺序扫描，第一个在本轮到期的任务就是最早的
+                    return t;
+                } else {
+                    // 后续轮次才到期的任务
+                    earliest = Math.min(earliest, timeout.deadlineTick);
+                }
+                timeout = next;
+            }
+        }
+        return earliest;
+    }
+
+    // 把新注册的任务放入时间轮
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.state.get() != ACTIVE) {
+                continue;
+            }
+            timeout.deadlineNanos = timeout.scheduledNanos - startNanos + timeout.delayNanos;
+            timeout.deadlineTick = Math.max(ceilTick(timeout.deadlineNanos), tick + 1);
+            insert(timeout);
+        }
+    }
+
+    // 向上取整到节拍，保证不早于到期时间执行
+    private long ceilTick(long nanos) {
+        return (nanos + tickNanos - 1) / tickNanos;
+    }
+
+    private void insert(Timeout timeout) {
+        int index = (int) (timeout.deadlineTick & mask);
+        Timeout head = wheel[index];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        wheel[index] = timeout;
+    }
+
+    private void unlink(int index, Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            wheel[index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    // 处理一个槽：移除已取消的任务，分发到期的任务；尚未到期的任务（后续轮次）留在槽中
+    private void processTick(long currentTick) {
+        int index = (int) (currentTick & mask);
+        // 推进线程可能晚于节拍唤醒，周期任务按实际时间跳过已错过的周期
+        long nowTick = Math.max(currentTick, currentTick());
+        List<Timeout> rescheduled = null;
+        Timeout timeout = wheel[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state.get() != ACTIVE) {
+                unlink(index, timeout);
+            } else if (timeout.deadlineTick <= currentTick) {
+                unlink(index, timeout);
+                if (timeout.periodNanos > 0) {
+                    reschedule(timeout, nowTick);
+                    if (rescheduled == null) {
+                        rescheduled = new ArrayList<>();
+                    }
+                    rescheduled.add(timeout);
+                }
+                dispatch(timeout);
+            }
+            timeout = next;
+        }
+        if (rescheduled != null) {
+            for (Timeout periodic : rescheduled) {
+                insert(periodic);
+            }
+        }
+    }
+
+    // 周期任务的下一次到期时间按纳秒累计，落在 nowTick 之后的第一个周期上，保持原有的相位
+    private void reschedule(Timeout timeout, long nowTick) {
+        long next = timeout.deadlineNanos + timeout.periodNanos;
+        long earliest = nowTick * tickNanos + 1;
+        if (next < earliest) {
+            long missed = (earliest - next + timeout.periodNanos - 1) / timeout.periodNanos;
+            next += missed * timeout.periodNanos;
+        }
+        timeout.deadlineNanos = next;
+        timeout.deadlineTick = ceilTick(next);
+    }
+
+    private void dispatch(Timeout timeout) {
+        if (timeout.periodNanos > 0 && !timeout.dispatched.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(timeout);
+        } catch (RuntimeException e) {
+            timeout.dispatched.set(false);
+            LOG.error("分发定时任务失败", e);
+        }
+    }
+}
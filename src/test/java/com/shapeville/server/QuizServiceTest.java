@@ -0,0 +1,64 @@
+package com.shapeville.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuizServiceTest {
+
+    @Test
+    void thirdWrongAnswerRevealsTheAnswerAndRemovesTheQuestion() {
+        QuizService service = new QuizService(10);
+        QuizService.IssuedQuestion question = service.next(QuizService.Task.ANGLE);
+        assertEquals(QuizService.MAX_ATTEMPTS, question.getMaxAttempts());
+
+        QuizService.CheckResult first = service.check(question.getId(), "不是角的类型");
+        assertFalse(first.isCorrect());
+        assertEquals(2, first.getAttemptsLeft());
+        assertNull(first.getCorrectAnswer());
+
+        assertEquals(1, service.check(question.getId(), "不是角的类型").getAttemptsLeft());
+        QuizService.CheckResult last = service.check(question.getId(), "不是角的类型");
+        assertFalse(last.isCorrect());
+        assertEquals(0, last.getAttemptsLeft());
+        assertNotNull(last.getCorrectAnswer());
+
+        // 次数用尽后题目已被移除
+        assertEquals(0, service.getPendingCount());
+        assertNull(service.check(question.getId(), last.getCorrectAnswer()));
+    }
+
+    @Test
+    void nonNumericAnswerDoesNotUseAnAttempt() {
+        QuizService service = new QuizService(10);
+        QuizService.IssuedQuestion question = service.next(QuizService.Task.AREA);
+
+        assertThrows(IllegalArgumentException.class, () -> service.check(question.getId(), "十二"));
+        assertThrows(IllegalArgumentException.class, () -> service.check(question.getId(), null));
+        assertEquals(1, service.getPendingCount());
+
+        // 面积都是正数，-1 一定答错；格式错误的提交没有占用次数
+        assertEquals(2, service.check(question.getId(), "-1").getAttemptsLeft());
+        assertEquals(1, service.check(question.getId(), " -1 ").getAttemptsLeft());
+        QuizService.CheckResult last = service.check(question.getId(), "-1");
+        assertEquals(0, last.getAttemptsLeft());
+        assertNotNull(last.getCorrectAnswer());
+    }
+
+    @Test
+    void evictionAtCapacityDropsTheOldestPendingQuestion() {
+        QuizService service = new QuizService(2);
+        QuizService.IssuedQuestion oldest = service.next(QuizService.Task.ANGLE);
+        QuizService.IssuedQuestion middle = service.next(QuizService.Task.ANGLE);
+        QuizService.IssuedQuestion newest = service.next(QuizService.Task.ANGLE);
+
+        assertEquals(2, service.getPendingCount());
+        assertNull(service.check(oldest.getId(), "锐角"));
+        assertNotNull(service.check(middle.getId(), "不是角的类型"));
+        assertNotNull(service.check(newest.getId(), "不是角的类型"));
+    }
+}
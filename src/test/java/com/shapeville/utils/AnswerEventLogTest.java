@@ -0,0 +1,197 @@
+package com.shapeville.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerEventLogTest {
+    private static final String EVENTS = "answers.events";
+    private static final String DICTIONARY = "answers.dict";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void summarizeGroupsByLearnerAndTask() {
+        AnswerEventLog log = AnswerEventLog.open(dir);
+        try {
+            // alice 在 Area 上：第一题第一次就答对，第二题第二次答对
+            log.append(1000, "alice", "Area", 1, 1, true, true, 400, 3, 4);
+            log.append(2000, "alice", "Area", 2, 1, false, false, 600, 5, 6);
+            log.append(3000, "alice", "Area", 2, 2, true, true, 200, 5, 6);
+            log.append(4000, "bob", "Circle", -1, 1, false, false, 100);
+            log.append(5000, "alice", "Circle", -1, 1, true, true, 300, 2.5);
+
+            List<AnswerEventLog.Summary> summaries = log.summarize();
+            assertEquals(3, summaries.size());
+            AnswerEventLog.Summary area = summaries.get(0);
+            assertEquals("alice", area.getLearnerId());
+            assertEquals("Area", area.getTask());
+            assertEquals(3, area.getAnswers());
+            assertEquals(2, area.getQuestions());
+            assertEquals(2, area.getCorrect());
+            assertEquals(1, area.getFirstTry());
+            assertEquals(1200, area.getLatencyMillis());
+
+            List<AnswerEventLog.Summary> window = log.summarize(2000, 4000);
+            assertEquals(1, window.size());
+            assertEquals(2, window.get(0).getAnswers());
+            assertEquals(5, log.getEventCount());
+        } finally {
+            log.close();
+        }
+    }
+
+    @Test
+    void replayReturnsFinalOutcomesInOrder() {
+        AnswerEventLog log = AnswerEventLog.open(dir);
+        try {
+            log.append(1000, "alice", "Area", 4, 1, false, false, 100);
+            log.append(2000, "alice", "Area", 4, 2, true, true, 100);
+            log.append(3000, "bob", "Area", 5, 1, true, true, 100);
+            log.append(4000, "alice", "Circle", 7, 3, false, true, 100);
+
+            List<String> outcomes = new ArrayList<>();
+            log.replay("alice", (item, attempts, correct) -> outcomes.add(item + "/" + attempts + "/" + correct));
+            assertEquals(List.of("4/2/true", "7/3/false"), outcomes);
+        } finally {
+            log.close();
+        }
+    }
+
+    @Test
+    void replayAfterReopenUsesOutcomesIndexedDuringRecovery() {
+        AnswerEventLog log = AnswerEventLog.open(dir);
+        log.append(1000, "alice", "Area", 4, 1, false, false, 100);
+        log.append(2000, "bob", "Area", 5, 3, false, true, 100);
+        log.append(3000, "alice", "Area", 4, 2, true, true, 100);
+        log.close();
+
+        AnswerEventLog reopened = AnswerEventLog.open(dir);
+        try {
+            // 重新打开后追加的结果接在恢复出来的结果之后
+            reopened.append(4000, "alice", "Circle", 7, 1, true, true, 100);
+            List<String> alice = new ArrayList<>();
+            reopened.replay("alice", (item, attempts, correct) -> alice.add(item + "/" + attempts + "/" + correct));
+            assertEquals(List.of("4/2/true", "7/1/true"), alice);
+
+            List<String> bob = new ArrayList<>();
+            reopened.replay("bob", (item, attempts, correct) -> bob.add(item + "/" + attempts + "/" + correct));
+            assertEquals(List.of("5/3/false"), bob);
+
+            List<String> nobody = new ArrayList<>();
+            reopened.replay("carol", (item, attempts, correct) -> nobody.add(item + "/" + attempts));
+            assertTrue(nobody.isEmpty());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void tornTailBlockIsDroppedAndLaterBlocksSurviveReopen() throws IOException {
+        // 不关闭就复制文件，模拟写入最后一个块时崩溃
+        Path live = dir.resolve("live");
+        AnswerEventLog log = AnswerEventLog.open(live);
+        log.append(1000, "alice", "Area", 1, 1, true, true, 100);
+        log.append(2000, "alice", "Area", 2, 1, true, true, 100);
+        log.flush();
+        long intact = Files.size(live.resolve(EVENTS));
+        log.append(3000, "bob", "Circle", 3, 1, false, true, 100);
+        log.flush();
+        byte[] events = Files.readAllBytes(live.resolve(EVENTS));
+        byte[] dictionary = Files.readAllBytes(live.resolve(DICTIONARY));
+        log.close();
+
+        Path crashed = dir.resolve("crashed");
+        Files.createDirectories(crashed);
+        Files.write(crashed.resolve(EVENTS), Arrays.copyOf(events, events.length - 5));
+        Files.write(crashed.resolve(DICTIONARY), dictionary);
+
+        AnswerEventLog recovered = AnswerEventLog.open(crashed);
+        recovered.append(4000, "carol", "Angle", 4, 1, true, true, 100);
+        recovered.flush();
+        try {
+            assertEquals(3, recovered.getEventCount());
+            assertEquals(List.of("alice/Area/2", "carol/Angle/1"), describe(recovered.summarize()));
+        } finally {
+            recovered.close();
+        }
+        assertTrue(Files.size(crashed.resolve(EVENTS)) > intact);
+
+        // 恢复后追加的块紧接在最后一个完整块之后，再次打开时全部保留
+        AnswerEventLog reopened = AnswerEventLog.open(crashed);
+        try {
+            assertEquals(3, reopened.getEventCount());
+            assertEquals(List.of("alice/Area/2", "carol/Angle/1"), describe(reopened.summarize()));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void blockReferencingMissingDictionaryEntryIsDropped() throws IOException {
+        Path live = dir.resolve("live");
+        AnswerEventLog log = AnswerEventLog.open(live);
+        log.append(1000, "alice", "Area", 1, 1, true, true, 100);
+        log.flush();
+        long dictionaryIntact = Files.size(live.resolve(DICTIONARY));
+        log.append(2000, "bob", "Area", 2, 1, true, true, 100);
+        log.flush();
+        byte[] events = Files.readAllBytes(live.resolve(EVENTS));
+        byte[] dictionary = Files.readAllBytes(live.resolve(DICTIONARY));
+        log.close();
+
+        // 字典末尾的 bob 只写了一半：引用它的块不能被统计
+        Path crashed = dir.resolve("crashed");
+        Files.createDirectories(crashed);
+        Files.write(crashed.resolve(EVENTS), events);
+        Files.write(crashed.resolve(DICTIONARY), Arrays.copyOf(dictionary, (int) dictionaryIntact + 3));
+
+        AnswerEventLog recovered = AnswerEventLog.open(crashed);
+        try {
+            assertEquals(1, recovered.getEventCount());
+            assertEquals(List.of("alice/Area/1"), describe(recovered.summarize()));
+            assertEquals(dictionaryIntact, Files.size(crashed.resolve(DICTIONARY)));
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void unsealedEventsAreWrittenOnClose() {
+        AnswerEventLog log = AnswerEventLog.open(dir);
+        for (int i = 0; i < 5000; i++) {
+            log.append(i, "learner" + (i % 7), "Task" + (i % 3), i % 100, 1, i % 2 == 0, true, 10);
+        }
+        log.close();
+
+        AnswerEventLog reopened = AnswerEventLog.open(dir);
+        try {
+            assertEquals(5000, reopened.getEventCount());
+            long answers = 0;
+            for (AnswerEventLog.Summary summary : reopened.summarize()) {
+                answers += summary.getAnswers();
+            }
+            assertEquals(5000, answers);
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private static List<String> describe(List<AnswerEventLog.Summary> summaries) {
+        List<String> result = new ArrayList<>();
+        for (AnswerEventLog.Summary summary : summaries) {
+            result.add(summary.getLearnerId() + "/" + summary.getTask() + "/" + summary.getAnswers());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package com.shapeville.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountdownTest {
+    private final TickScheduler scheduler = TickScheduler.manual(10, Runnable::run);
+    private final List<Integer> ticks = new ArrayList<>();
+    private int expired;
+
+    private Countdown countdown(int seconds) {
+        return new Countdown(scheduler, seconds, ticks::add, () -> expired++);
+    }
+
+    @Test
+    void countsDownOncePerSecondAndExpiresOnce() {
+        Countdown countdown = countdown(3);
+        countdown.start();
+        assertEquals(List.of(3), ticks);
+        assertTrue(countdown.isRunning());
+
+        scheduler.advance(2999);
+        assertEquals(List.of(3, 2, 1), ticks);
+        assertEquals(0, expired);
+
+        scheduler.advance(1);
+        assertEquals(List.of(3, 2, 1, 0), ticks);
+        assertEquals(1, expired);
+        assertFalse(countdown.isRunning());
+        assertEquals(0, scheduler.getActiveCount());
+
+        scheduler.advance(5000);
+        assertEquals(4, ticks.size());
+        assertEquals(1, expired);
+    }
+
+    @Test
+    void pauseKeepsRemainingSecondsAndResumeContinues() {
+        Countdown countdown = countdown(5);
+        countdown.start();
+        scheduler.advance(2000);
+        assertEquals(3, countdown.getRemaining());
+
+        countdown.pause();
+        assertFalse(countdown.isRunning());
+        assertEquals(0, scheduler.getActiveCount());
+        scheduler.advance(10_000);
+        assertEquals(3, countdown.getRemaining());
+
+        countdown.resume();
+        scheduler.advance(3000);
+        assertEquals(List.of(5, 4, 3, 2, 1, 0), ticks);
+        assertEquals(1, expired);
+    }
+
+    @Test
+    void resumeAfterExpiryAndRepeatedResumeDoNothing() {
+        Countdown countdown = countdown(1);
+        countdown.start();
+        countdown.resume();
+        assertEquals(1, scheduler.getActiveCount());
+
+        scheduler.advance(1000);
+        assertEquals(1, expired);
+        countdown.resume();
+        assertFalse(countdown.isRunning());
+        scheduler.advance(5000);
+        assertEquals(1, expired);
+    }
+
+    @Test
+    void startRestartsFromTheFullDuration() {
+        Countdown countdown = countdown(3);
+        countdown.start();
+        scheduler.advance(2000);
+        countdown.start();
+        assertEquals(3, countdown.getRemaining());
+
+        scheduler.advance(3000);
+        assertEquals(List.of(3, 2, 1, 3, 2, 1, 0), ticks);
+        assertEquals(1, expired);
+    }
+
+    @Test
+    void rejectsNonPositiveDuration() {
+        assertThrows(IllegalArgumentException.class, () -> countdown(0));
+    }
+}
@@ -0,0 +1,310 @@
+package com.shapeville.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataManagerTest {
+    private static final String JOURNAL = "progress.journal";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void closeAndReopenRestoresProgress() {
+        DataManager manager = DataManager.open(dir.resolve("data"));
+        manager.recordTaskScore("alice", "Area", 7);
+        manager.recordTaskStatus("alice", "Area", "COMPLETED");
+        manager.recordUnlock("bob", "Circle");
+        manager.recordUserLevel("bob", 3);
+        manager.close();
+
+        DataManager reopened = DataManager.open(dir.resolve("data"));
+        try {
+            assertEquals(7, reopened.getProgress("alice").getTaskScores().get("Area"));
+            assertEquals("COMPLETED", reopened.getProgress("alice").getTaskStatus().get("Area"));
+            assertTrue(reopened.getProgress("bob").getUnlockedTasks().contains("Circle"));
+            assertEquals(3, reopened.getProgress("bob").getUserLevel());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void tornTailRecordIsDroppedAndJournalKeepsWorking() throws IOException {
+        // 不关闭就复制文件，模拟写入最后一条记录时崩溃
+        Path live = dir.resolve("live");
+        DataManager manager = DataManager.open(live);
+        manager.recordTaskScore("alice", "Area", 7);
+        manager.flush();
+        long intact = Files.size(live.resolve(JOURNAL));
+        manager.recordTaskScore("alice", "Circle", 9);
+        manager.flush();
+        byte[] journal = Files.readAllBytes(live.resolve(JOURNAL));
+        manager.close();
+
+        Path crashed = dir.resolve("crashed");
+        Files.createDirectories(crashed);
+        Files.write(crashed.resolve(JOURNAL), Arrays.copyOf(journal, journal.length - 3));
+
+        DataManager recovered = DataManager.open(crashed);
+        try {
+            assertEquals(7, recovered.getProgress("alice").getTaskScores().get("Area"));
+            assertFalse(recovered.getProgress("alice").getTaskScores().containsKey("Circle"));
+            assertEquals(intact, Files.size(crashed.resolve(JOURNAL)));
+
+            // 截断后追加的记录紧接在最后一条完整记录之后
+            recovered.recordTaskScore("bob", "Angle", 4);
+            recovered.flush();
+            Path again = dir.resolve("again");
+            Files.createDirectories(again);
+            Files.copy(crashed.resolve(JOURNAL), again.resolve(JOURNAL));
+            DataManager replayed = DataManager.open(again);
+            try {
+                assertEquals(7, replayed.getProgress("alice").getTaskScores().get("Area"));
+                assertEquals(4, replayed.getProgress("bob").getTaskScores().get("Angle"));
+            } finally {
+                replayed.close();
+            }
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void recordWithBadChecksumEndsReplay() throws IOException {
+        Path live = dir.resolve("live");
+        DataManager manager = DataManager.open(live);
+        manager.recordTaskScore("alice", "Area", 7);
+        manager.flush();
+        int intact = (int) Files.size(live.resolve(JOURNAL));
+        manager.recordTaskScore("alice", "Circle", 9);
+        manager.recordTaskScore("alice", "Sector", 5);
+        manager.flush();
+        byte[] journal = Files.readAllBytes(live.resolve(JOURNAL));
+        manager.close();
+
+        // 破坏第二条记录的内容，之后的记录即使完整也不再重放
+        journal[intact + 6] ^= 0x55;
+        Path crashed = dir.resolve("crashed");
+        Files.createDirectories(crashed);
+        Files.write(crashed.resolve(JOURNAL), journal);
+
+        DataManager recovered = DataManager.open(crashed);
+        try {
+            assertEquals(7, recovered.getProgress("alice").getTaskScores().get("Area"));
+            assertFalse(recovered.getProgress("alice").getTaskScores().containsKey("Circle"));
+            assertFalse(recovered.getProgress("alice").getTaskScores().containsKey("Sector"));
+            assertEquals(intact, Files.size(crashed.resolve(JOURNAL)));
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void unrecognizedJournalIsRecreated() throws IOException {
+        Files.write(dir.resolve(JOURNAL), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        DataManager manager = DataManager.open(dir);
+        try {
+            assertNull(manager.getProgress("alice"));
+            manager.recordTaskScore("alice", "Area", 7);
+            manager.flush();
+        } finally {
+            manager.close();
+        }
+        DataManager reopened = DataManager.open(dir);
+        try {
+            assertEquals(7, reopened.getProgress("alice").getTaskScores().get("Area"));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void failedWriteIsRolledBackAndRetriedWithTheNextBatch() throws IOException {
+        Path live = dir.resolve("live");
+        FaultyChannel[] channel = new FaultyChannel[1];
+        DataManager manager = DataManager.open(live, opened -> channel[0] = new FaultyChannel(opened));
+        try {
+            manager.recordTaskScore("alice", "Area", 7);
+            assertTrue(manager.flush());
+            long intact = Files.size(live.resolve(JOURNAL));
+
+            // 只写出一半就失败：文件截回原长度，flush 不报告成功
+            channel[0].failWrites = 1;
+            manager.recordTaskScore("alice", "Circle", 9);
+            assertFalse(manager.flush());
+            assertEquals(intact, Files.size(live.resolve(JOURNAL)));
+
+            // 失败的记录随下一批重写，紧接在最后一条完整记录之后
+            manager.recordTaskScore("bob", "Angle", 4);
+            assertTrue(manager.flush());
+            Path copy = dir.resolve("copy");
+            Files.createDirectories(copy);
+            Files.copy(live.resolve(JOURNAL), copy.resolve(JOURNAL));
+            DataManager replayed = DataManager.open(copy);
+            try {
+                assertEquals(7, replayed.getProgress("alice").getTaskScores().get("Area"));
+                assertEquals(9, replayed.getProgress("alice").getTaskScores().get("Circle"));
+                assertEquals(4, replayed.getProgress("bob").getTaskScores().get("Angle"));
+            } finally {
+                replayed.close();
+            }
+        } finally {
+            manager.close();
+        }
+    }
+
+    @Test
+    void journalThatCannotBeRolledBackStopsRecording() {
+        Path live = dir.resolve("live");
+        FaultyChannel[] channel = new FaultyChannel[1];
+        DataManager manager = DataManager.open(live, opened -> channel[0] = new FaultyChannel(opened));
+        manager.recordTaskScore("alice", "Area", 7);
+        assertTrue(manager.flush());
+
+        channel[0].failWrites = 1;
+        channel[0].failTruncate = true;
+        manager.recordTaskScore("alice", "Circle", 9);
+        assertFalse(manager.flush());
+        manager.recordTaskScore("alice", "Sector", 5);
+        assertFalse(manager.flush());
+        // 内存中的进度不受影响
+        assertEquals(5, manager.getProgress("alice").getTaskScores().get("Sector"));
+        manager.close();
+
+        // 写了一半的记录在重新打开时被丢弃，之前落盘的进度仍然完整
+        DataManager reopened = DataManager.open(live);
+        try {
+            assertEquals(7, reopened.getProgress("alice").getTaskScores().get("Area"));
+            assertFalse(reopened.getProgress("alice").getTaskScores().containsKey("Circle"));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    // 可以注入写入失败的文件通道：失败时只写出缓冲区的一半，模拟磁盘写满等部分写入
+    private static final class FaultyChannel extends FileChannel {
+        private final FileChannel delegate;
+        volatile int failWrites;
+        volatile boolean failTruncate;
+
+        FaultyChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failWrites > 0) {
+                failWrites--;
+                ByteBuffer half = src.duplicate();
+                half.limit(src.position() + src.remaining() / 2);
+                int written = delegate.write(half);
+                src.position(src.position() + written);
+                throw new IOException("模拟的写入失败");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("模拟的截断失败");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
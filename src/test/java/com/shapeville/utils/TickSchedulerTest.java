@@ -0,0 +1,174 @@
+package com.shapeville.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickSchedulerTest {
+
+    @Test
+    void oneShotFiresOnTheFirstTickAtOrAfterItsDelay() {
+        TickScheduler scheduler = TickScheduler.manual(10, Runnable::run);
+        List<Long> fired = new ArrayList<>();
+        TickScheduler.Handle handle = scheduler.schedule(25, () -> fired.add(scheduler.currentTimeMillis()));
+
+        scheduler.advance(20);
+        assertTrue(fired.isEmpty());
+        assertTrue(handle.isActive());
+
+        scheduler.advance(10);
+        assertEquals(List.of(30L), fired);
+        assertFalse(handle.isActive());
+        assertEquals(0, scheduler.getActiveCount());
+
+        scheduler.advance(1000);
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    void periodicTaskKeepsItsPeriodOnAverage() {
+        TickScheduler scheduler = TickScheduler.manual(10, Runnable::run);
+        List<Long> fired = new ArrayList<>();
+        scheduler.scheduleAtFixedRate(16, 16, () -> fired.add(scheduler.currentTimeMillis()));
+
+        scheduler.advance(160);
+        // 到期时间 16、32、48…… 按10毫秒节拍向上取整
+        assertEquals(List.of(20L, 40L, 50L, 70L, 80L, 100L, 120L, 130L, 150L, 160L), fired);
+
+        scheduler.advance(16_000 - 160);
+        assertEquals(1000, fired.size());
+    }
+
+    @Test
+    void periodicTaskWithWholeTickPeriodFiresEveryPeriod() {
+        TickScheduler scheduler = TickScheduler.manual(10, Runnable::run);
+        List<Long> fired = new ArrayList<>();
+        scheduler.scheduleAtFixedRate(0, 1000, () -> fired.add(scheduler.currentTimeMillis()));
+
+        scheduler.advance(3000);
+        // 延迟为0时最早在下一个节拍执行，之后仍按注册时的相位每1000毫秒执行
+        assertEquals(List.of(10L, 1000L, 2000L, 3000L), fired);
+    }
+
+    @Test
+    void cancelBeforeDispatchedTaskRunsPreventsTheCallback() {
+        List<Runnable> queued = new ArrayList<>();
+        TickScheduler scheduler = TickScheduler.manual(10, queued::add);
+        int[] runs = new int[2];
+        TickScheduler.Handle oneShot = scheduler.schedule(10, () -> runs[0]++);
+        TickScheduler.Handle periodic = scheduler.scheduleAtFixedRate(10, 10, () -> runs[1]++);
+
+        scheduler.advance(10);
+        assertEquals(2, queued.size());
+        oneShot.cancel();
+        periodic.cancel();
+        queued.forEach(Runnable::run);
+
+        assertEquals(0, runs[0]);
+        assertEquals(0, runs[1]);
+        assertEquals(0, scheduler.getActiveCount());
+    }
+
+    @Test
+    void cancelledTaskIsNeverDispatched() {
+        List<Runnable> queued = new ArrayList<>();
+        TickScheduler scheduler = TickScheduler.manual(10, queued::add);
+        scheduler.schedule(50, () -> { }).cancel();
+
+        scheduler.advance(100);
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void periodicTaskIsNotDispatchedAgainWhilePreviousCallbackIsPending() {
+        List<Runnable> queued = new ArrayList<>();
+        TickScheduler scheduler = TickScheduler.manual(10, queued::add);
+        int[] runs = new int[1];
+        scheduler.scheduleAtFixedRate(10, 10, () -> runs[0]++);
+
+        scheduler.advance(50);
+        assertEquals(1, queued.size());
+        queued.remove(0).run();
+        assertEquals(1, runs[0]);
+
+        scheduler.advance(10);
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void delaysLongerThanOneWheelRotationFireOnTime() {
+        // 默认512个槽、10毫秒节拍，一圈为5120毫秒
+        TickScheduler scheduler = TickScheduler.manual(10, Runnable::run);
+        List<Long> fired = new ArrayList<>();
+        scheduler.schedule(12_345, () -> fired.add(scheduler.currentTimeMillis()));
+        scheduler.schedule(20, () -> fired.add(scheduler.currentTimeMillis()));
+
+        scheduler.advance(12_340);
+        assertEquals(List.of(20L), fired);
+
+        scheduler.advance(10);
+        assertEquals(List.of(20L, 12_350L), fired);
+    }
+
+    @Test
+    void taskScheduledFromACallbackRunsAfterItsOwnDelay() {
+        TickScheduler scheduler = TickScheduler.manual(10, Runnable::run);
+        List<Long> fired = new ArrayList<>();
+        scheduler.schedule(100, () ->
+            scheduler.schedule(100, () -> fired.add(scheduler.currentTimeMillis())));
+
+        scheduler.advance(150);
+        assertTrue(fired.isEmpty());
+        scheduler.advance(100);
+        assertEquals(List.of(200L), fired);
+    }
+
+    @Test
+    void advanceIsOnlyAllowedOnManualSchedulersAndNotFromCallbacks() {
+        TickScheduler scheduler = TickScheduler.manual(10, Runnable::run);
+        RuntimeException[] nested = new RuntimeException[1];
+        scheduler.schedule(10, () -> {
+            try {
+                scheduler.advance(10);
+            } catch (IllegalStateException e) {
+                nested[0] = e;
+            }
+        });
+        scheduler.advance(10);
+        assertTrue(nested[0] instanceof IllegalStateException);
+
+        TickScheduler background = new TickScheduler(10, 16, Runnable::run);
+        try {
+            assertThrows(IllegalStateException.class, () -> background.advance(10));
+        } finally {
+            background.shutdown();
+        }
+    }
+
+    @Test
+    void backgroundWorkerFiresOneShotAndPeriodicTasks() throws InterruptedException {
+        TickScheduler scheduler = new TickScheduler(10, 16, Runnable::run);
+        try {
+            CountDownLatch oneShot = new CountDownLatch(1);
+            CountDownLatch periodic = new CountDownLatch(3);
+            // 超过一圈（16个槽 × 10毫秒）的延迟，以及周期不是节拍整数倍的周期任务
+            scheduler.schedule(300, oneShot::countDown);
+            TickScheduler.Handle handle = scheduler.scheduleAtFixedRate(16, 16, periodic::countDown);
+
+            assertTrue(periodic.await(5, TimeUnit.SECONDS));
+            handle.cancel();
+            assertTrue(oneShot.await(5, TimeUnit.SECONDS));
+            assertEquals(0, scheduler.getActiveCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}